@@ -1,5 +1,5 @@
 import { arxivService } from '@/utils/request';
-import type { ApiResponse, ArxivPaper, ArxivSearchResponse } from '@/types';
+import type { ApiResponse, ArxivPaper, ArxivSearchResponse, PaperCardSearchResponse, SimilarPaper, Suggestion } from '@/types';
 
 export const getPaperById = (arxivId: string) => {
   return arxivService<ApiResponse<ArxivPaper>>({
@@ -8,6 +8,24 @@ export const getPaperById = (arxivId: string) => {
   });
 };
 
+// 预计算的相似论文，后端按主键读取一行，不做实时检索
+export const getSimilarPapers = (arxivId: string, limit: number = 10) => {
+  return arxivService<ApiResponse<SimilarPaper[]>>({
+    url: `/database/paper/${arxivId}/similar`,
+    method: 'get',
+    params: { limit },
+  });
+};
+
+// 输入提示，后端只查询内存中的前缀树，可在每次输入时调用
+export const getSuggestions = (prefix: string, limit: number = 8) => {
+  return arxivService<ApiResponse<Suggestion[]>>({
+    url: '/database/suggest',
+    method: 'get',
+    params: { prefix, limit },
+  });
+};
+
 export const searchByCategory = (
   category: string,
   maxResults: number = 10,
@@ -136,6 +154,44 @@ export const getLatestPublishedDate = () => {
   });
 };
 
+// 按日期范围和分类查询论文卡片（仅数据库），category为All时不按分类筛选
+export const getPaperCards = (
+  category: string,
+  startDate: string,
+  endDate: string,
+  size: number = 10,
+  page: number = 1,
+  hasGithub?: boolean
+) => {
+  return arxivService<ApiResponse<PaperCardSearchResponse>>({
+    url: '/database/papers/cards',
+    method: 'get',
+    params: {
+      categories: category === 'All' ? undefined : category,
+      startDate: startDate || undefined,
+      endDate: endDate || undefined,
+      hasGithub,
+      page,
+      size,
+      // 首页只需判断是否有下一页，不计算总数
+      count: 'none',
+    },
+  });
+};
+
+// 获取数据库中最后一天的论文卡片
+export const getLatestPaperCards = (
+  page: number = 1,
+  size: number = 10,
+  hasGithub?: boolean
+) => {
+  return arxivService<ApiResponse<PaperCardSearchResponse>>({
+    url: '/database/latest-papers/cards',
+    method: 'get',
+    params: { page, size, hasGithub, count: 'none' },
+  });
+};
+
 export const getLatestPapers = (
   page: number = 1,
   size: number = 10,
@@ -25,6 +25,50 @@ export interface ArxivSearchResponse {
   categoryCounts?: CategoryCount[];  // 分类统计信息
 }
 
+// 论文卡片：列表页只返回的字段，summary为摘要片段，完整内容通过详情接口获取
+export interface PaperCard {
+  id: number;
+  arxivId: string;
+  title: string;
+  authors: string[];      // 前N位作者
+  authorCount: number;    // 作者总数
+  primaryCategory: string;
+  categories: string[];
+  publishedDate: string;
+  githubUrl?: string;
+  arxivUrl: string;
+  pdfUrl: string;
+  latexUrl: string;
+  summary: string;
+  summaryTruncated: boolean;
+}
+
+// 相似论文：score有向量时为余弦相似度，否则为相对第一名的文本相似度
+export interface SimilarPaper {
+  paper: PaperCard;
+  score: number;
+}
+
+// 检索框输入提示：weight作者和分类为论文数，检索词为检索次数，标题为1
+export interface Suggestion {
+  type: 'title' | 'author' | 'category' | 'query';
+  text: string;
+  arxivId?: string;       // 仅标题提示
+  weight: number;
+}
+
+export interface PaperCardSearchResponse {
+  totalResults?: number;           // 不计数模式下为空
+  countMode?: 'exact' | 'estimate' | 'none';
+  hasNext?: boolean;
+  startIndex: number;
+  itemsPerPage: number;
+  papers: PaperCard[];
+  actualStartDate?: string;
+  actualEndDate?: string;
+  categoryCounts?: CategoryCount[];
+}
+
 export interface CategoryCount {
   category: string;
   count: number;
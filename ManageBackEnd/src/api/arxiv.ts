@@ -130,6 +130,38 @@ export const arxivApi = {
     });
   },
 
+  // 任意筛选条件组合，所有条件均可省略；count: exact精确总数，estimate估算总数，none不计数
+  filterPapersFromDatabase(filter: { categories?: string[], startDate?: string, endDate?: string, hasGithub?: boolean, keyword?: string, author?: string }, page: number = 1, size: number = 10, count: 'exact' | 'estimate' | 'none' = 'exact') {
+    return request.get<ApiResponse<any>>('/arxiv/database/papers/filter', {
+      params: { ...filter, categories: filter.categories?.join(','), page, size, count }
+    });
+  },
+
+  // 游标分页：首次不传cursor，之后传入上一页返回的nextCursor
+  scrollPapersFromDatabase(cursor?: string, size: number = 10, hasGithub?: boolean) {
+    return request.get<ApiResponse<any>>('/arxiv/database/papers/scroll', {
+      params: { cursor, size, hasGithub }
+    });
+  },
+
+  scrollPapersByCategoryFromDatabase(category: string, cursor?: string, size: number = 10, hasGithub?: boolean, startDate?: string, endDate?: string) {
+    return request.get<ApiResponse<any>>(`/arxiv/database/category/${category}/scroll`, {
+      params: { cursor, size, hasGithub, startDate, endDate }
+    });
+  },
+
+  scrollPapersByDateRangeFromDatabase(startDate: string, endDate: string, cursor?: string, size: number = 10, hasGithub?: boolean) {
+    return request.get<ApiResponse<any>>('/arxiv/database/date-range/scroll', {
+      params: { startDate, endDate, cursor, size, hasGithub }
+    });
+  },
+
+  scrollSearchPapersFromDatabase(keyword: string, cursor?: string, size: number = 10, mode: 'fts' | 'fuzzy' = 'fts', hasGithub?: boolean) {
+    return request.get<ApiResponse<any>>('/arxiv/database/search/scroll', {
+      params: { keyword, cursor, size, mode, hasGithub }
+    });
+  },
+
   getPaperFromDatabase(arxivId: string) {
     return request.get<ApiResponse<any>>(`/arxiv/database/paper/${arxivId}`);
   },
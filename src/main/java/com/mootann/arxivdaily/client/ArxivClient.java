@@ -1,21 +1,22 @@
 package com.mootann.arxivdaily.client;
 
 import com.mootann.arxivdaily.config.ArxivProxyConfig;
-import com.mootann.arxivdaily.converter.ArxivEntryMapper;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchRequest;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
-import com.mootann.arxivdaily.xml.ArxivEntry;
-import com.mootann.arxivdaily.xml.ArxivFeed;
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.Unmarshaller;
+import com.mootann.arxivdaily.xml.ArxivAtomParser;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.StringReader;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -24,6 +25,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,21 +38,24 @@ import java.util.regex.Pattern;
 public class ArxivClient {
     
     private static final String ARXIV_API_BASE_URL = "https://export.arxiv.org/api/query";
-    private static final String ARXIV_BASE_URL = "https://arxiv.org";
-    // 请求间隔时间（毫秒），arXiv API建议至少3秒
-    private static final long REQUEST_INTERVAL_MS = 3000;
     // 每日获取论文的最大数量限制
     private static final int DAILY_MAX_RESULTS = 1000;
     // arXiv API单次请求最大返回结果数限制
     private static final int API_MAX_RESULTS_PER_REQUEST = 100;
-    // 上次请求的时间
-    private static long lastRequestTime = 0;
+    // 响应流预取的DataBuffer数量
+    private static final int RESPONSE_BUFFER_DEMAND = 16;
 
     private final WebClient webClient;
     private final ArxivProxyConfig proxyConfig;
     
     @Autowired
-    private ArxivEntryMapper arxivEntryMapper;
+    private ArxivAtomParser arxivAtomParser;
+
+    @Autowired
+    private ArxivRateLimiter arxivRateLimiter;
+
+    @Autowired
+    private ArxivResponseArchive responseArchive;
     
     public ArxivClient(WebClient webClient, ArxivProxyConfig proxyConfig) {
         this.webClient = webClient;
@@ -96,6 +101,16 @@ public class ArxivClient {
      * @return 搜索响应结果
      */
     public ArxivSearchResponse searchPapers(ArxivSearchRequest request) throws UnsupportedEncodingException {
+        return searchPapers(request, ArxivRateLimiter.Priority.INTERACTIVE);
+    }
+
+    /**
+     * 按指定优先级搜索论文
+     * @param request 搜索请求参数
+     * @param priority 限流排队优先级
+     * @return 搜索响应结果
+     */
+    public ArxivSearchResponse searchPapers(ArxivSearchRequest request, ArxivRateLimiter.Priority priority) throws UnsupportedEncodingException {
         log.info("===== 开始搜索arXiv论文 =====");
         log.info("搜索请求参数: query={}, maxResults={}, start={}, sortBy={}, sortOrder={}", 
             request.getQuery(), request.getMaxResults(), request.getStart(), 
@@ -105,42 +120,16 @@ public class ArxivClient {
         String filteredQuery = filterToCsAndEess(request.getQuery());
         log.info("过滤后的查询语句: {}", filteredQuery);
         
-        // 执行请求前确保遵守频率限制
-        ensureRequestInterval();
-        
         // 构建API请求URL
-        StringBuilder urlBuilder = new StringBuilder(ARXIV_API_BASE_URL);
-        urlBuilder.append("?search_query=").append(URLEncoder.encode(filteredQuery, StandardCharsets.UTF_8));
-        
-        if (request.getMaxResults() != null && request.getMaxResults() > 0) {
-            urlBuilder.append("&max_results=").append(request.getMaxResults());
-        } else {
-            urlBuilder.append("&max_results=10");
-        }
-        
-        if (request.getStart() != null) {
-            urlBuilder.append("&start=").append(request.getStart());
-        }
-        
-        String requestUrl = urlBuilder.toString();
+        int maxResults = resolveMaxResults(request.getMaxResults());
+        int start = parseStart(request.getStart());
+        String requestUrl = buildRequestUrl(filteredQuery, maxResults, start, request.getSortBy(), request.getSortOrder());
         log.info("构建的请求URL: {}", requestUrl);
+        String archiveKey = ArxivResponseArchive.key(filteredQuery, start, maxResults, request.getSortBy(), request.getSortOrder());
         
         // 使用WebClient执行请求
         try {
-            String responseString = webClient.get()
-                .uri(requestUrl)
-                .header("User-Agent", "ArXiv-Daily/1.0")
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-            
-            if (responseString != null && responseString.length() > 0) {
-                log.info("响应内容长度: {} 字符", responseString.length());
-                return parseResponse(responseString);
-            } else {
-                log.error("API返回空响应");
-                return null;
-            }
+            return fetchPage(requestUrl, archiveKey, priority).block();
         } catch (Exception e) {
             log.error("搜索arXiv论文失败", e);
             return null;
@@ -153,6 +142,76 @@ public class ArxivClient {
      * @return 搜索响应结果
      */
     public ArxivSearchResponse searchPapersWithPagination(ArxivSearchRequest request) {
+        return searchPapersWithPagination(request, ArxivRateLimiter.Priority.INTERACTIVE);
+    }
+
+    /**
+     * 按指定优先级搜索论文（支持分页获取超过100条结果）
+     * 阻塞等待响应式分页结果，仅供同步调用方使用
+     * @param request 搜索请求参数
+     * @param priority 限流排队优先级
+     * @return 搜索响应结果
+     */
+    public ArxivSearchResponse searchPapersWithPagination(ArxivSearchRequest request, ArxivRateLimiter.Priority priority) {
+        try {
+            return searchPapersReactive(request, priority).block();
+        } catch (Exception e) {
+            log.error("分页搜索arXiv论文失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 响应式分页搜索论文，将所有页合并为一个搜索结果
+     * @param request 搜索请求参数
+     * @param priority 限流排队优先级
+     * @return 搜索响应结果
+     */
+    public Mono<ArxivSearchResponse> searchPapersReactive(ArxivSearchRequest request, ArxivRateLimiter.Priority priority) {
+        int userStart = parseStart(request.getStart());
+        return searchPages(request, priority)
+            .collectList()
+            .map(pages -> {
+                List<ArxivPaperDTO> allPapers = new ArrayList<>();
+                for (ArxivSearchResponse page : pages) {
+                    if (page.getPapers() != null) {
+                        allPapers.addAll(page.getPapers());
+                    }
+                }
+
+                ArxivSearchResponse finalResponse = new ArxivSearchResponse();
+                finalResponse.setTotalResults(pages.isEmpty() ? 0 : pages.get(0).getTotalResults());
+                finalResponse.setStartIndex(userStart);
+                finalResponse.setItemsPerPage(allPapers.size());
+                finalResponse.setPapers(allPapers);
+
+                log.info("===== 分页搜索完成 =====");
+                log.info("最终结果: 总数={}, 获取数量={}", 
+                    finalResponse.getTotalResults(), finalResponse.getPapers().size());
+                return finalResponse;
+            });
+    }
+
+    /**
+     * 响应式分页搜索论文，按页到达顺序逐条发出论文
+     * @param request 搜索请求参数
+     * @param priority 限流排队优先级
+     * @return 论文流
+     */
+    public Flux<ArxivPaperDTO> streamPapers(ArxivSearchRequest request, ArxivRateLimiter.Priority priority) {
+        return searchPages(request, priority)
+            .concatMapIterable(page -> page.getPapers() != null ? page.getPapers() : List.of())
+            .take(resolveMaxResults(request.getMaxResults()));
+    }
+
+    /**
+     * 分页请求arXiv API
+     * 下一页在上一页到达后才发出，并在限流器放行后执行，整个过程不阻塞线程
+     * @param request 搜索请求参数
+     * @param priority 限流排队优先级
+     * @return 每页的搜索结果
+     */
+    private Flux<ArxivSearchResponse> searchPages(ArxivSearchRequest request, ArxivRateLimiter.Priority priority) {
         log.info("===== 开始搜索arXiv论文（支持分页） =====");
         log.info("搜索请求参数: query={}, maxResults={}, start={}, sortBy={}, sortOrder={}", 
             request.getQuery(), request.getMaxResults(), request.getStart(), 
@@ -162,147 +221,85 @@ public class ArxivClient {
         String filteredQuery = filterToCsAndEess(request.getQuery());
         log.info("过滤后的查询语句: {}", filteredQuery);
 
-        Integer userMaxResults = request.getMaxResults();
-        if (userMaxResults == null || userMaxResults <= 0) {
-            userMaxResults = 10;
-        }
-
-        Integer userStart = 0;
-        if (request.getStart() != null && !request.getStart().isEmpty()) {
-            try {
-                userStart = Integer.parseInt(request.getStart());
-            } catch (NumberFormatException e) {
-                log.warn("起始位置格式不正确，使用默认值0: {}", request.getStart());
-                userStart = 0;
-            }
-        }
-
-        // 初始化响应对象
-        ArxivSearchResponse finalResponse = new ArxivSearchResponse();
-        List<ArxivPaperDTO> allPapers = new ArrayList<>();
-
-        // 计算需要发送的请求次数
-        int resultsNeeded = userMaxResults;
-        int currentStart = userStart;
-        int totalResults = 0;
-
-        while (resultsNeeded > 0) {
-            // 计算本次请求的最大结果数（最多100）
-            int currentMaxResults = Math.min(resultsNeeded, API_MAX_RESULTS_PER_REQUEST);
-
-            log.info("分页请求: 当前批次需要获取 {} 条，起始位置: {}", currentMaxResults, currentStart);
-
-            // 构建本次请求
-            ArxivSearchRequest currentRequest = new ArxivSearchRequest(
-                filteredQuery,
-                currentMaxResults,
-                String.valueOf(currentStart),
-                request.getSortBy(),
-                request.getSortOrder(),
-                request.getSource(),
-                request.getHasGithub()
-            );
-
-            // 执行单次请求
-            ArxivSearchResponse currentResponse = executeSingleRequest(currentRequest);
-
-            if (currentResponse == null) {
-                log.error("分页请求失败，终止获取");
-                break;
-            }
-
-            // 保存总结果数（第一次请求时）
-            if (totalResults == 0) {
-                totalResults = currentResponse.getTotalResults();
-                finalResponse.setTotalResults(totalResults);
-            }
-
-            // 累加论文列表
-            if (currentResponse.getPapers() != null && !currentResponse.getPapers().isEmpty()) {
-                allPapers.addAll(currentResponse.getPapers());
-                log.info("成功获取 {} 条论文，累计获取 {} 条", 
-                    currentResponse.getPapers().size(), allPapers.size());
-
-                // 更新起始位置和剩余需要获取的数量
-                currentStart += currentResponse.getPapers().size();
-                resultsNeeded -= currentResponse.getPapers().size();
-
-                // 检查是否已获取足够数量或已获取所有结果
-                if (allPapers.size() >= userMaxResults || 
-                    currentResponse.getPapers().size() < currentMaxResults ||
-                    currentStart >= totalResults) {
-                    log.info("分页获取完成: 已获取 {} 条，需要 {} 条", allPapers.size(), userMaxResults);
-                    break;
+        int userMaxResults = resolveMaxResults(request.getMaxResults());
+        int userStart = parseStart(request.getStart());
+
+        return fetchPageAt(filteredQuery, request, userStart, userMaxResults, priority)
+            .expand(page -> {
+                int fetched = page.response.getPapers() != null ? page.response.getPapers().size() : 0;
+                int nextStart = page.start + fetched;
+                int remaining = page.remaining - fetched;
+                Integer totalResults = page.response.getTotalResults();
+                log.info("成功获取 {} 条论文，剩余需要 {} 条", fetched, Math.max(remaining, 0));
+
+                // 已获取足够数量、本页不满或已获取所有结果时结束
+                if (fetched == 0 || fetched < page.pageSize || remaining <= 0
+                        || (totalResults != null && nextStart >= totalResults)) {
+                    return Mono.empty();
                 }
-            } else {
-                log.warn("本次请求返回空结果，终止获取");
-                break;
-            }
-
-            // 每次请求之间需要遵守频率限制
-            ensureRequestInterval();
-        }
-
-        // 设置最终响应
-        finalResponse.setStartIndex(userStart);
-        finalResponse.setItemsPerPage(allPapers.size());
-        finalResponse.setPapers(allPapers);
-
-        log.info("===== 分页搜索完成 =====");
-        log.info("最终结果: 总数={}, 获取数量={}", 
-            finalResponse.getTotalResults(), finalResponse.getPapers().size());
+                return fetchPageAt(filteredQuery, request, nextStart, remaining, priority);
+            })
+            .map(page -> page.response);
+    }
 
-        return finalResponse;
+    /**
+     * 请求指定偏移量的一页，失败时结束分页（保留已获取的页）
+     */
+    private Mono<PageResult> fetchPageAt(String filteredQuery, ArxivSearchRequest request, int start, int remaining,
+                                         ArxivRateLimiter.Priority priority) {
+        // 计算本次请求的最大结果数（最多100）
+        int pageSize = Math.min(remaining, API_MAX_RESULTS_PER_REQUEST);
+        log.info("分页请求: 当前批次需要获取 {} 条，起始位置: {}", pageSize, start);
+
+        String requestUrl = buildRequestUrl(filteredQuery, pageSize, start, request.getSortBy(), request.getSortOrder());
+        log.debug("请求URL: {}", requestUrl);
+        String archiveKey = ArxivResponseArchive.key(filteredQuery, start, pageSize, request.getSortBy(), request.getSortOrder());
+        return fetchPage(requestUrl, archiveKey, priority)
+            .map(response -> new PageResult(start, pageSize, remaining, response))
+            .onErrorResume(e -> {
+                log.error("分页请求失败，终止获取", e);
+                return Mono.empty();
+            });
     }
 
     /**
-     * 执行单次HTTP请求
-     * @param request 请求参数
-     * @return 响应结果
+     * 构建arXiv API请求URL
+     * @param query 已过滤的查询语句
+     * @param maxResults 本页最大结果数
+     * @param start 起始偏移量
+     * @param sortBy 排序字段
+     * @param sortOrder 排序方向
+     * @return 请求URL
      */
-    private ArxivSearchResponse executeSingleRequest(ArxivSearchRequest request) {
-        try {
-            // 构建API请求URL
-            StringBuilder urlBuilder = new StringBuilder(ARXIV_API_BASE_URL);
-            urlBuilder.append("?search_query=").append(java.net.URLEncoder.encode(request.getQuery(), "UTF-8"));
-
-            if (request.getMaxResults() != null && request.getMaxResults() > 0) {
-                urlBuilder.append("&max_results=").append(request.getMaxResults());
-            } else {
-                urlBuilder.append("&max_results=10");
-            }
+    private String buildRequestUrl(String query, int maxResults, int start, String sortBy, String sortOrder) {
+        StringBuilder urlBuilder = new StringBuilder(ARXIV_API_BASE_URL);
+        urlBuilder.append("?search_query=").append(URLEncoder.encode(query, StandardCharsets.UTF_8));
+        urlBuilder.append("&max_results=").append(maxResults);
+        urlBuilder.append("&start=").append(start);
 
-            if (request.getStart() != null) {
-                urlBuilder.append("&start=").append(request.getStart());
-            }
+        if (sortBy != null) {
+            urlBuilder.append("&sortBy=").append(sortBy);
+        }
 
-            if (request.getSortBy() != null) {
-                urlBuilder.append("&sortBy=").append(request.getSortBy());
-            }
+        if (sortOrder != null) {
+            urlBuilder.append("&sortOrder=").append(sortOrder);
+        }
+        return urlBuilder.toString();
+    }
 
-            if (request.getSortOrder() != null) {
-                urlBuilder.append("&sortOrder=").append(request.getSortOrder());
-            }
+    private int resolveMaxResults(Integer maxResults) {
+        return maxResults != null && maxResults > 0 ? maxResults : 10;
+    }
 
-            String requestUrl = urlBuilder.toString();
-            log.debug("请求URL: {}", requestUrl);
-
-            // 使用WebClient执行请求
-            String responseString = webClient.get()
-                .uri(requestUrl)
-                .header("User-Agent", "ArXiv-Daily/1.0")
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-            if (responseString != null) {
-                return parseResponse(responseString);
-            } else {
-                return null;
-            }
-        } catch (Exception e) {
-            log.error("执行单次请求失败", e);
-            return null;
+    private int parseStart(String start) {
+        if (start == null || start.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(start);
+        } catch (NumberFormatException e) {
+            log.warn("起始位置格式不正确，使用默认值0: {}", start);
+            return 0;
         }
     }
 
@@ -457,6 +454,38 @@ public class ArxivClient {
         return searchPapers(request);
     }
 
+    /**
+     * 按提交日期分页获取单日论文（按提交时间升序，保证偏移量稳定，可用于断点续传）
+     * @param date 日期，格式：YYYY-MM-DD
+     * @param start 起始偏移量
+     * @param maxResults 本页最大结果数（不超过100）
+     * @return 搜索结果
+     */
+    public ArxivSearchResponse searchBySubmittedDay(String date, int start, int maxResults) throws UnsupportedEncodingException {
+        return searchBySubmittedDay(date, null, start, maxResults, ArxivRateLimiter.Priority.SYNC);
+    }
+
+    /**
+     * 按提交日期和分类分页获取单日论文（按提交时间升序）
+     * @param date 日期，格式：YYYY-MM-DD
+     * @param category 分类，为空时不限分类
+     * @param start 起始偏移量
+     * @param maxResults 本页最大结果数（不超过100）
+     * @param priority 限流排队优先级
+     * @return 搜索结果
+     */
+    public ArxivSearchResponse searchBySubmittedDay(String date, String category, int start, int maxResults,
+                                                    ArxivRateLimiter.Priority priority) throws UnsupportedEncodingException {
+        String formattedDate = formatDateForArxiv(date);
+        String query = String.format("submittedDate:[%s0000 TO %s2359]", formattedDate, formattedDate);
+        if (category != null && !category.isEmpty()) {
+            query = "cat:" + category + " AND " + query;
+        }
+        int pageSize = Math.min(maxResults, API_MAX_RESULTS_PER_REQUEST);
+        ArxivSearchRequest request = new ArxivSearchRequest(query, pageSize, String.valueOf(start), "submittedDate", "ascending", null, null);
+        return searchPapers(request, priority);
+    }
+
     /**
      * 获取最近N天的论文
      * @param days 天数
@@ -555,70 +584,109 @@ public class ArxivClient {
     }
     
     /**
-     * 解析arXiv API响应（使用JAXB）
-     * @param responseString 响应字符串
-     * @return 解析后的搜索结果
+     * 在限流器放行后请求一页数据
+     * 排队等待不占用线程；响应流的读取和解析在boundedElastic线程上进行，不占用调用方线程
+     * 启用归档时先读取本地归档，命中则不占用限流配额；回放模式下未命中直接返回空
+     * @param requestUrl 请求URL
+     * @param archiveKey 归档key
+     * @param priority 限流排队优先级
+     * @return 解析后的搜索结果，响应无法解析时以异常结束
      */
-    private ArxivSearchResponse parseResponse(String responseString) {
-        try {
-            log.info("开始使用JAXB解析arXiv API响应...");
-            
-            // 检查是否为错误响应
-            if (responseString.contains("https://arxiv.org/api/errors")) {
-                log.error("arXiv API返回错误响应");
-                // 返回一个空结果而不是null
-                ArxivSearchResponse emptyResponse = new ArxivSearchResponse();
-                emptyResponse.setTotalResults(0);
-                emptyResponse.setStartIndex(0);
-                emptyResponse.setItemsPerPage(0);
-                emptyResponse.setPapers(new ArrayList<>());
-                return emptyResponse;
-            }
-            
-            // 使用JAXB解析XML
-            JAXBContext jaxbContext = JAXBContext.newInstance(ArxivFeed.class);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            StringReader reader = new StringReader(responseString);
-            ArxivFeed feed = (ArxivFeed) unmarshaller.unmarshal(reader);
-            
-            // 使用MapStruct转换为DTO并构建URLs
-            List<ArxivPaperDTO> papers = new ArrayList<>();
-            if (feed.getEntries() != null) {
-                for (ArxivEntry entry : feed.getEntries()) {
-                    ArxivPaperDTO paper = arxivEntryMapper.entryToDTO(entry);
-                    if (paper != null && paper.getArxivId() != null) {
-                        // 构建URLs
-                        buildPaperUrls(paper);
-                        papers.add(paper);
-                        log.debug("成功转换论文 {} - {}", papers.size(), paper.getTitle());
-                    }
+    private Mono<ArxivSearchResponse> fetchPage(String requestUrl, String archiveKey, ArxivRateLimiter.Priority priority) {
+        Mono<ArxivSearchResponse> network = arxivRateLimiter.acquire(priority)
+            .then(Mono.fromCallable(() -> fetchAndParse(requestUrl, archiveKey))
+                .subscribeOn(Schedulers.boundedElastic()));
+        if (!responseArchive.isReadable()) {
+            return network;
+        }
+
+        Mono<ArxivSearchResponse> archived = Mono.fromCallable(() -> parseArchived(archiveKey))
+            .subscribeOn(Schedulers.boundedElastic());
+        if (responseArchive.isReplay()) {
+            return archived.doOnSuccess(response -> {
+                if (response == null) {
+                    log.warn("回放模式下归档未命中: {}", requestUrl);
                 }
-            }
-            
-            log.info("JAXB解析完成 - totalResults={}, startIndex={}, itemsPerPage={}, papers={}", 
-                feed.getTotalResults(), feed.getStartIndex(), feed.getItemsPerPage(), papers.size());
-            
-            ArxivSearchResponse response = new ArxivSearchResponse();
-            response.setTotalResults(feed.getTotalResults() != null ? feed.getTotalResults() : 0);
-            response.setStartIndex(feed.getStartIndex() != null ? feed.getStartIndex() : 0);
-            response.setItemsPerPage(feed.getItemsPerPage() != null ? feed.getItemsPerPage() : 0);
-            response.setPapers(papers);
-            
-            return response;
-        } catch (Exception e) {
-            log.error("JAXB解析arXiv响应失败", e);
+            });
+        }
+        // 归档文件损坏时按未命中处理，重新请求网络
+        return archived
+            .onErrorResume(e -> {
+                log.warn("解析arXiv响应归档失败，重新请求: key={}", archiveKey, e);
+                return Mono.empty();
+            })
+            .switchIfEmpty(network);
+    }
+
+    /**
+     * 从本地归档解析一页数据
+     * @return 解析后的搜索结果，未命中时返回null
+     */
+    private ArxivSearchResponse parseArchived(String archiveKey) throws Exception {
+        InputStream archived = responseArchive.open(archiveKey);
+        if (archived == null) {
             return null;
         }
+        try (InputStream inputStream = archived) {
+            log.debug("命中arXiv响应归档: key={}", archiveKey);
+            return arxivAtomParser.parse(inputStream);
+        }
     }
-    
+
     /**
-     * 构建论文相关的URLs
+     * 从本地归档回放所有已归档的页，不访问网络，用于重新入库或离线压测
+     * @param pageConsumer 每页论文的回调
+     * @return 回放的页数
      */
-    private void buildPaperUrls(ArxivPaperDTO paper) {
-        if (paper.getArxivId() != null) {
-            paper.setPdfUrl(ARXIV_BASE_URL + "/pdf/" + paper.getArxivId() + ".pdf");
-            paper.setLatexUrl(ARXIV_BASE_URL + "/e-print/" + paper.getArxivId());
-            paper.setArxivUrl(ARXIV_BASE_URL + "/abs/" + paper.getArxivId());
+    public int replayArchive(Consumer<List<ArxivPaperDTO>> pageConsumer) {
+        if (!responseArchive.isEnabled()) {
+            throw new IllegalStateException("arXiv响应归档未启用");
+        }
+        int pages = 0;
+        for (String key : responseArchive.keys()) {
+            try (InputStream inputStream = responseArchive.open(key, true)) {
+                if (inputStream == null) {
+                    continue;
+                }
+                ArxivSearchResponse response = arxivAtomParser.parse(inputStream);
+                if (response != null && response.getPapers() != null && !response.getPapers().isEmpty()) {
+                    pageConsumer.accept(response.getPapers());
+                    pages++;
+                }
+            } catch (Exception e) {
+                log.warn("回放归档页失败: key={}", key, e);
+            }
+        }
+        log.info("归档回放完成: 共 {} 页", pages);
+        return pages;
+    }
+
+    /**
+     * 请求arXiv API并以流的方式解析响应
+     * 响应体的DataBuffer直接交给StAX解析器，不再拼接为完整字符串；启用归档时边解析边写入压缩归档
+     * @param requestUrl 请求URL
+     * @param archiveKey 归档key
+     * @return 解析后的搜索结果
+     */
+    private ArxivSearchResponse fetchAndParse(String requestUrl, String archiveKey) throws Exception {
+        Flux<DataBuffer> body = webClient.get()
+            .uri(requestUrl)
+            .header("User-Agent", "ArXiv-Daily/1.0")
+            .retrieve()
+            .bodyToFlux(DataBuffer.class);
+
+        try (InputStream inputStream = DataBufferUtils.subscriberInputStream(body, RESPONSE_BUFFER_DEMAND)) {
+            if (!responseArchive.isEnabled()) {
+                return arxivAtomParser.parse(inputStream);
+            }
+            try (ArxivResponseArchive.Recording recording = responseArchive.record(archiveKey, inputStream)) {
+                ArxivSearchResponse response = arxivAtomParser.parse(recording);
+                // 错误响应和空结果（arXiv偶尔会临时返回空结果）不归档
+                if (response != null && response.getTotalResults() != null && response.getTotalResults() > 0) {
+                    recording.commit();
+                }
+                return response;
+            }
         }
     }
     
@@ -706,28 +774,6 @@ public class ArxivClient {
         return "(" + originalQuery + ") AND (cat:cs.* OR cat:eess.*)";
     }
 
-    /**
-     * 确保请求间隔时间
-     * arXiv API要求请求间隔至少3秒，以免被限流
-     */
-    private synchronized void ensureRequestInterval() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRequest = currentTime - lastRequestTime;
-        
-        if (timeSinceLastRequest < REQUEST_INTERVAL_MS) {
-            long sleepTime = REQUEST_INTERVAL_MS - timeSinceLastRequest;
-            log.debug("等待 {} 毫秒以满足请求频率限制", sleepTime);
-            try {
-                Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("请求频率限制中断", e);
-            }
-        }
-        
-        lastRequestTime = System.currentTimeMillis();
-    }
-
     /**
      * 计算允许的最大结果数
      * 单日获取上限为1000，日期范围和最近N天上限为天数*1000
@@ -766,4 +812,21 @@ public class ArxivClient {
             return 1;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 分页过程中单页的请求状态
+     */
+    private static class PageResult {
+        private final int start;
+        private final int pageSize;
+        private final int remaining;
+        private final ArxivSearchResponse response;
+
+        PageResult(int start, int pageSize, int remaining, ArxivSearchResponse response) {
+            this.start = start;
+            this.pageSize = pageSize;
+            this.remaining = remaining;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.mootann.arxivdaily.client;
+
+import com.mootann.arxivdaily.config.ArxivOaiConfig;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.xml.OaiListRecordsResult;
+import com.mootann.arxivdaily.xml.OaiPmhParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * arXiv OAI-PMH客户端
+ * 通过ListRecords接口按集合和日期范围批量收割论文元数据，用于历史数据回填
+ */
+@Slf4j
+@Component
+public class ArxivOaiClient {
+
+    private static final String NO_RECORDS_MATCH = "noRecordsMatch";
+    // 响应流预取的DataBuffer数量
+    private static final int RESPONSE_BUFFER_DEMAND = 16;
+    // 非503错误重试的等待基准时间（毫秒），按重试次数线性递增
+    private static final long RETRY_BACKOFF_MS = 5000;
+
+    private final WebClient webClient;
+    private final ArxivOaiConfig oaiConfig;
+    private final OaiPmhParser oaiPmhParser;
+    private final ArxivRateLimiter arxivRateLimiter;
+
+    public ArxivOaiClient(WebClient webClient, ArxivOaiConfig oaiConfig,
+                          OaiPmhParser oaiPmhParser, ArxivRateLimiter arxivRateLimiter) {
+        this.webClient = webClient;
+        this.oaiConfig = oaiConfig;
+        this.oaiPmhParser = oaiPmhParser;
+        this.arxivRateLimiter = arxivRateLimiter;
+    }
+
+    /**
+     * 收割指定集合和日期范围内的全部记录，每页解析完成后回调一次
+     * @param set 集合，例如：cs, eess
+     * @param from 开始日期（包含）
+     * @param until 结束日期（包含）
+     * @param batchConsumer 每页论文的回调
+     * @return 收割到的论文总数
+     */
+    public int harvest(String set, LocalDate from, LocalDate until, Consumer<List<ArxivPaperDTO>> batchConsumer) {
+        log.info("===== 开始OAI-PMH收割: set={}, from={}, until={}, metadataPrefix={} =====",
+            set, from, until, oaiConfig.getMetadataPrefix());
+
+        String requestUrl = buildListRecordsUrl(set, from, until);
+        int total = 0;
+        int pages = 0;
+        while (requestUrl != null) {
+            OaiListRecordsResult result = fetchWithRetry(requestUrl);
+            if (result.getErrorCode() != null) {
+                if (NO_RECORDS_MATCH.equals(result.getErrorCode())) {
+                    log.info("OAI-PMH没有匹配的记录: set={}, from={}, until={}", set, from, until);
+                    break;
+                }
+                throw new IllegalStateException("OAI-PMH返回错误: " + result.getErrorCode() + " - " + result.getErrorMessage());
+            }
+
+            pages++;
+            total += result.getRecordCount();
+            if (!result.getPapers().isEmpty()) {
+                batchConsumer.accept(result.getPapers());
+            }
+            log.info("OAI-PMH收割进度: set={}, 第 {} 页, 本页 {} 条, 累计 {} 条, 总数 {}",
+                set, pages, result.getRecordCount(), total, result.getCompleteListSize());
+
+            requestUrl = result.getResumptionToken() != null ? buildResumptionUrl(result.getResumptionToken()) : null;
+        }
+
+        log.info("===== OAI-PMH收割完成: set={}, 共 {} 页, {} 条 =====", set, pages, total);
+        return total;
+    }
+
+    /**
+     * 请求一页数据，503时按Retry-After等待，其他错误按递增间隔重试
+     */
+    private OaiListRecordsResult fetchWithRetry(String requestUrl) {
+        int maxRetries = oaiConfig.getMaxRetries();
+        for (int attempt = 1; ; attempt++) {
+            arxivRateLimiter.acquire(ArxivRateLimiter.Priority.BACKFILL).block();
+            try {
+                return fetchAndParse(requestUrl);
+            } catch (Exception e) {
+                if (attempt >= maxRetries) {
+                    throw new IllegalStateException("OAI-PMH请求失败，已重试 " + maxRetries + " 次: " + requestUrl, e);
+                }
+                long waitMs = resolveRetryWaitMs(e, attempt);
+                log.warn("OAI-PMH请求失败，第 {}/{} 次，{} 毫秒后重试: {}", attempt, maxRetries, waitMs, e.getMessage());
+                try {
+                    Thread.sleep(waitMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("OAI-PMH收割被中断", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * 请求OAI-PMH接口并以流的方式解析响应
+     */
+    private OaiListRecordsResult fetchAndParse(String requestUrl) throws Exception {
+        log.debug("OAI-PMH请求URL: {}", requestUrl);
+        Flux<DataBuffer> body = webClient.get()
+            .uri(URI.create(requestUrl))
+            .header("User-Agent", "ArXiv-Daily/1.0")
+            .retrieve()
+            .bodyToFlux(DataBuffer.class);
+
+        try (InputStream inputStream = DataBufferUtils.subscriberInputStream(body, RESPONSE_BUFFER_DEMAND)) {
+            return oaiPmhParser.parse(inputStream);
+        }
+    }
+
+    /**
+     * OAI-PMH服务端通过503 + Retry-After进行流量控制
+     */
+    private long resolveRetryWaitMs(Throwable error, int attempt) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException responseException
+                    && responseException.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                String retryAfter = responseException.getHeaders().getFirst("Retry-After");
+                long seconds = oaiConfig.getDefaultRetryAfterSeconds();
+                if (retryAfter != null) {
+                    try {
+                        seconds = Long.parseLong(retryAfter.trim());
+                    } catch (NumberFormatException e) {
+                        log.debug("无法解析Retry-After: {}", retryAfter);
+                    }
+                }
+                return seconds * 1000;
+            }
+        }
+        return RETRY_BACKOFF_MS * attempt;
+    }
+
+    private String buildListRecordsUrl(String set, LocalDate from, LocalDate until) {
+        StringBuilder urlBuilder = new StringBuilder(oaiConfig.getBaseUrl());
+        urlBuilder.append("?verb=ListRecords");
+        urlBuilder.append("&metadataPrefix=").append(encode(oaiConfig.getMetadataPrefix()));
+        if (set != null && !set.isEmpty()) {
+            urlBuilder.append("&set=").append(encode(set));
+        }
+        if (from != null) {
+            urlBuilder.append("&from=").append(from);
+        }
+        if (until != null) {
+            urlBuilder.append("&until=").append(until);
+        }
+        return urlBuilder.toString();
+    }
+
+    private String buildResumptionUrl(String resumptionToken) {
+        return oaiConfig.getBaseUrl() + "?verb=ListRecords&resumptionToken=" + encode(resumptionToken);
+    }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,266 @@
+package com.mootann.arxivdaily.client;
+
+import com.mootann.arxivdaily.config.ArxivRateLimitConfig;
+import com.mootann.arxivdaily.repository.dto.RateLimiterStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * arXiv API请求限流器
+ * 令牌桶限流，支持本地模式和基于Redis Lua脚本的集群模式。
+ * 等待者按优先级+先来先到排队，由单线程调度器按令牌发放，等待期间不占用调用方线程。
+ */
+@Slf4j
+@Component
+public class ArxivRateLimiter {
+
+    /**
+     * 请求优先级，声明顺序即优先顺序
+     */
+    public enum Priority {
+        // 用户交互式搜索
+        INTERACTIVE,
+        // 每日定时同步
+        SYNC,
+        // 历史数据回填
+        BACKFILL
+    }
+
+    private static final String MODE_REDIS = "redis";
+
+    /**
+     * 令牌桶Lua脚本，使用Redis服务器时间保证多实例时钟一致
+     * 返回0表示获取到令牌，否则返回距离下一个令牌的毫秒数
+     */
+    private static final String TOKEN_BUCKET_SCRIPT =
+        "local capacity = tonumber((string.gsub(ARGV[1], '\"', ''))) " +
+        "local interval = tonumber((string.gsub(ARGV[2], '\"', ''))) " +
+        "local t = redis.call('TIME') " +
+        "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+        "local tokens = tonumber(redis.call('HGET', KEYS[1], 'tokens')) " +
+        "local ts = tonumber(redis.call('HGET', KEYS[1], 'ts')) " +
+        "if tokens == nil or ts == nil then tokens = capacity ts = now end " +
+        "local refill = math.floor((now - ts) / interval) " +
+        "if refill > 0 then " +
+        "  tokens = math.min(capacity, tokens + refill) " +
+        "  if tokens >= capacity then ts = now else ts = ts + refill * interval end " +
+        "end " +
+        "local wait = 0 " +
+        "if tokens > 0 then tokens = tokens - 1 else wait = interval - (now - ts) end " +
+        "redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', ts) " +
+        "redis.call('PEXPIRE', KEYS[1], interval * (capacity + 1)) " +
+        "return wait";
+
+    private static final DefaultRedisScript<Long> REDIS_SCRIPT = new DefaultRedisScript<>(TOKEN_BUCKET_SCRIPT, Long.class);
+
+    @Autowired
+    private RedisClient redisClient;
+
+    private final ArxivRateLimitConfig config;
+
+    // 调度线程：负责发放令牌和唤醒等待者，所有令牌桶状态只在该线程上读写
+    private final Scheduler dispatchScheduler = Schedulers.newSingle("arxiv-rate-limiter", true);
+
+    // 等待队列，按优先级和入队序号排序，由queue自身加锁保护
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+        Comparator.<Waiter>comparingInt(w -> w.priority.ordinal()).thenComparingLong(w -> w.sequence));
+    private long sequence;
+    private boolean dispatchScheduled;
+
+    // 本地令牌桶状态（仅在调度线程上访问）
+    private long localTokens;
+    private long localRefillTime;
+
+    // 统计
+    private final Map<Priority, LongAdder> grantedCounts = new EnumMap<>(Priority.class);
+    private final Map<Priority, LongAdder> totalWaitMs = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> maxWaitMs = new EnumMap<>(Priority.class);
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public ArxivRateLimiter(ArxivRateLimitConfig config) {
+        this.config = config;
+        this.localTokens = capacity();
+        this.localRefillTime = System.currentTimeMillis();
+        for (Priority priority : Priority.values()) {
+            grantedCounts.put(priority, new LongAdder());
+            totalWaitMs.put(priority, new LongAdder());
+            maxWaitMs.put(priority, new AtomicLong());
+        }
+        log.info("arXiv限流器配置: mode={}, intervalMs={}, burst={}, maxQueueSize={}",
+            config.getMode(), config.getIntervalMs(), config.getBurst(), config.getMaxQueueSize());
+    }
+
+    /**
+     * 申请一次arXiv API请求许可
+     * 订阅后进入等待队列，获得令牌时完成；取消订阅会将其移出队列
+     * @param priority 请求优先级
+     * @return 获得许可时完成的Mono，队列已满时以IllegalStateException结束
+     */
+    public Mono<Void> acquire(Priority priority) {
+        Mono<Void> permit = Mono.create(sink -> {
+            Waiter waiter = new Waiter(priority, sink, System.nanoTime());
+            boolean startDispatch;
+            synchronized (queue) {
+                if (queue.size() >= config.getMaxQueueSize()) {
+                    rejectedCount.increment();
+                    sink.error(new IllegalStateException("arXiv请求排队数量已达上限: " + config.getMaxQueueSize()));
+                    return;
+                }
+                waiter.sequence = sequence++;
+                queue.add(waiter);
+                startDispatch = !dispatchScheduled;
+                dispatchScheduled = true;
+            }
+            sink.onCancel(() -> {
+                synchronized (queue) {
+                    queue.remove(waiter);
+                }
+            });
+            if (startDispatch) {
+                dispatchScheduler.schedule(this::dispatch);
+            }
+        });
+        // 放行后切换到并行调度器，避免下游逻辑占用调度线程
+        return permit.publishOn(Schedulers.parallel());
+    }
+
+    /**
+     * 按令牌发放许可，令牌不足时定时重新调度，调度线程本身不会睡眠
+     */
+    private void dispatch() {
+        while (true) {
+            synchronized (queue) {
+                if (queue.isEmpty()) {
+                    dispatchScheduled = false;
+                    return;
+                }
+            }
+
+            long waitMs = reserve();
+            if (waitMs > 0) {
+                dispatchScheduler.schedule(this::dispatch, waitMs, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            Waiter waiter;
+            synchronized (queue) {
+                waiter = queue.poll();
+            }
+            if (waiter == null) {
+                // 等待者在获取令牌期间取消，该令牌作废
+                continue;
+            }
+            recordGrant(waiter);
+            waiter.sink.success();
+        }
+    }
+
+    /**
+     * 尝试获取一个令牌
+     * @return 0表示获取成功，否则为距离下一个令牌的毫秒数
+     */
+    private long reserve() {
+        if (MODE_REDIS.equalsIgnoreCase(config.getMode())) {
+            Long wait = redisClient.execute(REDIS_SCRIPT, Collections.singletonList(config.getRedisKey()),
+                capacity(), config.getIntervalMs());
+            if (wait != null) {
+                return wait;
+            }
+            log.warn("Redis限流脚本执行失败，退化为本地令牌桶");
+        }
+        return reserveLocal();
+    }
+
+    private long reserveLocal() {
+        long now = System.currentTimeMillis();
+        long interval = config.getIntervalMs();
+        long refill = (now - localRefillTime) / interval;
+        if (refill > 0) {
+            localTokens = Math.min(capacity(), localTokens + refill);
+            localRefillTime = localTokens >= capacity() ? now : localRefillTime + refill * interval;
+        }
+        if (localTokens > 0) {
+            localTokens--;
+            return 0;
+        }
+        return Math.max(1, interval - (now - localRefillTime));
+    }
+
+    private long capacity() {
+        return Math.max(1, config.getBurst());
+    }
+
+    private void recordGrant(Waiter waiter) {
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueueNanos);
+        grantedCounts.get(waiter.priority).increment();
+        totalWaitMs.get(waiter.priority).add(waited);
+        maxWaitMs.get(waiter.priority).accumulateAndGet(waited, Math::max);
+        log.debug("arXiv请求放行: priority={}, 等待 {} 毫秒", waiter.priority, waited);
+    }
+
+    /**
+     * 获取限流器统计信息
+     * @return 排队深度、放行数量和等待时间
+     */
+    public RateLimiterStatsDTO getStats() {
+        Map<String, Integer> depthByPriority = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            depthByPriority.put(priority.name(), 0);
+        }
+        int depth;
+        synchronized (queue) {
+            depth = queue.size();
+            for (Waiter waiter : queue) {
+                depthByPriority.merge(waiter.priority.name(), 1, Integer::sum);
+            }
+        }
+
+        Map<String, Long> granted = new LinkedHashMap<>();
+        Map<String, Double> avgWait = new LinkedHashMap<>();
+        Map<String, Long> maxWait = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            long count = grantedCounts.get(priority).sum();
+            granted.put(priority.name(), count);
+            avgWait.put(priority.name(), count > 0 ? (double) totalWaitMs.get(priority).sum() / count : 0.0);
+            maxWait.put(priority.name(), maxWaitMs.get(priority).get());
+        }
+
+        return new RateLimiterStatsDTO(config.getMode(), config.getIntervalMs(), depth,
+            depthByPriority, granted, avgWait, maxWait, rejectedCount.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchScheduler.dispose();
+    }
+
+    private static class Waiter {
+        private final Priority priority;
+        private final MonoSink<Void> sink;
+        private final long enqueueNanos;
+        private long sequence;
+
+        Waiter(Priority priority, MonoSink<Void> sink, long enqueueNanos) {
+            this.priority = priority;
+            this.sink = sink;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+}
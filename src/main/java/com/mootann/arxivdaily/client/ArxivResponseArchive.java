@@ -0,0 +1,349 @@
+package com.mootann.arxivdaily.client;
+
+import com.mootann.arxivdaily.config.ArxivArchiveConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * arXiv API原始响应归档
+ * 每页Atom响应按 规范化查询 + start + max_results + 排序 的SHA-256寻址，gzip压缩后保存到本地磁盘，
+ * 既可作为带过期时间的读穿缓存，也可作为离线回放数据源；目录总大小超出上限时按最近访问时间淘汰
+ */
+@Slf4j
+@Component
+public class ArxivResponseArchive {
+
+    public static final String MODE_READ_THROUGH = "read-through";
+    public static final String MODE_WRITE_ONLY = "write-only";
+    public static final String MODE_REPLAY = "replay";
+
+    private static final String FILE_SUFFIX = ".xml.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // 淘汰时清理到容量上限的比例，避免每次写入都触发淘汰
+    private static final double EVICT_TARGET_RATIO = 0.9;
+
+    private final ArxivArchiveConfig archiveConfig;
+
+    // 归档索引：key -> 文件大小和最近访问时间
+    private final Map<String, ArchiveEntry> index = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private Path root;
+
+    public ArxivResponseArchive(ArxivArchiveConfig archiveConfig) {
+        this.archiveConfig = archiveConfig;
+    }
+
+    /**
+     * 扫描归档目录重建索引，重启后以文件修改时间作为最近访问时间
+     */
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        root = Paths.get(archiveConfig.getDirectory()).toAbsolutePath();
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(Files::isRegularFile).forEach(file -> {
+                    String name = file.getFileName().toString();
+                    try {
+                        if (name.endsWith(TEMP_SUFFIX)) {
+                            Files.deleteIfExists(file);
+                        } else if (name.endsWith(FILE_SUFFIX)) {
+                            long size = Files.size(file);
+                            long modified = Files.getLastModifiedTime(file).toMillis();
+                            index.put(name.substring(0, name.length() - FILE_SUFFIX.length()), new ArchiveEntry(size, modified));
+                            totalBytes.addAndGet(size);
+                        }
+                    } catch (IOException e) {
+                        log.warn("读取归档文件失败: {}", file, e);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("初始化arXiv响应归档目录失败: " + root, e);
+        }
+        log.info("arXiv响应归档已启用: mode={}, directory={}, 已归档 {} 页, {} KB",
+            archiveConfig.getMode(), root, index.size(), totalBytes.get() / 1024);
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(archiveConfig.getEnabled());
+    }
+
+    /**
+     * 是否只从归档回放，不访问网络
+     */
+    public boolean isReplay() {
+        return isEnabled() && MODE_REPLAY.equals(archiveConfig.getMode());
+    }
+
+    /**
+     * 是否优先读取归档
+     */
+    public boolean isReadable() {
+        return isEnabled() && !MODE_WRITE_ONLY.equals(archiveConfig.getMode());
+    }
+
+    /**
+     * 计算归档key：规范化查询语句（合并空白、布尔运算符大写）后与分页和排序参数一起做SHA-256
+     */
+    public static String key(String query, int start, int maxResults, String sortBy, String sortOrder) {
+        String canonical = "search_query=" + normalizeQuery(query)
+            + "&start=" + start
+            + "&max_results=" + maxResults
+            + "&sortBy=" + (sortBy != null ? sortBy : "")
+            + "&sortOrder=" + (sortOrder != null ? sortOrder : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256算法不可用", e);
+        }
+    }
+
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String[] tokens = query.trim().split("\\s+");
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            String upper = token.toUpperCase(Locale.ROOT);
+            builder.append(upper.equals("AND") || upper.equals("OR") || upper.equals("ANDNOT") ? upper : token);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 打开归档的页，read-through模式下过期的页视为未命中，回放模式忽略过期时间
+     * @param key 归档key
+     * @return 解压后的响应流（由调用方负责关闭），未命中时返回null
+     */
+    public InputStream open(String key) {
+        return open(key, isReplay());
+    }
+
+    /**
+     * 打开归档的页
+     * @param key 归档key
+     * @param ignoreTtl 是否忽略过期时间
+     * @return 解压后的响应流（由调用方负责关闭），未命中时返回null
+     */
+    public InputStream open(String key, boolean ignoreTtl) {
+        ArchiveEntry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Path file = pathOf(key);
+        try {
+            if (!ignoreTtl) {
+                long ageMs = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+                if (ageMs > Duration.ofHours(archiveConfig.getTtlHours()).toMillis()) {
+                    return null;
+                }
+            }
+            InputStream inputStream = new GZIPInputStream(Files.newInputStream(file));
+            entry.lastAccess = System.currentTimeMillis();
+            return inputStream;
+        } catch (NoSuchFileException e) {
+            remove(key);
+            return null;
+        } catch (IOException e) {
+            log.warn("读取归档失败: key={}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 包装网络响应流，读取的同时写入临时归档文件
+     * 解析成功后调用 {@link Recording#commit()} 落盘，失败时调用 {@link Recording#abort()} 丢弃
+     */
+    public Recording record(String key, InputStream source) throws IOException {
+        Path file = pathOf(key);
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), key, TEMP_SUFFIX);
+        return new Recording(key, source, temp, new GZIPOutputStream(Files.newOutputStream(temp)));
+    }
+
+    /**
+     * 列出所有归档key，按最近访问时间升序，用于离线回放
+     */
+    public List<String> keys() {
+        List<Map.Entry<String, ArchiveEntry>> entries = new ArrayList<>(index.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long totalBytes() {
+        return totalBytes.get();
+    }
+
+    private void commit(String key, Path temp) throws IOException {
+        Path file = pathOf(key);
+        long size = Files.size(temp);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ArchiveEntry previous = index.put(key, new ArchiveEntry(size, System.currentTimeMillis()));
+        totalBytes.addAndGet(size - (previous != null ? previous.size : 0));
+        if (totalBytes.get() > maxBytes()) {
+            evict();
+        }
+    }
+
+    /**
+     * 按最近访问时间淘汰，直到总大小降到上限的90%
+     */
+    private synchronized void evict() {
+        long target = (long) (maxBytes() * EVICT_TARGET_RATIO);
+        if (totalBytes.get() <= target) {
+            return;
+        }
+        int evicted = 0;
+        for (String key : keys()) {
+            if (totalBytes.get() <= target) {
+                break;
+            }
+            remove(key);
+            evicted++;
+        }
+        log.info("归档超出容量上限，已淘汰 {} 页，当前 {} KB", evicted, totalBytes.get() / 1024);
+    }
+
+    private void remove(String key) {
+        ArchiveEntry entry = index.remove(key);
+        if (entry != null) {
+            totalBytes.addAndGet(-entry.size);
+        }
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            log.warn("删除归档文件失败: key={}", key, e);
+        }
+    }
+
+    private long maxBytes() {
+        return archiveConfig.getMaxSizeMb() * 1024 * 1024;
+    }
+
+    /**
+     * 按key前4位分两级目录，避免单个目录文件过多
+     */
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + FILE_SUFFIX);
+    }
+
+    private static class ArchiveEntry {
+        private final long size;
+        private volatile long lastAccess;
+
+        private ArchiveEntry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * 边读边写的归档记录
+     */
+    public class Recording extends FilterInputStream {
+        private final String key;
+        private final Path temp;
+        private final OutputStream sink;
+        private boolean finished = false;
+
+        private Recording(String key, InputStream source, Path temp, OutputStream sink) {
+            super(source);
+            this.key = key;
+            this.temp = temp;
+            this.sink = sink;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                sink.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                sink.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        /**
+         * 读完剩余内容并落盘
+         */
+        public void commit() throws IOException {
+            if (finished) {
+                return;
+            }
+            transferTo(OutputStream.nullOutputStream());
+            finished = true;
+            sink.close();
+            ArxivResponseArchive.this.commit(key, temp);
+        }
+
+        /**
+         * 丢弃临时文件
+         */
+        public void abort() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                sink.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("删除临时归档文件失败: {}", temp, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            abort();
+            super.close();
+        }
+    }
+}
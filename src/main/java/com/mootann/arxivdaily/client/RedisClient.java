@@ -35,6 +35,8 @@ public class RedisClient {
     private ObjectMapper objectMapper;
 
     private static final String DEFAULT_PREFIX = "arxiv-daily:";
+    // SCAN每次遍历的key数量提示
+    private static final long SCAN_BATCH_SIZE = 1000;
     /**
      * arXiv论文缓存前缀
      */
@@ -199,13 +201,31 @@ public class RedisClient {
         }
     }
 
+    /**
+     * 以SCAN增量遍历匹配的key，不像KEYS那样一次阻塞Redis
+     * @param pattern 匹配模式
+     * @return 匹配的key（不含默认前缀）
+     */
+    public Set<String> scan(String pattern) {
+        Set<String> result = new HashSet<>();
+        ScanOptions options = ScanOptions.scanOptions().match(buildKey(pattern)).count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                result.add(cursor.next().substring(DEFAULT_PREFIX.length()));
+            }
+        } catch (Exception e) {
+            log.error("SCAN遍历key失败: pattern={}", pattern, e);
+        }
+        return result;
+    }
+
     /**
      * 根据模式删除key
      * @param pattern 匹配模式
      */
     public void deleteByPattern(String pattern) {
         try {
-            Set<String> matchedKeys = keys(pattern);
+            Set<String> matchedKeys = scan(pattern);
             if (!matchedKeys.isEmpty()) {
                 redisTemplate.delete(matchedKeys.stream().map(this::buildKey).toList());
                 log.info("按模式删除缓存: pattern={}, count={}", pattern, matchedKeys.size());
@@ -574,6 +594,35 @@ public class RedisClient {
         }
     }
 
+    /**
+     * 把同一个成员加入多个Set并设置过期时间，在一次管道中提交
+     * @param keys Set的key
+     * @param value 成员
+     * @param timeout 过期时间
+     * @param unit 时间单位
+     */
+    public void sAddWithExpire(Collection<String> keys, Object value, long timeout, TimeUnit unit) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    for (String key : keys) {
+                        String fullKey = buildKey(key);
+                        operations.opsForSet().add(fullKey, value);
+                        operations.expire(fullKey, timeout, unit);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("批量添加Set成员失败: count={}", keys.size(), e);
+        }
+    }
+
     public Long sRemove(String key, Object... values) {
         try {
             String fullKey = buildKey(key);
@@ -707,6 +756,16 @@ public class RedisClient {
         }
     }
 
+    public Double zIncrementScore(String key, Object value, double delta) {
+        try {
+            String fullKey = buildKey(key);
+            return redisTemplate.opsForZSet().incrementScore(fullKey, value, delta);
+        } catch (Exception e) {
+            log.error("增加ZSet分数失败: key={}", key, e);
+            return null;
+        }
+    }
+
     public Long zRemove(String key, Object... values) {
         try {
             String fullKey = buildKey(key);
@@ -817,6 +876,16 @@ public class RedisClient {
         }
     }
 
+    public Set<ZSetOperations.TypedTuple<Object>> zReverseRangeWithScores(String key, long start, long end) {
+        try {
+            String fullKey = buildKey(key);
+            return redisTemplate.opsForZSet().reverseRangeWithScores(fullKey, start, end);
+        } catch (Exception e) {
+            log.error("获取ZSet反向范围及分数失败: key={}", key, e);
+            return Set.of();
+        }
+    }
+
     public Long zRemoveRange(String key, long start, long end) {
         try {
             String fullKey = buildKey(key);
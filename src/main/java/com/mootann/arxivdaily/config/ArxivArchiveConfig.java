@@ -0,0 +1,42 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * arXiv API原始响应归档配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.archive")
+public class ArxivArchiveConfig {
+
+    /**
+     * 是否启用归档
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 归档模式：
+     * read-through 命中且未过期时直接使用归档，否则请求API并写入归档；
+     * write-only 总是请求API，只写入归档；
+     * replay 只从归档读取（忽略过期时间），不访问网络
+     */
+    private String mode = "read-through";
+
+    /**
+     * 归档目录
+     */
+    private String directory = "data/arxiv-archive";
+
+    /**
+     * read-through模式下归档的有效期（小时）
+     */
+    private Integer ttlHours = 24;
+
+    /**
+     * 归档目录的最大容量（MB），超出时按最近访问时间淘汰
+     */
+    private Long maxSizeMb = 2048L;
+}
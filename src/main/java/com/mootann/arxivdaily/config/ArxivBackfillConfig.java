@@ -0,0 +1,40 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * arXiv历史数据回填任务配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.backfill")
+public class ArxivBackfillConfig {
+
+    /**
+     * 回填工作线程数，所有回填任务共享
+     * 请求速率由限流器控制，多个线程保证一个分区在入库时其他分区已在排队等待令牌
+     */
+    private Integer workerThreads = 3;
+
+    /**
+     * 每页请求的论文数量（不超过100）
+     */
+    private Integer pageSize = 100;
+
+    /**
+     * 单页请求失败后的最大重试次数
+     */
+    private Integer maxPageRetries = 3;
+
+    /**
+     * 重试等待基准时间（毫秒），按重试次数线性递增，为0时立即重试
+     */
+    private Long retryBackoffMs = 5000L;
+
+    /**
+     * 内存中保留的历史任务数量，超出时移除最早结束的任务
+     */
+    private Integer maxRetainedJobs = 20;
+}
@@ -0,0 +1,107 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 论文向量化与语义检索配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.embedding")
+public class ArxivEmbeddingConfig {
+
+    /**
+     * 是否启用论文向量化和语义检索，需要PostgreSQL安装pgvector扩展
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 向量模型：zhipu为智谱embedding接口，hashing为本地确定性的特征哈希模型（离线开发和测试用）
+     */
+    private String provider = "zhipu";
+
+    /**
+     * 向量维度，建表时写入列类型，修改后需要删除 paper_embeddings 表重新向量化
+     */
+    private Integer dimensions = 1024;
+
+    /**
+     * 每批向量化的论文数量
+     */
+    private Integer batchSize = 32;
+
+    /**
+     * 向量化文本（标题+摘要）的最大字符数
+     */
+    private Integer maxInputChars = 2000;
+
+    /**
+     * 检索时查询文本向量化的接口超时（毫秒），不应超过混合检索向量阶段的超时
+     */
+    private Long queryTimeoutMs = 1500L;
+
+    /**
+     * 后台扫描全表补齐向量的间隔（毫秒），新入库论文在入库后单独处理
+     */
+    private Long intervalMs = 3600000L;
+
+    /**
+     * HNSW索引参数：每个节点的最大连接数
+     */
+    private Integer hnswM = 16;
+
+    /**
+     * HNSW索引参数：构建时的候选列表大小
+     */
+    private Integer hnswEfConstruction = 64;
+
+    /**
+     * HNSW检索时的候选列表大小（hnsw.ef_search），越大召回越高、越慢
+     */
+    private Integer efSearch = 100;
+
+    /**
+     * 带筛选条件时的迭代扫描模式（hnsw.iterative_scan，pgvector 0.8+）：relaxed_order、strict_order，留空不设置
+     * 开启后索引扫描在过滤掉的候选过多时继续向外扩展，避免返回不足k条
+     */
+    private String iterativeScan = "relaxed_order";
+
+    /**
+     * 是否在进程内构建HNSW向量索引（向量存放在堆外内存），启用后语义检索优先走内存索引，
+     * 作者、GitHub和交叉列表分类筛选仍走数据库
+     */
+    private Boolean memoryIndexEnabled = false;
+
+    /**
+     * 内存索引参数：每个节点的最大连接数（第0层为其2倍）
+     */
+    private Integer memoryIndexM = 16;
+
+    /**
+     * 内存索引参数：插入时的候选列表大小
+     */
+    private Integer memoryIndexEfConstruction = 100;
+
+    /**
+     * 内存索引参数：检索时的候选列表大小，不小于k
+     */
+    private Integer memoryIndexEfSearch = 100;
+
+    /**
+     * 内存索引的向量压缩方式：none为全精度HNSW索引，int8为标量量化，binary为1位二值量化；
+     * 压缩模式下内存只保存编码并按编码扫描，全精度向量写入磁盘上的内存映射文件用于重排序
+     */
+    private String quantization = "none";
+
+    /**
+     * 压缩模式下按编码取出、再用全精度向量重排的候选数，为0时不重排
+     */
+    private Integer rescoreDepth = 100;
+
+    /**
+     * 压缩模式下全精度向量的内存映射文件路径，每次启动打开时清空并由全量构建重新写入，多个实例不能共用同一路径
+     */
+    private String vectorFile = "data/paper-vectors.f32";
+}
@@ -0,0 +1,34 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 相似论文预计算配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.neighbors")
+public class ArxivNeighborConfig {
+
+    /**
+     * 是否在每次同步后预计算相似论文列表
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 每篇论文保存的相似论文数量
+     */
+    private Integer size = 20;
+
+    /**
+     * 每批计算的论文数量
+     */
+    private Integer batchSize = 200;
+
+    /**
+     * 没有向量时按文本相似度计算，查询使用的TF-IDF权重最高的词项数
+     */
+    private Integer maxTerms = 25;
+}
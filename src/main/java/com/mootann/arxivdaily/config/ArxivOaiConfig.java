@@ -0,0 +1,42 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * arXiv OAI-PMH批量收割配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.oai")
+public class ArxivOaiConfig {
+
+    /**
+     * OAI-PMH接口地址
+     */
+    private String baseUrl = "https://oaipmh.arxiv.org/oai";
+
+    /**
+     * 元数据格式：arXiv或arXivRaw
+     */
+    private String metadataPrefix = "arXiv";
+
+    /**
+     * 需要收割的集合
+     */
+    private List<String> sets = new ArrayList<>(List.of("cs", "eess"));
+
+    /**
+     * 单页请求失败后的最大重试次数
+     */
+    private Integer maxRetries = 5;
+
+    /**
+     * 服务端返回503但未提供Retry-After时的等待时间（秒）
+     */
+    private Integer defaultRetryAfterSeconds = 30;
+}
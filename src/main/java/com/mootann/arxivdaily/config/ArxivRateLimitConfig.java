@@ -0,0 +1,39 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * arXiv API限流配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.rate-limit")
+public class ArxivRateLimitConfig {
+
+    /**
+     * 限流模式：local为单实例令牌桶，redis为多实例共享令牌桶
+     */
+    private String mode = "local";
+
+    /**
+     * 令牌发放间隔（毫秒），arXiv API建议至少3秒
+     */
+    private Long intervalMs = 3000L;
+
+    /**
+     * 令牌桶容量（允许的突发请求数）
+     */
+    private Integer burst = 1;
+
+    /**
+     * 最大排队请求数，超过后直接拒绝
+     */
+    private Integer maxQueueSize = 1000;
+
+    /**
+     * redis模式下令牌桶的key
+     */
+    private String redisKey = "ratelimit:arxiv";
+}
@@ -0,0 +1,89 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据库论文检索配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.search")
+public class ArxivSearchConfig {
+
+    /**
+     * 模糊检索的词相似度阈值（pg_trgm.word_similarity_threshold），取值0~1，越大越严格
+     */
+    private Double fuzzyThreshold = 0.4;
+
+    /**
+     * 模糊检索是否同时匹配摘要，开启后会额外创建摘要的三元组索引（体积较大）
+     */
+    private Boolean fuzzyIncludeSummary = false;
+
+    /**
+     * 论文卡片展示的作者数量，其余作者只返回总数
+     */
+    private Integer cardAuthorLimit = 3;
+
+    /**
+     * 论文卡片的摘要片段长度（字符数）
+     */
+    private Integer cardSummaryLength = 300;
+
+    /**
+     * 是否在进程内构建BM25倒排索引（启动后后台从数据库全量构建，之后随论文写入增量更新，占用堆内存）
+     */
+    private Boolean bm25Enabled = false;
+
+    /**
+     * BM25索引中已删除（被更新替换）的文档占比达到该值时重新编号回收
+     */
+    private Float bm25CompactDeadRatio = 0.3f;
+
+    /**
+     * 关键词检索默认使用的引擎：fts为数据库全文检索，bm25为进程内索引（索引未就绪时回退到fts）
+     */
+    private String keywordEngine = "fts";
+
+    /**
+     * 混合检索的融合方式：rrf为倒数排名融合，weighted为各路得分归一化后加权求和
+     */
+    private String hybridFusion = "rrf";
+
+    /**
+     * 混合检索每一路召回的候选数量，只在候选范围内分页
+     */
+    private Integer hybridCandidates = 200;
+
+    /**
+     * 倒数排名融合的平滑常数k
+     */
+    private Integer hybridRrfK = 60;
+
+    /**
+     * 混合检索中关键词检索的权重
+     */
+    private Double hybridLexicalWeight = 1.0;
+
+    /**
+     * 混合检索中向量检索的权重
+     */
+    private Double hybridVectorWeight = 1.0;
+
+    /**
+     * 混合检索中关键词检索的超时时间（毫秒），超时后只用其余结果排序
+     */
+    private Long hybridLexicalTimeoutMs = 500L;
+
+    /**
+     * 混合检索中向量检索的超时时间（毫秒），包含查询文本向量化的时间
+     */
+    private Long hybridVectorTimeoutMs = 1500L;
+
+    /**
+     * 混合检索的工作线程数，两路检索在该线程池中并发执行
+     */
+    private Integer hybridThreads = 8;
+}
@@ -0,0 +1,49 @@
+package com.mootann.arxivdaily.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 检索框输入提示配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "arxiv.suggest")
+public class ArxivSuggestConfig {
+
+    /**
+     * 是否在进程内构建输入提示的前缀树（启动后从数据库全量构建，每次同步后增量更新，占用堆内存）
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 每个前缀预计算的候选数量，即单次最多返回的提示条数
+     */
+    private Integer topK = 10;
+
+    /**
+     * 参与前缀匹配的最大字符数，较长的标题截断后再建树
+     */
+    private Integer maxKeyLength = 120;
+
+    /**
+     * 检索词累计检索次数达到该值后才作为提示，同一客户端在一个重建周期内重复检索只计一次
+     */
+    private Integer queryMinCount = 5;
+
+    /**
+     * 最多作为提示的检索词数量，按检索次数取前N个
+     */
+    private Integer queryLimit = 10000;
+
+    /**
+     * 两次重建之间内存中最多累计的不同检索词数量，达到后不再记录新的检索词
+     */
+    private Integer queryPendingLimit = 50000;
+
+    /**
+     * Redis中最多保留的检索词数量，每次写入后删除次数最低的检索词
+     */
+    private Integer queryRetainLimit = 100000;
+}
@@ -0,0 +1,231 @@
+package com.mootann.arxivdaily.config;
+
+import com.mootann.arxivdaily.repository.AuthorRepository;
+import com.mootann.arxivdaily.repository.PaperCategoryCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数据库扩展结构初始化
+ * Hibernate的ddl-auto无法创建生成列、GIN等索引，这里在启动时执行幂等的DDL补齐，
+ * 每条语句独立执行，失败只记录日志，不影响应用启动
+ */
+@Slf4j
+@Component
+public class DatabaseIndexInitializer implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArxivSearchConfig searchConfig;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private ArxivEmbeddingConfig embeddingConfig;
+
+    @Autowired
+    private ArxivNeighborConfig neighborConfig;
+
+    @Autowired
+    private ArxivSuggestConfig suggestConfig;
+
+    /**
+     * 按顺序执行的DDL，key为日志中显示的名称
+     */
+    private Map<String, String> buildStatements() {
+        Map<String, String> statements = new LinkedHashMap<>();
+
+        // 标题权重A、摘要权重B的全文检索向量，由数据库在写入时自动维护
+        statements.put("search_vector列", """
+            ALTER TABLE arxiv_papers ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('english', coalesce(summary, '')), 'B')
+                ) STORED
+            """);
+        // CONCURRENTLY建索引不阻塞写入，必须在事务外执行（JdbcTemplate默认自动提交）
+        statements.put("search_vector GIN索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_search_vector
+                ON arxiv_papers USING GIN (search_vector)
+            """);
+
+        // 游标分页按 (published_date, id) 倒序查找，分类列表以主分类为前缀
+        statements.put("发布日期游标索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_published_id
+                ON arxiv_papers (published_date DESC, id DESC)
+            """);
+        statements.put("分类发布日期游标索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_category_published_id
+                ON arxiv_papers (primary_category, published_date DESC, id DESC)
+            """);
+
+        // 三元组索引支持模糊检索的相似度运算符以及任意位置的ILIKE子串匹配
+        statements.put("pg_trgm扩展", "CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        statements.put("title三元组索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_title_trgm
+                ON arxiv_papers USING GIN (title gin_trgm_ops)
+            """);
+        if (Boolean.TRUE.equals(searchConfig.getFuzzyIncludeSummary())) {
+            statements.put("summary三元组索引", """
+                CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_summary_trgm
+                    ON arxiv_papers USING GIN (summary gin_trgm_ops)
+                """);
+        }
+
+        // 按天汇总的分类数量，写入论文时增量维护；表为空时（首次部署）从论文表初始填充
+        statements.put("分类数量汇总表", """
+            CREATE TABLE IF NOT EXISTS paper_daily_category_counts (
+                day        date    NOT NULL,
+                category   text    NOT NULL,
+                has_github boolean NOT NULL,
+                count      bigint  NOT NULL,
+                PRIMARY KEY (day, category, has_github)
+            )
+            """);
+        statements.put("分类数量汇总表初始填充",
+            "INSERT INTO paper_daily_category_counts (day, category, has_github, count) "
+                + "SELECT * FROM (" + PaperCategoryCountRepository.AGGREGATE_SQL + ") t "
+                + "WHERE NOT EXISTS (SELECT 1 FROM paper_daily_category_counts)");
+
+        // 交叉列表分类：jsonb_path_ops的GIN索引支持 categories @> '["cs.CL"]'，体积比默认的jsonb_ops小
+        statements.put("categories GIN索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_categories_path
+                ON arxiv_papers USING GIN (categories jsonb_path_ops)
+            """);
+        statements.put("交叉列表分类数量汇总表", """
+            CREATE TABLE IF NOT EXISTS paper_daily_crosslist_counts (
+                day        date    NOT NULL,
+                category   text    NOT NULL,
+                has_github boolean NOT NULL,
+                count      bigint  NOT NULL,
+                PRIMARY KEY (day, category, has_github)
+            )
+            """);
+        statements.put("交叉列表分类数量汇总表初始填充",
+            "INSERT INTO paper_daily_crosslist_counts (day, category, has_github, count) "
+                + "SELECT * FROM (" + PaperCategoryCountRepository.CROSS_LIST_AGGREGATE_SQL + ") t "
+                + "WHERE NOT EXISTS (SELECT 1 FROM paper_daily_crosslist_counts)");
+
+        // 规范化的作者维度表和论文-作者关联表，写入论文时同步维护；关联表为空时启动后从论文表回填
+        statements.put("作者表", """
+            CREATE TABLE IF NOT EXISTS authors (
+                id           bigserial PRIMARY KEY,
+                name_key     text    NOT NULL UNIQUE,
+                surname_key  text    NOT NULL,
+                display_name text    NOT NULL,
+                paper_count  integer NOT NULL DEFAULT 0
+            )
+            """);
+        // text_pattern_ops 使 LIKE 'prefix%' 可以走B树索引
+        statements.put("作者姓名前缀索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_authors_name_key_prefix
+                ON authors (name_key text_pattern_ops)
+            """);
+        statements.put("作者姓氏前缀索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_authors_surname_key_prefix
+                ON authors (surname_key text_pattern_ops)
+            """);
+        statements.put("论文作者关联表", """
+            CREATE TABLE IF NOT EXISTS paper_authors (
+                paper_id       bigint  NOT NULL REFERENCES arxiv_papers (id) ON DELETE CASCADE,
+                author_id      bigint  NOT NULL REFERENCES authors (id),
+                position       integer NOT NULL,
+                published_date date,
+                PRIMARY KEY (paper_id, author_id)
+            )
+            """);
+        statements.put("作者论文游标索引", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_paper_authors_author_published
+                ON paper_authors (author_id, published_date DESC, paper_id DESC)
+            """);
+
+        // 论文向量表（pgvector），维度写入列类型；HNSW索引按余弦距离检索，比IVFFlat无需训练且召回更稳定
+        if (Boolean.TRUE.equals(embeddingConfig.getEnabled())) {
+            statements.put("vector扩展", "CREATE EXTENSION IF NOT EXISTS vector");
+            statements.put("论文向量表", """
+                CREATE TABLE IF NOT EXISTS paper_embeddings (
+                    paper_id     bigint    PRIMARY KEY REFERENCES arxiv_papers (id) ON DELETE CASCADE,
+                    embedding    vector(%d) NOT NULL,
+                    content_hash varchar(32),
+                    model        text      NOT NULL,
+                    created_time timestamp NOT NULL DEFAULT now()
+                )
+                """.formatted(embeddingConfig.getDimensions()));
+            statements.put("论文向量HNSW索引", """
+                CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_paper_embeddings_hnsw
+                    ON paper_embeddings USING hnsw (embedding vector_cosine_ops)
+                    WITH (m = %d, ef_construction = %d)
+                """.formatted(embeddingConfig.getHnswM(), embeddingConfig.getHnswEfConstruction()));
+        }
+
+        // 预计算的相似论文列表：论文主键以int数组保存，得分以每篇2字节的float16打包，按主键一次读取
+        if (Boolean.TRUE.equals(neighborConfig.getEnabled())) {
+            statements.put("相似论文表", """
+                CREATE TABLE IF NOT EXISTS paper_neighbors (
+                    paper_id     bigint      PRIMARY KEY REFERENCES arxiv_papers (id) ON DELETE CASCADE,
+                    neighbor_ids integer[]   NOT NULL,
+                    scores       bytea       NOT NULL,
+                    source       varchar(16) NOT NULL,
+                    content_hash varchar(32),
+                    updated_time timestamp   NOT NULL DEFAULT now()
+                )
+                """);
+        }
+
+        // 输入提示每次同步后按更新时间增量读取标题和作者
+        if (Boolean.TRUE.equals(suggestConfig.getEnabled())) {
+            statements.put("论文更新时间索引", """
+                CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_arxiv_papers_updated_time
+                    ON arxiv_papers (updated_time)
+                """);
+        }
+        return statements;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (Map.Entry<String, String> statement : buildStatements().entrySet()) {
+            long startTime = System.currentTimeMillis();
+            try {
+                jdbcTemplate.execute(statement.getValue());
+                log.info("数据库结构已就绪: {}，耗时 {} ms", statement.getKey(), System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                log.warn("数据库结构初始化失败: {}，{}", statement.getKey(), e.getMessage());
+            }
+        }
+        backfillAuthors();
+    }
+
+    /**
+     * 作者关联表为空时在后台线程中回填，论文较多时不阻塞启动
+     */
+    private void backfillAuthors() {
+        try {
+            if (!authorRepository.isEmpty()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("检查作者关联表失败: {}", e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                authorRepository.backfill();
+            } catch (Exception e) {
+                log.warn("作者关联回填失败: {}", e.getMessage());
+            }
+        }, "author-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -24,6 +24,14 @@ public class ZhipuAiConfig {
     @Value("${zhipu.embedding-model:embedding-3-pro}")
     private String embeddingModelName;
 
+    // 与论文向量表的列维度一致
+    @Value("${arxiv.embedding.dimensions:1024}")
+    private Integer embeddingDimensions;
+
+    // 检索时查询文本向量化的接口超时，混合检索中不应超过向量检索阶段的超时
+    @Value("${arxiv.embedding.query-timeout-ms:1500}")
+    private Long queryEmbeddingTimeoutMs;
+
     @Bean
     public ChatLanguageModel zhipuAiChatModel() {
         return ZhipuAiChatModel.builder()
@@ -66,4 +74,42 @@ public class ZhipuAiConfig {
                 .writeTimeout(Duration.ofSeconds(60))     // 写入超时时间
                 .build();
     }
+
+    /**
+     * 论文向量化使用的向量模型，按论文向量表的列维度输出，与 /zhipu/embedding 使用的默认维度模型分开
+     */
+    @Bean
+    public EmbeddingModel paperEmbeddingModel() {
+        return ZhipuAiEmbeddingModel.builder()
+                .apiKey(apiKey)
+                .model(embeddingModelName)
+                .dimensions(embeddingDimensions)
+                .logRequests(false)
+                .logResponses(false)
+                .callTimeout(Duration.ofSeconds(60))
+                .connectTimeout(Duration.ofSeconds(10))
+                .readTimeout(Duration.ofSeconds(60))
+                .writeTimeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    /**
+     * 检索时向量化查询文本使用的向量模型，与论文向量化的维度一致，超时较短且不重试，接口变慢时检索请求尽快降级
+     */
+    @Bean
+    public EmbeddingModel paperQueryEmbeddingModel() {
+        Duration timeout = Duration.ofMillis(queryEmbeddingTimeoutMs);
+        return ZhipuAiEmbeddingModel.builder()
+                .apiKey(apiKey)
+                .model(embeddingModelName)
+                .dimensions(embeddingDimensions)
+                .maxRetries(0)
+                .logRequests(false)
+                .logResponses(false)
+                .callTimeout(timeout)
+                .connectTimeout(timeout)
+                .readTimeout(timeout)
+                .writeTimeout(timeout)
+                .build();
+    }
 }
@@ -9,4 +9,29 @@ public final class RedisKeyConstant {
     public static final String USER_CACHE_PREFIX = "user:";
 
     public static final String ORG_CACHE_PREFIX = "org:";
+
+    /**
+     * 每日同步游标前缀，完整key为 sync:cursor:{yyyy-MM-dd}
+     */
+    public static final String SYNC_CURSOR_PREFIX = "sync:cursor:";
+
+    /**
+     * 未完成同步的日期集合
+     */
+    public static final String SYNC_PENDING_DATES = "sync:pendingDates";
+
+    /**
+     * 最后一次完整同步成功的日期
+     */
+    public static final String SYNC_LAST_SUCCESS_DATE = "sync:lastSuccessDate";
+
+    /**
+     * 论文到列表缓存的反向索引前缀，完整key为 papers:ref:{arxivId}，集合成员为引用该论文的缓存key
+     */
+    public static final String PAPERS_REF_PREFIX = "papers:ref:";
+
+    /**
+     * 检索词的累计检索次数（ZSet），用于输入提示
+     */
+    public static final String SEARCH_QUERY_COUNTS = "search:queryCounts";
 }
@@ -1,22 +1,47 @@
 package com.mootann.arxivdaily.controller;
 
+import com.mootann.arxivdaily.client.ArxivRateLimiter;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchRequest;
 import com.mootann.arxivdaily.repository.dto.CategoryCountDTO;
+import com.mootann.arxivdaily.repository.dto.CountMode;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import com.mootann.arxivdaily.repository.dto.arxiv.PaperCardSearchResponse;
 import com.mootann.arxivdaily.repository.dto.ApiResponse;
+import com.mootann.arxivdaily.repository.dto.AuthorDTO;
+import com.mootann.arxivdaily.repository.dto.AuthorProfileDTO;
+import com.mootann.arxivdaily.repository.dto.CursorPageDTO;
+import com.mootann.arxivdaily.repository.dto.HybridSearchResponse;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.dto.RateLimiterStatsDTO;
 import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.repository.ArxivPaperKeysetRepository;
+import com.mootann.arxivdaily.repository.PaperNeighborRepository;
+import com.mootann.arxivdaily.search.SuggestTrie;
 import com.mootann.arxivdaily.service.ArxivService;
+import com.mootann.arxivdaily.service.HybridSearchService;
+import com.mootann.arxivdaily.service.PaperEmbeddingService;
+import com.mootann.arxivdaily.service.PaperNeighborService;
+import com.mootann.arxivdaily.service.PaperSuggestService;
 import com.mootann.arxivdaily.task.ArxivSyncTask;
+import com.mootann.arxivdaily.util.SpringUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.UnsupportedEncodingException;
 import java.util.List;
+import java.util.function.Supplier;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 
 /**
@@ -37,6 +62,21 @@ public class ArxivController {
 
     @Autowired
     private ArxivSyncTask dailyArxivSyncTask;
+
+    @Autowired
+    private ArxivRateLimiter arxivRateLimiter;
+
+    @Autowired
+    private PaperEmbeddingService paperEmbeddingService;
+
+    @Autowired
+    private HybridSearchService hybridSearchService;
+
+    @Autowired
+    private PaperNeighborService paperNeighborService;
+
+    @Autowired
+    private PaperSuggestService paperSuggestService;
     
     private Integer validateMaxResults(Integer maxResults) {
         if (maxResults == null || maxResults <= 0) {
@@ -44,6 +84,14 @@ public class ArxivController {
         }
         return Math.min(maxResults, MAX_RESULTS_LIMIT);
     }
+
+    /**
+     * 检索词计数的客户端标识：已登录按用户ID，匿名请求按来源地址
+     */
+    private String clientId(HttpServletRequest request) {
+        Long userId = SpringUtil.getCurrentUserId();
+        return userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+    }
     
     /**
      * 根据arXiv ID获取论文
@@ -76,7 +124,7 @@ public class ArxivController {
      * POST /api/arxiv/search
      */
     @PostMapping("/search")
-    public ResponseEntity<ApiResponse<ArxivSearchResponse>> searchPapers(@RequestBody ArxivSearchRequest request) {
+    public Mono<ResponseEntity<ApiResponse<ArxivSearchResponse>>> searchPapers(@RequestBody ArxivSearchRequest request) {
         log.info("收到搜索论文请求: {}, 来源: {}", request.getQuery(), request.getSource());
         if ("db".equalsIgnoreCase(request.getSource())) {
             int page = 1;
@@ -96,10 +144,21 @@ public class ArxivController {
             String keyword = request.getQuery();
             if (keyword.startsWith("all:")) keyword = keyword.substring(4);
             
-            return ResponseEntity.ok(ApiResponse.success(arxivService.searchPapersFromDb(keyword, page, request.getMaxResults())));
+            return Mono.just(ResponseEntity.ok(ApiResponse.success(arxivService.searchPapersFromDb(keyword, page, request.getMaxResults()))));
         }
-        ArxivSearchResponse response = arxivService.searchPapers(request);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        // 异步返回，等待arXiv分页结果期间不占用Tomcat线程
+        return arxivService.searchPapersReactive(request)
+            .map(response -> ResponseEntity.ok(ApiResponse.success(response)));
+    }
+
+    /**
+     * 流式搜索论文，每篇论文以一行JSON返回（NDJSON）
+     * POST /api/v1/arxiv/search/stream
+     */
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ArxivPaperDTO> streamSearchPapers(@RequestBody ArxivSearchRequest request) {
+        log.info("收到流式搜索论文请求: {}", request.getQuery());
+        return arxivService.streamPapers(request);
     }
     
     /**
@@ -131,10 +190,14 @@ public class ArxivController {
             @RequestParam(defaultValue = "10") Integer maxResults,
             @RequestParam(defaultValue = "api") String source,
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(required = false) Boolean hasGithub) {
+            @RequestParam(required = false) Boolean hasGithub,
+            HttpServletRequest request) {
         log.info("收到按关键词搜索请求: {}, 来源: {}, 页码: {}, hasGithub: {}", keyword, source, page, hasGithub);
         maxResults = validateMaxResults(maxResults);
         if ("db".equalsIgnoreCase(source)) {
+            if (page == 1) {
+                paperSuggestService.recordQuery(keyword, clientId(request));
+            }
             return ResponseEntity.ok(ApiResponse.success(arxivService.searchPapersFromDb(keyword, page, maxResults, hasGithub)));
         }
         ArxivSearchResponse response = arxivService.searchByKeyword(keyword, maxResults, page);
@@ -337,23 +400,25 @@ public class ArxivController {
 
     /**
      * 获取数据库中各分类的论文数量统计
-     * GET /api/arxiv/database/stats/categories
+     * crossList=true时一篇论文计入它的每个分类（含交叉列表分类），否则只计入主分类
+     * GET /api/arxiv/database/stats/categories?startDate=2025-01-01&endDate=2025-01-31&crossList=true
      */
     @GetMapping("/database/stats/categories")
     public ResponseEntity<ApiResponse<List<CategoryCountDTO>>> getCategoryCountsFromDatabase(
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
-        log.info("收到获取数据库分类统计请求, startDate: {}, endDate: {}", startDate, endDate);
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "false") Boolean crossList) {
+        log.info("收到获取数据库分类统计请求, startDate: {}, endDate: {}, crossList: {}", startDate, endDate, crossList);
         List<CategoryCountDTO> counts;
         if (startDate != null && endDate != null) {
             try {
-                counts = arxivService.getCategoryCountsFromDatabase(LocalDate.parse(startDate), LocalDate.parse(endDate));
+                counts = arxivService.getCategoryCountsFromDatabase(LocalDate.parse(startDate), LocalDate.parse(endDate), crossList);
             } catch (Exception e) {
                 log.error("解析日期失败", e);
-                counts = arxivService.getCategoryCountsFromDatabase();
+                counts = arxivService.getCategoryCountsFromDatabase(crossList);
             }
         } else {
-            counts = arxivService.getCategoryCountsFromDatabase();
+            counts = arxivService.getCategoryCountsFromDatabase(crossList);
         }
         return ResponseEntity.ok(ApiResponse.success(counts));
     }
@@ -372,6 +437,113 @@ public class ArxivController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * 从论文表重建分类数量汇总表（一次性修复，正常情况下汇总表随写入增量维护）
+     * POST /api/v1/arxiv/database/category-counts/rebuild
+     */
+    @PostMapping("/database/category-counts/rebuild")
+    public ResponseEntity<ApiResponse<String>> rebuildCategoryCounts() {
+        log.info("收到重建分类数量汇总表请求");
+        try {
+            int rows = arxivService.rebuildCategoryCounts();
+            return ResponseEntity.ok(ApiResponse.success("分类数量汇总表已重建，共 " + rows + " 行"));
+        } catch (Exception e) {
+            log.error("重建分类数量汇总表失败", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error(500, "重建分类数量汇总表失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 检索框输入提示：按前缀返回论文标题、作者、分类和高频检索词，查询只访问内存中的前缀树
+     * weight作者和分类为论文数，检索词为检索次数，标题为1；未启用或尚未构建时返回空列表
+     * GET /api/v1/arxiv/database/suggest?prefix=graph neu&limit=10
+     */
+    @GetMapping("/database/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestTrie.Suggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(paperSuggestService.suggest(prefix, validateMaxResults(limit))));
+    }
+
+    /**
+     * 按姓名前缀查找作者（名或姓的前缀），按论文数倒序
+     * GET /api/v1/arxiv/database/authors/suggest?prefix=lecun&limit=10
+     */
+    @GetMapping("/database/authors/suggest")
+    public ResponseEntity<ApiResponse<List<AuthorDTO>>> suggestAuthors(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("收到作者前缀查找请求: {}", prefix);
+        return ResponseEntity.ok(ApiResponse.success(arxivService.suggestAuthors(prefix, validateMaxResults(limit))));
+    }
+
+    /**
+     * 获取作者信息和按年份统计的论文数量
+     * GET /api/v1/arxiv/database/authors/profile?name=Yann LeCun
+     */
+    @GetMapping("/database/authors/profile")
+    public ResponseEntity<ApiResponse<AuthorProfileDTO>> getAuthorProfile(@RequestParam String name) {
+        log.info("收到获取作者信息请求: {}", name);
+        AuthorProfileDTO profile = arxivService.getAuthorProfile(name);
+        if (profile != null) {
+            return ResponseEntity.ok(ApiResponse.success(profile));
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 游标分页查询作者的论文，按发布日期倒序
+     * GET /api/v1/arxiv/database/authors/papers?name=Yann LeCun&size=10&cursor=xxx
+     */
+    @GetMapping("/database/authors/papers")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> scrollAuthorPapers(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("收到游标分页查询作者论文请求，作者: {}, 每页数量: {}", name, size);
+        return handleScroll(() -> arxivService.scrollAuthorPapersFromDatabase(name, cursor, validateMaxResults(size)));
+    }
+
+    /**
+     * 清空并重新回填作者表（姓名规范化规则变更后使用，正常情况下随写入增量维护）
+     * POST /api/v1/arxiv/database/authors/rebuild
+     */
+    @PostMapping("/database/authors/rebuild")
+    public ResponseEntity<ApiResponse<String>> rebuildAuthors() {
+        log.info("收到重建作者表请求");
+        try {
+            int papers = arxivService.rebuildAuthors();
+            return ResponseEntity.ok(ApiResponse.success("作者表已重建，共处理论文 " + papers + " 篇"));
+        } catch (Exception e) {
+            log.error("重建作者表失败", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error(500, "重建作者表失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 获取数据库中最后一天的论文卡片
+     * GET /api/arxiv/database/latest-papers/cards?page=1&size=10&hasGithub=true&count=none
+     */
+    @GetMapping("/database/latest-papers/cards")
+    public ResponseEntity<ApiResponse<PaperCardSearchResponse>> getLatestPaperCardsFromDatabase(
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(defaultValue = "exact") String count) {
+        log.info("收到获取最后一天论文卡片请求，页码: {}, 每页数量: {}, hasGithub: {}, 计数方式: {}", page, size, hasGithub, count);
+        CountMode countMode;
+        try {
+            countMode = CountMode.parse(count);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        }
+        PaperCardSearchResponse response = arxivService.getLatestPaperCardsFromDatabase(page, validateMaxResults(size), hasGithub, countMode);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * 获取数据库中最新的论文发布日期
      * GET /api/arxiv/database/latest-date
@@ -402,20 +574,126 @@ public class ArxivController {
     }
 
     /**
-     * 根据关键词查询论文
-     * GET /api/arxiv/database/search?keyword=xxx&page=1&size=10
+     * 根据关键词检索论文
+     * mode为空时使用配置的关键词检索引擎；mode=fts为数据库全文检索，按相关度排序；mode=bm25为进程内BM25索引检索，按BM25得分排序；
+     * mode=fuzzy为模糊检索，容忍拼写错误并匹配标题片段，按相似度排序
+     * GET /api/arxiv/database/search?keyword=xxx&page=1&size=10&category=cs.AI&startDate=2024-01-01&endDate=2024-01-31&mode=fuzzy
      */
     @GetMapping("/database/search")
     public ResponseEntity<ApiResponse<Page<ArxivPaper>>> searchPapersFromDatabase(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
-            @RequestParam(required = false) Boolean hasGithub) {
-        log.info("收到从数据库搜索论文请求，关键词: {}, 页码: {}, 每页数量: {}, hasGithub: {}", keyword, page, size, hasGithub);
-        Page<ArxivPaper> papers = arxivService.searchPapersFromDatabase(keyword, page, size, hasGithub);
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String mode,
+            HttpServletRequest request) {
+        log.info("收到从数据库搜索论文请求，关键词: {}, 页码: {}, 每页数量: {}, hasGithub: {}, 分类: {}, 日期: {} 到 {}, 模式: {}",
+            keyword, page, size, hasGithub, category, startDate, endDate, mode);
+        Page<ArxivPaper> papers;
+        if (mode == null || mode.isBlank()) {
+            papers = arxivService.searchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+        } else if ("fuzzy".equalsIgnoreCase(mode)) {
+            papers = arxivService.fuzzySearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+        } else if ("fts".equalsIgnoreCase(mode)) {
+            papers = arxivService.ftsSearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+        } else if ("bm25".equalsIgnoreCase(mode)) {
+            papers = arxivService.bm25SearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+        } else {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "不支持的检索模式: " + mode));
+        }
+        if (page == 1) {
+            paperSuggestService.recordQuery(keyword, clientId(request));
+        }
         return ResponseEntity.ok(ApiResponse.success(papers));
     }
 
+    /**
+     * 语义检索：按标题和摘要的向量与查询文本的余弦距离返回最相近的k篇论文，score为余弦距离（越小越相似）
+     * 筛选条件与 /database/papers/filter 相同（不含关键词），需要开启 arxiv.embedding.enabled
+     * GET /api/arxiv/database/semantic-search?text=xxx&k=10&categories=cs.AI,cs.CL&startDate=2025-01-01&endDate=2025-01-31&hasGithub=true&author=xxx&crossList=true
+     */
+    @GetMapping("/database/semantic-search")
+    public ResponseEntity<ApiResponse<List<ArxivPaperKeysetRepository.ScoredPaper>>> semanticSearchFromDatabase(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "10") Integer k,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "false") Boolean crossList) {
+        log.info("收到语义检索请求，文本: {}, k: {}, 分类: {}, 日期: {} 到 {}, hasGithub: {}, 作者: {}",
+            text, k, categories, startDate, endDate, hasGithub, author);
+        if (!paperEmbeddingService.isEnabled()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "语义检索未启用"));
+        }
+        if (text.isBlank()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "检索文本不能为空"));
+        }
+        PaperFilter filter;
+        try {
+            filter = PaperFilter.of(categories, startDate, endDate, hasGithub, null, author).crossListed(crossList);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "日期格式不正确: " + e.getMessage()));
+        }
+        return ResponseEntity.ok(ApiResponse.success(paperEmbeddingService.semanticSearch(text, filter, validateMaxResults(k))));
+    }
+
+    /**
+     * 混合检索：关键词检索和语义检索并发执行，融合为一个排序结果后分页
+     * fusion为空时使用配置的融合方式，rrf为倒数排名融合，weighted为得分归一化后加权；
+     * 某一路超时或失败时只用另一路结果并标记degraded，stages返回各阶段的耗时和状态；语义检索未启用时只有关键词结果
+     * GET /api/arxiv/database/hybrid-search?text=xxx&page=1&size=10&categories=cs.AI&startDate=2025-01-01&endDate=2025-01-31&hasGithub=true&author=xxx&crossList=true&fusion=rrf
+     */
+    @GetMapping("/database/hybrid-search")
+    public ResponseEntity<ApiResponse<HybridSearchResponse>> hybridSearchFromDatabase(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "false") Boolean crossList,
+            @RequestParam(required = false) String fusion,
+            HttpServletRequest request) {
+        log.info("收到混合检索请求，文本: {}, 页码: {}, 每页数量: {}, 分类: {}, 日期: {} 到 {}, hasGithub: {}, 作者: {}, 融合方式: {}",
+            text, page, size, categories, startDate, endDate, hasGithub, author, fusion);
+        if (text.isBlank()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "检索文本不能为空"));
+        }
+        try {
+            PaperFilter filter = PaperFilter.of(categories, startDate, endDate, hasGithub, null, author).crossListed(crossList);
+            if (page <= 1) {
+                paperSuggestService.recordQuery(text, clientId(request));
+            }
+            return ResponseEntity.ok(ApiResponse.success(
+                hybridSearchService.search(text, filter, Math.max(page, 1), validateMaxResults(size), fusion)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "日期格式不正确: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        }
+    }
+
+    /**
+     * 立即补齐缺少或过期的论文向量（异步执行）
+     * POST /api/arxiv/database/embeddings/refresh
+     */
+    @PostMapping("/database/embeddings/refresh")
+    public ResponseEntity<ApiResponse<String>> refreshEmbeddings() {
+        log.info("收到补齐论文向量请求");
+        if (!paperEmbeddingService.isEnabled()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "语义检索未启用"));
+        }
+        paperEmbeddingService.requestEmbedding();
+        return ResponseEntity.ok(ApiResponse.success("论文向量补齐任务已提交"));
+    }
+
     /**
      * 根据分类查询论文
      * GET /api/arxiv/database/category/{category}?page=1&size=10
@@ -492,6 +770,156 @@ public class ArxivController {
         return ResponseEntity.ok(ApiResponse.success(papers));
     }
 
+    /**
+     * 按任意筛选条件组合分页查询论文，所有条件均可省略
+     * 有关键词时按全文检索相关度排序，否则按发布日期倒序
+     * count指定总数计算方式：exact精确计数（默认），estimate返回缓存的估算总数，none不计数只返回是否有下一页；
+     * crossList=true时分类条件匹配论文的任一分类（含交叉列表分类），否则只匹配主分类
+     * GET /api/arxiv/database/papers/filter?categories=cs.AI,cs.CL&startDate=2025-01-01&endDate=2025-01-31&hasGithub=true&keyword=xxx&author=xxx&page=1&size=10&count=estimate&crossList=true
+     */
+    @GetMapping("/database/papers/filter")
+    public ResponseEntity<ApiResponse<Slice<ArxivPaper>>> filterPapersFromDatabase(
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "false") Boolean crossList) {
+        log.info("收到从数据库按条件查询论文请求，分类: {}, 日期: {} 到 {}, hasGithub: {}, 关键词: {}, 作者: {}, 页码: {}, 每页数量: {}, 计数方式: {}",
+            categories, startDate, endDate, hasGithub, keyword, author, page, size, count);
+        PaperFilter filter;
+        CountMode countMode;
+        try {
+            filter = PaperFilter.of(categories, startDate, endDate, hasGithub, keyword, author).crossListed(crossList);
+            countMode = CountMode.parse(count);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "日期格式不正确: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        }
+        Slice<ArxivPaper> papers = arxivService.queryPapersFromDatabase(filter, page, validateMaxResults(size), countMode);
+        return ResponseEntity.ok(ApiResponse.success(papers));
+    }
+
+    /**
+     * 按任意筛选条件组合分页查询论文卡片，参数与 /database/papers/filter 相同
+     * 只返回卡片字段（前N位作者、摘要片段），完整摘要通过 /database/paper/{arxivId} 获取；
+     * 同时传入开始和结束日期时附带该范围的分类统计；count含义同 /database/papers/filter
+     * GET /api/arxiv/database/papers/cards?categories=cs.AI&startDate=2025-01-01&endDate=2025-01-31&hasGithub=true&page=1&size=10&count=none
+     */
+    @GetMapping("/database/papers/cards")
+    public ResponseEntity<ApiResponse<PaperCardSearchResponse>> getPaperCardsFromDatabase(
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "false") Boolean crossList) {
+        log.info("收到从数据库查询论文卡片请求，分类: {}, 日期: {} 到 {}, hasGithub: {}, 关键词: {}, 作者: {}, 页码: {}, 每页数量: {}, 计数方式: {}",
+            categories, startDate, endDate, hasGithub, keyword, author, page, size, count);
+        PaperFilter filter;
+        CountMode countMode;
+        try {
+            filter = PaperFilter.of(categories, startDate, endDate, hasGithub, keyword, author).crossListed(crossList);
+            countMode = CountMode.parse(count);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "日期格式不正确: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        }
+        return ResponseEntity.ok(ApiResponse.success(arxivService.searchPaperCardsFromDb(filter, page, validateMaxResults(size), countMode)));
+    }
+
+    /**
+     * 游标分页查询所有论文，按发布日期倒序
+     * 首次请求不带cursor，之后传入上一页返回的nextCursor
+     * GET /api/arxiv/database/papers/scroll?size=10&cursor=xxx&hasGithub=true
+     */
+    @GetMapping("/database/papers/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> scrollPapersFromDatabase(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean hasGithub) {
+        log.info("收到从数据库游标分页查询论文请求，每页数量: {}, hasGithub: {}", size, hasGithub);
+        return handleScroll(() -> arxivService.scrollPapersFromDatabase(
+            PaperFilter.of(null, null, null, hasGithub, null), cursor, validateMaxResults(size)));
+    }
+
+    /**
+     * 游标分页查询分类论文
+     * GET /api/arxiv/database/category/{category}/scroll?size=10&cursor=xxx
+     */
+    @GetMapping("/database/category/{category}/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> scrollPapersByCategoryFromDatabase(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        log.info("收到从数据库游标分页查询分类论文请求: {}, 日期: {} 到 {}, 每页数量: {}, hasGithub: {}", category, startDate, endDate, size, hasGithub);
+        return handleScroll(() -> arxivService.scrollPapersFromDatabase(
+            PaperFilter.of(category, startDate, endDate, hasGithub, null), cursor, validateMaxResults(size)));
+    }
+
+    /**
+     * 游标分页查询日期范围内的论文
+     * GET /api/arxiv/database/date-range/scroll?startDate=2025-01-01&endDate=2025-01-31&size=10&cursor=xxx
+     */
+    @GetMapping("/database/date-range/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> scrollPapersByDateRangeFromDatabase(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean hasGithub) {
+        log.info("收到从数据库游标分页查询日期范围论文请求: {} 到 {}, 每页数量: {}, hasGithub: {}", startDate, endDate, size, hasGithub);
+        return handleScroll(() -> arxivService.scrollPapersFromDatabase(
+            PaperFilter.of(null, startDate, endDate, hasGithub, null), cursor, validateMaxResults(size)));
+    }
+
+    /**
+     * 游标分页检索论文，mode参数与 /database/search 相同
+     * GET /api/arxiv/database/search/scroll?keyword=xxx&size=10&cursor=xxx&mode=fts
+     */
+    @GetMapping("/database/search/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> scrollSearchPapersFromDatabase(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Boolean hasGithub,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "fts") String mode) {
+        log.info("收到从数据库游标分页检索论文请求，关键词: {}, 模式: {}, 每页数量: {}", keyword, mode, size);
+        if (!"fts".equalsIgnoreCase(mode) && !"fuzzy".equalsIgnoreCase(mode)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "不支持的检索模式: " + mode));
+        }
+        if ("fuzzy".equalsIgnoreCase(mode)) {
+            return handleScroll(() -> arxivService.scrollFuzzySearchPapersFromDatabase(keyword,
+                PaperFilter.of(category, startDate, endDate, hasGithub, null), cursor, validateMaxResults(size)));
+        }
+        return handleScroll(() -> arxivService.scrollPapersFromDatabase(
+            PaperFilter.of(category, startDate, endDate, hasGithub, keyword), cursor, validateMaxResults(size)));
+    }
+
+    private ResponseEntity<ApiResponse<CursorPageDTO<ArxivPaper>>> handleScroll(Supplier<CursorPageDTO<ArxivPaper>> query) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(query.get()));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        }
+    }
+
     /**
      * 根据arXiv ID获取论文
      * GET /api/arxiv/database/paper/{arxivId}
@@ -507,6 +935,33 @@ public class ArxivController {
         }
     }
 
+    /**
+     * 获取论文的相似论文（每次同步后预计算，按主键读取一行，不做实时检索）
+     * score有向量时为余弦相似度，否则为相对第一名的文本相似度；未启用或尚未计算时返回空列表
+     * GET /api/arxiv/database/paper/{arxivId}/similar?limit=10
+     */
+    @GetMapping("/database/paper/{arxivId}/similar")
+    public ResponseEntity<ApiResponse<List<PaperNeighborRepository.SimilarPaper>>> getSimilarPapersFromDatabase(
+            @PathVariable String arxivId,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("收到获取相似论文请求: {}, limit: {}", arxivId, limit);
+        return ResponseEntity.ok(ApiResponse.success(paperNeighborService.findSimilar(arxivId, validateMaxResults(limit))));
+    }
+
+    /**
+     * 立即计算缺少或过期的相似论文列表（异步执行）
+     * POST /api/arxiv/database/neighbors/refresh
+     */
+    @PostMapping("/database/neighbors/refresh")
+    public ResponseEntity<ApiResponse<String>> refreshNeighbors() {
+        log.info("收到计算相似论文请求");
+        if (!paperNeighborService.isEnabled()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, "相似论文预计算未启用"));
+        }
+        paperNeighborService.requestRefresh();
+        return ResponseEntity.ok(ApiResponse.success("相似论文计算任务已提交"));
+    }
+
     /**
      * 批量获取论文
      * POST /api/arxiv/database/papers/batch
@@ -588,4 +1043,60 @@ public class ArxivController {
                 .body(ApiResponse.error(500, "触发同步任务失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 通过OAI-PMH批量收割历史论文，已有收割任务在执行时返回409
+     * POST /api/v1/arxiv/sync/oai?from=2024-01-01&until=2024-01-31
+     */
+    @PostMapping("/sync/oai")
+    public ResponseEntity<ApiResponse<String>> triggerOaiHarvest(
+            @RequestParam String from,
+            @RequestParam String until) {
+        log.info("收到OAI-PMH历史收割请求: {} 至 {}", from, until);
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate untilDate = LocalDate.parse(until);
+            if (fromDate.isAfter(untilDate)) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(400, "开始日期不能晚于结束日期"));
+            }
+            // 在收割线程中异步执行，避免阻塞请求
+            dailyArxivSyncTask.startHarvest(fromDate, untilDate);
+            return ResponseEntity.ok(ApiResponse.success("OAI-PMH历史收割任务已启动"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(409, e.getMessage()));
+        } catch (Exception e) {
+            log.error("触发OAI-PMH历史收割失败", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(400, "触发OAI-PMH历史收割失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 从本地归档回放API响应并重新入库，不访问网络，已有回放任务在执行时返回409
+     * POST /api/v1/arxiv/archive/replay
+     */
+    @PostMapping("/archive/replay")
+    public ResponseEntity<ApiResponse<String>> replayArchive() {
+        log.info("收到归档回放入库请求");
+        try {
+            // 在回放线程中异步执行，避免阻塞请求
+            arxivService.startReingestFromArchive();
+            return ResponseEntity.ok(ApiResponse.success("归档回放入库任务已启动"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(409, e.getMessage()));
+        } catch (Exception e) {
+            log.error("触发归档回放入库失败", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error(500, "触发归档回放入库失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 获取arXiv请求限流器统计信息（排队深度、等待时间）
+     * GET /api/v1/arxiv/rate-limit/stats
+     */
+    @GetMapping("/rate-limit/stats")
+    public ResponseEntity<ApiResponse<RateLimiterStatsDTO>> getRateLimiterStats() {
+        return ResponseEntity.ok(ApiResponse.success(arxivRateLimiter.getStats()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.mootann.arxivdaily.controller;
+
+import com.mootann.arxivdaily.repository.dto.ApiResponse;
+import com.mootann.arxivdaily.repository.dto.BackfillJobRequest;
+import com.mootann.arxivdaily.repository.dto.BackfillProgressDTO;
+import com.mootann.arxivdaily.service.BackfillJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 历史数据回填控制器
+ * 提供回填任务的启动、暂停、恢复、取消和进度查询接口
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/arxiv/backfill")
+public class BackfillController {
+
+    @Autowired
+    private BackfillJobService backfillJobService;
+
+    /**
+     * 启动回填任务
+     * POST /api/v1/arxiv/backfill/jobs
+     * 请求体：{"startDate": "2024-01-01", "endDate": "2024-01-31", "categories": ["cs.AI", "cs.CL"]}
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<BackfillProgressDTO>> startJob(@RequestBody BackfillJobRequest request) {
+        log.info("收到回填任务请求: {} 至 {}, 分类={}", request.getStartDate(), request.getEndDate(), request.getCategories());
+        return handle(() -> backfillJobService.start(request));
+    }
+
+    /**
+     * 查询所有回填任务
+     * GET /api/v1/arxiv/backfill/jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<ApiResponse<List<BackfillProgressDTO>>> listJobs() {
+        return ResponseEntity.ok(ApiResponse.success(backfillJobService.listJobs()));
+    }
+
+    /**
+     * 查询回填任务进度
+     * GET /api/v1/arxiv/backfill/jobs/{jobId}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<BackfillProgressDTO>> getProgress(@PathVariable String jobId) {
+        return handle(() -> backfillJobService.getProgress(jobId));
+    }
+
+    /**
+     * 暂停回填任务
+     * POST /api/v1/arxiv/backfill/jobs/{jobId}/pause
+     */
+    @PostMapping("/jobs/{jobId}/pause")
+    public ResponseEntity<ApiResponse<BackfillProgressDTO>> pauseJob(@PathVariable String jobId) {
+        return handle(() -> backfillJobService.pause(jobId));
+    }
+
+    /**
+     * 恢复回填任务
+     * POST /api/v1/arxiv/backfill/jobs/{jobId}/resume
+     */
+    @PostMapping("/jobs/{jobId}/resume")
+    public ResponseEntity<ApiResponse<BackfillProgressDTO>> resumeJob(@PathVariable String jobId) {
+        return handle(() -> backfillJobService.resume(jobId));
+    }
+
+    /**
+     * 取消回填任务
+     * POST /api/v1/arxiv/backfill/jobs/{jobId}/cancel
+     */
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<ApiResponse<BackfillProgressDTO>> cancelJob(@PathVariable String jobId) {
+        return handle(() -> backfillJobService.cancel(jobId));
+    }
+
+    private ResponseEntity<ApiResponse<BackfillProgressDTO>> handle(Supplier<BackfillProgressDTO> action) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(action.get()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(400, e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(409, e.getMessage()));
+        } catch (Exception e) {
+            log.error("回填任务操作失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("回填任务操作失败: " + e.getMessage()));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +21,7 @@ public class ZhipuAiController {
     private ChatLanguageModel chatLanguageModel;
 
     @Autowired
+    @Qualifier("zhipuAiEmbeddingModel")
     private EmbeddingModel embeddingModel;
 
     @GetMapping("/chat")
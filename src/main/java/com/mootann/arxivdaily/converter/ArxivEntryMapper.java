@@ -1,6 +1,7 @@
 package com.mootann.arxivdaily.converter;
 
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.xml.ArxivAtomParser;
 import com.mootann.arxivdaily.xml.ArxivAuthor;
 import com.mootann.arxivdaily.xml.ArxivCategory;
 import com.mootann.arxivdaily.xml.ArxivEntry;
@@ -10,7 +11,6 @@ import org.mapstruct.Named;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,16 +40,7 @@ public interface ArxivEntryMapper {
      */
     @Named("extractArxivId")
     default String extractArxivId(String id) {
-        if (id == null || !id.contains("/abs/")) {
-            return null;
-        }
-        String[] parts = id.split("/abs/");
-        if (parts.length > 1) {
-            String arxivIdWithVersion = parts[1];
-            String[] idParts = arxivIdWithVersion.split("v");
-            return idParts[0];
-        }
-        return null;
+        return ArxivAtomParser.extractArxivId(id);
     }
     
     /**
@@ -57,22 +48,7 @@ public interface ArxivEntryMapper {
      */
     @Named("extractVersion")
     default Integer extractVersion(String id) {
-        if (id == null || !id.contains("/abs/")) {
-            return 1;
-        }
-        String[] parts = id.split("/abs/");
-        if (parts.length > 1) {
-            String arxivIdWithVersion = parts[1];
-            String[] idParts = arxivIdWithVersion.split("v");
-            if (idParts.length > 1) {
-                try {
-                    return Integer.parseInt(idParts[1]);
-                } catch (NumberFormatException e) {
-                    return 1;
-                }
-            }
-        }
-        return 1;
+        return ArxivAtomParser.extractVersion(id);
     }
     
     /**
@@ -80,8 +56,7 @@ public interface ArxivEntryMapper {
      */
     @Named("cleanText")
     default String cleanText(String text) {
-        if (text == null) return null;
-        return text.replaceAll("\\s+", " ").trim();
+        return ArxivAtomParser.normalizeWhitespace(text);
     }
     
     /**
@@ -129,14 +104,6 @@ public interface ArxivEntryMapper {
      */
     @Named("parseDate")
     default LocalDate parseDate(String dateStr) {
-        if (dateStr == null) {
-            return null;
-        }
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-            return LocalDate.parse(dateStr, formatter);
-        } catch (Exception e) {
-            return null;
-        }
+        return ArxivAtomParser.parseDate(dateStr);
     }
 }
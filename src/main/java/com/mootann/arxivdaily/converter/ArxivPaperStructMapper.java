@@ -13,6 +13,7 @@ public interface ArxivPaperStructMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdTime", ignore = true)
     @Mapping(target = "updatedTime", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
     ArxivPaper toEntity(ArxivPaperDTO dto);
 
     ArxivPaperDTO toDto(ArxivPaper entity);
@@ -0,0 +1,326 @@
+package com.mootann.arxivdaily.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mootann.arxivdaily.repository.AuthorRepository.PaperAuthors;
+import com.mootann.arxivdaily.repository.PaperCategoryCountRepository.CountDelta;
+import com.mootann.arxivdaily.repository.dto.BulkUpsertResult;
+import com.mootann.arxivdaily.repository.dto.PaperStateDTO;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.util.ContentHashUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * arXiv论文批量写入
+ * 每个分块用一条 INSERT ... SELECT FROM unnest(...) ON CONFLICT DO UPDATE 完成，
+ * 每块独立提交事务，通过 RETURNING (xmax = 0) 精确统计插入和更新数量
+ * 已有论文仅在内容哈希变化且版本号不回退时才会被重写；分类数量汇总表和作者关联表在同一事务中随之更新。
+ * 多个回填线程可能同时写入交叉列表的同一批论文，行锁一律按arxiv_id顺序获取，避免相互死锁
+ */
+@Slf4j
+@Repository
+public class ArxivPaperBulkRepository {
+
+    // 每个事务写入的论文数量
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO arxiv_papers (arxiv_id, title, summary, authors, published_date, updated_date,
+                                  primary_category, categories, pdf_url, latex_url, arxiv_url, doi,
+                                  version, github_url, content_hash, created_time, updated_time)
+        SELECT t.arxiv_id, t.title, t.summary, t.authors::jsonb, t.published_date, t.updated_date,
+               t.primary_category, t.categories::jsonb, t.pdf_url, t.latex_url, t.arxiv_url, t.doi,
+               t.version, t.github_url, t.content_hash, now(), now()
+        FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::date[], ?::date[],
+                    ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[],
+                    ?::int[], ?::text[], ?::text[])
+             AS t(arxiv_id, title, summary, authors, published_date, updated_date,
+                  primary_category, categories, pdf_url, latex_url, arxiv_url, doi,
+                  version, github_url, content_hash)
+        ORDER BY t.arxiv_id
+        ON CONFLICT (arxiv_id) DO UPDATE SET
+            title = EXCLUDED.title,
+            summary = EXCLUDED.summary,
+            authors = EXCLUDED.authors,
+            published_date = EXCLUDED.published_date,
+            updated_date = EXCLUDED.updated_date,
+            primary_category = EXCLUDED.primary_category,
+            categories = EXCLUDED.categories,
+            pdf_url = EXCLUDED.pdf_url,
+            latex_url = EXCLUDED.latex_url,
+            arxiv_url = EXCLUDED.arxiv_url,
+            doi = EXCLUDED.doi,
+            version = EXCLUDED.version,
+            github_url = COALESCE(EXCLUDED.github_url, arxiv_papers.github_url),
+            content_hash = EXCLUDED.content_hash,
+            updated_time = now()
+        WHERE arxiv_papers.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+          AND COALESCE(EXCLUDED.version, 0) >= COALESCE(arxiv_papers.version, 0)
+        RETURNING id, arxiv_id, (xmax = 0) AS inserted, published_date, primary_category, (github_url IS NOT NULL) AS has_github
+        """;
+
+    // 锁定本块中已入库的论文并读取更新前的汇总维度，用于维护分类数量汇总表
+    private static final String LOCK_EXISTING_SQL = """
+        SELECT arxiv_id, published_date, primary_category, (github_url IS NOT NULL) AS has_github,
+               CAST(categories AS text) AS categories
+        FROM arxiv_papers
+        WHERE arxiv_id = ANY(?::text[])
+        ORDER BY arxiv_id
+        FOR UPDATE
+        """;
+
+    private static final String FIND_STATES_SQL = """
+        SELECT arxiv_id, content_hash, version, md5(summary) AS summary_hash
+        FROM arxiv_papers
+        WHERE arxiv_id = ANY(?::text[])
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PaperCategoryCountRepository categoryCountRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ArxivPaperBulkRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 批量插入或更新论文，按arxiv_id去重（保留最后一条）后分块写入
+     * 内容未变化的已有论文不会被更新，计入unchanged
+     * @param papers 论文列表
+     * @return 插入、更新和未变化的数量
+     */
+    public BulkUpsertResult upsert(List<ArxivPaper> papers) {
+        BulkUpsertResult total = new BulkUpsertResult();
+        if (papers == null || papers.isEmpty()) {
+            return total;
+        }
+
+        // 同一条语句中同一arxiv_id出现两次会导致ON CONFLICT报错
+        Map<String, ArxivPaper> unique = new LinkedHashMap<>();
+        for (ArxivPaper paper : papers) {
+            if (paper.getArxivId() != null) {
+                unique.put(paper.getArxivId(), paper);
+            }
+        }
+        List<ArxivPaper> deduplicated = new ArrayList<>(unique.values());
+        // 按arxiv_id排序后分块，与锁定和写入语句的加锁顺序一致
+        deduplicated.sort(Comparator.comparing(ArxivPaper::getArxivId));
+
+        for (int from = 0; from < deduplicated.size(); from += CHUNK_SIZE) {
+            List<ArxivPaper> chunk = deduplicated.subList(from, Math.min(from + CHUNK_SIZE, deduplicated.size()));
+            BulkUpsertResult chunkResult = transactionTemplate.execute(status -> upsertChunk(chunk));
+            if (chunkResult != null) {
+                total.add(chunkResult);
+            }
+        }
+
+        log.info("批量写入论文完成: 共 {} 篇, 插入 {} 篇, 更新 {} 篇, 未变化 {} 篇",
+            deduplicated.size(), total.getInserted(), total.getUpdated(), total.getUnchanged());
+        return total;
+    }
+
+    /**
+     * 批量查询已入库论文的版本状态，按分块使用 arxiv_id = ANY(?) 一次往返
+     * @param arxivIds arXiv ID集合
+     * @return arXiv ID到版本状态的映射，未入库的论文不在结果中
+     */
+    public Map<String, PaperStateDTO> findStates(Collection<String> arxivIds) {
+        Map<String, PaperStateDTO> states = new HashMap<>();
+        if (arxivIds == null || arxivIds.isEmpty()) {
+            return states;
+        }
+
+        List<String> ids = new ArrayList<>(arxivIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            String[] chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())).toArray(new String[0]);
+            jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(FIND_STATES_SQL);
+                    ps.setArray(1, textArray(connection, chunk));
+                    return ps;
+                },
+                rs -> {
+                    Integer version = (Integer) rs.getObject("version");
+                    states.put(rs.getString("arxiv_id"), new PaperStateDTO(
+                        rs.getString("arxiv_id"), rs.getString("content_hash"), version, rs.getString("summary_hash")));
+                });
+        }
+        return states;
+    }
+
+    private BulkUpsertResult upsertChunk(List<ArxivPaper> chunk) {
+        BulkUpsertResult result = new BulkUpsertResult();
+        String[] arxivIds = chunk.stream().map(ArxivPaper::getArxivId).toArray(String[]::new);
+        Map<String, CountDelta> before = new HashMap<>();
+        Map<String, List<String>> beforeCategories = new HashMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOCK_EXISTING_SQL);
+                ps.setArray(1, textArray(connection, arxivIds));
+                return ps;
+            },
+            rs -> {
+                before.put(rs.getString("arxiv_id"), toDelta(rs, -1));
+                beforeCategories.put(rs.getString("arxiv_id"), readList(rs.getString("categories")));
+            });
+
+        Map<String, ArxivPaper> byId = new HashMap<>();
+        for (ArxivPaper paper : chunk) {
+            byId.put(paper.getArxivId(), paper);
+        }
+
+        // 新论文计入新维度；更新的论文从旧维度移到新维度
+        List<CountDelta> deltas = new ArrayList<>();
+        List<CountDelta> crossListDeltas = new ArrayList<>();
+        List<PaperAuthors> authors = new ArrayList<>();
+        jdbcTemplate.query(
+            connection -> prepareUpsert(connection, chunk),
+            rs -> {
+                String arxivId = rs.getString("arxiv_id");
+                if (rs.getBoolean("inserted")) {
+                    result.getInsertedIds().add(arxivId);
+                } else {
+                    result.getUpdatedIds().add(arxivId);
+                    CountDelta old = before.get(arxivId);
+                    if (old != null) {
+                        deltas.add(old);
+                        crossListDeltas.addAll(PaperCategoryCountRepository.crossListDeltas(old, beforeCategories.get(arxivId)));
+                    }
+                }
+                CountDelta added = toDelta(rs, 1);
+                deltas.add(added);
+                crossListDeltas.addAll(PaperCategoryCountRepository.crossListDeltas(added, byId.get(arxivId).getCategories()));
+                Date publishedDate = rs.getDate("published_date");
+                authors.add(new PaperAuthors(rs.getLong("id"), publishedDate != null ? publishedDate.toLocalDate() : null,
+                    byId.get(arxivId).getAuthors()));
+            });
+        categoryCountRepository.applyDeltas(deltas);
+        categoryCountRepository.applyCrossListDeltas(crossListDeltas);
+        authorRepository.replaceAuthors(authors);
+
+        result.setInserted(result.getInsertedIds().size());
+        result.setUpdated(result.getUpdatedIds().size());
+        result.setUnchanged(chunk.size() - result.getInserted() - result.getUpdated());
+        return result;
+    }
+
+    private PreparedStatement prepareUpsert(Connection connection, List<ArxivPaper> chunk) throws SQLException {
+        int size = chunk.size();
+        String[] arxivIds = new String[size];
+        String[] titles = new String[size];
+        String[] summaries = new String[size];
+        String[] authors = new String[size];
+        Date[] publishedDates = new Date[size];
+        Date[] updatedDates = new Date[size];
+        String[] primaryCategories = new String[size];
+        String[] categories = new String[size];
+        String[] pdfUrls = new String[size];
+        String[] latexUrls = new String[size];
+        String[] arxivUrls = new String[size];
+        String[] dois = new String[size];
+        Integer[] versions = new Integer[size];
+        String[] githubUrls = new String[size];
+        String[] contentHashes = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            ArxivPaper paper = chunk.get(i);
+            arxivIds[i] = paper.getArxivId();
+            titles[i] = paper.getTitle() != null ? paper.getTitle() : "";
+            summaries[i] = paper.getSummary();
+            authors[i] = toJson(paper.getAuthors());
+            publishedDates[i] = paper.getPublishedDate() != null ? Date.valueOf(paper.getPublishedDate()) : null;
+            updatedDates[i] = paper.getUpdatedDate() != null ? Date.valueOf(paper.getUpdatedDate()) : null;
+            primaryCategories[i] = paper.getPrimaryCategory();
+            categories[i] = toJson(paper.getCategories());
+            pdfUrls[i] = paper.getPdfUrl();
+            latexUrls[i] = paper.getLatexUrl();
+            arxivUrls[i] = paper.getArxivUrl();
+            dois[i] = paper.getDoi();
+            versions[i] = paper.getVersion();
+            githubUrls[i] = paper.getGithubUrl();
+            contentHashes[i] = paper.getContentHash() != null ? paper.getContentHash() : ContentHashUtil.paperContentHash(paper);
+        }
+
+        PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+        int index = 1;
+        ps.setArray(index++, textArray(connection, arxivIds));
+        ps.setArray(index++, textArray(connection, titles));
+        ps.setArray(index++, textArray(connection, summaries));
+        ps.setArray(index++, textArray(connection, authors));
+        ps.setArray(index++, connection.createArrayOf("date", publishedDates));
+        ps.setArray(index++, connection.createArrayOf("date", updatedDates));
+        ps.setArray(index++, textArray(connection, primaryCategories));
+        ps.setArray(index++, textArray(connection, categories));
+        ps.setArray(index++, textArray(connection, pdfUrls));
+        ps.setArray(index++, textArray(connection, latexUrls));
+        ps.setArray(index++, textArray(connection, arxivUrls));
+        ps.setArray(index++, textArray(connection, dois));
+        ps.setArray(index++, connection.createArrayOf("int4", versions));
+        ps.setArray(index++, textArray(connection, githubUrls));
+        ps.setArray(index, textArray(connection, contentHashes));
+        return ps;
+    }
+
+    private CountDelta toDelta(ResultSet rs, int delta) throws SQLException {
+        Date publishedDate = rs.getDate("published_date");
+        return new CountDelta(publishedDate != null ? publishedDate.toLocalDate() : null,
+            rs.getString("primary_category"), rs.getBoolean("has_github"), delta);
+    }
+
+    private Array textArray(Connection connection, String[] values) throws SQLException {
+        return connection.createArrayOf("text", values);
+    }
+
+    private List<String> readList(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            // 非数组的旧数据只按主分类计数
+            return null;
+        }
+    }
+
+    private String toJson(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("序列化列表为JSON失败", e);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.mootann.arxivdaily.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mootann.arxivdaily.repository.dto.PaperCardDTO;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 组合筛选查询
+ * 将 {@link PaperFilter} 编译为只包含实际使用条件的SQL，取代按条件组合逐个声明的派生查询方法；
+ * 有关键词时按全文检索相关度排序，否则按发布日期倒序
+ */
+@Repository
+public class ArxivPaperFilterRepository {
+
+    static final String FULL_TEXT_QUERY = "websearch_to_tsquery('english', :keyword)";
+    static final String FULL_TEXT_RANK = "ts_rank_cd(p.search_vector, " + FULL_TEXT_QUERY + ")";
+
+    // 卡片投影列：JSONB数组以文本返回，避免逐行经过实体的JSONB类型转换
+    static final String CARD_COLUMNS = "p.id, p.arxiv_id, p.title, "
+        + "CAST(jsonb_path_query_array(p.authors, CAST(:authorPath AS jsonpath)) AS text) AS authors, "
+        + "COALESCE(jsonb_array_length(p.authors), 0) AS author_count, p.primary_category, "
+        + "CAST(p.categories AS text) AS categories, p.published_date, p.github_url, p.arxiv_url, p.pdf_url, p.latex_url, "
+        + "left(p.summary, :summaryLength) AS summary, "
+        + "COALESCE(char_length(p.summary) > :summaryLength, false) AS summary_truncated";
+    // 卡片投影的列数，拼接在 CARD_COLUMNS 之后的额外列从该下标开始，增删卡片列时需同步修改
+    static final int CARD_COLUMN_COUNT = 14;
+    // 执行计划中的估计行数
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 按筛选条件分页查询论文，并精确计数
+     * @param filter 筛选条件
+     * @param pageable 分页参数（排序由筛选条件决定）
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> findPage(PaperFilter filter, Pageable pageable) {
+        List<ArxivPaper> content = selectPapers(filter, pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(content, pageable, count(filter, pageable, content.size()));
+    }
+
+    /**
+     * 按筛选条件查询一页论文，不计数
+     * 多取一行判断是否有下一页，省去与数据查询代价相当的COUNT(*)
+     * @param filter 筛选条件
+     * @param pageable 分页参数（排序由筛选条件决定）
+     * @return 论文切片
+     */
+    public Slice<ArxivPaper> findSlice(PaperFilter filter, Pageable pageable) {
+        return toSlice(selectPapers(filter, pageable.getPageSize() + 1, pageable.getOffset()), pageable);
+    }
+
+    /**
+     * 按筛选条件分页查询论文卡片，并精确计数
+     * 只读取卡片展示的列：作者只取前N位，摘要只截取片段，不加载完整摘要和实体
+     * @param filter 筛选条件
+     * @param pageable 分页参数（排序由筛选条件决定）
+     * @param authorLimit 返回的作者数量
+     * @param summaryLength 摘要片段长度
+     * @return 论文卡片分页结果
+     */
+    public Page<PaperCardDTO> findCardPage(PaperFilter filter, Pageable pageable, int authorLimit, int summaryLength) {
+        List<PaperCardDTO> content = selectCards(filter, pageable.getPageSize(), pageable.getOffset(), authorLimit, summaryLength);
+        return new PageImpl<>(content, pageable, count(filter, pageable, content.size()));
+    }
+
+    /**
+     * 按筛选条件查询一页论文卡片，不计数
+     * @param filter 筛选条件
+     * @param pageable 分页参数（排序由筛选条件决定）
+     * @param authorLimit 返回的作者数量
+     * @param summaryLength 摘要片段长度
+     * @return 论文卡片切片
+     */
+    public Slice<PaperCardDTO> findCardSlice(PaperFilter filter, Pageable pageable, int authorLimit, int summaryLength) {
+        return toSlice(selectCards(filter, pageable.getPageSize() + 1, pageable.getOffset(), authorLimit, summaryLength), pageable);
+    }
+
+    /**
+     * 估算筛选结果总数
+     * 取查询规划器对同一条件的行数估计，不扫描数据；估计值依赖表的统计信息，同步入库后应执行 {@link #analyze()}
+     * @param filter 筛选条件
+     * @return 估算的总数
+     */
+    public long estimateCount(PaperFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery("EXPLAIN SELECT 1 FROM arxiv_papers p" + buildWhere(filter, params));
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object> plan = query.getResultList();
+        return plan.isEmpty() ? 0 : parsePlanRows(String.valueOf(plan.get(0)));
+    }
+
+    /**
+     * 更新论文表的统计信息，使新入库日期和分类的行数估计及时准确
+     */
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE arxiv_papers");
+    }
+
+    /**
+     * 从执行计划首行（如 "Seq Scan on arxiv_papers p  (cost=0.00..1.00 rows=123 width=4)"）中读取估计行数
+     * @param planLine 执行计划首行
+     * @return 估计行数，无法识别时为0
+     */
+    static long parsePlanRows(String planLine) {
+        Matcher matcher = PLAN_ROWS.matcher(planLine);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private List<ArxivPaper> selectPapers(PaperFilter filter, int limit, long offset) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery(
+            "SELECT p.* FROM arxiv_papers p" + buildWhere(filter, params) + orderBy(filter) + " LIMIT :limit OFFSET :offset",
+            ArxivPaper.class);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        query.setParameter("offset", offset);
+        @SuppressWarnings("unchecked")
+        List<ArxivPaper> content = query.getResultList();
+        return content;
+    }
+
+    private List<PaperCardDTO> selectCards(PaperFilter filter, int limit, long offset, int authorLimit, int summaryLength) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery("SELECT " + CARD_COLUMNS
+            + " FROM arxiv_papers p" + buildWhere(filter, params) + orderBy(filter) + " LIMIT :limit OFFSET :offset")
+            .unwrap(NativeQuery.class);
+        addCardScalars(query, authorLimit, summaryLength);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        query.setParameter("offset", offset);
+
+        List<PaperCardDTO> content = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            content.add(toCard(row));
+        }
+        return content;
+    }
+
+    /**
+     * 声明 {@link #CARD_COLUMNS} 的结果类型并绑定其参数，额外的列需在此之后声明，结果行中从 {@link #CARD_COLUMN_COUNT} 开始
+     */
+    void addCardScalars(NativeQuery<Object[]> query, int authorLimit, int summaryLength) {
+        query.addScalar("id", StandardBasicTypes.LONG);
+        query.addScalar("arxiv_id", StandardBasicTypes.STRING);
+        query.addScalar("title", StandardBasicTypes.STRING);
+        query.addScalar("authors", StandardBasicTypes.STRING);
+        query.addScalar("author_count", StandardBasicTypes.INTEGER);
+        query.addScalar("primary_category", StandardBasicTypes.STRING);
+        query.addScalar("categories", StandardBasicTypes.STRING);
+        query.addScalar("published_date", StandardBasicTypes.LOCAL_DATE);
+        query.addScalar("github_url", StandardBasicTypes.STRING);
+        query.addScalar("arxiv_url", StandardBasicTypes.STRING);
+        query.addScalar("pdf_url", StandardBasicTypes.STRING);
+        query.addScalar("latex_url", StandardBasicTypes.STRING);
+        query.addScalar("summary", StandardBasicTypes.STRING);
+        query.addScalar("summary_truncated", StandardBasicTypes.BOOLEAN);
+        query.setParameter("authorPath", "$[0 to " + (Math.max(authorLimit, 1) - 1) + "]");
+        query.setParameter("summaryLength", Math.max(summaryLength, 0));
+    }
+
+    /**
+     * 由 {@link #CARD_COLUMNS} 的结果行构造卡片
+     */
+    PaperCardDTO toCard(Object[] row) {
+        return new PaperCardDTO((Long) row[0], (String) row[1], (String) row[2], readList((String) row[3]),
+            (Integer) row[4], (String) row[5], readList((String) row[6]), (LocalDate) row[7], (String) row[8],
+            (String) row[9], (String) row[10], (String) row[11], (String) row[12], (Boolean) row[13]);
+    }
+
+    private String orderBy(PaperFilter filter) {
+        return filter.hasKeyword()
+            ? " ORDER BY " + FULL_TEXT_RANK + " DESC, p.published_date DESC, p.id DESC"
+            : " ORDER BY p.published_date DESC, p.id DESC";
+    }
+
+    /**
+     * 多取的一行只用于判断是否有下一页，不返回
+     */
+    private <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    /**
+     * 统计筛选结果总数，第一页不满时无需再计数
+     */
+    private long count(PaperFilter filter, Pageable pageable, int contentSize) {
+        if (pageable.getOffset() == 0 && contentSize < pageable.getPageSize()) {
+            return contentSize;
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) FROM arxiv_papers p" + buildWhere(filter, params));
+        params.forEach(countQuery::setParameter);
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    private List<String> readList(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, STRING_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("无法解析JSON数组: " + json, e);
+        }
+    }
+
+    /**
+     * 编译筛选条件，只拼接非空的条件，使规划器能直接选择对应的索引
+     * @param filter 筛选条件
+     * @param params 输出的命名参数
+     * @return 以 " WHERE" 开头的条件语句，无条件时为空字符串
+     */
+    static String buildWhere(PaperFilter filter, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.hasKeyword()) {
+            conditions.add("p.search_vector @@ " + FULL_TEXT_QUERY);
+            params.put("keyword", filter.getKeyword());
+        }
+        if (filter.getCategories() != null) {
+            List<String> named = filter.getCategories().stream()
+                .filter(category -> !PaperFilter.UNCATEGORIZED.equals(category))
+                .toList();
+            boolean uncategorized = filter.hasCategory(PaperFilter.UNCATEGORIZED);
+            if (!named.isEmpty()) {
+                params.put("categories", named);
+            }
+            if (filter.matchesCrossListed() && !named.isEmpty()) {
+                // 交叉列表：每个分类一个 @> 条件，与主分类条件一起由GIN和B树索引做BitmapOr
+                List<String> matches = new ArrayList<>();
+                matches.add("p.primary_category IN (:categories)");
+                for (int i = 0; i < named.size(); i++) {
+                    matches.add("p.categories @> CAST(:crossCategory" + i + " AS jsonb)");
+                    params.put("crossCategory" + i, "[\"" + new String(JsonStringEncoder.getInstance().quoteAsString(named.get(i))) + "\"]");
+                }
+                if (uncategorized) {
+                    matches.add("p.primary_category IS NULL");
+                }
+                conditions.add("(" + String.join(" OR ", matches) + ")");
+            } else if (named.isEmpty()) {
+                conditions.add("p.primary_category IS NULL");
+            } else if (uncategorized) {
+                conditions.add("(p.primary_category IN (:categories) OR p.primary_category IS NULL)");
+            } else {
+                conditions.add("p.primary_category IN (:categories)");
+            }
+        }
+        if (filter.getStartDate() != null) {
+            conditions.add("p.published_date >= :startDate");
+            params.put("startDate", filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            conditions.add("p.published_date <= :endDate");
+            params.put("endDate", filter.getEndDate());
+        }
+        if (filter.getHasGithub() != null) {
+            conditions.add(filter.getHasGithub() ? "p.github_url IS NOT NULL" : "p.github_url IS NULL");
+        }
+        if (filter.getAuthor() != null) {
+            conditions.add("p.id IN (SELECT pa.paper_id FROM paper_authors pa JOIN authors a ON a.id = pa.author_id "
+                + "WHERE a.name_key = :author)");
+            params.put("author", filter.getAuthor());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
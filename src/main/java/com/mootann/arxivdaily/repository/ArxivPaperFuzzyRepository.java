@@ -0,0 +1,143 @@
+package com.mootann.arxivdaily.repository;
+
+import com.mootann.arxivdaily.repository.dto.PaperCursor;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于pg_trgm三元组索引的模糊检索
+ * 用词相似度（word_similarity）匹配标题片段并容忍拼写错误，同时保留任意位置的子串匹配，
+ * 两者都能使用 gin_trgm_ops 索引；其余筛选条件与 {@link ArxivPaperFilterRepository} 相同
+ */
+@Repository
+public class ArxivPaperFuzzyRepository {
+
+    private static final String TITLE_CONDITION = ":text <% p.title OR p.title ILIKE :pattern";
+    private static final String SUMMARY_CONDITION = " OR :text <% p.summary OR p.summary ILIKE :pattern";
+    private static final String DISTANCE = ":text <<-> p.title";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ArxivPaperKeysetRepository keysetRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ArxivPaperFuzzyRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 模糊检索论文，按与标题的词相似度距离升序排列
+     * @param text 关键词或标题片段
+     * @param threshold 词相似度阈值（0~1）
+     * @param includeSummary 是否同时匹配摘要
+     * @param filter 其余筛选条件（不含关键词）
+     * @param pageable 分页参数
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> fuzzySearch(String text, double threshold, boolean includeSummary,
+                                        PaperFilter filter, Pageable pageable) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = buildWhere(text, includeSummary, filter, params);
+
+        return transactionTemplate.execute(status -> {
+            applyThreshold(threshold);
+
+            Query query = entityManager.createNativeQuery(
+                "SELECT p.* FROM arxiv_papers p" + where
+                    + " ORDER BY " + DISTANCE + ", p.published_date DESC, p.id DESC"
+                    + " LIMIT :limit OFFSET :offset",
+                ArxivPaper.class);
+            params.forEach(query::setParameter);
+            query.setParameter("limit", pageable.getPageSize());
+            query.setParameter("offset", pageable.getOffset());
+            @SuppressWarnings("unchecked")
+            List<ArxivPaper> content = query.getResultList();
+
+            // 第一页不满时无需再计数
+            long total;
+            if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+                total = content.size();
+            } else {
+                Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) FROM arxiv_papers p" + where);
+                params.forEach(countQuery::setParameter);
+                total = ((Number) countQuery.getSingleResult()).longValue();
+            }
+            return new PageImpl<>(content, pageable, total);
+        });
+    }
+
+    /**
+     * 游标分页的模糊检索，按 (相似度距离升序, 发布日期倒序, id倒序) 向后查找
+     * @param text 关键词或标题片段
+     * @param threshold 词相似度阈值（0~1）
+     * @param includeSummary 是否同时匹配摘要
+     * @param filter 其余筛选条件（不含关键词）
+     * @param after 上一页最后一条记录的位置（含相似度距离），为空时查询第一页
+     * @param limit 最多返回的条数
+     * @return 论文及其相似度距离
+     */
+    public List<ArxivPaperKeysetRepository.ScoredPaper> fuzzySeek(String text, double threshold, boolean includeSummary,
+                                                                  PaperFilter filter, PaperCursor after, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT p.*, " + DISTANCE + " AS score FROM arxiv_papers p")
+            .append(buildWhere(text, includeSummary, filter, params))
+            .append(" AND p.published_date IS NOT NULL");
+        if (after != null) {
+            // 距离升序而日期倒序，方向不同无法用一个行比较表达
+            sql.append(" AND (" + DISTANCE + " > CAST(:afterScore AS real)")
+                .append(" OR (" + DISTANCE + " = CAST(:afterScore AS real) AND (p.published_date, p.id) < (:afterDate, :afterId)))");
+            params.put("afterScore", after.getScore() != null ? after.getScore() : 0f);
+            params.put("afterDate", after.getPublishedDate());
+            params.put("afterId", after.getId());
+        }
+        sql.append(" ORDER BY score, p.published_date DESC, p.id DESC LIMIT :limit");
+        params.put("limit", limit);
+
+        return transactionTemplate.execute(status -> {
+            applyThreshold(threshold);
+            return keysetRepository.queryScored(sql.toString(), params);
+        });
+    }
+
+    /**
+     * 阈值只在当前事务内生效，<% 运算符按该阈值过滤
+     */
+    private void applyThreshold(double threshold) {
+        entityManager.createNativeQuery("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)")
+            .setParameter("threshold", String.valueOf(threshold))
+            .getSingleResult();
+    }
+
+    private String buildWhere(String text, boolean includeSummary, PaperFilter filter, Map<String, Object> params) {
+        params.put("text", text);
+        params.put("pattern", "%" + escapeLike(text) + "%");
+        String match = "(" + TITLE_CONDITION + (includeSummary ? SUMMARY_CONDITION : "") + ")";
+        String where = ArxivPaperFilterRepository.buildWhere(filter, params);
+        return where.isEmpty() ? " WHERE " + match : where + " AND " + match;
+    }
+
+    /**
+     * 转义LIKE通配符，使关键词按字面匹配
+     */
+    private String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,151 @@
+package com.mootann.arxivdaily.repository;
+
+import com.mootann.arxivdaily.repository.dto.PaperCursor;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游标（keyset）分页查询
+ * 以上一页最后一条记录的排序键作为起点向后查找，配合复合索引
+ * idx_arxiv_papers_published_id / idx_arxiv_papers_category_published_id，任意深度的翻页开销都与第一页相同，且不执行COUNT
+ * 发布日期为空的记录不参与游标分页
+ */
+@Repository
+public class ArxivPaperKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ArxivPaperKeysetRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 按筛选条件查询一页论文
+     * 有关键词时按 (相关度, 发布日期, id) 倒序，相关度无法走索引，但游标分页省去了OFFSET跳过的行和COUNT查询；
+     * 否则按 (发布日期, id) 倒序，直接沿复合索引向后扫描
+     * @param filter 筛选条件
+     * @param after 上一页最后一条记录的位置，为空时查询第一页
+     * @param limit 最多返回的条数
+     * @return 论文及其相关度（无关键词时相关度为空）
+     */
+    public List<ScoredPaper> seek(PaperFilter filter, PaperCursor after, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = ArxivPaperFilterRepository.buildWhere(filter, params);
+        StringBuilder sql = new StringBuilder(where.isEmpty() ? " WHERE " : where + " AND ")
+            .append("p.published_date IS NOT NULL");
+        if (after != null) {
+            if (filter.hasKeyword()) {
+                sql.append(" AND (" + ArxivPaperFilterRepository.FULL_TEXT_RANK
+                    + ", p.published_date, p.id) < (CAST(:afterScore AS real), :afterDate, :afterId)");
+                params.put("afterScore", after.getScore() != null ? after.getScore() : Float.MAX_VALUE);
+            } else {
+                sql.append(" AND (p.published_date, p.id) < (:afterDate, :afterId)");
+            }
+            params.put("afterDate", after.getPublishedDate());
+            params.put("afterId", after.getId());
+        }
+        params.put("limit", limit);
+
+        if (!filter.hasKeyword()) {
+            Query query = entityManager.createNativeQuery("SELECT p.* FROM arxiv_papers p" + sql
+                + " ORDER BY p.published_date DESC, p.id DESC LIMIT :limit", ArxivPaper.class);
+            params.forEach(query::setParameter);
+            @SuppressWarnings("unchecked")
+            List<ArxivPaper> papers = query.getResultList();
+            return papers.stream().map(paper -> new ScoredPaper(paper, null)).toList();
+        }
+        return queryScored("SELECT p.*, " + ArxivPaperFilterRepository.FULL_TEXT_RANK + " AS score FROM arxiv_papers p" + sql
+            + " ORDER BY score DESC, p.published_date DESC, p.id DESC LIMIT :limit", params);
+    }
+
+    /**
+     * 限定查询时间的 {@link #seek(PaperFilter, PaperCursor, int)}，statement_timeout只在本次事务内生效，超时抛出异常
+     * @param timeoutMs 查询超时（毫秒），不大于0时不限制
+     */
+    public List<ScoredPaper> seek(PaperFilter filter, PaperCursor after, int limit, long timeoutMs) {
+        if (timeoutMs <= 0) {
+            return seek(filter, after, limit);
+        }
+        return transactionTemplate.execute(status -> {
+            entityManager.createNativeQuery("SELECT set_config('statement_timeout', :value, true)")
+                .setParameter("value", String.valueOf(timeoutMs))
+                .getSingleResult();
+            return seek(filter, after, limit);
+        });
+    }
+
+    /**
+     * 按发布日期倒序查询作者的一页论文
+     * 沿关联表的 (author_id, published_date, paper_id) 索引向后扫描，只对本页的论文回表
+     * @param authorId 作者ID
+     * @param after 上一页最后一条记录的位置，为空时查询第一页
+     * @param limit 最多返回的条数
+     * @return 论文（相关度为空）
+     */
+    public List<ScoredPaper> seekByAuthor(long authorId, PaperCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT p.* FROM paper_authors pa JOIN arxiv_papers p ON p.id = pa.paper_id"
+            + " WHERE pa.author_id = :authorId AND pa.published_date IS NOT NULL");
+        if (after != null) {
+            sql.append(" AND (pa.published_date, pa.paper_id) < (:afterDate, :afterId)");
+        }
+        sql.append(" ORDER BY pa.published_date DESC, pa.paper_id DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), ArxivPaper.class);
+        query.setParameter("authorId", authorId);
+        if (after != null) {
+            query.setParameter("afterDate", after.getPublishedDate());
+            query.setParameter("afterId", after.getId());
+        }
+        query.setParameter("limit", limit);
+        @SuppressWarnings("unchecked")
+        List<ArxivPaper> papers = query.getResultList();
+        return papers.stream().map(paper -> new ScoredPaper(paper, null)).toList();
+    }
+
+    /**
+     * 执行返回 论文 + score 列的查询
+     */
+    List<ScoredPaper> queryScored(String sql, Map<String, Object> params) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addEntity("p", ArxivPaper.class);
+        query.addScalar("score", StandardBasicTypes.FLOAT);
+        params.forEach(query::setParameter);
+
+        List<ScoredPaper> result = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            result.add(new ScoredPaper((ArxivPaper) row[0], (Float) row[1]));
+        }
+        return result;
+    }
+
+    /**
+     * 带检索得分的论文
+     */
+    @Data
+    @AllArgsConstructor
+    public static class ScoredPaper {
+        private ArxivPaper paper;
+        // 相关度（全文检索）、相似度距离（模糊检索）或余弦距离（语义检索）
+        private Float score;
+    }
+}
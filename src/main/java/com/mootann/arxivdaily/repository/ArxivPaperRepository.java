@@ -17,7 +17,7 @@ import java.util.Optional;
  */
 @Repository
 public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
-    
+
     /**
      * 根据arXiv ID查询
      * @param arxivId arXiv ID
@@ -39,51 +39,6 @@ public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
      */
     List<ArxivPaper> findByPrimaryCategory(String primaryCategory);
     
-    /**
-     * 根据主要分类分页查询
-     * @param primaryCategory 主要分类
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategory(String primaryCategory, Pageable pageable);
-    
-    /**
-     * 查询主要分类为空的论文（分页）
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNull(Pageable pageable);
-    
-    /**
-     * 根据分类查询有GitHub URL的论文
-     * @param primaryCategory 主要分类
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryAndGithubUrlIsNotNull(String primaryCategory, Pageable pageable);
-    
-    /**
-     * 查询主要分类为空且有GitHub URL的论文
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNullAndGithubUrlIsNotNull(Pageable pageable);
-
-    /**
-     * 根据分类查询没有GitHub URL的论文
-     * @param primaryCategory 主要分类
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryAndGithubUrlIsNull(String primaryCategory, Pageable pageable);
-    
-    /**
-     * 查询主要分类为空且没有GitHub URL的论文
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNullAndGithubUrlIsNull(Pageable pageable);
-
     /**
      * 根据发布日期范围查询
      * @param startDate 开始日期
@@ -92,15 +47,6 @@ public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
      */
     List<ArxivPaper> findByPublishedDateBetween(LocalDate startDate, LocalDate endDate);
     
-    /**
-     * 根据发布日期范围分页查询
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPublishedDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
-    
     /**
      * 根据分类和日期范围查询
      * @param primaryCategory 主要分类
@@ -111,27 +57,6 @@ public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
     List<ArxivPaper> findByPrimaryCategoryAndPublishedDateBetween(
         String primaryCategory, LocalDate startDate, LocalDate endDate);
     
-    /**
-     * 根据分类和日期范围分页查询
-     * @param primaryCategory 主要分类
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryAndPublishedDateBetween(
-        String primaryCategory, LocalDate startDate, LocalDate endDate, Pageable pageable);
-    
-    /**
-     * 查询主要分类为空且在指定日期范围内的论文（分页）
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNullAndPublishedDateBetween(
-        LocalDate startDate, LocalDate endDate, Pageable pageable);
-    
     /**
      * 根据标题模糊查询
      * @param keyword 关键词
@@ -157,15 +82,6 @@ public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
     @Query("SELECT p FROM ArxivPaper p WHERE p.title ILIKE %:keyword% OR p.summary ILIKE %:keyword%")
     List<ArxivPaper> searchByTitleOrSummary(@Param("keyword") String keyword);
     
-    /**
-     * 根据标题或摘要模糊查询(分页)
-     * @param keyword 关键词
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    @Query("SELECT p FROM ArxivPaper p WHERE p.title ILIKE %:keyword% OR p.summary ILIKE %:keyword%")
-    Page<ArxivPaper> searchByTitleOrSummary(@Param("keyword") String keyword, Pageable pageable);
-    
     /**
      * 查询指定日期之后发布的论文
      * @param date 日期
@@ -203,101 +119,7 @@ public interface ArxivPaperRepository extends JpaRepository<ArxivPaper, Long> {
      */
     @Query("SELECT p FROM ArxivPaper p WHERE p.arxivId IN :arxivIds")
     List<ArxivPaper> findByArxivIds(@Param("arxivIds") List<String> arxivIds);
-
-    /**
-     * 查询有GitHub URL的论文
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByGithubUrlIsNotNull(Pageable pageable);
-
-    /**
-     * 查询没有GitHub URL的论文
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByGithubUrlIsNull(Pageable pageable);
-
-    /**
-     * 根据分类和日期范围查询有GitHub URL的论文
-     * @param primaryCategory 主要分类
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryAndPublishedDateBetweenAndGithubUrlIsNotNull(
-        String primaryCategory, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
-    /**
-     * 查询主要分类为空且在指定日期范围内且有GitHub URL的论文
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNullAndPublishedDateBetweenAndGithubUrlIsNotNull(
-        LocalDate startDate, LocalDate endDate, Pageable pageable);
-
-    /**
-     * 根据分类和日期范围查询没有GitHub URL的论文
-     * @param primaryCategory 主要分类
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryAndPublishedDateBetweenAndGithubUrlIsNull(
-        String primaryCategory, LocalDate startDate, LocalDate endDate, Pageable pageable);
-    
-    /**
-     * 查询主要分类为空且在指定日期范围内且没有GitHub URL的论文
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPrimaryCategoryIsNullAndPublishedDateBetweenAndGithubUrlIsNull(
-        LocalDate startDate, LocalDate endDate, Pageable pageable);
-
-    /**
-     * 根据日期范围查询有GitHub URL的论文
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPublishedDateBetweenAndGithubUrlIsNotNull(
-        LocalDate startDate, LocalDate endDate, Pageable pageable);
-
-    /**
-     * 根据日期范围查询没有GitHub URL的论文
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    Page<ArxivPaper> findByPublishedDateBetweenAndGithubUrlIsNull(
-        LocalDate startDate, LocalDate endDate, Pageable pageable);
-
-    /**
-     * 根据标题或摘要模糊查询有GitHub URL的论文
-     * @param keyword 关键词
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    @Query("SELECT p FROM ArxivPaper p WHERE (p.title ILIKE %:keyword% OR p.summary ILIKE %:keyword%) AND p.githubUrl IS NOT NULL")
-    Page<ArxivPaper> searchByTitleOrSummaryAndGithubUrlIsNotNull(@Param("keyword") String keyword, Pageable pageable);
-
-    /**
-     * 根据标题或摘要模糊查询没有GitHub URL的论文
-     * @param keyword 关键词
-     * @param pageable 分页参数
-     * @return 论文分页结果
-     */
-    @Query("SELECT p FROM ArxivPaper p WHERE (p.title ILIKE %:keyword% OR p.summary ILIKE %:keyword%) AND p.githubUrl IS NULL")
-    Page<ArxivPaper> searchByTitleOrSummaryAndGithubUrlIsNull(@Param("keyword") String keyword, Pageable pageable);
-
     /**
      * 查询数据库中最新的论文发布日期
      * @return 最新的发布日期
@@ -0,0 +1,313 @@
+package com.mootann.arxivdaily.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mootann.arxivdaily.repository.dto.AuthorDTO;
+import com.mootann.arxivdaily.repository.dto.AuthorProfileDTO;
+import com.mootann.arxivdaily.util.AuthorNameUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 作者维度表 authors 与论文-作者关联表 paper_authors
+ * 作者按规范化姓名（{@link AuthorNameUtil#normalize(String)}）去重；关联表冗余发布日期，
+ * 作者的论文列表和按年统计只需扫描 (author_id, published_date, paper_id) 索引，不再读取论文表的authors列。
+ * 批量写入论文时在同一事务中整篇替换其作者关联
+ */
+@Slf4j
+@Repository
+public class AuthorRepository {
+
+    // 全量回填时每个事务处理的论文数量
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final String COLUMNS = "id, display_name, name_key, paper_count";
+
+    private static final String INSERT_AUTHORS_SQL = """
+        INSERT INTO authors (name_key, surname_key, display_name)
+        SELECT * FROM unnest(?::text[], ?::text[], ?::text[])
+        ON CONFLICT (name_key) DO NOTHING
+        """;
+
+    private static final String INSERT_LINKS_SQL = """
+        INSERT INTO paper_authors (paper_id, author_id, position, published_date)
+        SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::int[], ?::date[])
+        """;
+
+    private static final String BACKFILL_SELECT_SQL = """
+        SELECT id, published_date, CAST(authors AS text) AS authors
+        FROM arxiv_papers
+        WHERE id > ?
+        ORDER BY id
+        LIMIT ?
+        FOR SHARE
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthorRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 替换论文的作者关联并刷新受影响作者的论文数，需在写入论文的同一事务中调用
+     * 新出现的作者按规范化key排序后插入，并发写入时以相同顺序加锁，避免死锁
+     * @param papers 论文及其作者列表
+     */
+    public void replaceAuthors(List<PaperAuthors> papers) {
+        if (papers.isEmpty()) {
+            return;
+        }
+        // 同一篇论文中重复的作者只保留第一次出现的位置
+        Map<String, String> displayNames = new TreeMap<>();
+        List<Set<String>> keysByPaper = new ArrayList<>(papers.size());
+        for (PaperAuthors paper : papers) {
+            Set<String> keys = new LinkedHashSet<>();
+            if (paper.getAuthors() != null) {
+                for (String name : paper.getAuthors()) {
+                    String key = AuthorNameUtil.normalize(name);
+                    if (key != null && keys.add(key)) {
+                        displayNames.putIfAbsent(key, AuthorNameUtil.displayName(name));
+                    }
+                }
+            }
+            keysByPaper.add(keys);
+        }
+
+        Map<String, Long> ids = upsertAuthors(displayNames);
+
+        Long[] paperIds = papers.stream().map(PaperAuthors::getPaperId).toArray(Long[]::new);
+        Set<Long> affected = new TreeSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM paper_authors WHERE paper_id = ANY(?::bigint[]) RETURNING author_id");
+            ps.setArray(1, connection.createArrayOf("int8", paperIds));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+
+        List<Long> linkPapers = new ArrayList<>();
+        List<Long> linkAuthors = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Date> dates = new ArrayList<>();
+        for (int i = 0; i < papers.size(); i++) {
+            PaperAuthors paper = papers.get(i);
+            int position = 0;
+            for (String key : keysByPaper.get(i)) {
+                Long authorId = ids.get(key);
+                linkPapers.add(paper.getPaperId());
+                linkAuthors.add(authorId);
+                positions.add(position++);
+                dates.add(paper.getPublishedDate() != null ? Date.valueOf(paper.getPublishedDate()) : null);
+                affected.add(authorId);
+            }
+        }
+        if (!linkPapers.isEmpty()) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_LINKS_SQL);
+                ps.setArray(1, connection.createArrayOf("int8", linkPapers.toArray()));
+                ps.setArray(2, connection.createArrayOf("int8", linkAuthors.toArray()));
+                ps.setArray(3, connection.createArrayOf("int4", positions.toArray()));
+                ps.setArray(4, connection.createArrayOf("date", dates.toArray()));
+                return ps;
+            });
+        }
+        refreshPaperCounts(affected);
+    }
+
+    /**
+     * 按姓名查找作者，姓名先规范化再精确匹配
+     * @param name 作者姓名
+     * @return 作者，不存在时返回null
+     */
+    public AuthorDTO findByName(String name) {
+        String key = AuthorNameUtil.normalize(name);
+        if (key == null) {
+            return null;
+        }
+        List<AuthorDTO> authors = jdbcTemplate.query("SELECT " + COLUMNS + " FROM authors WHERE name_key = ?",
+            (rs, rowNum) -> new AuthorDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)), key);
+        return authors.isEmpty() ? null : authors.get(0);
+    }
+
+    /**
+     * 按姓名前缀查找作者，名或姓的前缀均可命中，按论文数倒序
+     * 规范化key只含字母、数字和空格，不需要转义LIKE通配符
+     * @param prefix 姓名前缀
+     * @param limit 最多返回的条数
+     * @return 作者列表
+     */
+    public List<AuthorDTO> findByPrefix(String prefix, int limit) {
+        String key = AuthorNameUtil.normalize(prefix);
+        if (key == null) {
+            return List.of();
+        }
+        String pattern = key + "%";
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM authors WHERE name_key LIKE ? OR surname_key LIKE ? "
+                + "ORDER BY paper_count DESC, name_key LIMIT ?",
+            (rs, rowNum) -> new AuthorDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)),
+            pattern, pattern, limit);
+    }
+
+    /**
+     * 按年份统计作者的论文数量
+     * @param authorId 作者ID
+     * @return 年份和数量，按年份升序
+     */
+    public List<AuthorProfileDTO.YearCount> countByYear(long authorId) {
+        return jdbcTemplate.query("""
+                SELECT CAST(extract(year FROM published_date) AS int), COUNT(*)
+                FROM paper_authors
+                WHERE author_id = ? AND published_date IS NOT NULL
+                GROUP BY 1
+                ORDER BY 1
+                """,
+            (rs, rowNum) -> new AuthorProfileDTO.YearCount(rs.getInt(1), rs.getLong(2)), authorId);
+    }
+
+    /**
+     * 关联表是否为空（首次部署，需要回填）
+     */
+    public boolean isEmpty() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM paper_authors)", Boolean.class));
+    }
+
+    /**
+     * 按主键顺序分批为全部论文写入作者关联
+     * 每批锁住读取的论文行，与并发的论文写入互斥，已有的关联会被整篇替换
+     * @return 处理的论文数量
+     */
+    public int backfill() {
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            long from = lastId;
+            List<PaperAuthors> batch = transactionTemplate.execute(status -> {
+                List<PaperAuthors> papers = jdbcTemplate.query(BACKFILL_SELECT_SQL, (rs, rowNum) -> {
+                    Date publishedDate = rs.getDate("published_date");
+                    return new PaperAuthors(rs.getLong("id"), publishedDate != null ? publishedDate.toLocalDate() : null,
+                        readList(rs.getString("authors")));
+                }, from, BACKFILL_BATCH_SIZE);
+                replaceAuthors(papers);
+                return papers;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            total += batch.size();
+            lastId = batch.get(batch.size() - 1).getPaperId();
+            if (batch.size() < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+        log.info("作者关联回填完成，共处理论文 {} 篇", total);
+        return total;
+    }
+
+    /**
+     * 清空作者表和关联表后重新回填，规范化规则变更后使用
+     * @return 处理的论文数量
+     */
+    public int rebuild() {
+        jdbcTemplate.execute("TRUNCATE paper_authors, authors RESTART IDENTITY");
+        return backfill();
+    }
+
+    private Map<String, Long> upsertAuthors(Map<String, String> displayNames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (displayNames.isEmpty()) {
+            return ids;
+        }
+        String[] keys = displayNames.keySet().toArray(new String[0]);
+        String[] surnames = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            surnames[i] = AuthorNameUtil.surname(keys[i]);
+        }
+        String[] names = displayNames.values().toArray(new String[0]);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_AUTHORS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", keys));
+            ps.setArray(2, connection.createArrayOf("text", surnames));
+            ps.setArray(3, connection.createArrayOf("text", names));
+            return ps;
+        });
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id, name_key FROM authors WHERE name_key = ANY(?::text[])");
+            ps.setArray(1, connection.createArrayOf("text", keys));
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("name_key"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    /**
+     * 按ID顺序锁定作者后重新计算论文数
+     */
+    private void refreshPaperCounts(Set<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            return;
+        }
+        Long[] ids = authorIds.toArray(new Long[0]);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id FROM authors WHERE id = ANY(?::bigint[]) ORDER BY id FOR UPDATE");
+            ps.setArray(1, connection.createArrayOf("int8", ids));
+            return ps;
+        }, rs -> {
+        });
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                UPDATE authors a SET paper_count = (SELECT COUNT(*) FROM paper_authors pa WHERE pa.author_id = a.id)
+                WHERE a.id = ANY(?::bigint[])
+                """);
+            ps.setArray(1, connection.createArrayOf("int8", ids));
+            return ps;
+        });
+    }
+
+    private List<String> readList(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            log.warn("解析作者列表失败: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 一篇论文的作者列表
+     */
+    @Data
+    @AllArgsConstructor
+    public static class PaperAuthors {
+        private Long paperId;
+        // 发布日期，冗余到关联表用于按作者的游标分页和按年统计
+        private LocalDate publishedDate;
+        private List<String> authors;
+    }
+}
@@ -0,0 +1,243 @@
+package com.mootann.arxivdaily.repository;
+
+import com.mootann.arxivdaily.repository.dto.CategoryCountDTO;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按天、主分类和是否有GitHub链接汇总的论文数量表 paper_daily_category_counts，
+ * 以及结构相同、按论文的每个分类（含交叉列表分类）各计一次的 paper_daily_crosslist_counts
+ * 批量写入论文时在同一事务中增量维护，分类统计只需汇总日期范围内的汇总行，不再扫描论文表；
+ * 发布日期为空的论文记在 -infinity 这一天，只计入不限日期的统计
+ */
+@Slf4j
+@Repository
+public class PaperCategoryCountRepository {
+
+    public static final String TABLE = "paper_daily_category_counts";
+    public static final String CROSS_LIST_TABLE = "paper_daily_crosslist_counts";
+
+    /**
+     * 从论文表重新汇总全部数量，启动时的初始填充与手动重建共用
+     */
+    public static final String AGGREGATE_SQL = """
+        SELECT COALESCE(published_date, '-infinity'::date), COALESCE(primary_category, '%s'),
+               github_url IS NOT NULL, COUNT(*)
+        FROM arxiv_papers
+        GROUP BY 1, 2, 3
+        """.formatted(PaperFilter.UNCATEGORIZED);
+
+    // 论文的分类集合：categories中的全部分类加上主分类，同一论文的重复分类只计一次
+    private static final String PAPER_CATEGORIES = """
+        CROSS JOIN LATERAL (
+            SELECT jsonb_array_elements_text(CASE WHEN jsonb_typeof(p.categories) = 'array' THEN p.categories END) AS category
+            UNION
+            SELECT COALESCE(p.primary_category, '%s')
+        ) c
+        """.formatted(PaperFilter.UNCATEGORIZED);
+
+    /**
+     * 从论文表重新汇总交叉列表分类数量
+     */
+    public static final String CROSS_LIST_AGGREGATE_SQL = """
+        SELECT COALESCE(p.published_date, '-infinity'::date), c.category, p.github_url IS NOT NULL, COUNT(*)
+        FROM arxiv_papers p
+        """ + PAPER_CATEGORIES + """
+        GROUP BY 1, 2, 3
+        """;
+
+    // 按维度排序后写入，并发的写入事务以相同顺序锁定汇总行，避免相互死锁
+    private static final String APPLY_DELTAS_SQL = """
+        INSERT INTO %1$s (day, category, has_github, count)
+        SELECT COALESCE(t.day, '-infinity'::date), COALESCE(t.category, '%2$s'), t.has_github, SUM(t.delta)
+        FROM unnest(?::date[], ?::text[], ?::boolean[], ?::int[]) AS t(day, category, has_github, delta)
+        GROUP BY 1, 2, 3
+        HAVING SUM(t.delta) <> 0
+        ORDER BY 1, 2, 3
+        ON CONFLICT (day, category, has_github) DO UPDATE SET count = %1$s.count + EXCLUDED.count
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PaperCategoryCountRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 累加主分类数量变化，需在写入论文的同一事务中调用
+     * @param deltas 数量变化，同一组 (日期, 分类, GitHub) 可出现多次
+     */
+    public void applyDeltas(List<CountDelta> deltas) {
+        applyDeltas(TABLE, deltas);
+    }
+
+    /**
+     * 累加交叉列表分类数量变化，需在写入论文的同一事务中调用
+     * @param deltas 数量变化，由 {@link #crossListDeltas(CountDelta, List)} 展开
+     */
+    public void applyCrossListDeltas(List<CountDelta> deltas) {
+        applyDeltas(CROSS_LIST_TABLE, deltas);
+    }
+
+    /**
+     * 把一篇论文的主分类数量变化展开为其每个分类的数量变化，与 {@link #CROSS_LIST_AGGREGATE_SQL} 的口径一致
+     * @param primary 主分类维度上的数量变化
+     * @param categories 论文的全部分类，可为空
+     * @return 每个不重复分类一条数量变化
+     */
+    public static List<CountDelta> crossListDeltas(CountDelta primary, List<String> categories) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (categories != null) {
+            for (String category : categories) {
+                if (category != null) {
+                    distinct.add(category);
+                }
+            }
+        }
+        distinct.add(primary.getCategory() != null ? primary.getCategory() : PaperFilter.UNCATEGORIZED);
+        List<CountDelta> deltas = new ArrayList<>(distinct.size());
+        for (String category : distinct) {
+            deltas.add(new CountDelta(primary.getDay(), category, primary.isHasGithub(), primary.getDelta()));
+        }
+        return deltas;
+    }
+
+    private void applyDeltas(String table, List<CountDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int size = deltas.size();
+        Date[] days = new Date[size];
+        String[] categories = new String[size];
+        Boolean[] hasGithub = new Boolean[size];
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            CountDelta delta = deltas.get(i);
+            days[i] = delta.getDay() != null ? Date.valueOf(delta.getDay()) : null;
+            categories[i] = delta.getCategory();
+            hasGithub[i] = delta.isHasGithub();
+            values[i] = delta.getDelta();
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(APPLY_DELTAS_SQL.formatted(table, PaperFilter.UNCATEGORIZED));
+            ps.setArray(1, connection.createArrayOf("date", days));
+            ps.setArray(2, connection.createArrayOf("text", categories));
+            ps.setArray(3, connection.createArrayOf("bool", hasGithub));
+            ps.setArray(4, connection.createArrayOf("int4", values));
+            return ps;
+        });
+    }
+
+    /**
+     * 汇总各主分类的论文数量
+     * @param startDate 开始日期（包含），为空时不限
+     * @param endDate 结束日期（包含），为空时不限
+     * @param hasGithub 是否有GitHub URL，为空时不限
+     * @return 分类和数量列表，按数量倒序
+     */
+    public List<CategoryCountDTO> sumByCategory(LocalDate startDate, LocalDate endDate, Boolean hasGithub) {
+        return sumByCategory(TABLE, startDate, endDate, hasGithub);
+    }
+
+    /**
+     * 汇总各分类（含交叉列表）的论文数量，一篇论文计入它的每个分类，各分类数量之和大于论文总数
+     * @param startDate 开始日期（包含），为空时不限
+     * @param endDate 结束日期（包含），为空时不限
+     * @param hasGithub 是否有GitHub URL，为空时不限
+     * @return 分类和数量列表，按数量倒序
+     */
+    public List<CategoryCountDTO> sumByCrossListedCategory(LocalDate startDate, LocalDate endDate, Boolean hasGithub) {
+        return sumByCategory(CROSS_LIST_TABLE, startDate, endDate, hasGithub);
+    }
+
+    /**
+     * 汇总表不可用时直接扫描论文表统计交叉列表分类数量
+     * @param startDate 开始日期（包含），为空时不限
+     * @param endDate 结束日期（包含），为空时不限
+     * @return 分类和数量列表，按数量倒序
+     */
+    public List<CategoryCountDTO> scanCrossListedCategory(LocalDate startDate, LocalDate endDate) {
+        StringBuilder sql = new StringBuilder("SELECT c.category, COUNT(*) FROM arxiv_papers p " + PAPER_CATEGORIES + " WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (startDate != null) {
+            sql.append(" AND p.published_date >= ?");
+            args.add(Date.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append(" AND p.published_date <= ?");
+            args.add(Date.valueOf(endDate));
+        }
+        sql.append(" GROUP BY c.category ORDER BY COUNT(*) DESC, c.category");
+        return jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new CategoryCountDTO(rs.getString(1), rs.getLong(2)), args.toArray());
+    }
+
+    private List<CategoryCountDTO> sumByCategory(String table, LocalDate startDate, LocalDate endDate, Boolean hasGithub) {
+        StringBuilder sql = new StringBuilder("SELECT category, SUM(count) FROM " + table + " WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (startDate != null) {
+            sql.append(" AND day >= ?");
+            args.add(Date.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append(" AND day <= ?");
+            args.add(Date.valueOf(endDate));
+        }
+        if (hasGithub != null) {
+            sql.append(" AND has_github = ?");
+            args.add(hasGithub);
+        }
+        sql.append(" GROUP BY category HAVING SUM(count) > 0 ORDER BY SUM(count) DESC, category");
+        return jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new CategoryCountDTO(rs.getString(1), rs.getLong(2)), args.toArray());
+    }
+
+    /**
+     * 从论文表重建主分类和交叉列表分类汇总表
+     * 重建期间锁住汇总表，并发写入的论文会等待重建完成后再累加，保证结果不重复也不遗漏
+     * @return 汇总行数
+     */
+    public int rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + ", " + CROSS_LIST_TABLE + " IN EXCLUSIVE MODE");
+            jdbcTemplate.update("DELETE FROM " + TABLE);
+            jdbcTemplate.update("DELETE FROM " + CROSS_LIST_TABLE);
+            return jdbcTemplate.update("INSERT INTO " + TABLE + " (day, category, has_github, count) " + AGGREGATE_SQL)
+                + jdbcTemplate.update("INSERT INTO " + CROSS_LIST_TABLE + " (day, category, has_github, count) " + CROSS_LIST_AGGREGATE_SQL);
+        });
+        log.info("分类数量汇总表重建完成，共 {} 行", rows);
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * 一组 (日期, 分类, GitHub) 的数量变化
+     */
+    @Data
+    @AllArgsConstructor
+    public static class CountDelta {
+        // 发布日期，为空时记在 -infinity
+        private LocalDate day;
+        // 主分类，为空时记为UNCATEGORIZED
+        private String category;
+        private boolean hasGithub;
+        private int delta;
+    }
+}
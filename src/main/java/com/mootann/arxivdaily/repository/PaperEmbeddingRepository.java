@@ -0,0 +1,282 @@
+package com.mootann.arxivdaily.repository;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.NeighborList;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 论文向量表 paper_embeddings（pgvector）
+ * 每篇论文一行，记录向量化时的内容哈希和模型标识，论文内容或模型变化后视为待更新；
+ * 检索使用 vector_cosine_ops 的HNSW索引，按余弦距离取最近的k篇
+ */
+@Repository
+public class PaperEmbeddingRepository {
+
+    public static final String TABLE = "paper_embeddings";
+
+    private static final String DISTANCE = "e.embedding <=> CAST(:query AS vector)";
+
+    // 按主键倒序查找没有向量或向量已过期的论文，新论文优先；需要扫描整张论文表，只用于定时补齐
+    private static final String FIND_PENDING_SQL = """
+        SELECT p.id, p.arxiv_id, p.title, p.summary, p.primary_category, p.published_date, p.content_hash
+        FROM arxiv_papers p
+        LEFT JOIN paper_embeddings e ON e.paper_id = p.id
+        WHERE p.id < ?
+          AND (e.paper_id IS NULL OR e.content_hash IS DISTINCT FROM p.content_hash OR e.model <> ?)
+        ORDER BY p.id DESC
+        LIMIT ?
+        """;
+
+    // 只检查指定的论文，按arxiv_id的唯一索引查找
+    private static final String FIND_PENDING_BY_ARXIV_IDS_SQL = """
+        SELECT p.id, p.arxiv_id, p.title, p.summary, p.primary_category, p.published_date, p.content_hash
+        FROM arxiv_papers p
+        LEFT JOIN paper_embeddings e ON e.paper_id = p.id
+        WHERE p.arxiv_id = ANY(?)
+          AND (e.paper_id IS NULL OR e.content_hash IS DISTINCT FROM p.content_hash OR e.model <> ?)
+        ORDER BY p.id DESC
+        """;
+
+    private static final RowMapper<PendingPaper> PENDING_ROW_MAPPER = (rs, rowNum) -> {
+        Date publishedDate = rs.getDate("published_date");
+        return new PendingPaper(rs.getLong("id"), rs.getString("arxiv_id"), rs.getString("title"),
+            rs.getString("summary"), rs.getString("primary_category"),
+            publishedDate != null ? publishedDate.toLocalDate() : null, rs.getString("content_hash"));
+    };
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO paper_embeddings (paper_id, embedding, content_hash, model, created_time)
+        SELECT t.paper_id, CAST(t.embedding AS vector), t.content_hash, ?, now()
+        FROM unnest(?::bigint[], ?::text[], ?::text[]) AS t(paper_id, embedding, content_hash)
+        ON CONFLICT (paper_id) DO UPDATE SET
+            embedding = EXCLUDED.embedding,
+            content_hash = EXCLUDED.content_hash,
+            model = EXCLUDED.model,
+            created_time = now()
+        """;
+
+    // 以库中某篇论文的向量为查询，标量子查询使HNSW索引可用
+    private static final String SIMILAR_SQL = """
+        SELECT e.paper_id, e.embedding <=> (SELECT embedding FROM paper_embeddings WHERE paper_id = :paperId) AS distance
+        FROM paper_embeddings e
+        WHERE e.paper_id <> :paperId
+        ORDER BY distance
+        LIMIT :limit
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArxivPaperKeysetRepository keysetRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PaperEmbeddingRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 查找需要（重新）向量化的论文
+     * @param model 当前模型标识，向量由其他模型生成的论文也需要重新向量化
+     * @param beforeId 只查找主键小于该值的论文，用于分批向后推进
+     * @param limit 最多返回的条数
+     * @return 待向量化的论文，按主键倒序
+     */
+    public List<PendingPaper> findPending(String model, long beforeId, int limit) {
+        return jdbcTemplate.query(FIND_PENDING_SQL, PENDING_ROW_MAPPER, beforeId, model, limit);
+    }
+
+    /**
+     * 在指定论文中查找需要（重新）向量化的论文，用于入库后只处理本次写入的论文
+     * @param model 当前模型标识
+     * @param arxivIds 待检查的论文
+     * @return 待向量化的论文，按主键倒序
+     */
+    public List<PendingPaper> findPendingByArxivIds(String model, Collection<String> arxivIds) {
+        if (arxivIds.isEmpty()) {
+            return List.of();
+        }
+        String[] ids = arxivIds.toArray(new String[0]);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_PENDING_BY_ARXIV_IDS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", ids));
+            ps.setString(2, model);
+            return ps;
+        }, PENDING_ROW_MAPPER);
+    }
+
+    /**
+     * 批量写入向量
+     * @param papers 已向量化的论文
+     * @param vectors 与papers一一对应的向量
+     * @param model 模型标识
+     */
+    public void upsert(List<PendingPaper> papers, List<float[]> vectors, String model) {
+        if (papers.isEmpty()) {
+            return;
+        }
+        int size = papers.size();
+        Long[] paperIds = new Long[size];
+        String[] embeddings = new String[size];
+        String[] contentHashes = new String[size];
+        for (int i = 0; i < size; i++) {
+            paperIds[i] = papers.get(i).getPaperId();
+            embeddings[i] = toVectorLiteral(vectors.get(i));
+            contentHashes[i] = papers.get(i).getContentHash();
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+            ps.setString(1, model);
+            ps.setArray(2, connection.createArrayOf("int8", paperIds));
+            ps.setArray(3, connection.createArrayOf("text", embeddings));
+            ps.setArray(4, connection.createArrayOf("text", contentHashes));
+            return ps;
+        });
+    }
+
+    /**
+     * 按余弦距离检索最近的k篇论文
+     * ef_search和迭代扫描只在当前事务内生效；有筛选条件时HNSW先取候选再过滤，迭代扫描保证尽量返回k条
+     * @param query 查询向量
+     * @param filter 筛选条件（不含关键词）
+     * @param k 返回条数
+     * @param efSearch HNSW候选列表大小
+     * @param iterativeScan 迭代扫描模式，为空时不设置
+     * @param timeoutMs 查询超时（毫秒），不大于0时不限制
+     * @return 论文及其余弦距离（越小越相似）
+     */
+    public List<ArxivPaperKeysetRepository.ScoredPaper> search(float[] query, PaperFilter filter, int k,
+                                                               int efSearch, String iterativeScan, long timeoutMs) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = ArxivPaperFilterRepository.buildWhere(filter, params);
+        String sql = "SELECT p.*, " + DISTANCE + " AS score FROM paper_embeddings e JOIN arxiv_papers p ON p.id = e.paper_id"
+            + where + " ORDER BY " + DISTANCE + " LIMIT :limit";
+        params.put("query", toVectorLiteral(query));
+        params.put("limit", k);
+
+        return transactionTemplate.execute(status -> {
+            // ef_search不能小于k，否则最多只能返回ef_search条
+            setLocal("hnsw.ef_search", String.valueOf(Math.max(efSearch, k)));
+            if (timeoutMs > 0) {
+                setLocal("statement_timeout", String.valueOf(timeoutMs));
+            }
+            if (iterativeScan != null && !iterativeScan.isBlank() && !where.isEmpty()) {
+                setLocal("hnsw.iterative_scan", iterativeScan);
+            }
+            return keysetRepository.queryScored(sql, params);
+        });
+    }
+
+    /**
+     * 与库中某篇论文余弦距离最近的k篇论文（不含其自身）
+     * @param paperId 论文主键，没有向量时返回空列表
+     * @param k 返回条数
+     * @param efSearch HNSW候选列表大小
+     * @return 相似论文，得分为余弦相似度（1 - 余弦距离）
+     */
+    public NeighborList similar(long paperId, int k, int efSearch) {
+        return transactionTemplate.execute(status -> {
+            setLocal("hnsw.ef_search", String.valueOf(Math.max(efSearch, k)));
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = entityManager.createNativeQuery(SIMILAR_SQL)
+                .setParameter("paperId", paperId)
+                .setParameter("limit", k)
+                .getResultList();
+            int[] ids = new int[rows.size()];
+            float[] scores = new float[rows.size()];
+            int size = 0;
+            for (Object[] row : rows) {
+                // 查询论文没有向量时距离为空
+                if (row[1] != null) {
+                    ids[size] = ((Number) row[0]).intValue();
+                    scores[size++] = 1 - ((Number) row[1]).floatValue();
+                }
+            }
+            return new NeighborList(Arrays.copyOf(ids, size), Arrays.copyOf(scores, size));
+        });
+    }
+
+    /**
+     * 已向量化的论文数量
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private void setLocal(String name, String value) {
+        entityManager.createNativeQuery("SELECT set_config(:name, :value, true)")
+            .setParameter("name", name)
+            .setParameter("value", value)
+            .getSingleResult();
+    }
+
+    /**
+     * 解析pgvector的文本格式 [x1,x2,...]
+     */
+    public static float[] parseVectorLiteral(String literal) {
+        String body = literal.substring(literal.indexOf('[') + 1, literal.lastIndexOf(']'));
+        if (body.isBlank()) {
+            return new float[0];
+        }
+        String[] parts = body.split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i].trim());
+        }
+        return vector;
+    }
+
+    /**
+     * 转换为pgvector的文本格式 [x1,x2,...]
+     */
+    static String toVectorLiteral(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 10).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 待向量化的论文
+     */
+    @Data
+    @AllArgsConstructor
+    public static class PendingPaper {
+        private Long paperId;
+        private String arxivId;
+        private String title;
+        private String summary;
+        private String primaryCategory;
+        private LocalDate publishedDate;
+        // 向量化时论文的内容哈希，用于判断向量是否过期
+        private String contentHash;
+    }
+}
@@ -0,0 +1,284 @@
+package com.mootann.arxivdaily.repository;
+
+import com.mootann.arxivdaily.repository.dto.PaperCardDTO;
+import com.mootann.arxivdaily.search.NeighborList;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预计算的相似论文表 paper_neighbors
+ * 每篇论文一行，相似论文主键为int数组、得分为打包的float16（见 {@link NeighborList}）；
+ * 记录计算来源和计算时论文的内容哈希，内容变化或有了向量后重新计算
+ */
+@Repository
+public class PaperNeighborRepository {
+
+    public static final String SOURCE_EMBEDDING = "embedding";
+    public static final String SOURCE_LEXICAL = "lexical";
+
+    private static final String PENDING_COLUMNS = "SELECT p.id, p.arxiv_id, p.title, p.summary, p.content_hash, ";
+
+    // 没有相似列表、内容已变化，或按文本计算但已有向量的论文
+    private static final String FIND_PENDING_WITH_EMBEDDINGS_SQL = PENDING_COLUMNS + """
+        e.paper_id IS NOT NULL AS has_embedding
+        FROM arxiv_papers p
+        LEFT JOIN paper_neighbors n ON n.paper_id = p.id
+        LEFT JOIN paper_embeddings e ON e.paper_id = p.id AND e.model = ?
+        WHERE p.id < ?
+          AND (n.paper_id IS NULL OR n.content_hash IS DISTINCT FROM p.content_hash
+               OR (n.source <> 'embedding' AND e.paper_id IS NOT NULL))
+        ORDER BY p.id DESC
+        LIMIT ?
+        """;
+
+    private static final String FIND_PENDING_SQL = PENDING_COLUMNS + """
+        false AS has_embedding
+        FROM arxiv_papers p
+        LEFT JOIN paper_neighbors n ON n.paper_id = p.id
+        WHERE p.id < ?
+          AND (n.paper_id IS NULL OR n.content_hash IS DISTINCT FROM p.content_hash)
+        ORDER BY p.id DESC
+        LIMIT ?
+        """;
+
+    // 标题词素组成OR查询，在全文检索向量上按覆盖密度打分
+    private static final String TEXT_SIMILAR_SQL = """
+        WITH q AS (
+            SELECT s.id, CAST(string_agg(quote_literal(t.lexeme), ' | ') AS tsquery) AS query
+            FROM arxiv_papers s, unnest(to_tsvector('english', coalesce(s.title, ''))) AS t
+            WHERE s.id = ?
+            GROUP BY s.id
+        )
+        SELECT p.id, ts_rank_cd(p.search_vector, q.query) AS score
+        FROM arxiv_papers p, q
+        WHERE p.search_vector @@ q.query AND p.id <> q.id
+        ORDER BY score DESC
+        LIMIT ?
+        """;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO paper_neighbors (paper_id, neighbor_ids, scores, source, content_hash, updated_time)
+        VALUES (?, ?, ?, ?, ?, now())
+        ON CONFLICT (paper_id) DO UPDATE SET
+            neighbor_ids = EXCLUDED.neighbor_ids,
+            scores = EXCLUDED.scores,
+            source = EXCLUDED.source,
+            content_hash = EXCLUDED.content_hash,
+            updated_time = now()
+        """;
+
+    // 按主键读取一行，展开为卡片；得分在数据库中取出float16的两个字节，由调用方解码
+    private static final String SIMILAR_CARDS_SQL = "SELECT " + ArxivPaperFilterRepository.CARD_COLUMNS + ", "
+        + "(get_byte(n.scores, 2 * CAST(u.ord AS integer) - 2) << 8) | get_byte(n.scores, 2 * CAST(u.ord AS integer) - 1) AS score_bits "
+        + "FROM arxiv_papers s "
+        + "JOIN paper_neighbors n ON n.paper_id = s.id "
+        + "CROSS JOIN LATERAL unnest(n.neighbor_ids) WITH ORDINALITY AS u(neighbor_id, ord) "
+        + "JOIN arxiv_papers p ON p.id = u.neighbor_id "
+        + "WHERE s.arxiv_id = :arxivId AND u.ord <= :limit "
+        + "ORDER BY u.ord";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArxivPaperFilterRepository filterRepository;
+
+    /**
+     * 查找需要（重新）计算相似列表的论文
+     * @param embeddingModel 当前向量模型标识，为空时不考虑向量（未启用向量化时 paper_embeddings 表不存在）
+     * @param beforeId 只查找主键小于该值的论文，用于分批向后推进
+     * @param limit 最多返回的条数
+     * @return 待计算的论文，按主键倒序
+     */
+    public List<PendingPaper> findPending(String embeddingModel, long beforeId, int limit) {
+        Object[] args = embeddingModel != null
+            ? new Object[]{embeddingModel, beforeId, limit}
+            : new Object[]{beforeId, limit};
+        return jdbcTemplate.query(embeddingModel != null ? FIND_PENDING_WITH_EMBEDDINGS_SQL : FIND_PENDING_SQL,
+            (rs, rowNum) -> new PendingPaper(rs.getLong("id"), rs.getString("arxiv_id"), rs.getString("title"),
+                rs.getString("summary"), rs.getString("content_hash"), rs.getBoolean("has_embedding")),
+            args);
+    }
+
+    /**
+     * 按标题词素的全文检索计算文本相似论文，得分按第一名归一化到 (0, 1]
+     * @param paperId 论文主键
+     * @param k 返回条数
+     */
+    public NeighborList findTextSimilar(long paperId, int k) {
+        List<Integer> ids = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        jdbcTemplate.query(TEXT_SIMILAR_SQL, rs -> {
+            ids.add(Math.toIntExact(rs.getLong("id")));
+            scores.add(rs.getFloat("score"));
+        }, paperId, k);
+        if (ids.isEmpty() || scores.get(0) <= 0) {
+            return NeighborList.empty();
+        }
+        float top = scores.get(0);
+        int[] neighborIds = new int[ids.size()];
+        float[] normalized = new float[ids.size()];
+        for (int i = 0; i < neighborIds.length; i++) {
+            neighborIds[i] = ids.get(i);
+            normalized[i] = scores.get(i) / top;
+        }
+        return new NeighborList(neighborIds, normalized);
+    }
+
+    /**
+     * 按arXiv ID查找论文主键
+     */
+    public Map<String, Integer> findIdsByArxivIds(Collection<String> arxivIds) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (arxivIds.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id, arxiv_id FROM arxiv_papers WHERE arxiv_id = ANY(?)");
+            ps.setArray(1, connection.createArrayOf("text", arxivIds.toArray()));
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("arxiv_id"), Math.toIntExact(rs.getLong("id")));
+        });
+        return ids;
+    }
+
+    /**
+     * 读取已保存的相似列表
+     * @return 论文主键到相似列表的映射，没有保存的论文不在结果中
+     */
+    public Map<Long, StoredNeighbors> findByPaperIds(Collection<Long> paperIds) {
+        Map<Long, StoredNeighbors> stored = new HashMap<>();
+        if (paperIds.isEmpty()) {
+            return stored;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                "SELECT paper_id, neighbor_ids, scores, source, content_hash FROM paper_neighbors WHERE paper_id = ANY(?)");
+            ps.setArray(1, connection.createArrayOf("int8", paperIds.toArray()));
+            return ps;
+        }, rs -> {
+            Integer[] boxed = (Integer[]) rs.getArray("neighbor_ids").getArray();
+            int[] ids = new int[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                ids[i] = boxed[i];
+            }
+            long paperId = rs.getLong("paper_id");
+            stored.put(paperId, new StoredNeighbors(paperId, rs.getString("source"), rs.getString("content_hash"),
+                NeighborList.decode(ids, rs.getBytes("scores"))));
+        });
+        return stored;
+    }
+
+    /**
+     * 批量写入相似列表
+     */
+    public void saveAll(List<StoredNeighbors> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StoredNeighbors row = rows.get(i);
+                NeighborList neighbors = row.getNeighbors();
+                Integer[] ids = Arrays.stream(neighbors.ids()).boxed().toArray(Integer[]::new);
+                Array array = ps.getConnection().createArrayOf("int4", ids);
+                ps.setLong(1, row.getPaperId());
+                ps.setArray(2, array);
+                ps.setBytes(3, neighbors.encodeScores());
+                ps.setString(4, row.getSource());
+                ps.setString(5, row.getContentHash());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /**
+     * 读取某篇论文的相似论文卡片，一次按主键查找并展开，已删除的论文自动跳过
+     * @param arxivId 论文ID
+     * @param limit 最多返回的条数
+     * @param authorLimit 卡片展示的作者数量
+     * @param summaryLength 卡片的摘要片段长度
+     * @return 按得分降序的相似论文，没有预计算结果时为空
+     */
+    public List<SimilarPaper> findSimilarCards(String arxivId, int limit, int authorLimit, int summaryLength) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(SIMILAR_CARDS_SQL).unwrap(NativeQuery.class);
+        filterRepository.addCardScalars(query, authorLimit, summaryLength);
+        query.addScalar("score_bits", StandardBasicTypes.INTEGER);
+        query.setParameter("arxivId", arxivId);
+        query.setParameter("limit", limit);
+
+        List<SimilarPaper> papers = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            papers.add(new SimilarPaper(filterRepository.toCard(row), NeighborList.fromFloat16(
+                (Integer) row[ArxivPaperFilterRepository.CARD_COLUMN_COUNT])));
+        }
+        return papers;
+    }
+
+    /**
+     * 待计算相似列表的论文
+     */
+    @Data
+    @AllArgsConstructor
+    public static class PendingPaper {
+        private Long paperId;
+        private String arxivId;
+        private String title;
+        private String summary;
+        private String contentHash;
+        // 是否已有当前模型的向量
+        private boolean hasEmbedding;
+    }
+
+    /**
+     * 一篇论文保存的相似列表
+     */
+    @Data
+    @AllArgsConstructor
+    public static class StoredNeighbors {
+        private Long paperId;
+        // 计算来源：embedding / lexical
+        private String source;
+        // 计算时论文的内容哈希
+        private String contentHash;
+        private NeighborList neighbors;
+    }
+
+    /**
+     * 相似论文卡片及其得分（向量来源为余弦相似度，文本来源为相对第一名的得分）
+     */
+    @Data
+    @AllArgsConstructor
+    public static class SimilarPaper {
+        private PaperCardDTO paper;
+        private Float score;
+    }
+}
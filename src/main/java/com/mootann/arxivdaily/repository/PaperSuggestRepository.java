@@ -0,0 +1,115 @@
+package com.mootann.arxivdaily.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 输入提示的数据来源：论文标题和作者姓名
+ * 按 updated_time 增量读取，以游标分批返回，不一次性加载全表
+ */
+@Repository
+public class PaperSuggestRepository {
+
+    private static final int FETCH_SIZE = 2000;
+
+    private static final String TITLES_SQL = """
+        SELECT arxiv_id, title, updated_time
+        FROM arxiv_papers
+        WHERE updated_time > ?
+        """;
+
+    private static final String ALL_AUTHORS_SQL = """
+        SELECT name_key, display_name, paper_count
+        FROM authors
+        WHERE paper_count > 0
+        """;
+
+    // 作者表没有更新时间，取变化论文的作者（论文数随论文写入刷新）
+    private static final String UPDATED_AUTHORS_SQL = """
+        SELECT a.name_key, a.display_name, a.paper_count
+        FROM authors a
+        WHERE a.id IN (
+            SELECT pa.author_id
+            FROM paper_authors pa
+            JOIN arxiv_papers p ON p.id = pa.paper_id
+            WHERE p.updated_time > ?
+        )
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PaperSuggestRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL只有在事务中才按fetchSize分批返回结果
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 读取更新时间晚于since的论文标题
+     * @param since 起始时间（不含），为空时读取全部
+     * @param consumer 逐行处理
+     */
+    public void streamTitles(LocalDateTime since, Consumer<TitleRow> consumer) {
+        Timestamp from = Timestamp.valueOf(since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0));
+        stream(TITLES_SQL, from, rs -> consumer.accept(new TitleRow(rs.getString("arxiv_id"), rs.getString("title"),
+            rs.getTimestamp("updated_time").toLocalDateTime())));
+    }
+
+    /**
+     * 读取作者姓名和论文数
+     * @param since 为空时读取全部作者，否则只读取更新时间晚于since的论文的作者
+     * @param consumer 逐行处理
+     */
+    public void streamAuthors(LocalDateTime since, Consumer<AuthorRow> consumer) {
+        stream(since != null ? UPDATED_AUTHORS_SQL : ALL_AUTHORS_SQL, since != null ? Timestamp.valueOf(since) : null,
+            rs -> consumer.accept(new AuthorRow(rs.getString("name_key"), rs.getString("display_name"), rs.getInt("paper_count"))));
+    }
+
+    private void stream(String sql, Timestamp since, RowCallbackHandler handler) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            if (since != null) {
+                ps.setTimestamp(1, since);
+            }
+            return ps;
+        }, handler));
+    }
+
+    /**
+     * 论文标题
+     */
+    @Data
+    @AllArgsConstructor
+    public static class TitleRow {
+        private String arxivId;
+        private String title;
+        private LocalDateTime updatedTime;
+    }
+
+    /**
+     * 作者姓名和论文数
+     */
+    @Data
+    @AllArgsConstructor
+    public static class AuthorRow {
+        // 规范化姓名，作者的唯一键
+        private String nameKey;
+        private String displayName;
+        private int paperCount;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 作者DTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorDTO implements Serializable {
+    private Long id;
+    // 展示用姓名（首次入库时的写法）
+    private String name;
+    // 规范化后的姓名key
+    private String nameKey;
+    private Long paperCount;
+}
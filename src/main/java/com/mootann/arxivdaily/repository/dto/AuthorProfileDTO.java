@@ -0,0 +1,28 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 作者主页DTO：作者信息和按年份统计的论文数量
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorProfileDTO implements Serializable {
+    private AuthorDTO author;
+    // 按年份升序，发布日期为空的论文不计入
+    private List<YearCount> yearlyCounts;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class YearCount implements Serializable {
+        private Integer year;
+        private Long count;
+    }
+}
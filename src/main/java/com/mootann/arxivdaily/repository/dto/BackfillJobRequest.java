@@ -0,0 +1,18 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 历史数据回填任务请求DTO
+ */
+@Data
+public class BackfillJobRequest {
+    // 开始日期（包含），格式：YYYY-MM-DD
+    private String startDate;
+    // 结束日期（包含），格式：YYYY-MM-DD
+    private String endDate;
+    // 分类列表，为空时按天分区，否则按天和分类分区
+    private List<String> categories;
+}
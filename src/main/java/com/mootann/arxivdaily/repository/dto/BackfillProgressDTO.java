@@ -0,0 +1,48 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 历史数据回填任务进度DTO
+ */
+@Data
+public class BackfillProgressDTO implements Serializable {
+    // 任务ID
+    private String jobId;
+    // 任务状态：RUNNING, PAUSED, CANCELLED, COMPLETED
+    private String status;
+    // 开始日期
+    private String startDate;
+    // 结束日期
+    private String endDate;
+    // 分类列表
+    private List<String> categories;
+    // 分区总数
+    private int totalPartitions;
+    // 已完成的分区数
+    private int completedPartitions;
+    // 失败的分区数
+    private int failedPartitions;
+    // 已完成的请求页数
+    private long pagesDone;
+    // 已获取的论文数量
+    private long papersFetched;
+    // 新保存的论文数量
+    private long papersSaved;
+    // 预计论文总数（未开始的分区按已开始分区的平均值估算）
+    private long estimatedTotalPapers;
+    // 每秒获取的论文数量（不含暂停时间）
+    private double papersPerSecond;
+    // 预计剩余时间（秒），无法估算时为空
+    private Long etaSeconds;
+    // 任务创建时间
+    private LocalDateTime startedAt;
+    // 任务结束时间
+    private LocalDateTime finishedAt;
+    // 最近的分区错误信息
+    private List<String> errors;
+}
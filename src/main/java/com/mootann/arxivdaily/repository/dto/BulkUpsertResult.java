@@ -0,0 +1,34 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入结果DTO
+ */
+@Data
+@NoArgsConstructor
+public class BulkUpsertResult implements Serializable {
+    // 新插入的数量
+    private int inserted;
+    // 内容有变化而更新的数量
+    private int updated;
+    // 已存在且内容未变化的数量
+    private int unchanged;
+    // 新插入的论文arXiv ID
+    private List<String> insertedIds = new ArrayList<>();
+    // 内容有变化而更新的论文arXiv ID
+    private List<String> updatedIds = new ArrayList<>();
+
+    public void add(BulkUpsertResult other) {
+        this.inserted += other.inserted;
+        this.updated += other.updated;
+        this.unchanged += other.unchanged;
+        this.insertedIds.addAll(other.insertedIds);
+        this.updatedIds.addAll(other.updatedIds);
+    }
+}
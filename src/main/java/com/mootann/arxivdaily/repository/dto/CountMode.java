@@ -0,0 +1,32 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import java.util.Locale;
+
+/**
+ * 分页查询的总数计算方式
+ */
+public enum CountMode {
+    // 精确总数，额外执行一次与查询条件相同的COUNT(*)
+    EXACT,
+    // 估算总数，取自单独缓存的执行计划行数估计，不执行COUNT(*)
+    ESTIMATE,
+    // 不计算总数，多取一行判断是否有下一页
+    NONE;
+
+    /**
+     * 解析请求参数，为空时使用精确总数
+     * @param value exact / estimate / none，不区分大小写
+     * @return 计数方式
+     * @throws IllegalArgumentException 不支持的取值
+     */
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的计数方式: " + value + "，可选值为 exact、estimate、none");
+        }
+    }
+}
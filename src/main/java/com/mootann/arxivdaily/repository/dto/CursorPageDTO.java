@@ -0,0 +1,36 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * 不返回总数和页码，客户端用nextCursor请求下一页
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    /**
+     * 内容列表
+     */
+    private List<T> content;
+
+    /**
+     * 每页大小
+     */
+    private int size;
+
+    /**
+     * 下一页游标，没有下一页时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasNext;
+}
@@ -0,0 +1,64 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 混合检索（关键词 + 向量）响应
+ * 只在各路召回的候选范围内分页，不返回总数；某一路超时或失败时degraded为true，结果只来自其余各路
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HybridSearchResponse {
+
+    private Integer page;                   // 页码
+    private Integer size;                   // 每页数量
+    private Boolean hasNext;                // 候选范围内是否有下一页
+    private String fusion;                  // 融合方式：rrf / weighted
+    private Boolean degraded;               // 是否有检索阶段超时、失败或未启用
+    private Long elapsedMs;                 // 总耗时（毫秒）
+    private List<Item> papers;              // 本页论文，按融合得分降序
+    private List<StageTiming> stages;       // 各检索阶段的耗时和状态
+
+    /**
+     * 融合后的单篇论文
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private ArxivPaper paper;
+        // 融合得分，越大越相关
+        private Double score;
+        // 在关键词检索结果中的排名（从1开始），未召回为空
+        private Integer lexicalRank;
+        // 在向量检索结果中的排名（从1开始），未召回为空
+        private Integer vectorRank;
+    }
+
+    /**
+     * 单个检索阶段的执行情况
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StageTiming {
+        // 阶段名称：lexical / vector
+        private String stage;
+        // 实际使用的检索引擎：fts / bm25 / pgvector / hnsw（内存向量索引） / int8、binary（量化向量存储）
+        private String engine;
+        // 状态：ok / timeout / error / disabled
+        private String status;
+        // 从提交到完成（或超时）的耗时（毫秒），含排队时间
+        private Long elapsedMs;
+        // 阶段的超时时间（毫秒）
+        private Long timeoutMs;
+        // 召回的候选数量
+        private Integer hits;
+    }
+}
@@ -38,4 +38,9 @@ public class PageCacheDTO<T> {
      * 总页数
      */
     private int totalPages;
+
+    /**
+     * 是否有下一页，不计数模式下总数未知（totalElements为-1），以此判断
+     */
+    private boolean hasNext;
 }
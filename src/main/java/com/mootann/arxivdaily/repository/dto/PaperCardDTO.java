@@ -0,0 +1,37 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 论文卡片DTO
+ * 列表页只展示的字段投影，不含完整摘要；完整内容通过 /database/paper/{arxivId} 获取
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperCardDTO implements Serializable {
+    private Long id;
+    private String arxivId;
+    private String title;
+    // 前N位作者
+    private List<String> authors;
+    // 作者总数
+    private Integer authorCount;
+    private String primaryCategory;
+    private List<String> categories;
+    private LocalDate publishedDate;
+    private String githubUrl;
+    private String arxivUrl;
+    private String pdfUrl;
+    private String latexUrl;
+    // 摘要片段（前N个字符）
+    private String summary;
+    // 摘要是否被截断
+    private Boolean summaryTruncated;
+}
@@ -0,0 +1,62 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 游标分页位置，对应上一页最后一条记录的排序键 (score, published_date, id)
+ * 对客户端编码为不透明的Base64字符串；score只在检索排序时使用（相关度或相似度距离）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    // 检索得分，列表查询时为空
+    private Float score;
+    // 发布日期
+    private LocalDate publishedDate;
+    // 主键
+    private Long id;
+
+    /**
+     * 编码为URL安全的游标字符串
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + (score != null ? Float.floatToIntBits(score) : "")
+            + SEPARATOR + publishedDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标，为空表示第一页
+     * @return 游标位置，第一页返回null
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    public static PaperCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            Float score = parts[1].isEmpty() ? null : Float.intBitsToFloat(Integer.parseInt(parts[1]));
+            return new PaperCursor(score, LocalDate.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+}
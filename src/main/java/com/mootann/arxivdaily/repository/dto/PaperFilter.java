@@ -0,0 +1,230 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import com.mootann.arxivdaily.util.AuthorNameUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * 论文列表的组合筛选条件
+ * 所有条件均可为空，为空表示不筛选；同一组条件总是生成相同的缓存key，
+ * 因此任意筛选组合都走同一条查询和缓存路径
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperFilter {
+
+    public static final String CACHE_KEY_PREFIX = "filter:";
+    public static final String UNCATEGORIZED = "UNCATEGORIZED";
+
+    private static final String ALL = "all";
+    private static final String SEGMENT_SEPARATOR = ";";
+    private static final String VALUE_SEPARATOR = ",";
+
+    // 主分类集合（有序），UNCATEGORIZED表示主分类为空
+    private TreeSet<String> categories;
+    // 发布日期下限（包含）
+    private LocalDate startDate;
+    // 发布日期上限（包含）
+    private LocalDate endDate;
+    // 是否有GitHub URL
+    private Boolean hasGithub;
+    // 全文检索关键词（websearch语法）
+    private String keyword;
+    // 作者姓名的规范化key（见AuthorNameUtil），按作者关联表精确匹配
+    private String author;
+    // 分类条件是否匹配交叉列表分类（论文的任一分类），否则只匹配主分类
+    private boolean crossListed;
+
+    /**
+     * 由请求参数构造筛选条件，空白值视为不筛选
+     * @param categories 主分类，可为空
+     * @param startDate 开始日期（yyyy-MM-dd），可为空
+     * @param endDate 结束日期（yyyy-MM-dd），可为空
+     * @param hasGithub 是否有GitHub URL，可为空
+     * @param keyword 关键词，可为空
+     * @param author 作者，可为空
+     * @return 规范化后的筛选条件
+     * @throws java.time.format.DateTimeParseException 日期格式不正确
+     */
+    public static PaperFilter of(Collection<String> categories, String startDate, String endDate,
+                                 Boolean hasGithub, String keyword, String author) {
+        PaperFilter filter = new PaperFilter();
+        if (categories != null) {
+            TreeSet<String> normalized = new TreeSet<>();
+            for (String category : categories) {
+                if (category != null && !category.isBlank()) {
+                    normalized.add(category.trim());
+                }
+            }
+            filter.setCategories(normalized.isEmpty() ? null : normalized);
+        }
+        filter.setStartDate(isBlank(startDate) ? null : LocalDate.parse(startDate.trim()));
+        filter.setEndDate(isBlank(endDate) ? null : LocalDate.parse(endDate.trim()));
+        filter.setHasGithub(hasGithub);
+        filter.setKeyword(normalizeKeyword(keyword));
+        // 作者姓名规范化，不同写法的同一作者共用缓存
+        filter.setAuthor(AuthorNameUtil.normalize(author));
+        return filter;
+    }
+
+    /**
+     * 单个分类的便捷构造
+     */
+    public static PaperFilter of(String category, String startDate, String endDate, Boolean hasGithub, String keyword) {
+        return of(category != null ? List.of(category) : null, startDate, endDate, hasGithub, keyword, null);
+    }
+
+    /**
+     * 复制筛选条件并替换关键词，其余条件不变
+     * @param keyword 关键词，为空时表示不按关键词筛选
+     * @return 新的筛选条件
+     */
+    public PaperFilter withKeyword(String keyword) {
+        PaperFilter copy = new PaperFilter(categories != null ? new TreeSet<>(categories) : null, startDate, endDate,
+            hasGithub, null, author, crossListed);
+        copy.setKeyword(normalizeKeyword(keyword));
+        return copy;
+    }
+
+    public boolean hasKeyword() {
+        return keyword != null;
+    }
+
+    /**
+     * 分类条件匹配论文的任一分类（含交叉列表），而不只是主分类
+     * @return 当前筛选条件，便于链式调用
+     */
+    public PaperFilter crossListed(boolean crossListed) {
+        this.crossListed = crossListed;
+        return this;
+    }
+
+    /**
+     * 是否按交叉列表分类筛选，没有分类条件时该选项不起作用
+     */
+    public boolean matchesCrossListed() {
+        return crossListed && categories != null;
+    }
+
+    /**
+     * 是否没有任何筛选条件
+     */
+    public boolean isUnfiltered() {
+        return categories == null && startDate == null && endDate == null
+            && hasGithub == null && keyword == null && author == null;
+    }
+
+    /**
+     * 生成规范化的缓存key（不含papers:前缀和分页参数）
+     * 各段按固定顺序排列，取值做URL编码，保证不含分隔符
+     */
+    public String cacheKey() {
+        List<String> segments = new ArrayList<>();
+        if (categories != null) {
+            List<String> encoded = categories.stream().map(PaperFilter::encode).toList();
+            segments.add("cat=" + String.join(VALUE_SEPARATOR, encoded));
+            if (crossListed) {
+                segments.add("cross=true");
+            }
+        }
+        if (startDate != null) {
+            segments.add("from=" + startDate);
+        }
+        if (endDate != null) {
+            segments.add("to=" + endDate);
+        }
+        if (hasGithub != null) {
+            segments.add("github=" + hasGithub);
+        }
+        if (keyword != null) {
+            segments.add("kw=" + encode(keyword));
+        }
+        if (author != null) {
+            segments.add("author=" + encode(author));
+        }
+        return CACHE_KEY_PREFIX + (segments.isEmpty() ? ALL : String.join(SEGMENT_SEPARATOR, segments));
+    }
+
+    /**
+     * 从缓存key还原筛选条件，用于缓存失效时判断论文是否可能命中
+     * @param cacheKey {@link #cacheKey()} 生成的key
+     * @return 筛选条件
+     * @throws IllegalArgumentException key格式不正确
+     */
+    public static PaperFilter fromCacheKey(String cacheKey) {
+        if (cacheKey == null || !cacheKey.startsWith(CACHE_KEY_PREFIX)) {
+            throw new IllegalArgumentException("不是筛选缓存key: " + cacheKey);
+        }
+        PaperFilter filter = new PaperFilter();
+        String body = cacheKey.substring(CACHE_KEY_PREFIX.length());
+        if (ALL.equals(body)) {
+            return filter;
+        }
+        try {
+            for (String segment : body.split(SEGMENT_SEPARATOR)) {
+                int eq = segment.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("无效的筛选缓存key: " + cacheKey);
+                }
+                String value = segment.substring(eq + 1);
+                switch (segment.substring(0, eq)) {
+                    case "cat" -> {
+                        TreeSet<String> categories = new TreeSet<>();
+                        for (String category : value.split(VALUE_SEPARATOR)) {
+                            categories.add(decode(category));
+                        }
+                        filter.setCategories(categories);
+                    }
+                    case "from" -> filter.setStartDate(LocalDate.parse(value));
+                    case "to" -> filter.setEndDate(LocalDate.parse(value));
+                    case "github" -> filter.setHasGithub(Boolean.parseBoolean(value));
+                    case "kw" -> filter.setKeyword(decode(value));
+                    case "author" -> filter.setAuthor(decode(value));
+                    case "cross" -> filter.setCrossListed(Boolean.parseBoolean(value));
+                    default -> throw new IllegalArgumentException("无效的筛选缓存key: " + cacheKey);
+                }
+            }
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("无效的筛选缓存key: " + cacheKey, e);
+        }
+        return filter;
+    }
+
+    /**
+     * 分类条件是否包含指定分类
+     */
+    public boolean hasCategory(String category) {
+        return categories != null && categories.contains(category);
+    }
+
+    // 全文检索不区分大小写，统一小写并合并空白，使等价的关键词共用缓存
+    private static String normalizeKeyword(String keyword) {
+        return isBlank(keyword) ? null : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(Objects.requireNonNull(value), StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
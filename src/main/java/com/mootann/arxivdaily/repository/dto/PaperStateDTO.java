@@ -0,0 +1,24 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 已入库论文的版本状态DTO，用于增量写入前的变更判断
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaperStateDTO implements Serializable {
+    // arXiv ID
+    private String arxivId;
+    // 可变字段的内容哈希（历史数据可能为空）
+    private String contentHash;
+    // 版本号
+    private Integer version;
+    // 摘要的MD5
+    private String summaryHash;
+}
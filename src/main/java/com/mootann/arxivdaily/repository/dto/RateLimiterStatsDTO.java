@@ -0,0 +1,33 @@
+package com.mootann.arxivdaily.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * arXiv请求限流器统计DTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimiterStatsDTO implements Serializable {
+    // 限流模式
+    private String mode;
+    // 令牌发放间隔（毫秒）
+    private Long intervalMs;
+    // 当前排队数量
+    private Integer queueDepth;
+    // 各优先级当前排队数量
+    private Map<String, Integer> queueDepthByPriority;
+    // 各优先级累计放行数量
+    private Map<String, Long> grantedByPriority;
+    // 各优先级平均等待时间（毫秒）
+    private Map<String, Double> avgWaitMsByPriority;
+    // 各优先级最大等待时间（毫秒）
+    private Map<String, Long> maxWaitMsByPriority;
+    // 因队列已满被拒绝的数量
+    private Long rejected;
+}
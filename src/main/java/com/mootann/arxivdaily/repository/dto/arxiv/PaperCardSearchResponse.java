@@ -0,0 +1,29 @@
+package com.mootann.arxivdaily.repository.dto.arxiv;
+
+import com.mootann.arxivdaily.repository.dto.CategoryCountDTO;
+import com.mootann.arxivdaily.repository.dto.PaperCardDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 论文卡片列表响应，结构与 {@link ArxivSearchResponse} 一致，论文只包含卡片字段；
+ * 总数可能是精确值、估算值或为空，由countMode说明
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaperCardSearchResponse {
+
+    private Integer totalResults;           // 总结果数，不计数模式下为空
+    private String countMode;               // 总数计算方式：exact / estimate / none
+    private Boolean hasNext;                // 是否有下一页
+    private Integer startIndex;             // 起始索引
+    private Integer itemsPerPage;           // 每页数量
+    private List<PaperCardDTO> papers;      // 论文卡片列表
+    private String actualStartDate;         // 实际查询的开始日期
+    private String actualEndDate;           // 实际查询的结束日期
+    private List<CategoryCountDTO> categoryCounts; // 分类统计信息
+}
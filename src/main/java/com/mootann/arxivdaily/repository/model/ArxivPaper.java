@@ -77,6 +77,10 @@ public class ArxivPaper {
     @Column(name = "github_url", length = 500)
     private String githubUrl;
 
+    // 可变字段的内容哈希，用于判断修订后的论文是否需要重写
+    @Column(name = "content_hash", length = 32)
+    private String contentHash;
+
     @CreationTimestamp
     @Column(name = "created_time", nullable = false, updatable = false)
     private LocalDateTime createdTime;
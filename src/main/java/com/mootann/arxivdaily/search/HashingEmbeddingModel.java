@@ -0,0 +1,83 @@
+package com.mootann.arxivdaily.search;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 本地确定性的特征哈希向量模型
+ * 词和相邻词对经 {@link TextAnalyzer} 分析后哈希到固定维度（带符号以抵消碰撞），再做L2归一化；
+ * 不需要网络和模型文件，同一文本总是得到同一向量，用于离线开发和测试，语义能力只相当于词袋
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("向量维度必须大于0");
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+        List<Embedding> embeddings = new ArrayList<>(segments.size());
+        for (TextSegment segment : segments) {
+            embeddings.add(Embedding.from(vectorize(segment.text())));
+        }
+        return Response.from(embeddings);
+    }
+
+    @Override
+    public int dimension() {
+        return dimensions;
+    }
+
+    private float[] vectorize(String text) {
+        float[] vector = new float[dimensions];
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (int i = 0; i < terms.size(); i++) {
+            add(vector, terms.get(i), 1f);
+            if (i > 0) {
+                add(vector, terms.get(i - 1) + " " + terms.get(i), 0.5f);
+            }
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        int hash = featureHash(feature);
+        vector[Math.floorMod(hash, dimensions)] += (hash >>> 31) == 0 ? weight : -weight;
+    }
+
+    /**
+     * 对UTF-8字节做FNV-1a后再混合高低位，String.hashCode对短词的低位分布不均匀
+     */
+    private static int featureHash(String feature) {
+        int hash = 0x811C9DC5;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
@@ -0,0 +1,98 @@
+package com.mootann.arxivdaily.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 磁盘上的全精度向量文件，按槽位顺序存放float32向量，以内存映射方式读写
+ * 单个映射区不能超过2GB，文件按固定大小的区段分别映射，区段在首次写入时创建；
+ * 页面由操作系统按需换入换出，只有重排序实际访问的向量占用物理内存。文件在打开时清空，由索引在启动时重建
+ */
+class MappedVectorFile implements Closeable {
+
+    static final int REGION_BYTES = 64 * 1024 * 1024;
+
+    private final int dimensions;
+    private final int vectorsPerRegion;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final List<FloatBuffer> views = new ArrayList<>();
+
+    /**
+     * 打开向量文件并截断为空：文件只是本进程内全精度向量的换出区，不作为持久化数据读取，
+     * 每次打开后由调用方按槽位重新写入。同一路径不能同时被多个实例打开
+     * @param path 文件路径，父目录不存在时创建
+     * @param dimensions 向量维度
+     */
+    MappedVectorFile(Path path, int dimensions) throws IOException {
+        this.dimensions = dimensions;
+        this.vectorsPerRegion = Math.max(1, REGION_BYTES / (dimensions * Float.BYTES));
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+        this.file.setLength(0);
+        this.channel = file.getChannel();
+    }
+
+    /**
+     * 写入槽位的向量，槽位需按顺序写入
+     */
+    void write(int slot, float[] vector) throws IOException {
+        int region = slot / vectorsPerRegion;
+        while (region >= views.size()) {
+            long regionBytes = (long) vectorsPerRegion * dimensions * Float.BYTES;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, views.size() * regionBytes, regionBytes);
+            mapped.order(ByteOrder.nativeOrder());
+            views.add(mapped.asFloatBuffer());
+        }
+        views.get(region).put(offset(slot), vector);
+    }
+
+    /**
+     * 槽位中的向量与给定向量的内积
+     */
+    float dot(int slot, float[] vector) {
+        FloatBuffer view = views.get(slot / vectorsPerRegion);
+        int base = offset(slot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += view.get(base + i) * vector[i];
+        }
+        return sum;
+    }
+
+    float[] read(int slot) {
+        float[] vector = new float[dimensions];
+        views.get(slot / vectorsPerRegion).get(offset(slot), vector);
+        return vector;
+    }
+
+    /**
+     * 文件大小（字节）
+     */
+    long bytes() {
+        return (long) views.size() * vectorsPerRegion * dimensions * Float.BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        views.clear();
+        channel.close();
+        file.close();
+    }
+
+    private int offset(int slot) {
+        return (slot % vectorsPerRegion) * dimensions;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mootann.arxivdaily.search;
+
+import java.util.Arrays;
+
+/**
+ * 论文的相似论文列表，按得分降序
+ * 存储时论文主键为int数组，得分压缩为float16（每篇2字节，大端序），
+ * 对0~1的相似度保留约3位有效数字，只用于排序和展示足够
+ */
+public final class NeighborList {
+
+    private static final NeighborList EMPTY = new NeighborList(new int[0], new float[0]);
+
+    private final int[] ids;
+    private final float[] scores;
+
+    /**
+     * @param ids 论文主键，与scores一一对应
+     * @param scores 得分，需已按降序排列
+     */
+    public NeighborList(int[] ids, float[] scores) {
+        if (ids.length != scores.length) {
+            throw new IllegalArgumentException("论文数量与得分数量不一致: " + ids.length + " != " + scores.length);
+        }
+        this.ids = ids;
+        this.scores = scores;
+    }
+
+    public static NeighborList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 由存储格式还原
+     * @param ids 论文主键
+     * @param scores {@link #encodeScores()} 编码的得分
+     */
+    public static NeighborList decode(int[] ids, byte[] scores) {
+        float[] decoded = new float[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            decoded[i] = fromFloat16((scores[2 * i] & 0xff) << 8 | scores[2 * i + 1] & 0xff);
+        }
+        return new NeighborList(ids, decoded);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public float score(int index) {
+        return scores[index];
+    }
+
+    public int[] ids() {
+        return ids.clone();
+    }
+
+    /**
+     * 得分的存储格式：每篇2字节的float16，大端序
+     */
+    public byte[] encodeScores() {
+        byte[] bytes = new byte[scores.length * 2];
+        for (int i = 0; i < scores.length; i++) {
+            int bits = toFloat16(scores[i]);
+            bytes[2 * i] = (byte) (bits >>> 8);
+            bytes[2 * i + 1] = (byte) bits;
+        }
+        return bytes;
+    }
+
+    /**
+     * 插入一篇论文，已存在时保留较高的得分，超过上限时淘汰得分最低的论文
+     * @param id 论文主键
+     * @param score 得分
+     * @param limit 列表长度上限
+     * @return 插入后的新列表，得分不足以进入列表时返回null
+     */
+    public NeighborList merge(int id, float score, int limit) {
+        if (limit <= 0) {
+            return null;
+        }
+        int existing = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                existing = i;
+                break;
+            }
+        }
+        if (existing >= 0 && scores[existing] >= score) {
+            return null;
+        }
+        if (existing < 0 && ids.length >= limit && score <= scores[Math.min(ids.length, limit) - 1]) {
+            return null;
+        }
+        int size = Math.min(existing >= 0 ? ids.length : ids.length + 1, limit);
+        int[] newIds = new int[size];
+        float[] newScores = new float[size];
+        int target = 0;
+        boolean inserted = false;
+        for (int i = 0; i < ids.length && target < size; i++) {
+            if (!inserted && score > scores[i]) {
+                newIds[target] = id;
+                newScores[target++] = score;
+                inserted = true;
+                if (target == size) {
+                    break;
+                }
+            }
+            if (i != existing) {
+                newIds[target] = ids[i];
+                newScores[target++] = scores[i];
+            }
+        }
+        if (!inserted && target < size) {
+            newIds[target] = id;
+            newScores[target] = score;
+        }
+        return new NeighborList(newIds, newScores);
+    }
+
+    /**
+     * float转换为IEEE 754半精度，就近舍入，超出范围时为无穷大
+     */
+    public static int toFloat16(float value) {
+        int bits = Float.floatToIntBits(value);
+        int sign = bits >>> 16 & 0x8000;
+        int exponent = (bits >>> 23 & 0xff) - 127 + 15;
+        int mantissa = bits & 0x7fffff;
+        if ((bits & 0x7fffffff) >= 0x7f800000) {
+            // 无穷大和NaN
+            return sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0);
+        }
+        if (exponent >= 0x1f) {
+            return sign | 0x7c00;
+        }
+        if (exponent <= 0) {
+            if (exponent < -10) {
+                return sign;
+            }
+            // 非规格化数：补上隐含的最高位后右移
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int half = mantissa >>> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int midpoint = 1 << (shift - 1);
+            if (remainder > midpoint || (remainder == midpoint && (half & 1) != 0)) {
+                half++;
+            }
+            return sign | half;
+        }
+        int half = exponent << 10 | mantissa >>> 13;
+        int remainder = mantissa & 0x1fff;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            // 进位可能使指数加一，溢出时正好得到无穷大
+            half++;
+        }
+        return sign | half;
+    }
+
+    /**
+     * IEEE 754半精度转换为float
+     */
+    public static float fromFloat16(int half) {
+        int sign = (half & 0x8000) << 16;
+        int exponent = half >>> 10 & 0x1f;
+        int mantissa = half & 0x3ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | mantissa << 13);
+        }
+        if (exponent == 0) {
+            float value = mantissa * 0x1p-24f;
+            return sign != 0 ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | (exponent - 15 + 127) << 23 | mantissa << 13);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NeighborList other)) {
+            return false;
+        }
+        return Arrays.equals(ids, other.ids) && Arrays.equals(scores, other.scores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(ids) + Arrays.hashCode(scores);
+    }
+}
@@ -0,0 +1,126 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 向量索引的节点属性表：节点号到论文ID、主分类和发布日期的映射
+ * 节点号按写入顺序分配；同一论文再次写入时旧节点标记删除，分类和日期筛选编译为节点位图。非线程安全，由所属索引加锁
+ */
+final class NodeAttributes {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> nodeByArxivId = new HashMap<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<BitSet> categoryNodes = new ArrayList<>();
+    private final BitSet liveNodes = new BitSet();
+    private String[] arxivIds = new String[1024];
+    private int[] days = new int[1024];
+    private int nodeCount;
+    private int liveCount;
+
+    /**
+     * 分配新节点，论文已存在时旧节点标记删除
+     * @return 新节点号
+     */
+    int add(String arxivId, String primaryCategory, LocalDate publishedDate) {
+        Integer previous = nodeByArxivId.get(arxivId);
+        if (previous != null) {
+            liveNodes.clear(previous);
+            liveCount--;
+        }
+        int node = nodeCount++;
+        if (nodeCount > arxivIds.length) {
+            arxivIds = Arrays.copyOf(arxivIds, arxivIds.length * 2);
+            days = Arrays.copyOf(days, days.length * 2);
+        }
+        arxivIds[node] = arxivId;
+        days[node] = publishedDate != null ? (int) publishedDate.toEpochDay() : NO_DATE;
+        categoryNodes.get(categoryId(primaryCategory)).set(node);
+        nodeByArxivId.put(arxivId, node);
+        liveNodes.set(node);
+        liveCount++;
+        return node;
+    }
+
+    /**
+     * 论文当前的节点号，不存在时为空
+     */
+    Integer node(String arxivId) {
+        return nodeByArxivId.get(arxivId);
+    }
+
+    String arxivId(int node) {
+        return arxivIds[node];
+    }
+
+    /**
+     * 节点总数（含已删除）
+     */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 有效论文数
+     */
+    int liveCount() {
+        return liveCount;
+    }
+
+    /**
+     * 将筛选条件编译为节点位图，只包含有效节点
+     */
+    BitSet filterBits(PaperFilter filter) {
+        BitSet bits = (BitSet) liveNodes.clone();
+        if (filter == null) {
+            return bits;
+        }
+        if (filter.getCategories() != null) {
+            BitSet matched = new BitSet();
+            for (String category : filter.getCategories()) {
+                Integer id = categoryIds.get(category);
+                if (id != null) {
+                    matched.or(categoryNodes.get(id));
+                }
+            }
+            bits.and(matched);
+        }
+        if (filter.getStartDate() != null || filter.getEndDate() != null) {
+            int from = filter.getStartDate() != null ? (int) filter.getStartDate().toEpochDay() : NO_DATE + 1;
+            int to = filter.getEndDate() != null ? (int) filter.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+            for (int node = bits.nextSetBit(0); node >= 0; node = bits.nextSetBit(node + 1)) {
+                if (days[node] < from || days[node] > to) {
+                    bits.clear(node);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 筛选条件是否只包含节点属性表支持的条件（分类和日期），关键词被忽略
+     */
+    static boolean supports(PaperFilter filter) {
+        return filter.getAuthor() == null && filter.getHasGithub() == null && !filter.matchesCrossListed();
+    }
+
+    private int categoryId(String category) {
+        String key = category != null ? category : PaperFilter.UNCATEGORIZED;
+        Integer id = categoryIds.get(key);
+        if (id == null) {
+            id = categoryNodes.size();
+            categoryIds.put(key, id);
+            categoryNodes.add(new BitSet());
+        }
+        return id;
+    }
+}
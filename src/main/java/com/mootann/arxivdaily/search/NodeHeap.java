@@ -0,0 +1,103 @@
+package com.mootann.arxivdaily.search;
+
+import java.util.Arrays;
+
+/**
+ * (距离, 节点号) 的二叉堆，两者编码到一个long中，避免检索时装箱
+ * 高32位为距离的可排序编码，低32位为节点号；最小堆的堆顶为距离最小的节点，最大堆反之
+ */
+final class NodeHeap {
+
+    private final boolean maxHeap;
+    private long[] heap;
+    private int size;
+
+    NodeHeap(int initialCapacity, boolean maxHeap) {
+        this.heap = new long[Math.max(initialCapacity, 4)];
+        this.maxHeap = maxHeap;
+    }
+
+    static NodeHeap minHeap(int initialCapacity) {
+        return new NodeHeap(initialCapacity, false);
+    }
+
+    static NodeHeap maxHeap(int initialCapacity) {
+        return new NodeHeap(initialCapacity, true);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(float distance, int node) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long value = encode(distance, node);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(value, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * 弹出堆顶，返回编码值，用 {@link #node(long)} 和 {@link #distance(long)} 解码
+     */
+    long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], last)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    long peek() {
+        return heap[0];
+    }
+
+    float peekDistance() {
+        return distance(heap[0]);
+    }
+
+    static int node(long encoded) {
+        return (int) encoded;
+    }
+
+    static float distance(long encoded) {
+        int bits = (int) (encoded >> 32);
+        return Float.intBitsToFloat(bits ^ ((bits >> 31) & 0x7fffffff));
+    }
+
+    // 负数按位取反后与正数一起按有符号整数比较即为浮点数的大小顺序
+    private static long encode(float distance, int node) {
+        int bits = Float.floatToIntBits(distance);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (node & 0xffffffffL);
+    }
+
+    private boolean before(long a, long b) {
+        return maxHeap ? a > b : a < b;
+    }
+}
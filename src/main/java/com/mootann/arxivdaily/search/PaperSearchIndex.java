@@ -0,0 +1,516 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内的论文BM25倒排索引
+ * 标题和摘要合并为一个字段，标题词频按 {@link #TITLE_BOOST} 加权（简化的BM25F）；
+ * 论文更新时旧文档标记删除并追加为新文档，删除的文档占比超过 {@link #setCompactDeadRatio(float)} 时重新编号回收。
+ * 全量构建期间增量写入的论文优先，快照中同一论文的旧内容不再覆盖。
+ * 分类、日期和GitHub筛选先编译为文档号位图，再在MaxScore动态剪枝的top-k检索中过滤
+ */
+@Slf4j
+@Component
+public class PaperSearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    static final int TITLE_BOOST = 2;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    // 文档总数达到该值后才检查是否需要回收，避免小索引频繁重建
+    private static final int COMPACT_MIN_DOCS = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> docByArxivId = new HashMap<>();
+    private final Map<String, BitSet> categoryDocs = new HashMap<>();
+    private final BitSet liveDocs = new BitSet();
+    private final BitSet githubDocs = new BitSet();
+    private String[] arxivIds = new String[1024];
+    private int[] docLengths = new int[1024];
+    private int[] days = new int[1024];
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+    private volatile boolean ready;
+    private volatile float compactDeadRatio = 0.3f;
+    // 全量构建期间增量写入过的论文，为空表示不在构建中
+    private Set<String> writtenDuringLoad;
+
+    /**
+     * 添加或替换论文
+     * 与数据库写入的语义一致：githubUrl为空时保留已索引文档的GitHub标记
+     * @param papers 待索引的论文
+     */
+    public void index(Collection<IndexedPaper> papers) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedPaper paper : papers) {
+                if (paper.getArxivId() != null) {
+                    indexOne(paper);
+                    if (writtenDuringLoad != null) {
+                        writtenDuringLoad.add(paper.getArxivId());
+                    }
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 开始全量构建，之后通过 {@link #index(Collection)} 写入的论文不会被 {@link #indexSnapshot(Collection)} 覆盖
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 写入全量构建读取的快照，跳过构建期间已增量写入的论文（快照中的内容可能更旧）
+     * @param papers 快照中的论文
+     */
+    public void indexSnapshot(Collection<IndexedPaper> papers) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedPaper paper : papers) {
+                if (paper.getArxivId() != null && (writtenDuringLoad == null || !writtenDuringLoad.contains(paper.getArxivId()))) {
+                    indexOne(paper);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 已删除文档占全部文档的比例达到该值时回收
+     */
+    public void setCompactDeadRatio(float compactDeadRatio) {
+        this.compactDeadRatio = compactDeadRatio;
+    }
+
+    /**
+     * 全量构建结束（成功或失败），之后不再区分快照和增量写入
+     */
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringLoad = null;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 全量构建完成，开始对外提供检索
+     */
+    public void markReady() {
+        ready = true;
+        log.info("BM25索引就绪: 文档 {} 篇, 词项 {} 个, 倒排链 {} MB", liveCount, postings.size(), postingBytes() / 1024 / 1024);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 有效文档数
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * 文档总数，包含尚未回收的已删除文档
+     */
+    public int docCount() {
+        return docCount;
+    }
+
+    /**
+     * 检索得分最高的k篇论文
+     * @param filter 筛选条件，关键词为检索词；不支持作者筛选
+     * @param k 返回条数
+     * @return 按得分倒序的命中结果
+     */
+    public List<Hit> search(PaperFilter filter, int k) {
+        if (k <= 0 || !filter.hasKeyword()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return topK(new LinkedHashSet<>(TextAnalyzer.analyze(filter.getKeyword())), filter, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 相似论文检索（more like this）：取论文标题和摘要中TF-IDF权重最高的若干词项作为查询，按BM25打分
+     * @param arxivId 论文ID，结果中不含该论文
+     * @param title 标题
+     * @param summary 摘要
+     * @param k 返回条数
+     * @param maxTerms 查询使用的最多词项数
+     * @return 按得分倒序的命中结果
+     */
+    public List<Hit> moreLikeThis(String arxivId, String title, String summary, int k, int maxTerms) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : TextAnalyzer.analyze(title)) {
+            freqs.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : TextAnalyzer.analyze(summary)) {
+            freqs.merge(term, 1, Integer::sum);
+        }
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<String, Float>> weighted = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                PostingList list = postings.get(entry.getKey());
+                // 只出现在本文中的词项无法召回其他论文
+                if (list != null && list.size() > 1) {
+                    weighted.add(Map.entry(entry.getKey(), entry.getValue() * idf(list.size())));
+                }
+            }
+            weighted.sort(Map.Entry.<String, Float>comparingByValue().reversed());
+            List<String> terms = new ArrayList<>(Math.min(maxTerms, weighted.size()));
+            for (int i = 0; i < weighted.size() && i < maxTerms; i++) {
+                terms.add(weighted.get(i).getKey());
+            }
+            List<Hit> hits = new ArrayList<>(topK(terms, new PaperFilter(), k + 1));
+            hits.removeIf(hit -> hit.getArxivId().equals(arxivId));
+            return hits.size() > k ? hits.subList(0, k) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexOne(IndexedPaper paper) {
+        Integer previous = docByArxivId.get(paper.getArxivId());
+        boolean hasGithub = paper.isHasGithub();
+        if (previous != null) {
+            hasGithub = hasGithub || githubDocs.get(previous);
+            delete(previous);
+        }
+
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        Map<String, Integer> freqs = new LinkedHashMap<>();
+        int length = 0;
+        for (String term : TextAnalyzer.analyze(paper.getTitle())) {
+            freqs.merge(term, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String term : TextAnalyzer.analyze(paper.getSummary())) {
+            freqs.merge(term, 1, Integer::sum);
+            length++;
+        }
+        for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+        }
+
+        arxivIds[doc] = paper.getArxivId();
+        docLengths[doc] = length;
+        days[doc] = paper.getPublishedDate() != null ? (int) paper.getPublishedDate().toEpochDay() : NO_DATE;
+        String category = paper.getPrimaryCategory() != null ? paper.getPrimaryCategory() : PaperFilter.UNCATEGORIZED;
+        categoryDocs.computeIfAbsent(category, c -> new BitSet()).set(doc);
+        githubDocs.set(doc, hasGithub);
+        liveDocs.set(doc);
+        docByArxivId.put(paper.getArxivId(), doc);
+        liveCount++;
+        totalLength += length;
+    }
+
+    private void delete(int doc) {
+        liveDocs.clear(doc);
+        liveCount--;
+        totalLength -= docLengths[doc];
+    }
+
+    private void compactIfNeeded() {
+        // 构建期间快照还在追加，结束后再检查
+        if (writtenDuringLoad == null && docCount >= COMPACT_MIN_DOCS && docCount - liveCount > docCount * compactDeadRatio) {
+            compact();
+        }
+    }
+
+    /**
+     * 回收已删除的文档：有效文档按原顺序重新编号，重建倒排链和位图，调用方持有写锁
+     */
+    private void compact() {
+        long startTime = System.currentTimeMillis();
+        int before = docCount;
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            remap[doc] = liveDocs.get(doc) ? next++ : -1;
+        }
+
+        Iterator<Map.Entry<String, PostingList>> iterator = postings.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PostingList> entry = iterator.next();
+            PostingList compacted = new PostingList();
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            for (int doc = cursor.next(); doc != PostingList.NO_MORE_DOCS; doc = cursor.next()) {
+                if (remap[doc] >= 0) {
+                    compacted.add(remap[doc], cursor.freq());
+                }
+            }
+            if (compacted.size() == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(compacted);
+            }
+        }
+
+        // 新文档号不大于旧文档号，按升序原地移动
+        for (int doc = 0; doc < docCount; doc++) {
+            if (remap[doc] >= 0) {
+                arxivIds[remap[doc]] = arxivIds[doc];
+                docLengths[remap[doc]] = docLengths[doc];
+                days[remap[doc]] = days[doc];
+            }
+        }
+        Arrays.fill(arxivIds, next, docCount, null);
+        categoryDocs.replaceAll((category, docs) -> remap(docs, remap));
+        categoryDocs.values().removeIf(BitSet::isEmpty);
+        BitSet github = remap(githubDocs, remap);
+        githubDocs.clear();
+        githubDocs.or(github);
+        liveDocs.clear();
+        liveDocs.set(0, next);
+        docByArxivId.replaceAll((arxivId, doc) -> remap[doc]);
+        docCount = next;
+        log.info("BM25索引回收已删除文档: {} -> {} 篇, 耗时 {} ms", before, next, System.currentTimeMillis() - startTime);
+    }
+
+    private static BitSet remap(BitSet docs, int[] remap) {
+        BitSet result = new BitSet();
+        for (int doc = docs.nextSetBit(0); doc >= 0 && doc < remap.length; doc = docs.nextSetBit(doc + 1)) {
+            if (remap[doc] >= 0) {
+                result.set(remap[doc]);
+            }
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > arxivIds.length) {
+            int newLength = Math.max(capacity, arxivIds.length * 2);
+            arxivIds = Arrays.copyOf(arxivIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+            days = Arrays.copyOf(days, newLength);
+        }
+    }
+
+    private long postingBytes() {
+        return postings.values().stream().mapToLong(PostingList::bytes).sum();
+    }
+
+    /**
+     * 将筛选条件编译为文档号位图
+     */
+    BitSet filterBits(PaperFilter filter) {
+        BitSet bits = (BitSet) liveDocs.clone();
+        if (filter.getCategories() != null) {
+            BitSet categories = new BitSet();
+            for (String category : filter.getCategories()) {
+                BitSet docs = categoryDocs.get(category);
+                if (docs != null) {
+                    categories.or(docs);
+                }
+            }
+            bits.and(categories);
+        }
+        if (filter.getHasGithub() != null) {
+            if (filter.getHasGithub()) {
+                bits.and(githubDocs);
+            } else {
+                bits.andNot(githubDocs);
+            }
+        }
+        if (filter.getStartDate() != null || filter.getEndDate() != null) {
+            int from = filter.getStartDate() != null ? (int) filter.getStartDate().toEpochDay() : NO_DATE + 1;
+            int to = filter.getEndDate() != null ? (int) filter.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+            for (int doc = bits.nextSetBit(0); doc >= 0; doc = bits.nextSetBit(doc + 1)) {
+                if (days[doc] < from || days[doc] > to) {
+                    bits.clear(doc);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * MaxScore动态剪枝
+     * 词项按得分上界升序排列，上界之和不超过当前第k名得分的前缀词项为"非必要词项"：
+     * 只出现在这些词项中的文档不可能进入top-k，因此候选文档只从必要词项的倒排链中产生，
+     * 非必要词项只对候选文档按需跳转打分，剩余上界不足时提前放弃
+     */
+    private List<Hit> topK(Collection<String> terms, PaperFilter filter, int k) {
+        if (liveCount == 0) {
+            return List.of();
+        }
+        List<TermScorer> scorers = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                scorers.add(new TermScorer(list.cursor(), idf(list.size())));
+            }
+        }
+        if (scorers.isEmpty()) {
+            return List.of();
+        }
+        scorers.sort(Comparator.comparingDouble(scorer -> scorer.upperBound));
+        int n = scorers.size();
+        float[] prefixBound = new float[n];
+        float sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += scorers.get(i).upperBound;
+            prefixBound[i] = sum;
+        }
+
+        BitSet accepted = filterBits(filter);
+        float avgLength = (float) totalLength / liveCount;
+        // 小顶堆，堆顶为当前第k名
+        PriorityQueue<Hit> heap = new PriorityQueue<>(k, Comparator.comparingDouble(Hit::getScore));
+        float threshold = 0;
+        int firstEssential = 0;
+        for (TermScorer scorer : scorers) {
+            scorer.cursor.next();
+        }
+
+        while (firstEssential < n) {
+            int doc = PostingList.NO_MORE_DOCS;
+            for (int i = firstEssential; i < n; i++) {
+                doc = Math.min(doc, scorers.get(i).cursor.doc());
+            }
+            if (doc == PostingList.NO_MORE_DOCS) {
+                break;
+            }
+
+            if (accepted.get(doc)) {
+                float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                float score = 0;
+                for (int i = firstEssential; i < n; i++) {
+                    TermScorer scorer = scorers.get(i);
+                    if (scorer.cursor.doc() == doc) {
+                        score += scorer.score(norm);
+                    }
+                }
+                for (int i = firstEssential - 1; i >= 0; i--) {
+                    if (score + prefixBound[i] <= threshold) {
+                        break;
+                    }
+                    TermScorer scorer = scorers.get(i);
+                    if (scorer.cursor.advance(doc) == doc) {
+                        score += scorer.score(norm);
+                    }
+                }
+                if (heap.size() < k) {
+                    heap.add(new Hit(arxivIds[doc], score));
+                } else if (score > threshold) {
+                    heap.poll();
+                    heap.add(new Hit(arxivIds[doc], score));
+                }
+                if (heap.size() == k) {
+                    threshold = heap.peek().getScore();
+                    while (firstEssential < n && prefixBound[firstEssential] <= threshold) {
+                        firstEssential++;
+                    }
+                }
+            }
+
+            for (int i = firstEssential; i < n; i++) {
+                TermScorer scorer = scorers.get(i);
+                if (scorer.cursor.doc() == doc) {
+                    scorer.cursor.next();
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+        return hits;
+    }
+
+    private float idf(int docFreq) {
+        return (float) Math.log(1 + (liveCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    /**
+     * 单个检索词的打分器
+     */
+    private static class TermScorer {
+        private final PostingList.Cursor cursor;
+        private final float idf;
+        // BM25词频饱和后的得分上界
+        private final float upperBound;
+
+        TermScorer(PostingList.Cursor cursor, float idf) {
+            this.cursor = cursor;
+            this.idf = Math.max(idf, 0);
+            this.upperBound = this.idf * (K1 + 1);
+        }
+
+        float score(float norm) {
+            int freq = cursor.freq();
+            return idf * freq * (K1 + 1) / (freq + norm);
+        }
+    }
+
+    /**
+     * 待索引的论文字段
+     */
+    @Data
+    @AllArgsConstructor
+    public static class IndexedPaper {
+        private String arxivId;
+        private String title;
+        private String summary;
+        private String primaryCategory;
+        private LocalDate publishedDate;
+        private boolean hasGithub;
+    }
+
+    /**
+     * 检索命中
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+        private String arxivId;
+        private float score;
+    }
+}
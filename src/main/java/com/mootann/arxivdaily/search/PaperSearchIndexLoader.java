@@ -0,0 +1,95 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.config.ArxivSearchConfig;
+import com.mootann.arxivdaily.search.PaperSearchIndex.IndexedPaper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 启动后在后台线程中从 arxiv_papers 全量构建BM25索引
+ * 以游标分批读取，不一次性加载全表；构建期间写入的论文同样增量进入索引，且不会被快照中的旧内容覆盖，
+ * 构建完成前检索回退到数据库
+ */
+@Slf4j
+@Component
+public class PaperSearchIndexLoader {
+
+    private static final int FETCH_SIZE = 2000;
+
+    private static final String LOAD_SQL = """
+        SELECT arxiv_id, title, summary, primary_category, published_date, (github_url IS NOT NULL) AS has_github
+        FROM arxiv_papers
+        ORDER BY id
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaperSearchIndex paperSearchIndex;
+
+    @Autowired
+    private ArxivSearchConfig searchConfig;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PaperSearchIndexLoader(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL只有在事务中才按fetchSize分批返回结果
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!Boolean.TRUE.equals(searchConfig.getBm25Enabled())) {
+            return;
+        }
+        paperSearchIndex.setCompactDeadRatio(searchConfig.getBm25CompactDeadRatio());
+        Thread thread = new Thread(this::load, "bm25-index-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load() {
+        long startTime = System.currentTimeMillis();
+        log.info("开始构建BM25索引");
+        try {
+            paperSearchIndex.beginLoad();
+            transactionTemplate.executeWithoutResult(status -> {
+                List<IndexedPaper> batch = new ArrayList<>(FETCH_SIZE);
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    Date publishedDate = rs.getDate("published_date");
+                    batch.add(new IndexedPaper(rs.getString("arxiv_id"), rs.getString("title"), rs.getString("summary"),
+                        rs.getString("primary_category"), publishedDate != null ? publishedDate.toLocalDate() : null,
+                        rs.getBoolean("has_github")));
+                    if (batch.size() == FETCH_SIZE) {
+                        paperSearchIndex.indexSnapshot(batch);
+                        batch.clear();
+                    }
+                });
+                paperSearchIndex.indexSnapshot(batch);
+            });
+            paperSearchIndex.endLoad();
+            paperSearchIndex.markReady();
+            log.info("BM25索引构建完成，耗时 {} ms", System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            paperSearchIndex.endLoad();
+            log.error("BM25索引构建失败，关键词检索继续使用数据库", e);
+        }
+    }
+}
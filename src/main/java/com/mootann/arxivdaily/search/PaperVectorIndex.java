@@ -0,0 +1,468 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内的论文向量HNSW索引
+ * 向量归一化后存放在堆外的 {@link VectorArena} 中，距离为余弦距离（1 - 内积）；图的邻接表为定长int数组。
+ * 论文向量更新时旧节点标记删除并插入新节点，删除的节点仍参与图的导航但不出现在结果中，在下次全量构建时回收。
+ * 分类和日期筛选编译为节点位图，按代价选择检索方式：精确扫描的代价约为通过筛选的节点数，
+ * 图检索约为 ef * 2M / 筛选比例（筛选越严，找满ef个结果需要访问的节点越多），前者更小时直接精确扫描；
+ * 否则在图上检索时只把通过筛选的节点放入结果，访问的节点数超过通过筛选的节点数时改为精确扫描
+ */
+@Slf4j
+@Component
+public class PaperVectorIndex {
+
+    private static final int MAX_LEVEL = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final VectorArena vectors;
+    private final NodeAttributes attributes = new NodeAttributes();
+    // 第0层邻接表，每个节点占 maxM0 + 1 个位置，第一个位置为邻居数
+    private int[] level0;
+    // 第1层及以上的邻接表，upper[node][level - 1]，格式同第0层，只有层数大于0的节点非空
+    private int[][][] upper = new int[1024][][];
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private volatile boolean ready;
+
+    @Autowired
+    public PaperVectorIndex(ArxivEmbeddingConfig embeddingConfig) {
+        this(embeddingConfig.getDimensions(), embeddingConfig.getMemoryIndexM(),
+            embeddingConfig.getMemoryIndexEfConstruction(), 42);
+    }
+
+    /**
+     * @param dimensions 向量维度
+     * @param m 每个节点的最大连接数，第0层为其2倍
+     * @param efConstruction 插入时的候选列表大小
+     * @param seed 节点层数的随机种子
+     */
+    public PaperVectorIndex(int dimensions, int m, int efConstruction, long seed) {
+        if (m < 2) {
+            throw new IllegalArgumentException("M必须不小于2");
+        }
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+        this.vectors = new VectorArena(dimensions);
+        this.level0 = new int[1024 * (maxM0 + 1)];
+    }
+
+    /**
+     * 添加或替换论文向量
+     * @param papers 待索引的论文向量
+     */
+    public void index(Collection<IndexedVector> papers) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedVector paper : papers) {
+                if (paper.getArxivId() != null && paper.getVector() != null) {
+                    indexOne(paper);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 全量构建完成，开始对外提供检索
+     */
+    public void markReady() {
+        ready = true;
+        log.info("向量索引就绪: 论文 {} 篇, 节点 {} 个, 最高层 {}, 向量 {} MB", attributes.liveCount(), attributes.nodeCount(), maxLevel,
+            vectors.bytes() / 1024 / 1024);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 有效论文数
+     */
+    public int size() {
+        return attributes.liveCount();
+    }
+
+    /**
+     * 是否支持该筛选条件：只支持分类（主分类）和日期筛选，关键词被忽略
+     */
+    public static boolean supports(PaperFilter filter) {
+        return NodeAttributes.supports(filter);
+    }
+
+    /**
+     * 检索余弦距离最近的k篇论文
+     * @param query 查询向量，无需归一化
+     * @param filter 筛选条件，见 {@link #supports(PaperFilter)}
+     * @param k 返回条数
+     * @param efSearch 候选列表大小，小于k时按k处理
+     * @return 按距离升序的命中结果
+     */
+    public List<Hit> search(float[] query, PaperFilter filter, int k, int efSearch) {
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            return topK(normalized, attributes.filterBits(filter), k, efSearch);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索与某篇论文最相似的k篇论文（不含其自身）
+     * @param arxivId 论文ID
+     * @param filter 筛选条件，见 {@link #supports(PaperFilter)}
+     * @param k 返回条数
+     * @param efSearch 候选列表大小
+     * @return 按距离升序的命中结果，论文不在索引中时为空
+     */
+    public List<Hit> similar(String arxivId, PaperFilter filter, int k, int efSearch) {
+        if (k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer node = attributes.node(arxivId);
+            if (node == null) {
+                return List.of();
+            }
+            BitSet accepted = attributes.filterBits(filter);
+            accepted.clear(node);
+            return topK(vectors.get(node), accepted, k, efSearch);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 精确检索（逐个计算距离），用作召回率的基准
+     */
+    public List<Hit> exactSearch(float[] query, PaperFilter filter, int k) {
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            return exact(normalized, attributes.filterBits(filter), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexOne(IndexedVector paper) {
+        float[] vector = normalize(paper.getVector());
+        int node = attributes.add(paper.getArxivId(), paper.getPrimaryCategory(), paper.getPublishedDate());
+        ensureCapacity(node + 1);
+        vectors.add(vector);
+        insert(node, vector);
+    }
+
+    /**
+     * HNSW插入：从入口点在高层逐层贪心下降到节点所在的最高层，再在每一层用efConstruction的候选列表找邻居并双向连接
+     */
+    private void insert(int node, float[] vector) {
+        int level = randomLevel();
+        if (level > 0) {
+            upper[node] = new int[level][m + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        int current = entryPoint;
+        for (int lc = maxLevel; lc > level; lc--) {
+            current = greedy(vector, current, lc);
+        }
+        for (int lc = Math.min(level, maxLevel); lc >= 0; lc--) {
+            int[] sorted = drainAscending(searchLayer(vector, current, efConstruction, lc, null, Integer.MAX_VALUE));
+            int[] neighbors = selectNeighbors(sorted, vector, m);
+            setNeighbors(node, lc, neighbors);
+            for (int neighbor : neighbors) {
+                connect(neighbor, node, lc);
+            }
+            current = sorted[0];
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * 在邻居的邻接表中加入新节点，已满时用启发式从原邻居和新节点中重新挑选
+     */
+    private void connect(int node, int neighbor, int level) {
+        int capacity = level == 0 ? maxM0 : m;
+        int[] list = adjacency(node, level);
+        int base = adjacencyBase(node, level);
+        int count = list[base];
+        if (count < capacity) {
+            list[base + count + 1] = neighbor;
+            list[base] = count + 1;
+            return;
+        }
+        NodeHeap candidates = NodeHeap.maxHeap(count + 1);
+        for (int i = 1; i <= count; i++) {
+            candidates.push(1 - vectors.dot(node, list[base + i]), list[base + i]);
+        }
+        candidates.push(1 - vectors.dot(node, neighbor), neighbor);
+        setNeighbors(node, level, selectNeighbors(drainAscending(candidates), vectors.get(node), capacity));
+    }
+
+    /**
+     * 启发式邻居选择（HNSW论文算法4）：按距离升序考察候选，只保留比已选邻居离当前节点更近的候选，
+     * 使邻居分布在不同方向上，聚簇数据上的召回率明显高于简单取最近的M个
+     */
+    private int[] selectNeighbors(int[] sortedCandidates, float[] vector, int max) {
+        int[] selected = new int[Math.min(max, sortedCandidates.length)];
+        int count = 0;
+        for (int candidate : sortedCandidates) {
+            if (count == selected.length) {
+                break;
+            }
+            float distance = 1 - vectors.dot(candidate, vector);
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (1 - vectors.dot(candidate, selected[i]) < distance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float best = 1 - vectors.dot(current, query);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] list = adjacency(current, level);
+            int base = adjacencyBase(current, level);
+            int count = list[base];
+            for (int i = 1; i <= count; i++) {
+                int neighbor = list[base + i];
+                float distance = 1 - vectors.dot(neighbor, query);
+                if (distance < best) {
+                    best = distance;
+                    current = neighbor;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 单层的最佳优先检索
+     * @param accepted 可以放入结果的节点，为空时不限制；不影响图的遍历
+     * @param visitLimit 最多访问的节点数，超过时返回null
+     * @return 结果最大堆（堆顶为距离最大的结果），最多ef个
+     */
+    private NodeHeap searchLayer(float[] query, int entry, int ef, int level, BitSet accepted, int visitLimit) {
+        BitSet visited = new BitSet(attributes.nodeCount());
+        NodeHeap candidates = NodeHeap.minHeap(ef * 2);
+        NodeHeap results = NodeHeap.maxHeap(ef + 1);
+        float entryDistance = 1 - vectors.dot(entry, query);
+        visited.set(entry);
+        candidates.push(entryDistance, entry);
+        if (accepted == null || accepted.get(entry)) {
+            results.push(entryDistance, entry);
+        }
+        int visitedCount = 1;
+        while (!candidates.isEmpty()) {
+            long closest = candidates.pop();
+            if (results.size() >= ef && NodeHeap.distance(closest) > results.peekDistance()) {
+                break;
+            }
+            int node = NodeHeap.node(closest);
+            int[] list = adjacency(node, level);
+            int base = adjacencyBase(node, level);
+            int count = list[base];
+            for (int i = 1; i <= count; i++) {
+                int neighbor = list[base + i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                if (++visitedCount > visitLimit) {
+                    return null;
+                }
+                float distance = 1 - vectors.dot(neighbor, query);
+                if (results.size() < ef || distance < results.peekDistance()) {
+                    candidates.push(distance, neighbor);
+                    if (accepted == null || accepted.get(neighbor)) {
+                        results.push(distance, neighbor);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Hit> topK(float[] query, BitSet accepted, int k, int efSearch) {
+        int acceptedCount = accepted.cardinality();
+        if (entryPoint < 0 || acceptedCount == 0) {
+            return List.of();
+        }
+        int ef = Math.max(efSearch, k);
+        // acceptedCount < ef * maxM0 * nodeCount / acceptedCount 时精确扫描更便宜
+        if ((long) acceptedCount * acceptedCount < (long) ef * maxM0 * attributes.nodeCount()) {
+            return exact(query, accepted, k);
+        }
+        int current = entryPoint;
+        for (int lc = maxLevel; lc > 0; lc--) {
+            current = greedy(query, current, lc);
+        }
+        boolean restricted = acceptedCount < attributes.nodeCount();
+        NodeHeap results = searchLayer(query, current, ef, 0, restricted ? accepted : null,
+            restricted ? acceptedCount : Integer.MAX_VALUE);
+        if (results == null) {
+            return exact(query, accepted, k);
+        }
+        while (results.size() > k) {
+            results.pop();
+        }
+        return toHits(results);
+    }
+
+    private List<Hit> exact(float[] query, BitSet accepted, int k) {
+        NodeHeap results = NodeHeap.maxHeap(k + 1);
+        for (int node = accepted.nextSetBit(0); node >= 0; node = accepted.nextSetBit(node + 1)) {
+            float distance = 1 - vectors.dot(node, query);
+            if (results.size() < k || distance < results.peekDistance()) {
+                results.push(distance, node);
+                if (results.size() > k) {
+                    results.pop();
+                }
+            }
+        }
+        return toHits(results);
+    }
+
+    private List<Hit> toHits(NodeHeap results) {
+        Hit[] hits = new Hit[results.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long entry = results.pop();
+            hits[i] = new Hit(attributes.arxivId(NodeHeap.node(entry)), NodeHeap.distance(entry));
+        }
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * 最大堆按距离降序弹出，倒序存放即为升序
+     */
+    private static int[] drainAscending(NodeHeap maxHeap) {
+        int[] sorted = new int[maxHeap.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = NodeHeap.node(maxHeap.pop());
+        }
+        return sorted;
+    }
+
+    private int randomLevel() {
+        double r = 1 - random.nextDouble();
+        return Math.min((int) (-Math.log(r) * levelMultiplier), MAX_LEVEL);
+    }
+
+    /**
+     * 节点在某一层的邻接表所在数组，从 {@link #adjacencyBase} 开始依次为邻居数和各邻居的节点号
+     */
+    private int[] adjacency(int node, int level) {
+        return level == 0 ? level0 : upper[node][level - 1];
+    }
+
+    private int adjacencyBase(int node, int level) {
+        return level == 0 ? node * (maxM0 + 1) : 0;
+    }
+
+    private void setNeighbors(int node, int level, int[] neighbors) {
+        int[] list = adjacency(node, level);
+        int base = adjacencyBase(node, level);
+        list[base] = neighbors.length;
+        System.arraycopy(neighbors, 0, list, base + 1, neighbors.length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > upper.length) {
+            int newLength = Math.max(capacity, upper.length * 2);
+            upper = Arrays.copyOf(upper, newLength);
+            level0 = Arrays.copyOf(level0, newLength * (maxM0 + 1));
+        }
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != vectors.dimensions()) {
+            throw new IllegalArgumentException("向量维度不一致: " + vector.length + " != " + vectors.dimensions());
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = vector.clone();
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] *= scale;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * 待索引的论文向量
+     */
+    @Data
+    @AllArgsConstructor
+    public static class IndexedVector {
+        private String arxivId;
+        private String primaryCategory;
+        private LocalDate publishedDate;
+        private float[] vector;
+    }
+
+    /**
+     * 检索命中
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Hit {
+        private String arxivId;
+        // 余弦距离，越小越相似
+        private float distance;
+    }
+}
@@ -0,0 +1,100 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import com.mootann.arxivdaily.service.PaperEmbeddingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 启动后在后台线程中从 paper_embeddings 全量构建内存向量索引（HNSW图或量化存储，见 {@link PaperEmbeddingService#addToMemoryIndex}）
+ * 只加载当前模型生成的向量，以游标分批读取；构建期间新写入的向量同样增量进入索引，构建完成前语义检索走数据库
+ */
+@Slf4j
+@Component
+public class PaperVectorIndexLoader {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String LOAD_SQL = """
+        SELECT p.arxiv_id, p.primary_category, p.published_date, CAST(e.embedding AS text) AS embedding
+        FROM paper_embeddings e
+        JOIN arxiv_papers p ON p.id = e.paper_id
+        WHERE e.model = ?
+        ORDER BY e.paper_id
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaperEmbeddingService paperEmbeddingService;
+
+    @Autowired
+    private ArxivEmbeddingConfig embeddingConfig;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PaperVectorIndexLoader(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL只有在事务中才按fetchSize分批返回结果
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!paperEmbeddingService.isMemoryIndexEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::load, "vector-index-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load() {
+        long startTime = System.currentTimeMillis();
+        if (paperEmbeddingService.isQuantized()) {
+            log.info("开始构建量化向量存储: 模式 {}, 重排深度 {}", embeddingConfig.getQuantization(), embeddingConfig.getRescoreDepth());
+        } else {
+            log.info("开始构建内存向量索引: M={}, efConstruction={}", embeddingConfig.getMemoryIndexM(),
+                embeddingConfig.getMemoryIndexEfConstruction());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<IndexedVector> batch = new ArrayList<>(FETCH_SIZE);
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                    ps.setString(1, paperEmbeddingService.getModelTag());
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    Date publishedDate = rs.getDate("published_date");
+                    batch.add(new IndexedVector(rs.getString("arxiv_id"), rs.getString("primary_category"),
+                        publishedDate != null ? publishedDate.toLocalDate() : null,
+                        PaperEmbeddingRepository.parseVectorLiteral(rs.getString("embedding"))));
+                    if (batch.size() == FETCH_SIZE) {
+                        paperEmbeddingService.addToMemoryIndex(batch);
+                        batch.clear();
+                    }
+                });
+                paperEmbeddingService.addToMemoryIndex(batch);
+            });
+            paperEmbeddingService.markMemoryIndexReady();
+            log.info("内存向量索引构建完成，耗时 {} ms", System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("内存向量索引构建失败，语义检索继续使用数据库", e);
+        }
+    }
+}
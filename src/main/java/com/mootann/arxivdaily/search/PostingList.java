@@ -0,0 +1,173 @@
+package com.mootann.arxivdaily.search;
+
+import java.util.Arrays;
+
+/**
+ * 压缩的倒排链
+ * 文档号严格递增追加，每128条为一块，块内以文档号差值和词频的变长整数（varint）编码；
+ * 记录每块的末尾文档号和字节偏移，游标可以按块跳过不需要的文档
+ */
+public class PostingList {
+
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    static final int BLOCK_SIZE = 128;
+
+    private byte[] data = new byte[16];
+    private int length;
+    private int[] blockLastDoc = new int[1];
+    private int[] blockOffset = new int[1];
+    private int size;
+    private int lastDoc = -1;
+
+    /**
+     * 追加一条记录
+     * @param doc 文档号，必须大于已追加的文档号
+     * @param freq 词频
+     */
+    public void add(int doc, int freq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("文档号必须递增: " + doc + " <= " + lastDoc);
+        }
+        int block = size / BLOCK_SIZE;
+        if (size % BLOCK_SIZE == 0) {
+            if (block == blockOffset.length) {
+                blockOffset = Arrays.copyOf(blockOffset, block * 2);
+                blockLastDoc = Arrays.copyOf(blockLastDoc, block * 2);
+            }
+            blockOffset[block] = length;
+        }
+        writeVarInt(doc - lastDoc);
+        writeVarInt(freq);
+        blockLastDoc[block] = doc;
+        lastDoc = doc;
+        size++;
+    }
+
+    /**
+     * 记录条数（即文档频率，包含已删除的文档）
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 编码后占用的字节数
+     */
+    public int bytes() {
+        return length + (blockOffset.length + blockLastDoc.length) * Integer.BYTES;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * 倒排链游标，创建时固定可见的记录条数，之后追加的记录对该游标不可见
+     */
+    public class Cursor {
+
+        private final int limit = size;
+        private final int blockCount = (limit + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        private final int[] docs = new int[BLOCK_SIZE];
+        private final int[] freqs = new int[BLOCK_SIZE];
+        private int block = -1;
+        private int blockLength;
+        private int index;
+        private int doc = -1;
+
+        public int doc() {
+            return doc;
+        }
+
+        public int freq() {
+            return freqs[index];
+        }
+
+        /**
+         * 移动到下一条记录
+         * @return 新的文档号，没有更多时为 {@link #NO_MORE_DOCS}
+         */
+        public int next() {
+            if (doc == NO_MORE_DOCS) {
+                return doc;
+            }
+            if (block >= 0 && index + 1 < blockLength) {
+                doc = docs[++index];
+                return doc;
+            }
+            return loadBlock(block + 1);
+        }
+
+        /**
+         * 移动到第一条文档号不小于target的记录
+         * @param target 目标文档号
+         * @return 新的文档号，没有更多时为 {@link #NO_MORE_DOCS}
+         */
+        public int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            if (block < 0 || target > blockLastDoc[block]) {
+                // 跳过末尾文档号小于target的整块
+                int next = Math.max(block + 1, 0);
+                while (next < blockCount && blockLastDoc[next] < target) {
+                    next++;
+                }
+                if (loadBlock(next) == NO_MORE_DOCS) {
+                    return doc;
+                }
+            }
+            while (doc < target) {
+                doc = docs[++index];
+            }
+            return doc;
+        }
+
+        private int loadBlock(int target) {
+            if (target >= blockCount) {
+                doc = NO_MORE_DOCS;
+                return doc;
+            }
+            block = target;
+            blockLength = Math.min(BLOCK_SIZE, limit - target * BLOCK_SIZE);
+            int offset = blockOffset[target];
+            int previous = target == 0 ? -1 : blockLastDoc[target - 1];
+            for (int i = 0; i < blockLength; i++) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[offset++];
+                    value |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                previous += value;
+                docs[i] = previous;
+
+                value = 0;
+                shift = 0;
+                do {
+                    b = data[offset++];
+                    value |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                freqs[i] = value;
+            }
+            index = 0;
+            doc = docs[0];
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.mootann.arxivdaily.search;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperVectorIndex.Hit;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 量化压缩的论文向量存储
+ * 内存中只保存每篇论文的压缩编码，全精度向量写入磁盘上的内存映射文件（{@link MappedVectorFile}）：
+ * <ul>
+ *     <li>int8：每个分量按该向量的最大绝对值线性量化到 [-127, 127]，另存一个缩放系数，内存约为float32的1/4；
+ *     检索时查询向量同样量化，按整数内积扫描</li>
+ *     <li>binary：每个分量只保留符号位，内存为float32的1/32；检索时用汉明距离预筛，
+ *     汉明距离h与余弦相似度近似满足 cos ≈ cos(π·h/d)</li>
+ * </ul>
+ * 两种模式都先按编码扫描通过筛选的论文取前 rescoreDepth 个候选，再从映射文件读取全精度向量精确重排；
+ * rescoreDepth为0时直接返回按编码估算的结果。binary编码区分度低，通常需要比int8更大的重排深度。
+ * 编码存放在单个数组中，容量受数组长度限制（int8模式1024维时约209万篇，binary模式约1.3亿篇），超出时写入抛出异常。
+ * 全精度文件不跨进程复用：每次启动打开时清空，由全量构建重新写入
+ */
+@Slf4j
+@Component
+public class QuantizedVectorStore {
+
+    public static final String MODE_INT8 = "int8";
+    public static final String MODE_BINARY = "binary";
+
+    // 编码数组的最大长度，部分JVM不能分配接近Integer.MAX_VALUE的数组
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NodeAttributes attributes = new NodeAttributes();
+    private final int dimensions;
+    private final int words;
+    private final boolean binary;
+    private final int capacity;
+    private final Path vectorFile;
+    private MappedVectorFile fullPrecision;
+    private byte[] int8Codes = new byte[0];
+    private float[] int8Scales = new float[0];
+    private long[] binaryCodes = new long[0];
+    private volatile boolean ready;
+
+    @Autowired
+    public QuantizedVectorStore(ArxivEmbeddingConfig embeddingConfig) {
+        this(embeddingConfig.getDimensions(), embeddingConfig.getQuantization(), Path.of(embeddingConfig.getVectorFile()));
+    }
+
+    /**
+     * @param dimensions 向量维度
+     * @param mode 量化方式：int8 / binary，其余值按int8处理
+     * @param vectorFile 全精度向量文件路径，首次写入时创建；已存在的文件会被清空，不能与其他实例共用
+     */
+    public QuantizedVectorStore(int dimensions, String mode, Path vectorFile) {
+        this.dimensions = dimensions;
+        this.words = (dimensions + 63) / 64;
+        this.binary = MODE_BINARY.equals(mode != null ? mode.toLowerCase(Locale.ROOT) : null);
+        this.capacity = MAX_ARRAY_LENGTH / (binary ? words : dimensions);
+        this.vectorFile = vectorFile;
+    }
+
+    /**
+     * 添加或替换论文向量
+     * @param papers 待写入的论文向量
+     */
+    public void index(Collection<IndexedVector> papers) {
+        lock.writeLock().lock();
+        try {
+            if (fullPrecision == null) {
+                fullPrecision = new MappedVectorFile(vectorFile, dimensions);
+            }
+            for (IndexedVector paper : papers) {
+                if (paper.getArxivId() != null && paper.getVector() != null) {
+                    indexOne(paper);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入全精度向量文件失败: " + vectorFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 全量构建完成，开始对外提供检索
+     */
+    public void markReady() {
+        ready = true;
+        log.info("量化向量存储就绪: 模式 {}, 论文 {} 篇, 内存编码 {} MB, 全精度文件 {} MB", mode(), attributes.liveCount(),
+            memoryBytes() / 1024 / 1024, fullPrecision != null ? fullPrecision.bytes() / 1024 / 1024 : 0);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 量化方式：int8 / binary
+     */
+    public String mode() {
+        return binary ? MODE_BINARY : MODE_INT8;
+    }
+
+    /**
+     * 有效论文数
+     */
+    public int size() {
+        return attributes.liveCount();
+    }
+
+    /**
+     * 最多可存放的论文数，由编码数组的最大长度决定
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 内存中编码占用的字节数（不含论文ID等属性）
+     */
+    public long memoryBytes() {
+        int nodes = attributes.nodeCount();
+        return binary ? (long) nodes * words * Long.BYTES : (long) nodes * (dimensions + Float.BYTES);
+    }
+
+    /**
+     * 检索余弦距离最近的k篇论文
+     * @param query 查询向量，无需归一化
+     * @param filter 筛选条件，只支持分类和日期（见 {@link PaperVectorIndex#supports(PaperFilter)}）
+     * @param k 返回条数
+     * @param rescoreDepth 按编码取出、再用全精度向量重排的候选数，小于k时按k处理；为0时不重排
+     * @return 按距离升序的命中结果
+     */
+    public List<Hit> search(float[] query, PaperFilter filter, int k, int rescoreDepth) {
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            return topK(normalized, attributes.filterBits(filter), k, rescoreDepth);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索与某篇论文最相似的k篇论文（不含其自身），查询向量取自全精度文件
+     * @return 按距离升序的命中结果，论文不在存储中时为空
+     */
+    public List<Hit> similar(String arxivId, PaperFilter filter, int k, int rescoreDepth) {
+        if (k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer node = attributes.node(arxivId);
+            if (node == null) {
+                return List.of();
+            }
+            BitSet accepted = attributes.filterBits(filter);
+            accepted.clear(node);
+            return topK(fullPrecision.read(node), accepted, k, rescoreDepth);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (fullPrecision != null) {
+                fullPrecision.close();
+                fullPrecision = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexOne(IndexedVector paper) throws IOException {
+        float[] vector = normalize(paper.getVector());
+        if (attributes.node(paper.getArxivId()) == null && attributes.nodeCount() >= capacity) {
+            throw new IllegalStateException(String.format("量化向量存储已满: %s模式%d维最多存放 %d 篇论文，请改用binary模式或关闭量化",
+                mode(), dimensions, capacity));
+        }
+        // 槽位小于容量，槽位乘以编码长度不会溢出
+        int node = attributes.add(paper.getArxivId(), paper.getPrimaryCategory(), paper.getPublishedDate());
+        fullPrecision.write(node, vector);
+        if (binary) {
+            if ((node + 1) * words > binaryCodes.length) {
+                binaryCodes = Arrays.copyOf(binaryCodes, grow((node + 1) * words, binaryCodes.length));
+            }
+            encodeBinary(vector, binaryCodes, node * words);
+        } else {
+            if ((node + 1) * dimensions > int8Codes.length) {
+                int8Codes = Arrays.copyOf(int8Codes, grow((node + 1) * dimensions, int8Codes.length));
+                int8Scales = Arrays.copyOf(int8Scales, grow(node + 1, int8Scales.length));
+            }
+            int8Scales[node] = encodeInt8(vector, int8Codes, node * dimensions);
+        }
+    }
+
+    /**
+     * 数组扩容后的长度：至少为required，否则翻倍，不超过数组最大长度
+     */
+    private static int grow(int required, int length) {
+        return (int) Math.min(MAX_ARRAY_LENGTH, Math.max(required, length * 2L));
+    }
+
+    private List<Hit> topK(float[] query, BitSet accepted, int k, int rescoreDepth) {
+        int candidates = rescoreDepth > 0 ? Math.max(rescoreDepth, k) : k;
+        NodeHeap heap = binary ? scanBinary(query, accepted, candidates) : scanInt8(query, accepted, candidates);
+        if (rescoreDepth > 0) {
+            // 候选按全精度向量重新计算距离
+            NodeHeap rescored = NodeHeap.maxHeap(k + 1);
+            while (!heap.isEmpty()) {
+                int node = NodeHeap.node(heap.pop());
+                rescored.push(1 - fullPrecision.dot(node, query), node);
+                if (rescored.size() > k) {
+                    rescored.pop();
+                }
+            }
+            heap = rescored;
+        } else if (binary) {
+            // 不重排时把汉明距离换算为估算的余弦距离
+            NodeHeap estimated = NodeHeap.maxHeap(k + 1);
+            while (!heap.isEmpty()) {
+                long entry = heap.pop();
+                estimated.push((float) (1 - Math.cos(Math.PI * NodeHeap.distance(entry) / dimensions)), NodeHeap.node(entry));
+            }
+            heap = estimated;
+        }
+        Hit[] hits = new Hit[heap.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long entry = heap.pop();
+            hits[i] = new Hit(attributes.arxivId(NodeHeap.node(entry)), NodeHeap.distance(entry));
+        }
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * int8编码扫描，查询向量同样量化为int8，距离为 1 - 整数内积 * 两侧缩放系数
+     * 整数内积可由JIT向量化，查询一侧的量化误差由重排消除
+     */
+    private NodeHeap scanInt8(float[] query, BitSet accepted, int limit) {
+        byte[] queryCode = new byte[dimensions];
+        float queryScale = encodeInt8(query, queryCode, 0);
+        NodeHeap heap = NodeHeap.maxHeap(limit + 1);
+        for (int node = accepted.nextSetBit(0); node >= 0; node = accepted.nextSetBit(node + 1)) {
+            int base = node * dimensions;
+            int sum = 0;
+            for (int i = 0; i < dimensions; i++) {
+                sum += queryCode[i] * int8Codes[base + i];
+            }
+            float distance = 1 - sum * queryScale * int8Scales[node];
+            if (heap.size() < limit || distance < heap.peekDistance()) {
+                heap.push(distance, node);
+                if (heap.size() > limit) {
+                    heap.pop();
+                }
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * 二值编码扫描，距离为汉明距离
+     */
+    private NodeHeap scanBinary(float[] query, BitSet accepted, int limit) {
+        long[] queryCode = new long[words];
+        encodeBinary(query, queryCode, 0);
+        NodeHeap heap = NodeHeap.maxHeap(limit + 1);
+        for (int node = accepted.nextSetBit(0); node >= 0; node = accepted.nextSetBit(node + 1)) {
+            int base = node * words;
+            int hamming = 0;
+            for (int w = 0; w < words; w++) {
+                hamming += Long.bitCount(binaryCodes[base + w] ^ queryCode[w]);
+            }
+            if (heap.size() < limit || hamming < heap.peekDistance()) {
+                heap.push(hamming, node);
+                if (heap.size() > limit) {
+                    heap.pop();
+                }
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * 按最大绝对值线性量化
+     * @return 缩放系数，原分量约等于 编码 * 缩放系数
+     */
+    private float encodeInt8(float[] vector, byte[] codes, int offset) {
+        float maxAbs = 0;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float scale = maxAbs > 0 ? maxAbs / 127 : 1;
+        for (int i = 0; i < dimensions; i++) {
+            codes[offset + i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    private void encodeBinary(float[] vector, long[] codes, int offset) {
+        Arrays.fill(codes, offset, offset + words, 0L);
+        for (int i = 0; i < dimensions; i++) {
+            if (vector[i] > 0) {
+                codes[offset + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("向量维度不一致: " + vector.length + " != " + dimensions);
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = vector.clone();
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] *= scale;
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mootann.arxivdaily.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多路检索结果融合
+ * 每一路结果按相关性从高到低排列，融合后返回统一排序的结果；某一路为空（超时或失败）时只按其余各路排序
+ */
+public final class RankFusion {
+
+    /**
+     * RRF的默认平滑常数，取自原论文，k越大排名靠后的结果权重衰减越慢
+     */
+    public static final int DEFAULT_RRF_K = 60;
+
+    private RankFusion() {
+    }
+
+    /**
+     * 倒数排名融合（Reciprocal Rank Fusion）：score = Σ weight / (k + rank)，rank从1开始
+     * 只用排名不用原始得分，各路得分的量纲不同也无需归一化
+     * @param rankings 各路结果，每路为按相关性降序排列的ID（可为空列表）
+     * @param weights 各路权重，与rankings一一对应
+     * @param k 平滑常数
+     * @return 融合结果，按得分降序，得分相同时按首次出现的顺序
+     */
+    public static List<Fused> reciprocalRank(List<List<String>> rankings, double[] weights, int k) {
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        for (int list = 0; list < rankings.size(); list++) {
+            List<String> ids = rankings.get(list);
+            for (int i = 0; i < ids.size(); i++) {
+                Fused entry = fused.computeIfAbsent(ids.get(i), id -> new Fused(id, 0, new Integer[rankings.size()]));
+                // 同一路中重复出现的ID只计第一次
+                if (entry.getRanks()[list] == null) {
+                    entry.getRanks()[list] = i + 1;
+                    entry.setScore(entry.getScore() + weights[list] / (k + i + 1));
+                }
+            }
+        }
+        return sorted(fused);
+    }
+
+    /**
+     * 加权得分融合：各路得分按 min-max 归一化到 [0, 1] 后加权求和，某一路未返回的ID在该路记0分
+     * 比RRF保留了得分间距（一路中明显领先的结果不会被拉平），但对各路得分分布更敏感
+     * @param scores 各路结果，每路为按相关性降序排列的 (ID, 得分)，得分越大越相关
+     * @param weights 各路权重，与scores一一对应
+     * @return 融合结果，按得分降序，得分相同时按首次出现的顺序
+     */
+    public static List<Fused> weightedScore(List<List<Scored>> scores, double[] weights) {
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        for (int list = 0; list < scores.size(); list++) {
+            List<Scored> hits = scores.get(list);
+            if (hits.isEmpty()) {
+                continue;
+            }
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (Scored hit : hits) {
+                min = Math.min(min, hit.getScore());
+                max = Math.max(max, hit.getScore());
+            }
+            double range = max - min;
+            for (int i = 0; i < hits.size(); i++) {
+                Scored hit = hits.get(i);
+                Fused entry = fused.computeIfAbsent(hit.getId(), id -> new Fused(id, 0, new Integer[scores.size()]));
+                if (entry.getRanks()[list] == null) {
+                    entry.getRanks()[list] = i + 1;
+                    // 一路中所有得分相同时都记满分
+                    double normalized = range > 0 ? (hit.getScore() - min) / range : 1.0;
+                    entry.setScore(entry.getScore() + weights[list] * normalized);
+                }
+            }
+        }
+        return sorted(fused);
+    }
+
+    private static List<Fused> sorted(Map<String, Fused> fused) {
+        List<Fused> result = new ArrayList<>(fused.values());
+        // List.sort是稳定排序，得分相同时保持首次出现的顺序
+        result.sort(Comparator.comparingDouble(Fused::getScore).reversed());
+        return result;
+    }
+
+    /**
+     * 带得分的单路结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Scored {
+        private String id;
+        private double score;
+    }
+
+    /**
+     * 融合后的结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Fused {
+        private String id;
+        private double score;
+        // 在各路结果中的排名（从1开始），未出现在该路中为空
+        private Integer[] ranks;
+    }
+}
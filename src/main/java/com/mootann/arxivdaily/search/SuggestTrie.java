@@ -0,0 +1,398 @@
+package com.mootann.arxivdaily.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 输入提示用的只读基数树（radix trie）
+ * 候选按规范化后的文本排序存放，每个节点对应排序数组中的一段连续区间，节点只记录区间、深度和边的首字符，
+ * 边上的字符直接取区间内第一个候选的文本，不另外保存；节点以广度优先顺序存放在int数组中，子节点连续排列。
+ * 候选数超过 {@link #SCAN_LIMIT} 的节点在构建时自底向上预计算权重最高的前k个候选，其余节点查询时直接扫描区间。
+ * 构建后不再修改，更新时整体重建并替换引用
+ */
+public final class SuggestTrie {
+
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_AUTHOR = "author";
+    public static final String TYPE_CATEGORY = "category";
+    public static final String TYPE_QUERY = "query";
+
+    // 区间不超过该长度的节点查询时直接扫描，不预计算前k个候选
+    static final int SCAN_LIMIT = 64;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String[] keys;
+    private final Suggestion[] suggestions;
+    private final int topK;
+    private final int[] nodeFrom;
+    private final int[] nodeTo;
+    private final int[] nodeDepth;
+    private final char[] nodeChar;
+    private final int[] firstChild;
+    private final int[] childCount;
+    // 预计算的前k个候选在topPool中的起始位置，-1表示查询时扫描区间
+    private final int[] topStart;
+    private final int[] topPool;
+
+    private SuggestTrie(String[] keys, Suggestion[] suggestions, int topK, int[] nodeFrom, int[] nodeTo, int[] nodeDepth,
+                        char[] nodeChar, int[] firstChild, int[] childCount, int[] topStart, int[] topPool) {
+        this.keys = keys;
+        this.suggestions = suggestions;
+        this.topK = topK;
+        this.nodeFrom = nodeFrom;
+        this.nodeTo = nodeTo;
+        this.nodeDepth = nodeDepth;
+        this.nodeChar = nodeChar;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topPool = topPool;
+    }
+
+    public static SuggestTrie empty() {
+        return build(List.of(), 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 构建基数树
+     * @param candidates 候选，文本规范化后为空的候选被忽略
+     * @param topK 每个节点预计算的候选数量，即单次查询最多返回的条数
+     * @param maxKeyLength 参与前缀匹配的最大字符数，超出部分截断（标题较长，截断可减小树的深度和内存）
+     */
+    public static SuggestTrie build(Collection<Suggestion> candidates, int topK, int maxKeyLength) {
+        List<String> keyList = new ArrayList<>(candidates.size());
+        List<Suggestion> suggestionList = new ArrayList<>(candidates.size());
+        for (Suggestion suggestion : candidates) {
+            String key = normalize(suggestion.getText());
+            if (!key.isEmpty()) {
+                keyList.add(key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key);
+                suggestionList.add(suggestion);
+            }
+        }
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keyList::get));
+        String[] keys = new String[order.length];
+        Suggestion[] suggestions = new Suggestion[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            suggestions[i] = suggestionList.get(order[i]);
+        }
+        return new Builder(keys, suggestions, Math.max(topK, 1)).build();
+    }
+
+    /**
+     * 规范化：转小写、去除重音符号、合并空白
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // 绝大多数标题和姓名是ASCII，跳过Unicode分解和正则
+        StringBuilder ascii = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                ascii = null;
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !ascii.isEmpty()) {
+                ascii.append(' ');
+            }
+            space = false;
+            ascii.append(c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+        }
+        if (ascii != null) {
+            return ascii.toString();
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * 候选数量
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 节点数量
+     */
+    public int nodeCount() {
+        return nodeFrom.length;
+    }
+
+    /**
+     * 节点数组和预计算候选占用的字节数（不含候选文本）
+     */
+    public long structureBytes() {
+        return (long) nodeFrom.length * (Integer.BYTES * 6 + Character.BYTES) + (long) topPool.length * Integer.BYTES;
+    }
+
+    /**
+     * 查找以prefix开头的候选
+     * @param prefix 用户输入，按 {@link #normalize(String)} 规范化后匹配
+     * @param limit 返回条数，不超过构建时的topK
+     * @return 按权重降序的候选，权重相同时较短的在前
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        limit = Math.min(limit, topK);
+        if (query.isEmpty() || limit <= 0 || keys.length == 0) {
+            return List.of();
+        }
+        int node = 0;
+        int matched = 0;
+        while (true) {
+            int depth = nodeDepth[node];
+            String key = keys[nodeFrom[node]];
+            int end = Math.min(depth, query.length());
+            if (!key.regionMatches(matched, query, matched, end - matched)) {
+                return List.of();
+            }
+            if (query.length() <= depth) {
+                return collect(node, limit);
+            }
+            matched = depth;
+            node = findChild(node, query.charAt(depth));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+    }
+
+    private int findChild(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (nodeChar[mid] < c) {
+                low = mid + 1;
+            } else if (nodeChar[mid] > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private List<Suggestion> collect(int node, int limit) {
+        List<Suggestion> result = new ArrayList<>(limit);
+        if (topStart[node] >= 0) {
+            int start = topStart[node];
+            for (int i = 0; i < limit && topPool[start + i] >= 0; i++) {
+                result.add(suggestions[topPool[start + i]]);
+            }
+            return result;
+        }
+        int[] candidates = new int[nodeTo[node] - nodeFrom[node]];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = nodeFrom[node] + i;
+        }
+        int[] ranked = rank(keys, suggestions, candidates, limit);
+        for (int index : ranked) {
+            result.add(suggestions[index]);
+        }
+        return result;
+    }
+
+    /**
+     * 按权重降序、文本长度升序取前limit个，limit很小，用插入排序维护
+     */
+    private static int[] rank(String[] keys, Suggestion[] suggestions, int[] candidates, int limit) {
+        int[] top = new int[Math.min(limit, candidates.length)];
+        int size = 0;
+        for (int candidate : candidates) {
+            if (size == top.length && !before(keys, suggestions, candidate, top[size - 1])) {
+                continue;
+            }
+            int pos = size < top.length ? size++ : size - 1;
+            while (pos > 0 && before(keys, suggestions, candidate, top[pos - 1])) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = candidate;
+        }
+        return top;
+    }
+
+    private static boolean before(String[] keys, Suggestion[] suggestions, int a, int b) {
+        long weightA = suggestions[a].getWeight();
+        long weightB = suggestions[b].getWeight();
+        if (weightA != weightB) {
+            return weightA > weightB;
+        }
+        if (keys[a].length() != keys[b].length()) {
+            return keys[a].length() < keys[b].length();
+        }
+        return a < b;
+    }
+
+    /**
+     * 一条输入提示
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Suggestion {
+        // 来源：title / author / category / query
+        private String type;
+        // 展示的文本
+        private String text;
+        // 来源为标题时的论文ID
+        private String arxivId;
+        // 权重：作者和分类为论文数，查询词为检索次数，标题为1
+        private long weight;
+    }
+
+    /**
+     * 按排序后的候选以广度优先顺序生成节点，再自底向上计算前k个候选
+     */
+    private static final class Builder {
+
+        private final String[] keys;
+        private final Suggestion[] suggestions;
+        private final int topK;
+        private int[] from;
+        private int[] to;
+        private int[] depth;
+        private char[] firstChar;
+        private int[] children;
+        private int[] counts;
+        private int size;
+
+        Builder(String[] keys, Suggestion[] suggestions, int topK) {
+            this.keys = keys;
+            this.suggestions = suggestions;
+            this.topK = topK;
+            // 基数树的节点数不超过候选数的两倍
+            int capacity = 2 * keys.length + 1;
+            from = new int[capacity];
+            to = new int[capacity];
+            depth = new int[capacity];
+            firstChar = new char[capacity];
+            children = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        SuggestTrie build() {
+            if (keys.length > 0) {
+                addNode(0, keys.length, 0, (char) 0);
+            }
+            for (int node = 0; node < size; node++) {
+                split(node);
+            }
+            from = Arrays.copyOf(from, size);
+            to = Arrays.copyOf(to, size);
+            depth = Arrays.copyOf(depth, size);
+            firstChar = Arrays.copyOf(firstChar, size);
+            children = Arrays.copyOf(children, size);
+            counts = Arrays.copyOf(counts, size);
+
+            int[] topStart = new int[size];
+            int[] pool = new int[0];
+            int poolSize = 0;
+            // 子节点的编号总是大于父节点，倒序遍历即为自底向上
+            for (int node = size - 1; node >= 0; node--) {
+                if (to[node] - from[node] <= SCAN_LIMIT) {
+                    topStart[node] = -1;
+                    continue;
+                }
+                int[] ranked = rank(keys, suggestions, candidates(node, topStart, pool), topK);
+                if (poolSize + topK > pool.length) {
+                    pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + topK));
+                }
+                Arrays.fill(pool, poolSize, poolSize + topK, -1);
+                System.arraycopy(ranked, 0, pool, poolSize, ranked.length);
+                topStart[node] = poolSize;
+                poolSize += topK;
+            }
+            return new SuggestTrie(keys, suggestions, topK, from, to, depth, firstChar, children, counts, topStart,
+                Arrays.copyOf(pool, poolSize));
+        }
+
+        /**
+         * 节点的候选：文本恰好等于节点路径的候选，加上各子节点的前k个（子节点未预计算时为其整个区间）
+         */
+        private int[] candidates(int node, int[] topStart, int[] pool) {
+            int terminalEnd = counts[node] > 0 ? from[children[node]] : to[node];
+            int[] candidates = new int[terminalEnd - from[node] + counts[node] * Math.max(topK, SCAN_LIMIT)];
+            int count = 0;
+            for (int i = from[node]; i < terminalEnd; i++) {
+                candidates[count++] = i;
+            }
+            for (int child = children[node]; child < children[node] + counts[node]; child++) {
+                if (topStart[child] >= 0) {
+                    for (int i = 0; i < topK && pool[topStart[child] + i] >= 0; i++) {
+                        candidates[count++] = pool[topStart[child] + i];
+                    }
+                } else {
+                    for (int i = from[child]; i < to[child]; i++) {
+                        candidates[count++] = i;
+                    }
+                }
+            }
+            return Arrays.copyOf(candidates, count);
+        }
+
+        /**
+         * 按深度处的字符把节点区间划分为子节点，区间开头文本恰好等于节点路径的候选留在节点上
+         */
+        private void split(int node) {
+            int d = depth[node];
+            int i = from[node];
+            while (i < to[node] && keys[i].length() == d) {
+                i++;
+            }
+            children[node] = size;
+            while (i < to[node]) {
+                char c = keys[i].charAt(d);
+                int j = i + 1;
+                while (j < to[node] && keys[j].charAt(d) == c) {
+                    j++;
+                }
+                addNode(i, j, d + 1, c);
+                i = j;
+            }
+            counts[node] = size - children[node];
+        }
+
+        /**
+         * 添加一个节点，深度为区间内首尾文本的公共前缀长度（排序后首尾的公共前缀即整个区间的公共前缀）
+         */
+        private void addNode(int start, int end, int minDepth, char c) {
+            String first = keys[start];
+            String last = keys[end - 1];
+            int d = minDepth;
+            int max = Math.min(first.length(), last.length());
+            while (d < max && first.charAt(d) == last.charAt(d)) {
+                d++;
+            }
+            from[size] = start;
+            to[size] = end;
+            depth[size] = d;
+            firstChar[size] = c;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mootann.arxivdaily.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 定长向量的堆外存储区
+ * 向量按槽位连续存放在若干块直接内存（DirectByteBuffer）中，每块不超过 {@link #CHUNK_BYTES}，
+ * 避免每个向量一个 float[]/List&lt;Float&gt; 对象带来的对象头和GC扫描开销；只追加，槽位号即写入顺序
+ */
+class VectorArena {
+
+    static final int CHUNK_BYTES = 16 * 1024 * 1024;
+
+    private final int dimensions;
+    private final int vectorsPerChunk;
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    private int size;
+
+    VectorArena(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("向量维度必须大于0");
+        }
+        this.dimensions = dimensions;
+        this.vectorsPerChunk = Math.max(1, CHUNK_BYTES / (dimensions * Float.BYTES));
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 追加向量
+     * @return 槽位号
+     */
+    int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("向量维度不一致: " + vector.length + " != " + dimensions);
+        }
+        int slot = size;
+        if (slot / vectorsPerChunk == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(vectorsPerChunk * dimensions * Float.BYTES)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer());
+        }
+        chunks.get(slot / vectorsPerChunk).put(offset(slot), vector);
+        size++;
+        return slot;
+    }
+
+    /**
+     * 读取向量
+     */
+    float[] get(int slot) {
+        float[] vector = new float[dimensions];
+        chunks.get(slot / vectorsPerChunk).get(offset(slot), vector);
+        return vector;
+    }
+
+    /**
+     * 槽位中的向量与给定向量的内积
+     */
+    float dot(int slot, float[] vector) {
+        FloatBuffer chunk = chunks.get(slot / vectorsPerChunk);
+        int base = offset(slot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += chunk.get(base + i) * vector[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 两个槽位中向量的内积
+     */
+    float dot(int a, int b) {
+        FloatBuffer chunkA = chunks.get(a / vectorsPerChunk);
+        FloatBuffer chunkB = chunks.get(b / vectorsPerChunk);
+        int baseA = offset(a);
+        int baseB = offset(b);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += chunkA.get(baseA + i) * chunkB.get(baseB + i);
+        }
+        return sum;
+    }
+
+    /**
+     * 占用的直接内存字节数
+     */
+    long bytes() {
+        return (long) chunks.size() * vectorsPerChunk * dimensions * Float.BYTES;
+    }
+
+    private int offset(int slot) {
+        return (slot % vectorsPerChunk) * dimensions;
+    }
+}
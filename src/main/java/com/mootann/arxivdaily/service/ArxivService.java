@@ -2,28 +2,62 @@ package com.mootann.arxivdaily.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mootann.arxivdaily.client.ArxivClient;
+import com.mootann.arxivdaily.client.ArxivRateLimiter;
 import com.mootann.arxivdaily.client.RedisClient;
+import com.mootann.arxivdaily.config.ArxivSearchConfig;
 import com.mootann.arxivdaily.converter.ArxivPaperStructMapper;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchRequest;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import com.mootann.arxivdaily.repository.dto.arxiv.PaperCardSearchResponse;
+import com.mootann.arxivdaily.repository.dto.AuthorDTO;
+import com.mootann.arxivdaily.repository.dto.AuthorProfileDTO;
+import com.mootann.arxivdaily.repository.dto.BulkUpsertResult;
 import com.mootann.arxivdaily.repository.dto.CategoryCountDTO;
+import com.mootann.arxivdaily.repository.dto.CountMode;
+import com.mootann.arxivdaily.repository.dto.CursorPageDTO;
 import com.mootann.arxivdaily.repository.dto.PageCacheDTO;
+import com.mootann.arxivdaily.repository.dto.PaperCardDTO;
+import com.mootann.arxivdaily.repository.dto.PaperCursor;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.dto.PaperStateDTO;
 import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.repository.ArxivPaperBulkRepository;
+import com.mootann.arxivdaily.repository.ArxivPaperFilterRepository;
+import com.mootann.arxivdaily.repository.ArxivPaperFuzzyRepository;
+import com.mootann.arxivdaily.repository.ArxivPaperKeysetRepository;
 import com.mootann.arxivdaily.repository.ArxivPaperRepository;
+import com.mootann.arxivdaily.repository.AuthorRepository;
+import com.mootann.arxivdaily.repository.PaperCategoryCountRepository;
+import com.mootann.arxivdaily.search.PaperSearchIndex;
+import com.mootann.arxivdaily.util.ContentHashUtil;
 import com.mootann.arxivdaily.util.GitHubUrlExtractor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -33,21 +67,75 @@ import java.util.stream.Collectors;
 @Service
 public class ArxivService {
 
+    // 流式搜索时每批入库的论文数量，与arXiv API单页大小一致
+    private static final int STREAM_SAVE_BATCH_SIZE = 100;
+    // 不计数模式的列表缓存key后缀，与精确计数的缓存分开存放
+    private static final String SLICE_SUFFIX = ":slice";
+
     @Autowired
     private ArxivClient arxivClient;
 
     @Autowired
     private ArxivPaperRepository arxivPaperRepository;
 
+    @Autowired
+    private ArxivPaperBulkRepository arxivPaperBulkRepository;
+
+    @Autowired
+    private ArxivPaperFilterRepository arxivPaperFilterRepository;
+
+    @Autowired
+    private PaperCategoryCountRepository paperCategoryCountRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private ArxivPaperFuzzyRepository arxivPaperFuzzyRepository;
+
+    @Autowired
+    private ArxivPaperKeysetRepository arxivPaperKeysetRepository;
+
+    @Autowired
+    private ArxivSearchConfig searchConfig;
+
+    @Autowired
+    private PaperSearchIndex paperSearchIndex;
+
+    @Autowired
+    private PaperEmbeddingService paperEmbeddingService;
+
     @Autowired
     private ArxivPaperStructMapper arxivPaperStructMapper;
 
     @Autowired
     private RedisClient redisClient;
 
+    @Autowired
+    private PaperCacheInvalidator paperCacheInvalidator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    // 防止多个归档回放并发执行
+    private final AtomicBoolean replaying = new AtomicBoolean(false);
+
+    private ExecutorService replayExecutor;
+
+    @PostConstruct
+    public void init() {
+        replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-archive-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+
     /**
      * 根据arXiv ID获取论文
      * @param arxivId arXiv ID
@@ -144,15 +232,43 @@ public class ArxivService {
      * @return 搜索结果
      */
     public ArxivSearchResponse searchPapers(ArxivSearchRequest request) {
-        log.info("搜索论文，关键词: {}", request.getQuery());
-        ArxivSearchResponse response = arxivClient.searchPapersWithPagination(request);
+        return searchPapersReactive(request).block();
+    }
 
-        if (response != null && response.getPapers() != null) {
-            int savedCount = savePapersToDatabase(response.getPapers());
-            log.info("搜索结果中保存了 {} 篇新论文到数据库", savedCount);
-        }
+    /**
+     * 响应式搜索论文（支持分页获取超过100条结果），等待期间不占用请求线程
+     * @param request 搜索请求
+     * @return 搜索结果
+     */
+    public Mono<ArxivSearchResponse> searchPapersReactive(ArxivSearchRequest request) {
+        log.info("搜索论文，关键词: {}", request.getQuery());
+        return arxivClient.searchPapersReactive(request, ArxivRateLimiter.Priority.INTERACTIVE)
+            .flatMap(response -> Mono.fromCallable(() -> {
+                    if (response.getPapers() != null) {
+                        int savedCount = savePapersToDatabase(response.getPapers());
+                        log.info("搜索结果中保存了 {} 篇新论文到数据库", savedCount);
+                    }
+                    return response;
+                })
+                // 数据库写入是阻塞操作，切换到boundedElastic线程执行
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
 
-        return response;
+    /**
+     * 以流的方式搜索论文，每页到达后先入库再逐条发出
+     * @param request 搜索请求
+     * @return 论文流
+     */
+    public Flux<ArxivPaperDTO> streamPapers(ArxivSearchRequest request) {
+        log.info("流式搜索论文，关键词: {}", request.getQuery());
+        return arxivClient.streamPapers(request, ArxivRateLimiter.Priority.INTERACTIVE)
+            .buffer(STREAM_SAVE_BATCH_SIZE)
+            .concatMap(batch -> Mono.fromCallable(() -> {
+                    savePapersToDatabase(batch);
+                    return batch;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(saved -> saved));
     }
     
     /**
@@ -395,49 +511,164 @@ public class ArxivService {
     }
 
     /**
-     * 保存论文列表到数据库（避免重复）
+     * 保存论文列表到数据库（已存在的论文在内容变化时更新）
      * @param papers 论文列表
-     * @return 保存的论文数量
+     * @return 新插入的论文数量
      */
-    @Transactional
     public int savePapersToDatabase(List<ArxivPaperDTO> papers) {
+        return upsertPapers(papers).getInserted();
+    }
+
+    /**
+     * 批量写入论文，分块提交，返回精确的插入/更新数量
+     * 先按内容哈希和版本号与已入库数据比较，只重写有变化的论文，
+     * 只对新论文和摘要有变化的论文重新提取GitHub URL，并只清除受影响的缓存
+     * @param papers 论文列表
+     * @return 插入、更新和未变化的数量
+     */
+    public BulkUpsertResult upsertPapers(List<ArxivPaperDTO> papers) {
         if (papers == null || papers.isEmpty()) {
-            return 0;
+            return new BulkUpsertResult();
         }
 
-        int savedCount = 0;
-        List<ArxivPaper> papersToSave = new ArrayList<>();
-
+        Map<String, ArxivPaperDTO> unique = new LinkedHashMap<>();
         for (ArxivPaperDTO dto : papers) {
-            if (!arxivPaperRepository.existsByArxivId(dto.getArxivId())) {
-                ArxivPaper paper = arxivPaperStructMapper.toEntity(dto);
-                
+            if (dto.getArxivId() != null) {
+                unique.put(dto.getArxivId(), dto);
+            }
+        }
+        Map<String, PaperStateDTO> states = arxivPaperBulkRepository.findStates(unique.keySet());
+
+        List<ArxivPaper> changed = new ArrayList<>();
+        Map<String, ArxivPaper> changedById = new HashMap<>();
+        int skipped = 0;
+        for (ArxivPaperDTO dto : unique.values()) {
+            ArxivPaper paper = arxivPaperStructMapper.toEntity(dto);
+            paper.setContentHash(ContentHashUtil.paperContentHash(paper));
+
+            PaperStateDTO state = states.get(dto.getArxivId());
+            if (state != null && (paper.getContentHash().equals(state.getContentHash()) || isStaleVersion(dto, state))) {
+                skipped++;
+                continue;
+            }
+
+            // 摘要未变化时不重新提取，github_url为空时写入会保留已有值
+            if (state == null || !Objects.equals(state.getSummaryHash(), ContentHashUtil.md5Hex(dto.getSummary()))) {
                 String githubUrl = GitHubUrlExtractor.extractGitHubUrl(dto.getSummary());
                 paper.setGithubUrl(githubUrl);
-                
                 if (githubUrl != null) {
-                    log.info("从摘要中提取到GitHub URL: arxivId={}, githubUrl={}", dto.getArxivId(), githubUrl);
+                    log.debug("从摘要中提取到GitHub URL: arxivId={}, githubUrl={}", dto.getArxivId(), githubUrl);
                 }
-                
-                papersToSave.add(paper);
-                savedCount++;
             }
+            changed.add(paper);
+            changedById.put(paper.getArxivId(), paper);
         }
 
-        if (!papersToSave.isEmpty()) {
-            arxivPaperRepository.saveAll(papersToSave);
-            log.info("成功保存 {} 篇论文到数据库", savedCount);
+        BulkUpsertResult result = arxivPaperBulkRepository.upsert(changed);
+        result.setUnchanged(result.getUnchanged() + skipped);
 
-            // 同步到Redis缓存
-            for (ArxivPaperDTO dto : papers) {
+        if (result.getInserted() + result.getUpdated() > 0) {
+            List<ArxivPaperDTO> inserted = result.getInsertedIds().stream().map(unique::get).toList();
+            List<ArxivPaperDTO> updated = result.getUpdatedIds().stream().map(unique::get).toList();
+            paperCacheInvalidator.invalidate(inserted, updated);
+
+            // 已写入的论文同步到进程内BM25索引
+            if (Boolean.TRUE.equals(searchConfig.getBm25Enabled())) {
+                List<PaperSearchIndex.IndexedPaper> indexed = new ArrayList<>();
+                for (String arxivId : result.getInsertedIds()) {
+                    indexed.add(toIndexedPaper(changedById.get(arxivId)));
+                }
+                for (String arxivId : result.getUpdatedIds()) {
+                    indexed.add(toIndexedPaper(changedById.get(arxivId)));
+                }
+                paperSearchIndex.index(indexed);
+            }
+
+            // 新增和内容变化的论文异步补齐向量
+            List<String> embeddingIds = new ArrayList<>(result.getInsertedIds());
+            embeddingIds.addAll(result.getUpdatedIds());
+            paperEmbeddingService.requestEmbedding(embeddingIds);
+
+            // 新论文同步到Redis缓存，更新的论文已清除单篇缓存，下次查询时从数据库加载
+            for (ArxivPaperDTO dto : inserted) {
+                dto.setGithubUrl(changedById.get(dto.getArxivId()).getGithubUrl());
                 String cacheKey = RedisClient.ARXIV_PAPERS_PREFIX + dto.getArxivId();
                 redisClient.set(cacheKey, dto, RedisClient.ONE_DAY_HOURS, TimeUnit.HOURS);
             }
-            log.info("成功同步 {} 篇论文到Redis缓存", papers.size());
+            log.info("成功同步 {} 篇新论文到Redis缓存", inserted.size());
+        }
 
+        return result;
+    }
+
+    private PaperSearchIndex.IndexedPaper toIndexedPaper(ArxivPaper paper) {
+        return new PaperSearchIndex.IndexedPaper(paper.getArxivId(), paper.getTitle(), paper.getSummary(),
+            paper.getPrimaryCategory(), paper.getPublishedDate(), paper.getGithubUrl() != null);
+    }
+
+    /**
+     * 从本地归档回放所有已归档的API响应并重新入库，不访问网络
+     * 用于解析逻辑或表结构变更后重新入库
+     * @return 插入、更新和未变化的数量
+     * @throws IllegalStateException 已有回放任务在执行
+     */
+    public BulkUpsertResult reingestFromArchive() {
+        if (!replaying.compareAndSet(false, true)) {
+            throw new IllegalStateException("归档回放入库任务正在执行");
         }
+        return runReingest();
+    }
 
-        return savedCount;
+    /**
+     * 在回放线程中异步执行 {@link #reingestFromArchive()}
+     * @throws IllegalStateException 已有回放任务在执行
+     */
+    public void startReingestFromArchive() {
+        if (!replaying.compareAndSet(false, true)) {
+            throw new IllegalStateException("归档回放入库任务正在执行");
+        }
+        try {
+            replayExecutor.execute(() -> {
+                try {
+                    runReingest();
+                } catch (Exception e) {
+                    log.error("归档回放入库失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            replaying.set(false);
+            throw new IllegalStateException("回放线程已关闭", e);
+        }
+    }
+
+    /**
+     * 执行回放，调用方已将replaying置为true，结束时复位
+     */
+    private BulkUpsertResult runReingest() {
+        log.info("开始从arXiv响应归档重新入库");
+        BulkUpsertResult total = new BulkUpsertResult();
+        paperCacheInvalidator.beginBatch();
+        try {
+            int pages = arxivClient.replayArchive(papers -> {
+                BulkUpsertResult result = upsertPapers(papers);
+                total.setInserted(total.getInserted() + result.getInserted());
+                total.setUpdated(total.getUpdated() + result.getUpdated());
+                total.setUnchanged(total.getUnchanged() + result.getUnchanged());
+            });
+            log.info("归档重新入库完成: {} 页, 插入 {} 篇, 更新 {} 篇, 未变化 {} 篇",
+                pages, total.getInserted(), total.getUpdated(), total.getUnchanged());
+            return total;
+        } finally {
+            paperCacheInvalidator.endBatch();
+            replaying.set(false);
+        }
+    }
+
+    /**
+     * 判断传入的论文是否比已入库的版本更旧
+     */
+    private boolean isStaleVersion(ArxivPaperDTO dto, PaperStateDTO state) {
+        return dto.getVersion() != null && state.getVersion() != null && dto.getVersion() < state.getVersion();
     }
 
     // ==================== 数据库查询方法 ====================
@@ -447,43 +678,48 @@ public class ArxivService {
      * @return 分类和数量列表
      */
     public List<CategoryCountDTO> getCategoryCountsFromDatabase() {
-        String cacheKey = RedisClient.PAPERS_PREFIX + "category_counts_dto";
-        
-        // 尝试从缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof List) {
-            try {
-                // 如果是 LinkedHashMap 列表（Redis 反序列化常见情况），转换为 DTO
-                List<?> list = (List<?>) cachedValue;
-                if (!list.isEmpty() && list.get(0) instanceof Map) {
-                    return list.stream()
-                            .map(m -> objectMapper.convertValue(m, CategoryCountDTO.class))
-                            .collect(Collectors.toList());
-                }
-                return (List<CategoryCountDTO>) cachedValue;
-            } catch (Exception e) {
-                log.warn("从缓存转换 CategoryCountDTO 失败，将重新查询数据库", e);
-            }
+        return getCategoryCountsFromDatabase(false);
+    }
+
+    /**
+     * 统计数据库中各分类的论文数量
+     * @param crossListed 是否按交叉列表分类统计（一篇论文计入它的每个分类），否则只按主分类统计
+     * @return 分类和数量列表，"All"为论文总数
+     */
+    public List<CategoryCountDTO> getCategoryCountsFromDatabase(boolean crossListed) {
+        String cacheKey = RedisClient.PAPERS_PREFIX + categoryCountsKey(crossListed);
+        List<CategoryCountDTO> cached = getCachedCategoryCounts(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
-        log.info("从数据库查询分类统计数据");
-        // 获取各分类统计
-        List<Object[]> counts = arxivPaperRepository.countByCategory();
-        List<CategoryCountDTO> result = counts.stream()
-                .map(obj -> new CategoryCountDTO((String) obj[0], (Long) obj[1]))
-                .collect(Collectors.toList());
-        
-        // 使用 pg_class.reltuples 快速获取总数预估
-        Long totalEstimate = arxivPaperRepository.estimateTotalCount();
-        
-        // 如果预估值为 0 且分类统计有数据，尝试计算分类总和作为预估值
-        if ((totalEstimate == null || totalEstimate <= 0) && !result.isEmpty()) {
-            totalEstimate = result.stream().mapToLong(CategoryCountDTO::getCount).sum();
+        log.info("从数据库查询分类统计数据，交叉列表: {}", crossListed);
+        List<CategoryCountDTO> result;
+        try {
+            // 汇总表的数量是精确的，总数直接对主分类求和
+            List<CategoryCountDTO> primary = paperCategoryCountRepository.sumByCategory(null, null, null);
+            long total = primary.stream().mapToLong(CategoryCountDTO::getCount).sum();
+            result = new ArrayList<>(crossListed ? paperCategoryCountRepository.sumByCrossListedCategory(null, null, null) : primary);
+            result.add(new CategoryCountDTO("All", total));
+        } catch (Exception e) {
+            log.warn("分类数量汇总表不可用，改为扫描论文表统计", e);
+            List<CategoryCountDTO> primary = arxivPaperRepository.countByCategory().stream()
+                    .map(obj -> new CategoryCountDTO((String) obj[0], (Long) obj[1]))
+                    .collect(Collectors.toList());
+            result = crossListed ? new ArrayList<>(paperCategoryCountRepository.scanCrossListedCategory(null, null)) : primary;
+
+            // 使用 pg_class.reltuples 快速获取总数预估
+            Long totalEstimate = arxivPaperRepository.estimateTotalCount();
+
+            // 如果预估值为 0 且分类统计有数据，尝试计算主分类总和作为预估值
+            if ((totalEstimate == null || totalEstimate <= 0) && !primary.isEmpty()) {
+                totalEstimate = primary.stream().mapToLong(CategoryCountDTO::getCount).sum();
+            }
+
+            // 将总数作为一个特殊的分类 "All" 加入结果
+            result.add(new CategoryCountDTO("All", totalEstimate != null ? totalEstimate : 0L));
         }
         
-        // 将总数作为一个特殊的分类 "All" 加入结果
-        result.add(new CategoryCountDTO("All", totalEstimate != null ? totalEstimate : 0L));
-        
         // 存入缓存，过期时间1小时
         redisClient.set(cacheKey, result, 1, TimeUnit.HOURS);
         
@@ -497,9 +733,59 @@ public class ArxivService {
      * @return 分类和数量列表
      */
     public List<CategoryCountDTO> getCategoryCountsFromDatabase(LocalDate startDate, LocalDate endDate) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + "category_counts_dto:" + startDate + ":" + endDate;
+        return getCategoryCountsFromDatabase(startDate, endDate, false);
+    }
+
+    /**
+     * 根据日期范围统计数据库中各分类的论文数量
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param crossListed 是否按交叉列表分类统计（一篇论文计入它的每个分类），否则只按主分类统计
+     * @return 分类和数量列表，"All"为论文总数
+     */
+    public List<CategoryCountDTO> getCategoryCountsFromDatabase(LocalDate startDate, LocalDate endDate, boolean crossListed) {
+        String cacheKey = RedisClient.PAPERS_PREFIX + categoryCountsKey(crossListed) + ":" + startDate + ":" + endDate;
+        List<CategoryCountDTO> cached = getCachedCategoryCounts(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        log.info("从数据库查询日期范围内的分类统计数据: {} - {}，交叉列表: {}", startDate, endDate, crossListed);
+        // 获取各分类统计，只汇总日期范围内的汇总行
+        List<CategoryCountDTO> primary;
+        List<CategoryCountDTO> result;
+        try {
+            primary = paperCategoryCountRepository.sumByCategory(startDate, endDate, null);
+            result = new ArrayList<>(crossListed ? paperCategoryCountRepository.sumByCrossListedCategory(startDate, endDate, null) : primary);
+        } catch (Exception e) {
+            log.warn("分类数量汇总表不可用，改为扫描论文表统计", e);
+            primary = arxivPaperRepository.countByCategoryAndPublishedDateBetween(startDate, endDate).stream()
+                    .map(obj -> new CategoryCountDTO((String) obj[0], (Long) obj[1]))
+                    .collect(Collectors.toList());
+            result = new ArrayList<>(crossListed ? paperCategoryCountRepository.scanCrossListedCategory(startDate, endDate) : primary);
+        }
         
-        // 尝试从缓存获取
+        // 总数按主分类计算，交叉列表统计中同一论文会出现在多个分类里
+        long totalCount = primary.stream().mapToLong(CategoryCountDTO::getCount).sum();
+        
+        // 将总数作为一个特殊的分类 "All" 加入结果
+        result.add(new CategoryCountDTO("All", totalCount));
+        
+        // 存入缓存，过期时间1小时
+        redisClient.set(cacheKey, result, 1, TimeUnit.HOURS);
+        
+        return result;
+    }
+
+    private String categoryCountsKey(boolean crossListed) {
+        return crossListed ? PaperCacheInvalidator.CROSS_LIST_CATEGORY_COUNTS_KEY : PaperCacheInvalidator.CATEGORY_COUNTS_KEY;
+    }
+
+    /**
+     * 读取缓存的分类统计，未命中或格式不正确时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private List<CategoryCountDTO> getCachedCategoryCounts(String cacheKey) {
         Object cachedValue = redisClient.get(cacheKey);
         if (cachedValue instanceof List) {
             try {
@@ -515,278 +801,410 @@ public class ArxivService {
                 log.warn("从缓存转换 CategoryCountDTO 失败，将重新查询数据库", e);
             }
         }
-
-        log.info("从数据库查询日期范围内的分类统计数据: {} - {}", startDate, endDate);
-        // 获取各分类统计
-        List<Object[]> counts = arxivPaperRepository.countByCategoryAndPublishedDateBetween(startDate, endDate);
-        List<CategoryCountDTO> result = counts.stream()
-                .map(obj -> new CategoryCountDTO((String) obj[0], (Long) obj[1]))
-                .collect(Collectors.toList());
-        
-        // 计算总数
-        long totalCount = result.stream().mapToLong(CategoryCountDTO::getCount).sum();
-        
-        // 将总数作为一个特殊的分类 "All" 加入结果
-        result.add(new CategoryCountDTO("All", totalCount));
-        
-        // 存入缓存，过期时间1小时
-        redisClient.set(cacheKey, result, 1, TimeUnit.HOURS);
-        
-        return result;
+        return null;
     }
 
     /**
-     * 分页查询所有论文
+     * 按组合筛选条件分页查询论文，所有数据库列表查询的统一入口
+     * 同一组筛选条件生成相同的规范化缓存key，任意条件组合都复用同一条查询和缓存路径
+     * @param filter 筛选条件
      * @param page 页码
      * @param size 每页数量
-     * @return 论文分页结果
+     * @return 论文分页结果（精确总数）
      */
-    public Page<ArxivPaper> getPapersFromDatabase(int page, int size) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("page:%d:size:%d", page, size);
+    public Page<ArxivPaper> queryPapersFromDatabase(PaperFilter filter, int page, int size) {
+        String cacheKey = RedisClient.PAPERS_PREFIX + filter.cacheKey() + String.format(":page:%d:size:%d", page, size);
 
         // 先从Redis缓存获取
         Object cachedValue = redisClient.get(cacheKey);
         if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取论文列表，页码: {}, 每页数量: {}", page, size);
+            log.info("从Redis缓存获取论文列表，筛选条件: {}, 页码: {}", filter, page);
             PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            // 将缓存的数据转换为Page对象
             return convertCacheDTOToPage(cacheDTO);
         }
 
-        log.info("从数据库查询论文，页码: {}, 每页数量: {}", page, size);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result = arxivPaperRepository.findAll(pageable);
+        log.info("从数据库查询论文列表，筛选条件: {}, 页码: {}, 每页数量: {}", filter, page, size);
+        Page<ArxivPaper> result = arxivPaperFilterRepository.findPage(filter, PageRequest.of(page - 1, size));
 
         // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
         if (result.hasContent()) {
             PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("论文列表已缓存到Redis，页码: {}", page);
+            cachePage(cacheKey, cacheDTO);
+            log.info("论文列表已缓存到Redis: {}", cacheKey);
         } else {
-            log.info("查询结果为空，不缓存，页码: {}", page);
+            log.info("论文列表查询结果为空，不缓存: {}", cacheKey);
         }
 
         return result;
     }
 
     /**
-     * 根据关键词查询论文（标题或摘要）
-     * @param keyword 关键词
+     * 按组合筛选条件分页查询论文，由调用方选择总数的计算方式
+     * 估算和不计数模式只查询 size+1 行判断是否有下一页，不执行COUNT(*)；估算模式的总数取自单独缓存的估计值
+     * @param filter 筛选条件
      * @param page 页码
      * @param size 每页数量
-     * @return 论文分页结果
+     * @param countMode 总数计算方式
+     * @return 精确或估算模式返回带总数的Page，不计数模式返回Slice
      */
-    public Page<ArxivPaper> searchPapersFromDatabase(String keyword, int page, int size) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("search:%s:page:%d:size:%d", keyword, page, size);
+    public Slice<ArxivPaper> queryPapersFromDatabase(PaperFilter filter, int page, int size, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return queryPapersFromDatabase(filter, page, size);
+        }
+        String cacheKey = RedisClient.PAPERS_PREFIX + filter.cacheKey() + String.format(":page:%d:size:%d", page, size) + SLICE_SUFFIX;
 
-        // 先从Redis缓存获取
+        Slice<ArxivPaper> slice;
         Object cachedValue = redisClient.get(cacheKey);
         if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取搜索结果，关键词: {}, 页码: {}", keyword, page);
+            log.info("从Redis缓存获取论文切片，筛选条件: {}, 页码: {}", filter, page);
             PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
-
-        log.info("从数据库搜索论文，关键词: {}, 页码: {}, 每页数量: {}", keyword, page, size);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result = arxivPaperRepository.searchByTitleOrSummary(keyword, pageable);
-
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("搜索结果已缓存到Redis，关键词: {}", keyword);
+            slice = new SliceImpl<>(convertCacheContent(cacheDTO, ArxivPaper.class),
+                PageRequest.of(cacheDTO.getPage(), cacheDTO.getSize()), cacheDTO.isHasNext());
         } else {
-            log.info("搜索结果为空，不缓存，关键词: {}", keyword);
+            log.info("从数据库查询论文切片，筛选条件: {}, 页码: {}, 每页数量: {}", filter, page, size);
+            slice = arxivPaperFilterRepository.findSlice(filter, PageRequest.of(page - 1, size));
+            if (slice.hasContent()) {
+                cachePage(cacheKey, convertSliceToCacheDTO(slice));
+            }
         }
-
-        return result;
+        return countMode == CountMode.ESTIMATE ? withEstimatedTotal(slice, filter) : slice;
     }
 
     /**
-     * 根据分类查询论文
-     * @param category 分类
+     * 按组合筛选条件分页查询论文卡片
+     * 只查询和缓存卡片字段，列表页不再传输完整摘要，缓存体积和序列化开销随之减小
+     * @param filter 筛选条件
      * @param page 页码
      * @param size 每页数量
-     * @return 论文分页结果
+     * @param countMode 总数计算方式
+     * @return 精确或估算模式返回带总数的Page，不计数模式返回Slice
      */
-    public Page<ArxivPaper> getPapersByCategoryFromDatabase(String category, int page, int size) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("category:%s:page:%d:size:%d", category, page, size);
+    public Slice<PaperCardDTO> queryPaperCardsFromDatabase(PaperFilter filter, int page, int size, CountMode countMode) {
+        String cacheKey = RedisClient.PAPERS_PREFIX + PaperCacheInvalidator.CARD_PREFIX + filter.cacheKey()
+            + String.format(":page:%d:size:%d", page, size) + (countMode == CountMode.EXACT ? "" : SLICE_SUFFIX);
 
-        // 先从Redis缓存获取
         Object cachedValue = redisClient.get(cacheKey);
         if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取分类论文，分类: {}, 页码: {}", category, page);
+            log.info("从Redis缓存获取论文卡片列表，筛选条件: {}, 页码: {}", filter, page);
             PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
+            List<PaperCardDTO> content = convertCacheContent(cacheDTO, PaperCardDTO.class);
+            Pageable pageable = PageRequest.of(cacheDTO.getPage(), cacheDTO.getSize());
+            if (countMode == CountMode.EXACT) {
+                return new PageImpl<>(content, pageable, cacheDTO.getTotalElements());
+            }
+            Slice<PaperCardDTO> slice = new SliceImpl<>(content, pageable, cacheDTO.isHasNext());
+            return countMode == CountMode.ESTIMATE ? withEstimatedTotal(slice, filter) : slice;
         }
 
-        log.info("从数据库查询分类论文: {}, 页码: {}, 每页数量: {}", category, page, size);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        // 处理未分类的情况，查询primaryCategory为NULL的记录
-        if ("UNCATEGORIZED".equals(category)) {
-            result = arxivPaperRepository.findByPrimaryCategoryIsNull(pageable);
-        } else {
-            result = arxivPaperRepository.findByPrimaryCategory(category, pageable);
-        }
+        log.info("从数据库查询论文卡片列表，筛选条件: {}, 页码: {}, 每页数量: {}", filter, page, size);
+        Pageable pageable = PageRequest.of(page - 1, size);
+        int authorLimit = searchConfig.getCardAuthorLimit();
+        int summaryLength = searchConfig.getCardSummaryLength();
+        Slice<PaperCardDTO> result = countMode == CountMode.EXACT
+            ? arxivPaperFilterRepository.findCardPage(filter, pageable, authorLimit, summaryLength)
+            : arxivPaperFilterRepository.findCardSlice(filter, pageable, authorLimit, summaryLength);
 
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
         if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
+            PageCacheDTO<PaperCardDTO> cacheDTO = result instanceof Page<PaperCardDTO> pageResult
+                ? new PageCacheDTO<>(result.getContent(), result.getNumber(), result.getSize(),
+                    pageResult.getTotalElements(), pageResult.getTotalPages(), result.hasNext())
+                : convertSliceToCacheDTO(result);
             redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("分类论文已缓存到Redis，分类: {}", category);
+            paperCacheInvalidator.registerArxivIds(cacheKey, result.getContent().stream().map(PaperCardDTO::getArxivId).toList());
+            log.info("论文卡片列表已缓存到Redis: {}", cacheKey);
         } else {
-            log.info("分类论文查询结果为空，不缓存，分类: {}", category);
+            log.info("论文卡片列表查询结果为空，不缓存: {}", cacheKey);
         }
 
-        return result;
+        return countMode == CountMode.ESTIMATE ? withEstimatedTotal(result, filter) : result;
     }
 
     /**
-     * 分页查询所有论文（支持按githubUrl筛选）
+     * 按筛选条件查询论文卡片，日期范围完整时附带该范围的分类统计
+     * @param filter 筛选条件
      * @param page 页码
      * @param size 每页数量
-     * @param hasGithub 是否有GitHub URL
-     * @return 论文分页结果
+     * @param countMode 总数计算方式
+     * @return 论文卡片列表响应，不计数模式下总数为空
      */
-    public Page<ArxivPaper> getPapersFromDatabase(int page, int size, Boolean hasGithub) {
-        if (hasGithub == null) {
-            return getPapersFromDatabase(page, size);
+    public PaperCardSearchResponse searchPaperCardsFromDb(PaperFilter filter, int page, int size, CountMode countMode) {
+        Slice<PaperCardDTO> result = queryPaperCardsFromDatabase(filter, page, size, countMode);
+        PaperCardSearchResponse response = new PaperCardSearchResponse();
+        if (result instanceof Page<PaperCardDTO> pageResult) {
+            response.setTotalResults((int) pageResult.getTotalElements());
+        }
+        response.setCountMode(countMode.name().toLowerCase(Locale.ROOT));
+        response.setHasNext(result.hasNext());
+        response.setStartIndex((int) result.getPageable().getOffset());
+        response.setItemsPerPage(result.getSize());
+        response.setPapers(result.getContent());
+
+        if (filter.getStartDate() != null && filter.getEndDate() != null) {
+            response.setActualStartDate(filter.getStartDate().toString());
+            response.setActualEndDate(filter.getEndDate().toString());
+            try {
+                response.setCategoryCounts(getCategoryCountsFromDatabase(filter.getStartDate(), filter.getEndDate(),
+                    filter.matchesCrossListed()));
+            } catch (Exception e) {
+                log.error("获取分类统计信息失败", e);
+            }
         }
+        return response;
+    }
 
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("page:%d:size:%d:github:%b", page, size, hasGithub);
+    /**
+     * 获取数据库中最后一天的论文卡片
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL
+     * @param countMode 总数计算方式
+     * @return 论文卡片列表响应
+     */
+    public PaperCardSearchResponse getLatestPaperCardsFromDatabase(int page, int size, Boolean hasGithub, CountMode countMode) {
+        LocalDate latestDate = getLatestPublishedDate();
+        if (latestDate == null) {
+            log.warn("数据库中没有论文数据");
+            return new PaperCardSearchResponse();
+        }
+        String date = latestDate.toString();
+        return searchPaperCardsFromDb(PaperFilter.of((String) null, date, date, hasGithub, null), page, size, countMode);
+    }
 
-        // 先从Redis缓存获取
+    /**
+     * 获取筛选结果的估算总数
+     * 无筛选条件时取 pg_class.reltuples，否则取执行计划的行数估计；估计值单独缓存，
+     * 同步写入新论文时按筛选条件精确失效，并在同步完成后随统计信息一起刷新
+     * @param filter 筛选条件
+     * @return 估算的总数
+     */
+    public long getEstimatedCount(PaperFilter filter) {
+        String cacheKey = RedisClient.PAPERS_PREFIX + PaperCacheInvalidator.COUNT_PREFIX + filter.cacheKey();
         Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取论文列表（带GitHub筛选），页码: {}, hasGithub: {}", page, hasGithub);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
+        if (cachedValue instanceof Number) {
+            return ((Number) cachedValue).longValue();
         }
 
-        log.info("从数据库查询论文（带GitHub筛选），页码: {}, 每页数量: {}, hasGithub: {}", page, size, hasGithub);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        if (hasGithub) {
-            result = arxivPaperRepository.findByGithubUrlIsNotNull(pageable);
-        } else {
-            result = arxivPaperRepository.findByGithubUrlIsNull(pageable);
-        }
+        Long estimate = filter.isUnfiltered()
+            ? arxivPaperRepository.estimateTotalCount()
+            : arxivPaperFilterRepository.estimateCount(filter);
+        long count = estimate != null ? Math.max(estimate, 0) : 0;
+        redisClient.set(cacheKey, count, 1, TimeUnit.HOURS);
+        log.info("估算论文总数，筛选条件: {}, 估算值: {}", filter, count);
+        return count;
+    }
 
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("论文列表（带GitHub筛选）已缓存到Redis，页码: {}", page);
-        } else {
-            log.info("论文列表（带GitHub筛选）查询结果为空，不缓存，页码: {}", page);
+    /**
+     * 同步入库后刷新估算总数：更新表统计信息，并清除所有缓存的估计值
+     */
+    public void refreshCountEstimates() {
+        try {
+            arxivPaperFilterRepository.analyze();
+            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + PaperCacheInvalidator.COUNT_PREFIX + "*");
+            log.info("已刷新论文表统计信息和估算总数缓存");
+        } catch (Exception e) {
+            log.error("刷新估算总数失败", e);
         }
+    }
 
-        return result;
+    /**
+     * 从论文表重建分类数量汇总表，并清除分类统计缓存
+     * @return 汇总行数
+     */
+    public int rebuildCategoryCounts() {
+        int rows = paperCategoryCountRepository.rebuild();
+        redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "category_counts_*");
+        return rows;
     }
 
     /**
-     * 根据关键词查询论文（标题或摘要）（支持按githubUrl筛选）
-     * @param keyword 关键词
+     * 为切片补充估算总数
+     * 估计值只作为参考：当前页之后没有数据时总数是确定的，有下一页时总数至少覆盖到下一页
+     */
+    private <T> Page<T> withEstimatedTotal(Slice<T> slice, PaperFilter filter) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total = slice.hasContent() && !slice.hasNext()
+            ? seen
+            : Math.max(getEstimatedCount(filter), slice.hasNext() ? seen + 1 : seen);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    /**
+     * 分页查询所有论文
      * @param page 页码
      * @param size 每页数量
-     * @param hasGithub 是否有GitHub URL
      * @return 论文分页结果
      */
-    public Page<ArxivPaper> searchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub) {
-        if (hasGithub == null) {
-            return searchPapersFromDatabase(keyword, page, size);
-        }
+    public Page<ArxivPaper> getPapersFromDatabase(int page, int size) {
+        return getPapersFromDatabase(page, size, null);
+    }
 
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("search:%s:page:%d:size:%d:github:%b", keyword, page, size, hasGithub);
+    /**
+     * 分页查询所有论文（支持按githubUrl筛选）
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> getPapersFromDatabase(int page, int size, Boolean hasGithub) {
+        return queryPapersFromDatabase(PaperFilter.of(null, null, null, hasGithub, null), page, size);
+    }
 
-        // 先从Redis缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取搜索结果（带GitHub筛选），关键词: {}, 页码: {}, hasGithub: {}", keyword, page, hasGithub);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
+    /**
+     * 根据关键词全文检索论文（标题或摘要），按相关度排序
+     * @param keyword 关键词
+     * @param page 页码
+     * @param size 每页数量
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> searchPapersFromDatabase(String keyword, int page, int size) {
+        return searchPapersFromDatabase(keyword, page, size, null, null, null, null);
+    }
 
-        log.info("从数据库搜索论文（带GitHub筛选），关键词: {}, 页码: {}, 每页数量: {}, hasGithub: {}", keyword, page, size, hasGithub);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        if (hasGithub) {
-            result = arxivPaperRepository.searchByTitleOrSummaryAndGithubUrlIsNotNull(keyword, pageable);
-        } else {
-            result = arxivPaperRepository.searchByTitleOrSummaryAndGithubUrlIsNull(keyword, pageable);
-        }
+    /**
+     * 根据关键词全文检索论文（支持按githubUrl筛选）
+     * @param keyword 关键词
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> searchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub) {
+        return searchPapersFromDatabase(keyword, page, size, hasGithub, null, null, null);
+    }
 
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("搜索结果（带GitHub筛选）已缓存到Redis，关键词: {}", keyword);
-        } else {
-            log.info("搜索结果（带GitHub筛选）为空，不缓存，关键词: {}", keyword);
+    /**
+     * 根据关键词全文检索论文（支持按githubUrl、分类和发布日期范围筛选）
+     * @param keyword 关键词
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @param category 主分类，为空时不筛选
+     * @param startDate 开始日期，为空时不筛选
+     * @param endDate 结束日期，为空时不筛选
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> searchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub,
+                                                     String category, String startDate, String endDate) {
+        if ("bm25".equalsIgnoreCase(searchConfig.getKeywordEngine())) {
+            return bm25SearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
         }
+        return ftsSearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+    }
 
-        return result;
+    /**
+     * 使用数据库全文检索论文，不受关键词检索引擎配置影响
+     * 参数同 {@link #searchPapersFromDatabase(String, int, int, Boolean, String, String, String)}
+     */
+    public Page<ArxivPaper> ftsSearchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub,
+                                                        String category, String startDate, String endDate) {
+        return queryPapersFromDatabase(PaperFilter.of(category, startDate, endDate, hasGithub, keyword), page, size);
     }
 
     /**
-     * 根据分类查询论文（支持按githubUrl筛选）
-     * @param category 分类
+     * 使用进程内BM25索引检索论文（标题或摘要），按BM25得分排序
+     * 索引未启用或尚未构建完成时回退到数据库全文检索；
+     * 不执行COUNT，总数只保证能判断是否有下一页
+     * @param keyword 关键词
      * @param page 页码
      * @param size 每页数量
-     * @param hasGithub 是否有GitHub URL
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @param category 主分类，为空时不筛选
+     * @param startDate 开始日期，为空时不筛选
+     * @param endDate 结束日期，为空时不筛选
      * @return 论文分页结果
      */
-    public Page<ArxivPaper> getPapersByCategoryFromDatabase(String category, int page, int size, Boolean hasGithub) {
-        if (hasGithub == null) {
-            return getPapersByCategoryFromDatabase(category, page, size);
+    public Page<ArxivPaper> bm25SearchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub,
+                                                         String category, String startDate, String endDate) {
+        PaperFilter filter = PaperFilter.of(category, startDate, endDate, hasGithub, keyword);
+        if (!Boolean.TRUE.equals(searchConfig.getBm25Enabled()) || !paperSearchIndex.isReady()) {
+            log.info("BM25索引未就绪，回退到数据库全文检索，关键词: {}", keyword);
+            return ftsSearchPapersFromDatabase(keyword, page, size, hasGithub, category, startDate, endDate);
+        }
+
+        long startTime = System.currentTimeMillis();
+        int offset = (page - 1) * size;
+        // 多取一条用于判断是否有下一页
+        List<PaperSearchIndex.Hit> hits = paperSearchIndex.search(filter, offset + size + 1);
+        boolean hasNext = hits.size() > offset + size;
+        List<String> arxivIds = hits.stream().skip(offset).limit(size).map(PaperSearchIndex.Hit::getArxivId).toList();
+
+        // 按索引的排序结果重排数据库返回的论文，索引与数据库短暂不一致时跳过已不存在的论文
+        Map<String, ArxivPaper> papersById = new HashMap<>();
+        if (!arxivIds.isEmpty()) {
+            for (ArxivPaper paper : arxivPaperRepository.findByArxivIds(arxivIds)) {
+                papersById.put(paper.getArxivId(), paper);
+            }
         }
+        List<ArxivPaper> content = arxivIds.stream().map(papersById::get).filter(Objects::nonNull).toList();
+        log.info("BM25检索完成，关键词: {}, 页码: {}, 返回 {} 篇, 耗时 {} ms",
+            keyword, page, content.size(), System.currentTimeMillis() - startTime);
+        return new PageImpl<>(content, PageRequest.of(page - 1, size), offset + content.size() + (hasNext ? 1 : 0));
+    }
 
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("category:%s:page:%d:size:%d:github:%b", category, page, size, hasGithub);
+    /**
+     * 模糊检索论文（容忍拼写错误、匹配标题片段和任意位置的子串），按与标题的相似度排序
+     * @param keyword 关键词或标题片段
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @param category 主分类，为空时不筛选
+     * @param startDate 开始日期，为空时不筛选
+     * @param endDate 结束日期，为空时不筛选
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> fuzzySearchPapersFromDatabase(String keyword, int page, int size, Boolean hasGithub,
+                                                          String category, String startDate, String endDate) {
+        PaperFilter filter = PaperFilter.of(category, startDate, endDate, hasGithub, null);
+        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("fuzzy:%s:%s:page:%d:size:%d",
+            URLEncoder.encode(keyword, StandardCharsets.UTF_8), filter.cacheKey(), page, size);
 
         // 先从Redis缓存获取
         Object cachedValue = redisClient.get(cacheKey);
         if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取分类论文（带GitHub筛选），分类: {}, 页码: {}, hasGithub: {}", category, page, hasGithub);
+            log.info("从Redis缓存获取模糊搜索结果，关键词: {}, 页码: {}", keyword, page);
             PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
             return convertCacheDTOToPage(cacheDTO);
         }
 
-        log.info("从数据库查询分类论文（带GitHub筛选）: {}, 页码: {}, 每页数量: {}, hasGithub: {}", category, page, size, hasGithub);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        // 处理未分类的情况
-        if ("UNCATEGORIZED".equals(category)) {
-            if (hasGithub) {
-                result = arxivPaperRepository.findByPrimaryCategoryIsNullAndGithubUrlIsNotNull(pageable);
-            } else {
-                result = arxivPaperRepository.findByPrimaryCategoryIsNullAndGithubUrlIsNull(pageable);
-            }
-        } else {
-            if (hasGithub) {
-                result = arxivPaperRepository.findByPrimaryCategoryAndGithubUrlIsNotNull(category, pageable);
-            } else {
-                result = arxivPaperRepository.findByPrimaryCategoryAndGithubUrlIsNull(category, pageable);
-            }
-        }
+        log.info("从数据库模糊搜索论文，关键词: {}, 筛选条件: {}, 页码: {}, 每页数量: {}", keyword, filter, page, size);
+        Page<ArxivPaper> result = arxivPaperFuzzyRepository.fuzzySearch(keyword, searchConfig.getFuzzyThreshold(),
+            Boolean.TRUE.equals(searchConfig.getFuzzyIncludeSummary()), filter, PageRequest.of(page - 1, size));
 
         // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
         if (result.hasContent()) {
             PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("分类论文（带GitHub筛选）已缓存到Redis，分类: {}", category);
+            cachePage(cacheKey, cacheDTO);
+            log.info("模糊搜索结果已缓存到Redis，关键词: {}", keyword);
         } else {
-            log.info("分类论文（带GitHub筛选）查询结果为空，不缓存，分类: {}", category);
+            log.info("模糊搜索结果为空，不缓存，关键词: {}", keyword);
         }
 
         return result;
     }
 
+    /**
+     * 根据分类查询论文
+     * @param category 分类，UNCATEGORIZED表示未分类
+     * @param page 页码
+     * @param size 每页数量
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> getPapersByCategoryFromDatabase(String category, int page, int size) {
+        return getPapersByCategoryFromDatabase(category, page, size, null);
+    }
+
+    /**
+     * 根据分类查询论文（支持按githubUrl筛选）
+     * @param category 分类，UNCATEGORIZED表示未分类
+     * @param page 页码
+     * @param size 每页数量
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
+     * @return 论文分页结果
+     */
+    public Page<ArxivPaper> getPapersByCategoryFromDatabase(String category, int page, int size, Boolean hasGithub) {
+        return queryPapersFromDatabase(PaperFilter.of(category, null, null, hasGithub, null), page, size);
+    }
+
     /**
      * 根据日期范围查询论文
      * @param startDate 开始日期
@@ -796,32 +1214,7 @@ public class ArxivService {
      * @return 论文分页结果
      */
     public Page<ArxivPaper> getPapersByDateRangeFromDatabase(String startDate, String endDate, int page, int size) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("date:%s:%s:page:%d:size:%d", startDate, endDate, page, size);
-
-        // 先从Redis缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取日期范围论文，日期: {} 到 {}, 页码: {}", startDate, endDate, page);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
-
-        log.info("从数据库查询日期范围论文: {} 到 {}, 页码: {}, 每页数量: {}", startDate, endDate, page, size);
-        LocalDate start = LocalDate.parse(startDate);
-        LocalDate end = LocalDate.parse(endDate);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result = arxivPaperRepository.findByPublishedDateBetween(start, end, pageable);
-
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("日期范围论文已缓存到Redis，日期: {} 到 {}", startDate, endDate);
-        } else {
-            log.info("日期范围论文查询结果为空，不缓存，日期: {} 到 {}", startDate, endDate);
-        }
-
-        return result;
+        return getPapersByDateRangeFromDatabase(startDate, endDate, page, size, null);
     }
 
     /**
@@ -830,51 +1223,16 @@ public class ArxivService {
      * @param endDate 结束日期
      * @param page 页码
      * @param size 每页数量
-     * @param hasGithub 是否有GitHub URL
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
      * @return 论文分页结果
      */
     public Page<ArxivPaper> getPapersByDateRangeFromDatabase(String startDate, String endDate, int page, int size, Boolean hasGithub) {
-        if (hasGithub == null) {
-            return getPapersByDateRangeFromDatabase(startDate, endDate, page, size);
-        }
-
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("date:%s:%s:github:%b:page:%d:size:%d", startDate, endDate, hasGithub, page, size);
-        
-        // 先从Redis缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取日期范围论文（带GitHub筛选），日期: {} 到 {}, hasGithub: {}, 页码: {}", startDate, endDate, hasGithub, page);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
-
-        log.info("从数据库查询日期范围论文（带GitHub筛选）: {} 到 {}, hasGithub: {}, 页码: {}, 每页数量: {}", startDate, endDate, hasGithub, page, size);
-        LocalDate start = LocalDate.parse(startDate);
-        LocalDate end = LocalDate.parse(endDate);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        if (hasGithub) {
-            result = arxivPaperRepository.findByPublishedDateBetweenAndGithubUrlIsNotNull(start, end, pageable);
-        } else {
-            result = arxivPaperRepository.findByPublishedDateBetweenAndGithubUrlIsNull(start, end, pageable);
-        }
-
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("日期范围论文（带GitHub筛选）已缓存到Redis，日期: {} 到 {}, hasGithub: {}", startDate, endDate, hasGithub);
-        } else {
-            log.info("日期范围论文（带GitHub筛选）查询结果为空，不缓存，日期: {} 到 {}, hasGithub: {}", startDate, endDate, hasGithub);
-        }
-
-        return result;
+        return queryPapersFromDatabase(PaperFilter.of(null, startDate, endDate, hasGithub, null), page, size);
     }
 
     /**
      * 根据分类和日期范围查询论文
-     * @param category 分类
+     * @param category 分类，UNCATEGORIZED表示未分类
      * @param startDate 开始日期
      * @param endDate 结束日期
      * @param page 页码
@@ -882,98 +1240,21 @@ public class ArxivService {
      * @return 论文分页结果
      */
     public Page<ArxivPaper> getPapersByCategoryAndDateRangeFromDatabase(String category, String startDate, String endDate, int page, int size) {
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("category:%s:date:%s:%s:page:%d:size:%d", category, startDate, endDate, page, size);
-        
-        // 先从Redis缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取分类和日期范围论文，分类: {}, 日期: {} 到 {}, 页码: {}", category, startDate, endDate, page);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
-
-        log.info("从数据库查询分类和日期范围论文: {}, {} 到 {}, 页码: {}, 每页数量: {}", category, startDate, endDate, page, size);
-        LocalDate start = LocalDate.parse(startDate);
-        LocalDate end = LocalDate.parse(endDate);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        // 处理未分类的情况
-        if ("UNCATEGORIZED".equals(category)) {
-            result = arxivPaperRepository.findByPrimaryCategoryIsNullAndPublishedDateBetween(start, end, pageable);
-        } else {
-            result = arxivPaperRepository.findByPrimaryCategoryAndPublishedDateBetween(category, start, end, pageable);
-        }
-
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("分类和日期范围论文已缓存到Redis，分类: {}, 日期: {} 到 {}", category, startDate, endDate);
-        } else {
-            log.info("分类和日期范围论文查询结果为空，不缓存，分类: {}, 日期: {} 到 {}", category, startDate, endDate);
-        }
-
-        return result;
+        return getPapersByCategoryAndDateRangeFromDatabase(category, startDate, endDate, page, size, null);
     }
 
     /**
      * 根据分类和日期范围查询论文（支持按githubUrl筛选）
-     * @param category 分类
+     * @param category 分类，UNCATEGORIZED表示未分类
      * @param startDate 开始日期
      * @param endDate 结束日期
      * @param page 页码
      * @param size 每页数量
-     * @param hasGithub 是否有GitHub URL
+     * @param hasGithub 是否有GitHub URL，为空时不筛选
      * @return 论文分页结果
      */
     public Page<ArxivPaper> getPapersByCategoryAndDateRangeFromDatabase(String category, String startDate, String endDate, int page, int size, Boolean hasGithub) {
-        if (hasGithub == null) {
-            return getPapersByCategoryAndDateRangeFromDatabase(category, startDate, endDate, page, size);
-        }
-
-        String cacheKey = RedisClient.PAPERS_PREFIX + String.format("category:%s:date:%s:%s:github:%b:page:%d:size:%d", category, startDate, endDate, hasGithub, page, size);
-        
-        // 先从Redis缓存获取
-        Object cachedValue = redisClient.get(cacheKey);
-        if (cachedValue instanceof PageCacheDTO) {
-            log.info("从Redis缓存获取分类和日期范围论文（带GitHub筛选），分类: {}, 日期: {} 到 {}, hasGithub: {}, 页码: {}", category, startDate, endDate, hasGithub, page);
-            PageCacheDTO<?> cacheDTO = (PageCacheDTO<?>) cachedValue;
-            return convertCacheDTOToPage(cacheDTO);
-        }
-
-        log.info("从数据库查询分类和日期范围论文（带GitHub筛选）: {}, {} 到 {}, hasGithub: {}, 页码: {}, 每页数量: {}", category, startDate, endDate, hasGithub, page, size);
-        LocalDate start = LocalDate.parse(startDate);
-        LocalDate end = LocalDate.parse(endDate);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        Page<ArxivPaper> result;
-        
-        // 处理未分类的情况
-        if ("UNCATEGORIZED".equals(category)) {
-            if (hasGithub) {
-                result = arxivPaperRepository.findByPrimaryCategoryIsNullAndPublishedDateBetweenAndGithubUrlIsNotNull(start, end, pageable);
-            } else {
-                result = arxivPaperRepository.findByPrimaryCategoryIsNullAndPublishedDateBetweenAndGithubUrlIsNull(start, end, pageable);
-            }
-        } else {
-            if (hasGithub) {
-                result = arxivPaperRepository.findByPrimaryCategoryAndPublishedDateBetweenAndGithubUrlIsNotNull(category, start, end, pageable);
-            } else {
-                result = arxivPaperRepository.findByPrimaryCategoryAndPublishedDateBetweenAndGithubUrlIsNull(category, start, end, pageable);
-            }
-        }
-
-        // 保存到Redis缓存，过期时间30分钟
-        // 只有当查询结果不为空时才缓存，避免缓存空结果导致后续无法获取新数据
-        if (result.hasContent()) {
-            PageCacheDTO<ArxivPaper> cacheDTO = convertPageToCacheDTO(result);
-            redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
-            log.info("分类和日期范围论文（带GitHub筛选）已缓存到Redis，分类: {}, 日期: {} 到 {}, hasGithub: {}", category, startDate, endDate, hasGithub);
-        } else {
-            log.info("分类和日期范围论文（带GitHub筛选）查询结果为空，不缓存，分类: {}, 日期: {} 到 {}, hasGithub: {}", category, startDate, endDate, hasGithub);
-        }
-
-        return result;
+        return queryPapersFromDatabase(PaperFilter.of(category, startDate, endDate, hasGithub, null), page, size);
     }
 
     /**
@@ -989,35 +1270,105 @@ public class ArxivService {
     }
 
     public Page<ArxivPaper> getPapersByCategoryAndKeywordFromDatabase(String category, String keyword, int page, int size, Boolean hasGithub) {
-        log.info("从数据库查询分类和关键词论文: {}, 关键词: {}, 页码: {}, 每页数量: {}, hasGithub: {}", category, keyword, page, size, hasGithub);
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-        
-        Page<ArxivPaper> papersByCategory;
-        // 处理未分类的情况
-        if ("UNCATEGORIZED".equals(category)) {
-            if (hasGithub == null) {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategoryIsNull(pageable);
-            } else if (hasGithub) {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategoryIsNullAndGithubUrlIsNotNull(pageable);
-            } else {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategoryIsNullAndGithubUrlIsNull(pageable);
-            }
-        } else {
-            if (hasGithub == null) {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategory(category, pageable);
-            } else if (hasGithub) {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategoryAndGithubUrlIsNotNull(category, pageable);
-            } else {
-                papersByCategory = arxivPaperRepository.findByPrimaryCategoryAndGithubUrlIsNull(category, pageable);
-            }
+        return queryPapersFromDatabase(PaperFilter.of(category, null, null, hasGithub, keyword), page, size);
+    }
+
+    /**
+     * 游标分页查询论文，有关键词时按相关度倒序，否则按发布日期倒序
+     * 深度翻页与第一页开销相同，结果不缓存
+     * @param filter 筛选条件
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页数量
+     * @return 游标分页结果
+     */
+    public CursorPageDTO<ArxivPaper> scrollPapersFromDatabase(PaperFilter filter, String cursor, int size) {
+        PaperCursor after = PaperCursor.decode(cursor);
+        log.info("从数据库游标分页查询论文，筛选条件: {}, 每页数量: {}, 游标: {}", filter, size, after);
+        // 多取一条用于判断是否还有下一页
+        return toCursorPage(arxivPaperKeysetRepository.seek(filter, after, size + 1), size);
+    }
+
+    /**
+     * 游标分页模糊检索论文，按与标题的相似度距离升序
+     * @param keyword 关键词或标题片段
+     * @param filter 其余筛选条件（不含关键词）
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页数量
+     * @return 游标分页结果
+     */
+    public CursorPageDTO<ArxivPaper> scrollFuzzySearchPapersFromDatabase(String keyword, PaperFilter filter, String cursor, int size) {
+        PaperCursor after = PaperCursor.decode(cursor);
+        log.info("从数据库游标分页模糊检索论文，关键词: {}, 筛选条件: {}, 每页数量: {}, 游标: {}", keyword, filter, size, after);
+        return toCursorPage(arxivPaperFuzzyRepository.fuzzySeek(keyword, searchConfig.getFuzzyThreshold(),
+            Boolean.TRUE.equals(searchConfig.getFuzzyIncludeSummary()), filter, after, size + 1), size);
+    }
+
+    /**
+     * 按姓名前缀查找作者，名或姓的前缀均可命中
+     * @param prefix 姓名前缀，规范化后少于2个字符时不查询
+     * @param limit 最多返回的条数
+     * @return 作者列表，按论文数倒序
+     */
+    public List<AuthorDTO> suggestAuthors(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || prefix.trim().length() < 2) {
+            return List.of();
         }
-        
-        String lowerKeyword = keyword.toLowerCase();
-        List<ArxivPaper> filtered = papersByCategory.getContent().stream()
-            .filter(p -> p.getTitle().toLowerCase().contains(lowerKeyword) || p.getSummary().toLowerCase().contains(lowerKeyword))
-            .toList();
-        
-        return new PageImpl<>(filtered, pageable, filtered.size());
+        return authorRepository.findByPrefix(prefix, limit);
+    }
+
+    /**
+     * 获取作者信息和按年份统计的论文数量
+     * @param name 作者姓名，不同写法（大小写、变音符号、"姓, 名"）视为同一作者
+     * @return 作者主页信息，作者不存在时返回null
+     */
+    public AuthorProfileDTO getAuthorProfile(String name) {
+        AuthorDTO author = authorRepository.findByName(name);
+        if (author == null) {
+            return null;
+        }
+        return new AuthorProfileDTO(author, authorRepository.countByYear(author.getId()));
+    }
+
+    /**
+     * 游标分页查询作者的论文，按发布日期倒序，结果不缓存
+     * @param name 作者姓名
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页数量
+     * @return 游标分页结果，作者不存在时为空页
+     */
+    public CursorPageDTO<ArxivPaper> scrollAuthorPapersFromDatabase(String name, String cursor, int size) {
+        PaperCursor after = PaperCursor.decode(cursor);
+        AuthorDTO author = authorRepository.findByName(name);
+        log.info("从数据库游标分页查询作者论文，作者: {}, 每页数量: {}, 游标: {}", author, size, after);
+        if (author == null) {
+            return new CursorPageDTO<>(new ArrayList<>(), size, null, false);
+        }
+        return toCursorPage(arxivPaperKeysetRepository.seekByAuthor(author.getId(), after, size + 1), size);
+    }
+
+    /**
+     * 清空并重新回填作者表和作者关联表，并清除按作者筛选的列表缓存
+     * @return 处理的论文数量
+     */
+    public int rebuildAuthors() {
+        int papers = authorRepository.rebuild();
+        redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "*author=*");
+        return papers;
+    }
+
+    /**
+     * 截取一页并以最后一条记录的排序键生成下一页游标
+     */
+    private CursorPageDTO<ArxivPaper> toCursorPage(List<ArxivPaperKeysetRepository.ScoredPaper> papers, int size) {
+        boolean hasNext = papers.size() > size;
+        List<ArxivPaperKeysetRepository.ScoredPaper> content = hasNext ? papers.subList(0, size) : papers;
+        String nextCursor = null;
+        if (hasNext) {
+            ArxivPaperKeysetRepository.ScoredPaper last = content.get(content.size() - 1);
+            nextCursor = new PaperCursor(last.getScore(), last.getPaper().getPublishedDate(), last.getPaper().getId()).encode();
+        }
+        List<ArxivPaper> result = content.stream().map(ArxivPaperKeysetRepository.ScoredPaper::getPaper).collect(Collectors.toList());
+        return new CursorPageDTO<>(result, size, nextCursor, hasNext);
     }
 
     /**
@@ -1116,21 +1467,7 @@ public class ArxivService {
 
     // 支持hasGithub参数的重载方法
     public ArxivSearchResponse searchByDateRangeFromDb(String startDate, String endDate, Integer page, Integer size, Boolean hasGithub) {
-        Page<ArxivPaper> result;
-        
-        if (hasGithub == null) {
-            result = getPapersByDateRangeFromDatabase(startDate, endDate, page, size);
-        } else {
-            LocalDate start = LocalDate.parse(startDate);
-            LocalDate end = LocalDate.parse(endDate);
-            Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "publishedDate"));
-            
-            if (hasGithub) {
-                result = arxivPaperRepository.findByPublishedDateBetweenAndGithubUrlIsNotNull(start, end, pageable);
-            } else {
-                result = arxivPaperRepository.findByPublishedDateBetweenAndGithubUrlIsNull(start, end, pageable);
-            }
-        }
+        Page<ArxivPaper> result = getPapersByDateRangeFromDatabase(startDate, endDate, page, size, hasGithub);
         
         ArxivSearchResponse response = convertPageToResponse(result);
         response.setActualStartDate(startDate);
@@ -1155,17 +1492,17 @@ public class ArxivService {
      */
     public void clearPapersCache() {
         try {
-            // 清除分页列表缓存
-            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "page:*");
+            // 清除组合筛选列表缓存
+            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + PaperFilter.CACHE_KEY_PREFIX + "*");
 
-            // 清除搜索缓存
-            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "search:*");
+            // 清除论文卡片列表缓存
+            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + PaperCacheInvalidator.CARD_PREFIX + "*");
 
-            // 清除分类缓存
-            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "category:*");
+            // 清除估算总数缓存
+            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + PaperCacheInvalidator.COUNT_PREFIX + "*");
 
-            // 清除日期范围缓存
-            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "date:*");
+            // 清除模糊检索缓存
+            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "fuzzy:*");
 
             log.info("已清除所有论文列表相关缓存");
         } catch (Exception e) {
@@ -1179,8 +1516,25 @@ public class ArxivService {
      */
     public void clearCategoryCache(String category) {
         try {
-            redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "category:" + category + ":*");
-            log.info("已清除分类 {} 相关缓存", category);
+            List<String> keys = new ArrayList<>();
+            for (String prefix : List.of(PaperFilter.CACHE_KEY_PREFIX, PaperCacheInvalidator.CARD_PREFIX + PaperFilter.CACHE_KEY_PREFIX,
+                    PaperCacheInvalidator.COUNT_PREFIX + PaperFilter.CACHE_KEY_PREFIX)) {
+                for (String key : redisClient.keys(RedisClient.PAPERS_PREFIX + prefix + "*")) {
+                    String name = key.substring(RedisClient.PAPERS_PREFIX.length() + prefix.indexOf(PaperFilter.CACHE_KEY_PREFIX));
+                    int end = name.lastIndexOf(":page:");
+                    try {
+                        if (PaperFilter.fromCacheKey(end < 0 ? name : name.substring(0, end)).hasCategory(category)) {
+                            keys.add(key);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        keys.add(key);
+                    }
+                }
+            }
+            if (!keys.isEmpty()) {
+                redisClient.delete(keys);
+            }
+            log.info("已清除分类 {} 相关缓存 {} 个", category, keys.size());
         } catch (Exception e) {
             log.error("清除分类缓存失败: {}", category, e);
         }
@@ -1237,6 +1591,16 @@ public class ArxivService {
         return latestDate;
     }
     
+    /**
+     * 缓存论文列表页，并登记页内论文的反向索引用于精确失效
+     * @param cacheKey 缓存key
+     * @param cacheDTO 列表页
+     */
+    private void cachePage(String cacheKey, PageCacheDTO<ArxivPaper> cacheDTO) {
+        redisClient.set(cacheKey, cacheDTO, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
+        paperCacheInvalidator.registerPage(cacheKey, cacheDTO.getContent());
+    }
+
     /**
      * 将Page对象转换为PageCacheDTO
      * @param page Page对象
@@ -1248,9 +1612,19 @@ public class ArxivService {
             page.getNumber(),
             page.getSize(),
             page.getTotalElements(),
-            page.getTotalPages()
+            page.getTotalPages(),
+            page.hasNext()
         );
     }
+
+    /**
+     * 将Slice对象转换为PageCacheDTO，总数未知记为-1
+     * @param slice Slice对象
+     * @return PageCacheDTO对象
+     */
+    private <T> PageCacheDTO<T> convertSliceToCacheDTO(Slice<T> slice) {
+        return new PageCacheDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), -1, -1, slice.hasNext());
+    }
     
     /**
      * 将PageCacheDTO转换为Page对象
@@ -1258,20 +1632,29 @@ public class ArxivService {
      * @return Page对象
      */
     private Page<ArxivPaper> convertCacheDTOToPage(PageCacheDTO<?> cacheDTO) {
-        // 使用ObjectMapper将内容转换为ArxivPaper列表
-        List<ArxivPaper> content = cacheDTO.getContent().stream()
+        List<ArxivPaper> content = convertCacheContent(cacheDTO, ArxivPaper.class);
+        
+        // 创建Pageable对象，使用Sort保持与原查询一致
+        Pageable pageable = PageRequest.of(cacheDTO.getPage(), cacheDTO.getSize(), Sort.by(Sort.Direction.DESC, "publishedDate"));
+        return new PageImpl<>(content, pageable, cacheDTO.getTotalElements());
+    }
+
+    /**
+     * 将缓存中的内容转换为指定类型的列表
+     * @param cacheDTO PageCacheDTO对象
+     * @param type 元素类型
+     * @return 内容列表
+     */
+    private <T> List<T> convertCacheContent(PageCacheDTO<?> cacheDTO, Class<T> type) {
+        return cacheDTO.getContent().stream()
             .map(item -> {
-                if (item instanceof ArxivPaper) {
-                    return (ArxivPaper) item;
+                if (type.isInstance(item)) {
+                    return type.cast(item);
                 } else {
                     // 使用ObjectMapper进行类型转换
-                    return objectMapper.convertValue(item, ArxivPaper.class);
+                    return objectMapper.convertValue(item, type);
                 }
             })
             .collect(Collectors.toList());
-        
-        // 创建Pageable对象，使用Sort保持与原查询一致
-        Pageable pageable = PageRequest.of(cacheDTO.getPage(), cacheDTO.getSize(), Sort.by(Sort.Direction.DESC, "publishedDate"));
-        return new PageImpl<>(content, pageable, cacheDTO.getTotalElements());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,481 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.client.ArxivClient;
+import com.mootann.arxivdaily.client.ArxivRateLimiter;
+import com.mootann.arxivdaily.config.ArxivBackfillConfig;
+import com.mootann.arxivdaily.repository.dto.BackfillJobRequest;
+import com.mootann.arxivdaily.repository.dto.BackfillProgressDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * arXiv历史数据回填任务服务
+ * 将日期范围按天（或按天和分类）拆分为分区，在共享的工作线程池中并发执行，
+ * 所有请求以BACKFILL优先级经过限流器，不会挤占交互式接口的请求配额
+ */
+@Slf4j
+@Service
+public class BackfillJobService {
+
+    // 单次回填允许的最大天数
+    private static final int MAX_RANGE_DAYS = 366;
+    // 每个任务保留的错误信息数量
+    private static final int MAX_ERRORS = 20;
+
+    @Autowired
+    private ArxivClient arxivClient;
+
+    @Autowired
+    private ArxivService arxivService;
+
+    @Autowired
+    private ArxivBackfillConfig backfillConfig;
+
+    @Autowired
+    private PaperCacheInvalidator paperCacheInvalidator;
+
+    private final Map<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService workerPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(backfillConfig.getWorkerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-backfill-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("回填任务线程池初始化完成: workerThreads={}", backfillConfig.getWorkerThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (BackfillJob job : jobs.values()) {
+            job.cancel();
+        }
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * 创建并启动回填任务
+     * @param request 回填请求
+     * @return 任务进度
+     */
+    public BackfillProgressDTO start(BackfillJobRequest request) {
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = LocalDate.parse(request.getStartDate());
+            endDate = LocalDate.parse(request.getEndDate());
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("日期格式错误，应为YYYY-MM-DD");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+        if (startDate.plusDays(MAX_RANGE_DAYS).isBefore(endDate)) {
+            throw new IllegalArgumentException("单次回填的日期范围不能超过 " + MAX_RANGE_DAYS + " 天");
+        }
+
+        List<String> categories = request.getCategories() != null
+            ? request.getCategories().stream().filter(c -> c != null && !c.isBlank()).map(String::trim).distinct().toList()
+            : List.of();
+        List<Partition> partitions = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (categories.isEmpty()) {
+                partitions.add(new Partition(date, null));
+            } else {
+                for (String category : categories) {
+                    partitions.add(new Partition(date, category));
+                }
+            }
+        }
+
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), startDate, endDate, categories, partitions);
+        evictFinishedJobs();
+        jobs.put(job.id, job);
+        for (Partition partition : partitions) {
+            submit(job, partition);
+        }
+        log.info("回填任务已启动: jobId={}, {} 至 {}, 分类={}, 分区数={}",
+            job.id, startDate, endDate, categories, partitions.size());
+        return job.toProgress();
+    }
+
+    /**
+     * 暂停任务，正在请求的页完成后分区让出工作线程
+     */
+    public BackfillProgressDTO pause(String jobId) {
+        BackfillJob job = getJob(jobId);
+        if (!job.pause()) {
+            throw new IllegalStateException("任务当前状态不能暂停: " + job.status);
+        }
+        log.info("回填任务已暂停: jobId={}", jobId);
+        return job.toProgress();
+    }
+
+    /**
+     * 恢复暂停的任务，让出的分区从中断的偏移量继续
+     */
+    public BackfillProgressDTO resume(String jobId) {
+        BackfillJob job = getJob(jobId);
+        List<Partition> parked = job.resume();
+        if (parked == null) {
+            throw new IllegalStateException("任务当前状态不能恢复: " + job.status);
+        }
+        for (Partition partition : parked) {
+            submit(job, partition);
+        }
+        log.info("回填任务已恢复: jobId={}, 重新提交分区 {} 个", jobId, parked.size());
+        return job.toProgress();
+    }
+
+    /**
+     * 取消任务，未开始的分区不再执行，已入库的数据保留
+     */
+    public BackfillProgressDTO cancel(String jobId) {
+        BackfillJob job = getJob(jobId);
+        if (!job.cancel()) {
+            throw new IllegalStateException("任务已结束: " + job.status);
+        }
+        log.info("回填任务已取消: jobId={}", jobId);
+        return job.toProgress();
+    }
+
+    /**
+     * 查询任务进度
+     */
+    public BackfillProgressDTO getProgress(String jobId) {
+        return getJob(jobId).toProgress();
+    }
+
+    /**
+     * 查询所有保留的任务，按创建时间倒序
+     */
+    public List<BackfillProgressDTO> listJobs() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing((BackfillJob job) -> job.startedAt).reversed())
+            .map(BackfillJob::toProgress)
+            .toList();
+    }
+
+    private BackfillJob getJob(String jobId) {
+        BackfillJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("回填任务不存在: " + jobId);
+        }
+        return job;
+    }
+
+    private void submit(BackfillJob job, Partition partition) {
+        workerPool.execute(() -> runPartition(job, partition));
+    }
+
+    private void evictFinishedJobs() {
+        int overflow = jobs.size() - backfillConfig.getMaxRetainedJobs() + 1;
+        if (overflow <= 0) {
+            return;
+        }
+        jobs.values().stream()
+            .filter(BackfillJob::isFinished)
+            .sorted(Comparator.comparing((BackfillJob job) -> job.startedAt))
+            .limit(overflow)
+            .map(job -> job.id)
+            .toList()
+            .forEach(jobs::remove);
+    }
+
+    /**
+     * 执行单个分区：逐页请求并入库，每页之前检查任务是否被暂停或取消
+     */
+    private void runPartition(BackfillJob job, Partition partition) {
+        int pageSize = backfillConfig.getPageSize();
+        // 分区执行期间推迟列表缓存的清除，所有分区让出工作线程后合并执行
+        paperCacheInvalidator.beginBatch();
+        try {
+            while (true) {
+                if (job.status == JobStatus.CANCELLED || job.park(partition)) {
+                    return;
+                }
+
+                ArxivSearchResponse response = fetchPageWithRetry(job, partition, pageSize);
+                if (response == null) {
+                    if (job.status != JobStatus.CANCELLED) {
+                        job.partitionFailed(partition, "请求重试耗尽，偏移量 " + partition.nextStart);
+                    }
+                    return;
+                }
+
+                int batchSize = response.getPapers() != null ? response.getPapers().size() : 0;
+                if (partition.totalResults < 0) {
+                    partition.totalResults = response.getTotalResults();
+                    job.recordPartitionTotal(response.getTotalResults());
+                }
+                int saved = batchSize > 0 ? arxivService.savePapersToDatabase(response.getPapers()) : 0;
+                partition.nextStart += batchSize;
+                job.recordPage(batchSize, saved);
+                log.debug("回填进度: jobId={}, {}, 本页 {} 篇, 偏移量 {}/{}",
+                    job.id, partition, batchSize, partition.nextStart, partition.totalResults);
+
+                if (batchSize < pageSize || (partition.totalResults > 0 && partition.nextStart >= partition.totalResults)) {
+                    break;
+                }
+            }
+            job.partitionCompleted();
+        } catch (Exception e) {
+            log.error("回填分区执行失败: jobId={}, {}", job.id, partition, e);
+            job.partitionFailed(partition, e.getMessage());
+        } finally {
+            paperCacheInvalidator.endBatch();
+        }
+    }
+
+    /**
+     * 获取单页论文，失败时按递增间隔重试
+     * @return 搜索结果，重试耗尽或任务被取消时返回null
+     */
+    private ArxivSearchResponse fetchPageWithRetry(BackfillJob job, Partition partition, int pageSize) {
+        int maxRetries = backfillConfig.getMaxPageRetries();
+        long backoffMs = backfillConfig.getRetryBackoffMs();
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            try {
+                ArxivSearchResponse response = arxivClient.searchBySubmittedDay(partition.date.toString(), partition.category,
+                    partition.nextStart, pageSize, ArxivRateLimiter.Priority.BACKFILL);
+                if (response != null) {
+                    return response;
+                }
+                log.warn("回填请求失败: {}, 偏移量 {}, 第 {}/{} 次", partition, partition.nextStart, attempt, maxRetries);
+            } catch (Exception e) {
+                log.warn("回填请求异常: {}, 偏移量 {}, 第 {}/{} 次", partition, partition.nextStart, attempt, maxRetries, e);
+            }
+            if (attempt < maxRetries && job.status != JobStatus.CANCELLED && backoffMs > 0) {
+                try {
+                    Thread.sleep(backoffMs * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private enum JobStatus {
+        RUNNING, PAUSED, CANCELLED, COMPLETED
+    }
+
+    /**
+     * 回填分区：单日或单日单分类，记录下一页的偏移量以便暂停后继续
+     */
+    private static class Partition {
+        private final LocalDate date;
+        private final String category;
+        private volatile int nextStart = 0;
+        private volatile int totalResults = -1;
+
+        private Partition(LocalDate date, String category) {
+            this.date = date;
+            this.category = category;
+        }
+
+        @Override
+        public String toString() {
+            return category != null ? date + "/" + category : date.toString();
+        }
+    }
+
+    /**
+     * 回填任务运行状态
+     */
+    private static class BackfillJob {
+        private final String id;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<String> categories;
+        private final int totalPartitions;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private final List<Partition> parked = new ArrayList<>();
+        private final LinkedList<String> errors = new LinkedList<>();
+
+        private final AtomicInteger completedPartitions = new AtomicInteger();
+        private final AtomicInteger failedPartitions = new AtomicInteger();
+        private final AtomicInteger startedPartitions = new AtomicInteger();
+        private final AtomicLong knownTotalPapers = new AtomicLong();
+        private final AtomicLong pagesDone = new AtomicLong();
+        private final AtomicLong papersFetched = new AtomicLong();
+        private final AtomicLong papersSaved = new AtomicLong();
+
+        // 暂停累计时长和本次暂停开始时间，用于计算有效运行时间
+        private long pausedNanos = 0;
+        private long pausedSince = 0;
+        private long finishedNanos = 0;
+
+        private BackfillJob(String id, LocalDate startDate, LocalDate endDate, List<String> categories, List<Partition> partitions) {
+            this.id = id;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.categories = categories;
+            this.totalPartitions = partitions.size();
+        }
+
+        synchronized boolean pause() {
+            if (status != JobStatus.RUNNING) {
+                return false;
+            }
+            status = JobStatus.PAUSED;
+            pausedSince = System.nanoTime();
+            return true;
+        }
+
+        /**
+         * @return 需要重新提交的分区，状态不是PAUSED时返回null
+         */
+        synchronized List<Partition> resume() {
+            if (status != JobStatus.PAUSED) {
+                return null;
+            }
+            status = JobStatus.RUNNING;
+            pausedNanos += System.nanoTime() - pausedSince;
+            List<Partition> resumed = new ArrayList<>(parked);
+            parked.clear();
+            // 暂停期间最后的分区可能已经执行完毕
+            checkFinished();
+            return resumed;
+        }
+
+        synchronized boolean cancel() {
+            if (isFinished()) {
+                return false;
+            }
+            if (status == JobStatus.PAUSED) {
+                pausedNanos += System.nanoTime() - pausedSince;
+            }
+            status = JobStatus.CANCELLED;
+            parked.clear();
+            finish();
+            return true;
+        }
+
+        /**
+         * 任务暂停时登记分区并让出工作线程
+         * @return 分区是否已让出
+         */
+        synchronized boolean park(Partition partition) {
+            if (status != JobStatus.PAUSED) {
+                return false;
+            }
+            parked.add(partition);
+            return true;
+        }
+
+        void recordPartitionTotal(int total) {
+            startedPartitions.incrementAndGet();
+            knownTotalPapers.addAndGet(Math.max(total, 0));
+        }
+
+        void recordPage(int fetched, int saved) {
+            pagesDone.incrementAndGet();
+            papersFetched.addAndGet(fetched);
+            papersSaved.addAndGet(saved);
+        }
+
+        void partitionCompleted() {
+            completedPartitions.incrementAndGet();
+            checkFinished();
+        }
+
+        void partitionFailed(Partition partition, String message) {
+            failedPartitions.incrementAndGet();
+            synchronized (this) {
+                errors.addLast(partition + ": " + message);
+                if (errors.size() > MAX_ERRORS) {
+                    errors.removeFirst();
+                }
+            }
+            checkFinished();
+        }
+
+        private synchronized void checkFinished() {
+            if (status == JobStatus.RUNNING && completedPartitions.get() + failedPartitions.get() >= totalPartitions) {
+                status = JobStatus.COMPLETED;
+                finish();
+                log.info("回填任务完成: jobId={}, 分区 {} 个（失败 {} 个）, 获取 {} 篇, 新保存 {} 篇",
+                    id, totalPartitions, failedPartitions.get(), papersFetched.get(), papersSaved.get());
+            }
+        }
+
+        private void finish() {
+            finishedAt = LocalDateTime.now();
+            finishedNanos = System.nanoTime();
+        }
+
+        boolean isFinished() {
+            return status == JobStatus.CANCELLED || status == JobStatus.COMPLETED;
+        }
+
+        synchronized BackfillProgressDTO toProgress() {
+            long now = isFinished() ? finishedNanos : System.nanoTime();
+            long paused = pausedNanos + (status == JobStatus.PAUSED ? now - pausedSince : 0);
+            double activeSeconds = Math.max(now - startedNanos - paused, 0) / (double) TimeUnit.SECONDS.toNanos(1);
+
+            long fetched = papersFetched.get();
+            double rate = activeSeconds > 0 ? fetched / activeSeconds : 0;
+
+            // 未开始的分区按已开始分区的平均论文数估算
+            int started = startedPartitions.get();
+            long known = knownTotalPapers.get();
+            long estimatedTotal = started > 0
+                ? known + Math.round((double) known / started * (totalPartitions - started))
+                : 0;
+
+            BackfillProgressDTO progress = new BackfillProgressDTO();
+            progress.setJobId(id);
+            progress.setStatus(status.name());
+            progress.setStartDate(startDate.toString());
+            progress.setEndDate(endDate.toString());
+            progress.setCategories(categories);
+            progress.setTotalPartitions(totalPartitions);
+            progress.setCompletedPartitions(completedPartitions.get());
+            progress.setFailedPartitions(failedPartitions.get());
+            progress.setPagesDone(pagesDone.get());
+            progress.setPapersFetched(fetched);
+            progress.setPapersSaved(papersSaved.get());
+            progress.setEstimatedTotalPapers(estimatedTotal);
+            progress.setPapersPerSecond(Math.round(rate * 100) / 100.0);
+            if (isFinished()) {
+                progress.setEtaSeconds(0L);
+            } else if (rate > 0 && started > 0) {
+                progress.setEtaSeconds(Math.round(Math.max(estimatedTotal - fetched, 0) / rate));
+            }
+            progress.setStartedAt(startedAt);
+            progress.setFinishedAt(finishedAt);
+            progress.setErrors(new ArrayList<>(errors));
+            return progress;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.config.ArxivSearchConfig;
+import com.mootann.arxivdaily.repository.ArxivPaperKeysetRepository;
+import com.mootann.arxivdaily.repository.ArxivPaperRepository;
+import com.mootann.arxivdaily.repository.dto.HybridSearchResponse;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.search.PaperSearchIndex;
+import com.mootann.arxivdaily.search.RankFusion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 混合检索服务：关键词检索和向量检索并发执行，结果按倒数排名融合或归一化得分加权融合后统一分页
+ * 每一路有独立的超时时间，某一路超时或失败时只用其余结果排序并标记降级，不会使整个请求失败；
+ * 各阶段的耗时和状态随响应返回，便于调整超时、候选数量和权重
+ */
+@Slf4j
+@Service
+public class HybridSearchService {
+
+    public static final String FUSION_RRF = "rrf";
+    public static final String FUSION_WEIGHTED = "weighted";
+
+    private static final String STAGE_LEXICAL = "lexical";
+    private static final String STAGE_VECTOR = "vector";
+    private static final String STATUS_OK = "ok";
+    private static final String STATUS_TIMEOUT = "timeout";
+    private static final String STATUS_ERROR = "error";
+    private static final String STATUS_DISABLED = "disabled";
+
+    @Autowired
+    private ArxivSearchConfig searchConfig;
+
+    @Autowired
+    private ArxivPaperKeysetRepository keysetRepository;
+
+    @Autowired
+    private ArxivPaperRepository arxivPaperRepository;
+
+    @Autowired
+    private PaperSearchIndex paperSearchIndex;
+
+    @Autowired
+    private PaperEmbeddingService paperEmbeddingService;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(searchConfig.getHybridThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "hybrid-search-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 混合检索
+     * @param text 查询文本，同时作为关键词检索的关键词和向量检索的查询文本
+     * @param filter 筛选条件（不含关键词）
+     * @param page 页码
+     * @param size 每页数量
+     * @param fusion 融合方式（rrf / weighted），为空时使用配置
+     * @return 本页结果和各阶段的执行情况
+     * @throws IllegalArgumentException 融合方式不支持
+     */
+    public HybridSearchResponse search(String text, PaperFilter filter, int page, int size, String fusion) {
+        String fusionMode = fusion == null || fusion.isBlank() ? searchConfig.getHybridFusion() : fusion.toLowerCase(Locale.ROOT);
+        if (!FUSION_RRF.equals(fusionMode) && !FUSION_WEIGHTED.equals(fusionMode)) {
+            throw new IllegalArgumentException("不支持的融合方式: " + fusion);
+        }
+        long start = System.nanoTime();
+        int candidates = searchConfig.getHybridCandidates();
+        PaperFilter lexicalFilter = filter.withKeyword(text);
+        PaperFilter vectorFilter = filter.withKeyword(null);
+        long lexicalTimeoutMs = searchConfig.getHybridLexicalTimeoutMs();
+        long vectorTimeoutMs = searchConfig.getHybridVectorTimeoutMs();
+
+        // 两路同时提交，各自从同一起点计算截止时间；数据库查询以剩余时间设置statement_timeout，超时后由数据库终止
+        boolean useBm25 = canUseBm25(lexicalFilter);
+        Future<StageResult> lexicalFuture = submit(start, useBm25
+            ? () -> bm25Candidates(lexicalFilter, candidates)
+            : () -> ftsCandidates(lexicalFilter, candidates, remainingMs(start, lexicalTimeoutMs)));
+        Future<StageResult> vectorFuture = paperEmbeddingService.isEnabled()
+            ? submit(start, () -> vectorCandidates(text, vectorFilter, candidates, remainingMs(start, vectorTimeoutMs)))
+            : null;
+
+        List<HybridSearchResponse.StageTiming> stages = new ArrayList<>();
+        List<Candidate> lexical = await(STAGE_LEXICAL, useBm25 ? "bm25" : "fts", lexicalFuture, start, lexicalTimeoutMs, stages);
+        String vectorEngine = paperEmbeddingService.usesMemoryIndex(vectorFilter)
+            ? paperEmbeddingService.memoryIndexEngine() : "pgvector";
+        List<Candidate> vector = await(STAGE_VECTOR, vectorEngine, vectorFuture, start, vectorTimeoutMs, stages);
+
+        double[] weights = {searchConfig.getHybridLexicalWeight(), searchConfig.getHybridVectorWeight()};
+        List<RankFusion.Fused> fused;
+        if (FUSION_RRF.equals(fusionMode)) {
+            fused = RankFusion.reciprocalRank(List.of(ids(lexical), ids(vector)), weights, searchConfig.getHybridRrfK());
+        } else {
+            fused = RankFusion.weightedScore(List.of(scores(lexical), scores(vector)), weights);
+        }
+
+        int offset = (page - 1) * size;
+        List<RankFusion.Fused> pageHits = fused.stream().skip(offset).limit(size).toList();
+        List<HybridSearchResponse.Item> items = toItems(pageHits, lexical, vector);
+
+        boolean degraded = stages.stream().anyMatch(stage -> !STATUS_OK.equals(stage.getStatus()));
+        long elapsedMs = elapsedMs(start);
+        log.info("混合检索完成，文本: {}, 融合方式: {}, 页码: {}, 返回 {} 篇, 耗时 {} ms, 各阶段: {}",
+            text, fusionMode, page, items.size(), elapsedMs, stages);
+        return new HybridSearchResponse(page, size, fused.size() > offset + size, fusionMode, degraded, elapsedMs, items, stages);
+    }
+
+    /**
+     * BM25索引不支持作者和交叉列表分类筛选，这两种条件下使用数据库全文检索
+     */
+    private boolean canUseBm25(PaperFilter filter) {
+        return "bm25".equalsIgnoreCase(searchConfig.getKeywordEngine())
+            && Boolean.TRUE.equals(searchConfig.getBm25Enabled()) && paperSearchIndex.isReady()
+            && filter.getAuthor() == null && !filter.matchesCrossListed();
+    }
+
+    private List<Candidate> ftsCandidates(PaperFilter filter, int limit, long timeoutMs) {
+        List<Candidate> result = new ArrayList<>();
+        for (ArxivPaperKeysetRepository.ScoredPaper scored : keysetRepository.seek(filter, null, limit, timeoutMs)) {
+            result.add(new Candidate(scored.getPaper().getArxivId(), scored.getScore(), scored.getPaper()));
+        }
+        return result;
+    }
+
+    private List<Candidate> bm25Candidates(PaperFilter filter, int limit) {
+        List<Candidate> result = new ArrayList<>();
+        for (PaperSearchIndex.Hit hit : paperSearchIndex.search(filter, limit)) {
+            result.add(new Candidate(hit.getArxivId(), hit.getScore(), null));
+        }
+        return result;
+    }
+
+    private List<Candidate> vectorCandidates(String text, PaperFilter filter, int limit, long timeoutMs) {
+        List<Candidate> result = new ArrayList<>();
+        for (ArxivPaperKeysetRepository.ScoredPaper scored : paperEmbeddingService.semanticSearch(text, filter, limit, timeoutMs)) {
+            // 余弦距离转为相似度，得分越大越相关
+            result.add(new Candidate(scored.getPaper().getArxivId(), 1 - scored.getScore(), scored.getPaper()));
+        }
+        return result;
+    }
+
+    private Future<StageResult> submit(long start, Callable<List<Candidate>> stage) {
+        return executor.submit(() -> {
+            List<Candidate> candidates = stage.call();
+            return new StageResult(candidates, elapsedMs(start));
+        });
+    }
+
+    /**
+     * 等待一路检索在截止时间前完成；超时、失败或未启用时返回空结果并记录状态
+     * 超时的阶段只取消尚未开始的任务，不中断正在执行的数据库查询和接口调用，它们由各自的statement_timeout和客户端超时结束
+     */
+    private List<Candidate> await(String stage, String engine, Future<StageResult> future, long start, long timeoutMs,
+                                  List<HybridSearchResponse.StageTiming> stages) {
+        if (future == null) {
+            stages.add(new HybridSearchResponse.StageTiming(stage, engine, STATUS_DISABLED, 0L, timeoutMs, 0));
+            return List.of();
+        }
+        long remainingMs = Math.max(0, timeoutMs - elapsedMs(start));
+        try {
+            StageResult result = future.get(remainingMs, TimeUnit.MILLISECONDS);
+            stages.add(new HybridSearchResponse.StageTiming(stage, engine, STATUS_OK, result.getElapsedMs(), timeoutMs,
+                result.getCandidates().size()));
+            return result.getCandidates();
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            log.warn("混合检索阶段超时，只使用其余结果: stage={}, engine={}, timeoutMs={}", stage, engine, timeoutMs);
+            stages.add(new HybridSearchResponse.StageTiming(stage, engine, STATUS_TIMEOUT, elapsedMs(start), timeoutMs, 0));
+        } catch (ExecutionException e) {
+            log.warn("混合检索阶段失败，只使用其余结果: stage={}, engine={}", stage, engine, e.getCause());
+            stages.add(new HybridSearchResponse.StageTiming(stage, engine, STATUS_ERROR, elapsedMs(start), timeoutMs, 0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            stages.add(new HybridSearchResponse.StageTiming(stage, engine, STATUS_ERROR, elapsedMs(start), timeoutMs, 0));
+        }
+        return List.of();
+    }
+
+    /**
+     * 组装本页结果，BM25只返回ID，其余论文从数据库补齐；索引与数据库短暂不一致时跳过已不存在的论文
+     */
+    private List<HybridSearchResponse.Item> toItems(List<RankFusion.Fused> pageHits, List<Candidate> lexical,
+                                                    List<Candidate> vector) {
+        Map<String, ArxivPaper> papers = new HashMap<>();
+        for (Candidate candidate : lexical) {
+            if (candidate.getPaper() != null) {
+                papers.put(candidate.getId(), candidate.getPaper());
+            }
+        }
+        for (Candidate candidate : vector) {
+            papers.put(candidate.getId(), candidate.getPaper());
+        }
+        List<String> missing = pageHits.stream().map(RankFusion.Fused::getId).filter(id -> !papers.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (ArxivPaper paper : arxivPaperRepository.findByArxivIds(missing)) {
+                papers.put(paper.getArxivId(), paper);
+            }
+        }
+
+        List<HybridSearchResponse.Item> items = new ArrayList<>(pageHits.size());
+        for (RankFusion.Fused hit : pageHits) {
+            ArxivPaper paper = papers.get(hit.getId());
+            if (paper != null) {
+                items.add(new HybridSearchResponse.Item(paper, hit.getScore(), hit.getRanks()[0], hit.getRanks()[1]));
+            }
+        }
+        return items;
+    }
+
+    private static List<String> ids(List<Candidate> candidates) {
+        return candidates.stream().map(Candidate::getId).toList();
+    }
+
+    private static List<RankFusion.Scored> scores(List<Candidate> candidates) {
+        return candidates.stream().map(candidate -> new RankFusion.Scored(candidate.getId(), candidate.getScore())).toList();
+    }
+
+    /**
+     * 阶段开始执行时距截止时间的剩余毫秒数，至少为1，避免传入0被当作不限制
+     */
+    private static long remainingMs(long startNanos, long timeoutMs) {
+        return Math.max(1, timeoutMs - elapsedMs(startNanos));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 单路检索召回的候选，paper为空时需要从数据库补齐
+     */
+    @Data
+    @AllArgsConstructor
+    private static class Candidate {
+        private String id;
+        private double score;
+        private ArxivPaper paper;
+    }
+
+    /**
+     * 单路检索的结果和完成时的耗时
+     */
+    @Data
+    @AllArgsConstructor
+    private static class StageResult {
+        private List<Candidate> candidates;
+        private long elapsedMs;
+    }
+}
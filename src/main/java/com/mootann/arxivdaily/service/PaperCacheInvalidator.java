@@ -0,0 +1,284 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.client.RedisClient;
+import com.mootann.arxivdaily.constant.RedisKeyConstant;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.util.AuthorNameUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 论文列表缓存的精确失效
+ * 列表缓存写入时登记 论文 -> 缓存key 的反向索引；论文更新时只删除引用了它的缓存，
+ * 新论文只删除其分类、日期或关键词可能命中的列表缓存，不再清空整个 papers:* 命名空间；
+ * 列表缓存以SCAN遍历，同步和收割期间合并为一次
+ */
+@Slf4j
+@Component
+public class PaperCacheInvalidator {
+
+    public static final String CATEGORY_COUNTS_KEY = "category_counts_dto";
+    public static final String CROSS_LIST_CATEGORY_COUNTS_KEY = "category_counts_crosslist_dto";
+    public static final String CARD_PREFIX = "card:";
+    public static final String COUNT_PREFIX = "count:";
+    // 近似词干：检索词去掉末尾最多3个字符，且至少保留4个字符
+    private static final int STEM_MIN_LENGTH = 4;
+    private static final int STEM_TRIM = 3;
+    private static final String REF_PREFIX = RedisKeyConstant.PAPERS_REF_PREFIX.substring(RedisClient.PAPERS_PREFIX.length());
+    // 批量写入期间推迟处理的论文达到该数量时先清除一次
+    private static final int MAX_DEFERRED = 5000;
+
+    @Autowired
+    private RedisClient redisClient;
+
+    private final AtomicInteger batchDepth = new AtomicInteger();
+    private final List<ArxivPaperDTO> deferredInserted = new ArrayList<>();
+    private final List<ArxivPaperDTO> deferredUpdated = new ArrayList<>();
+
+    /**
+     * 登记列表缓存引用的论文，反向索引与列表缓存的过期时间一致
+     * @param cacheKey 列表缓存key（含papers:前缀）
+     * @param papers 缓存中的论文
+     */
+    public void registerPage(String cacheKey, List<ArxivPaper> papers) {
+        registerArxivIds(cacheKey, papers.stream().map(ArxivPaper::getArxivId).toList());
+    }
+
+    /**
+     * 按arxivId登记列表缓存引用的论文，用于不含完整实体的卡片列表
+     * @param cacheKey 列表缓存key（含papers:前缀）
+     * @param arxivIds 缓存中论文的arxivId
+     */
+    public void registerArxivIds(String cacheKey, Collection<String> arxivIds) {
+        List<String> refKeys = arxivIds.stream()
+            .filter(Objects::nonNull)
+            .map(arxivId -> RedisKeyConstant.PAPERS_REF_PREFIX + arxivId)
+            .toList();
+        redisClient.sAddWithExpire(refKeys, cacheKey, RedisClient.THIRTY_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 开始批量写入（一次同步或收割），期间列表缓存的扫描推迟到 {@link #endBatch()} 时合并执行一次；
+     * 更新论文的单篇缓存和反向索引引用的缓存仍在每次写入时立即删除。可嵌套或并发调用，最后一个结束时执行
+     */
+    public void beginBatch() {
+        batchDepth.incrementAndGet();
+    }
+
+    /**
+     * 结束批量写入，合并清除期间推迟的列表缓存
+     * 没有对应的 {@link #beginBatch()} 时只记录日志，计数不会减为负数，不影响其他线程正在进行的批量写入
+     */
+    public void endBatch() {
+        int depth = batchDepth.getAndUpdate(current -> current > 0 ? current - 1 : 0);
+        if (depth <= 0) {
+            log.error("缓存批量写入结束调用次数多于开始调用次数，忽略本次调用", new IllegalStateException("endBatch 没有对应的 beginBatch"));
+            return;
+        }
+        if (depth == 1) {
+            flushDeferred();
+        }
+    }
+
+    /**
+     * 删除受本次写入影响的缓存
+     * @param inserted 新插入的论文
+     * @param updated 内容有变化而更新的论文
+     */
+    public void invalidate(List<ArxivPaperDTO> inserted, List<ArxivPaperDTO> updated) {
+        if (inserted.isEmpty() && updated.isEmpty()) {
+            return;
+        }
+
+        // 已更新论文：删除引用它的列表缓存和单篇缓存
+        Set<String> keysToDelete = new HashSet<>();
+        for (ArxivPaperDTO paper : updated) {
+            String refKey = RedisKeyConstant.PAPERS_REF_PREFIX + paper.getArxivId();
+            for (Object member : redisClient.sMembers(refKey)) {
+                keysToDelete.add(String.valueOf(member));
+            }
+            keysToDelete.add(refKey);
+            keysToDelete.add(RedisClient.ARXIV_PAPERS_PREFIX + paper.getArxivId());
+        }
+        if (!keysToDelete.isEmpty()) {
+            redisClient.delete(keysToDelete);
+        }
+
+        if (batchDepth.get() == 0) {
+            invalidateLists(inserted, updated);
+            return;
+        }
+        boolean full;
+        synchronized (deferredInserted) {
+            deferredInserted.addAll(inserted);
+            deferredUpdated.addAll(updated);
+            full = deferredInserted.size() + deferredUpdated.size() >= MAX_DEFERRED;
+        }
+        // 长时间的回填中途分段清除，避免列表缓存长期过期和待处理论文无限增长
+        if (full) {
+            flushDeferred();
+        }
+    }
+
+    private void flushDeferred() {
+        List<ArxivPaperDTO> inserted;
+        List<ArxivPaperDTO> updated;
+        synchronized (deferredInserted) {
+            inserted = new ArrayList<>(deferredInserted);
+            updated = new ArrayList<>(deferredUpdated);
+            deferredInserted.clear();
+            deferredUpdated.clear();
+        }
+        if (!inserted.isEmpty() || !updated.isEmpty()) {
+            invalidateLists(inserted, updated);
+        }
+    }
+
+    /**
+     * 新论文和分类、日期可能变化的更新论文：以SCAN遍历列表缓存，删除可能包含它们的缓存
+     */
+    private void invalidateLists(List<ArxivPaperDTO> inserted, List<ArxivPaperDTO> updated) {
+        List<ArxivPaperDTO> affected = new ArrayList<>(inserted);
+        affected.addAll(updated);
+        Set<String> keysToDelete = new HashSet<>();
+        for (String key : redisClient.scan(RedisClient.PAPERS_PREFIX + "*")) {
+            String name = key.substring(RedisClient.PAPERS_PREFIX.length());
+            if (isAffected(name, inserted, updated, affected)) {
+                keysToDelete.add(key);
+            }
+        }
+        long deleted = keysToDelete.isEmpty() ? 0 : redisClient.delete(keysToDelete);
+        log.info("精确清除论文缓存: 新增 {} 篇, 更新 {} 篇, 删除列表缓存 {} 个", inserted.size(), updated.size(), deleted);
+    }
+
+    /**
+     * 判断缓存key是否可能包含受影响的论文
+     * 无法识别的key（含模糊检索结果）按受影响处理
+     */
+    private boolean isAffected(String name, Collection<ArxivPaperDTO> inserted, Collection<ArxivPaperDTO> updated,
+                               Collection<ArxivPaperDTO> affected) {
+        if (name.startsWith(REF_PREFIX)) {
+            return false;
+        }
+        // 交叉列表分类统计与主分类统计按相同的日期范围规则判断
+        if (name.startsWith(CROSS_LIST_CATEGORY_COUNTS_KEY)) {
+            name = CATEGORY_COUNTS_KEY + name.substring(CROSS_LIST_CATEGORY_COUNTS_KEY.length());
+        }
+        if (name.equals(CATEGORY_COUNTS_KEY)) {
+            return true;
+        }
+        if (name.startsWith(CATEGORY_COUNTS_KEY + ":")) {
+            String[] range = name.substring(CATEGORY_COUNTS_KEY.length() + 1).split(":");
+            return range.length < 2 || affected.stream().anyMatch(p -> inRange(p.getPublishedDate(), range[0], range[1]));
+        }
+        // 估算总数只受新论文影响
+        if (name.startsWith(COUNT_PREFIX + PaperFilter.CACHE_KEY_PREFIX)) {
+            try {
+                PaperFilter filter = PaperFilter.fromCacheKey(name.substring(COUNT_PREFIX.length()));
+                return inserted.stream().anyMatch(p -> mayContain(filter, p));
+            } catch (IllegalArgumentException e) {
+                return true;
+            }
+        }
+        // 卡片列表与完整列表的筛选条件相同，按同样的规则判断
+        if (name.startsWith(CARD_PREFIX)) {
+            name = name.substring(CARD_PREFIX.length());
+        }
+        if (name.startsWith(PaperFilter.CACHE_KEY_PREFIX)) {
+            int end = name.lastIndexOf(":page:");
+            if (end < 0) {
+                return true;
+            }
+            PaperFilter filter;
+            try {
+                filter = PaperFilter.fromCacheKey(name.substring(0, end));
+            } catch (IllegalArgumentException e) {
+                return true;
+            }
+            // 新论文会使命中的列表整体偏移；更新的论文已由反向索引处理，
+            // 只有带筛选条件的列表可能因分类、日期、链接或内容变化而新增该论文
+            return inserted.stream().anyMatch(p -> mayContain(filter, p))
+                || (!filter.isUnfiltered() && updated.stream().anyMatch(p -> mayContain(filter, p)));
+        }
+        return true;
+    }
+
+    /**
+     * 判断论文是否可能出现在筛选结果中
+     * 分类同时参考交叉列表分类以覆盖主分类变化；GitHub链接可能在写入后才提取，不作为判断依据
+     */
+    private boolean mayContain(PaperFilter filter, ArxivPaperDTO paper) {
+        if (filter.getCategories() != null) {
+            boolean categoryMatch = paper.getPrimaryCategory() == null
+                ? filter.hasCategory(PaperFilter.UNCATEGORIZED)
+                : filter.hasCategory(paper.getPrimaryCategory());
+            if (!categoryMatch && (paper.getCategories() == null
+                || paper.getCategories().stream().noneMatch(filter::hasCategory))) {
+                return false;
+            }
+        }
+        LocalDate date = paper.getPublishedDate();
+        if (date != null && ((filter.getStartDate() != null && date.isBefore(filter.getStartDate()))
+            || (filter.getEndDate() != null && date.isAfter(filter.getEndDate())))) {
+            return false;
+        }
+        if (filter.getAuthor() != null && paper.getAuthors() != null
+            && paper.getAuthors().stream().map(AuthorNameUtil::normalize).noneMatch(filter.getAuthor()::equals)) {
+            return false;
+        }
+        return !filter.hasKeyword() || mayMatchSearch(paper, filter.getKeyword());
+    }
+
+    private boolean inRange(LocalDate date, String start, String end) {
+        if (date == null) {
+            return true;
+        }
+        try {
+            return !date.isBefore(LocalDate.parse(start)) && !date.isAfter(LocalDate.parse(end));
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 判断论文是否可能命中全文检索关键词
+     * 全文检索会做词干归一，这里按词干前缀近似匹配任一检索词；含排除词时无法判断，按命中处理
+     */
+    private boolean mayMatchSearch(ArxivPaperDTO paper, String keyword) {
+        String text = ((paper.getTitle() != null ? paper.getTitle() : "") + " "
+            + (paper.getSummary() != null ? paper.getSummary() : "")).toLowerCase(Locale.ROOT);
+        boolean hasTerm = false;
+        for (String token : keyword.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (token.startsWith("-")) {
+                return true;
+            }
+            String term = token.replaceAll("[^\\p{L}\\p{N}]", "");
+            if (term.isEmpty() || term.equals("or")) {
+                continue;
+            }
+            hasTerm = true;
+            String stem = term.length() > STEM_MIN_LENGTH
+                ? term.substring(0, Math.max(STEM_MIN_LENGTH, term.length() - STEM_TRIM))
+                : term;
+            if (text.contains(stem)) {
+                return true;
+            }
+        }
+        return !hasTerm;
+    }
+}
@@ -0,0 +1,406 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.repository.ArxivPaperKeysetRepository;
+import com.mootann.arxivdaily.repository.ArxivPaperRepository;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository.PendingPaper;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+import com.mootann.arxivdaily.search.HashingEmbeddingModel;
+import com.mootann.arxivdaily.search.PaperVectorIndex;
+import com.mootann.arxivdaily.search.QuantizedVectorStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 论文向量化与语义检索服务
+ * 标题和摘要拼接后分批调用向量模型写入 paper_embeddings，新入库或内容变化的论文由入库流程登记后异步补齐，
+ * 只按登记的arxivId查询；定时任务扫描全表兜底处理遗漏和失败的批次；启用内存索引时新向量同时写入 {@link PaperVectorIndex}
+ * （配置了量化方式时改为写入 {@link QuantizedVectorStore}），语义检索在索引就绪且筛选条件受支持时走内存索引，否则走数据库
+ */
+@Slf4j
+@Service
+public class PaperEmbeddingService {
+
+    // 登记的待向量化论文上限，超出的论文由定时任务的全表补齐处理
+    private static final int MAX_QUEUED = 100000;
+
+    @Autowired
+    private ArxivEmbeddingConfig embeddingConfig;
+
+    @Autowired
+    private PaperEmbeddingRepository embeddingRepository;
+
+    @Autowired
+    @Qualifier("paperEmbeddingModel")
+    private EmbeddingModel paperEmbeddingModel;
+
+    @Autowired
+    @Qualifier("paperQueryEmbeddingModel")
+    private EmbeddingModel paperQueryEmbeddingModel;
+
+    @Autowired
+    private PaperVectorIndex paperVectorIndex;
+
+    @Autowired
+    private QuantizedVectorStore quantizedVectorStore;
+
+    @Autowired
+    private ArxivPaperRepository arxivPaperRepository;
+
+    @Value("${zhipu.embedding-model:embedding-3-pro}")
+    private String zhipuModelName;
+
+    private EmbeddingModel embeddingModel;
+
+    // 检索时向量化查询文本，接口超时较短
+    private EmbeddingModel queryEmbeddingModel;
+
+    // 写入向量表的模型标识，模型或维度变化后已有向量视为过期
+    private String modelTag;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 入库后登记、尚未处理的论文
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean queuedTaskPending = new AtomicBoolean(false);
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        int dimensions = embeddingConfig.getDimensions();
+        if ("hashing".equalsIgnoreCase(embeddingConfig.getProvider())) {
+            embeddingModel = new HashingEmbeddingModel(dimensions);
+            queryEmbeddingModel = embeddingModel;
+            modelTag = "hashing:" + dimensions;
+        } else {
+            embeddingModel = paperEmbeddingModel;
+            queryEmbeddingModel = paperQueryEmbeddingModel;
+            modelTag = "zhipu:" + zhipuModelName + ":" + dimensions;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "paper-embedding");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(embeddingConfig.getEnabled());
+    }
+
+    public boolean isMemoryIndexEnabled() {
+        return isEnabled() && Boolean.TRUE.equals(embeddingConfig.getMemoryIndexEnabled());
+    }
+
+    /**
+     * 内存索引是否使用量化存储代替HNSW图
+     */
+    public boolean isQuantized() {
+        String quantization = embeddingConfig.getQuantization();
+        return isMemoryIndexEnabled() && quantization != null && !"none".equalsIgnoreCase(quantization);
+    }
+
+    /**
+     * 语义检索是否走内存索引：索引已就绪且筛选条件受支持
+     */
+    public boolean usesMemoryIndex(PaperFilter filter) {
+        if (!isMemoryIndexEnabled() || !PaperVectorIndex.supports(filter)) {
+            return false;
+        }
+        return isQuantized() ? quantizedVectorStore.isReady() : paperVectorIndex.isReady();
+    }
+
+    /**
+     * 内存索引的检索方式：hnsw / int8 / binary
+     */
+    public String memoryIndexEngine() {
+        return isQuantized() ? quantizedVectorStore.mode() : "hnsw";
+    }
+
+    /**
+     * 写入内存索引，按配置写入HNSW图或量化存储
+     */
+    public void addToMemoryIndex(List<PaperVectorIndex.IndexedVector> papers) {
+        if (isQuantized()) {
+            quantizedVectorStore.index(papers);
+        } else {
+            paperVectorIndex.index(papers);
+        }
+    }
+
+    /**
+     * 内存索引全量构建完成
+     */
+    public void markMemoryIndexReady() {
+        if (isQuantized()) {
+            quantizedVectorStore.markReady();
+        } else {
+            paperVectorIndex.markReady();
+        }
+    }
+
+    /**
+     * 当前模型标识，与 paper_embeddings.model 对应
+     */
+    public String getModelTag() {
+        return modelTag;
+    }
+
+    /**
+     * 异步扫描全表补齐向量，已有任务在执行时直接返回
+     */
+    public void requestEmbedding() {
+        if (!isEnabled() || running.get()) {
+            return;
+        }
+        executor.execute(this::embedPending);
+    }
+
+    /**
+     * 登记入库后新增或内容变化的论文并异步向量化，只查询这些论文，不扫描全表
+     * @param arxivIds 本次写入的论文
+     */
+    public void requestEmbedding(Collection<String> arxivIds) {
+        if (!isEnabled() || arxivIds.isEmpty()) {
+            return;
+        }
+        for (String arxivId : arxivIds) {
+            if (queued.size() >= MAX_QUEUED) {
+                log.warn("待向量化论文登记已满 {} 篇，其余论文由定时任务补齐", MAX_QUEUED);
+                break;
+            }
+            queued.add(arxivId);
+        }
+        scheduleQueued();
+    }
+
+    /**
+     * 登记队列非空时提交一次处理任务，已有任务在排队时直接返回
+     */
+    private void scheduleQueued() {
+        if (queued.isEmpty() || !queuedTaskPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                queuedTaskPending.set(false);
+                embedQueued();
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTaskPending.set(false);
+        }
+    }
+
+    /**
+     * 向量化已登记的论文，失败的批次不再登记，由定时任务补齐
+     * 全表补齐正在执行时直接返回，由其结束时重新提交；结束时队列中仍有论文（期间新登记或因失败中断）则重新提交
+     * @return 本次写入的向量数量
+     */
+    public int embedQueued() {
+        if (!isEnabled() || queued.isEmpty() || !running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int total = 0;
+        try {
+            while (!queued.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                List<String> arxivIds = new ArrayList<>(embeddingConfig.getBatchSize());
+                Iterator<String> iterator = queued.iterator();
+                while (iterator.hasNext() && arxivIds.size() < embeddingConfig.getBatchSize()) {
+                    arxivIds.add(iterator.next());
+                    iterator.remove();
+                }
+                List<PendingPaper> batch = embeddingRepository.findPendingByArxivIds(modelTag, arxivIds);
+                if (!batch.isEmpty()) {
+                    store(batch);
+                    total += batch.size();
+                }
+            }
+            if (total > 0) {
+                log.info("新入库论文向量化完成: model={}, count={}", modelTag, total);
+            }
+        } catch (Exception e) {
+            log.error("新入库论文向量化失败: model={}, 已完成={}", modelTag, total, e);
+        } finally {
+            running.set(false);
+            scheduleQueued();
+        }
+        return total;
+    }
+
+    /**
+     * 扫描全表，分批向量化所有缺少向量或向量已过期的论文，新论文优先；用于定时补齐和手动触发
+     * @return 本次写入的向量数量
+     */
+    public int embedPending() {
+        if (!isEnabled() || !running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int total = 0;
+        try {
+            long beforeId = Long.MAX_VALUE;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingPaper> batch = embeddingRepository.findPending(modelTag, beforeId, embeddingConfig.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                store(batch);
+                total += batch.size();
+                beforeId = batch.get(batch.size() - 1).getPaperId();
+            }
+            if (total > 0) {
+                log.info("论文向量化完成: model={}, count={}", modelTag, total);
+            }
+        } catch (Exception e) {
+            // 模型接口异常时停止本轮，剩余论文由下一次定时任务继续处理
+            log.error("论文向量化失败: model={}, 已完成={}", modelTag, total, e);
+        } finally {
+            running.set(false);
+            // 执行期间登记的论文被跳过，重新提交
+            scheduleQueued();
+        }
+        return total;
+    }
+
+    /**
+     * 语义检索：将查询文本向量化后按余弦距离取最近的k篇论文
+     * @param text 查询文本
+     * @param filter 筛选条件（不含关键词）
+     * @param k 返回条数
+     * @return 论文及其余弦距离（越小越相似）
+     */
+    public List<ArxivPaperKeysetRepository.ScoredPaper> semanticSearch(String text, PaperFilter filter, int k) {
+        return semanticSearch(text, filter, k, 0);
+    }
+
+    /**
+     * 限定数据库查询时间的语义检索，超时抛出异常；查询文本向量化另受 arxiv.embedding.query-timeout-ms 的接口超时限制
+     * @param timeoutMs 向量检索查询的超时（毫秒），不大于0时不限制
+     */
+    public List<ArxivPaperKeysetRepository.ScoredPaper> semanticSearch(String text, PaperFilter filter, int k, long timeoutMs) {
+        float[] query = queryEmbeddingModel.embed(truncate(text)).content().vector();
+        checkDimension(query);
+        if (usesMemoryIndex(filter)) {
+            return memoryIndexSearch(query, filter, k);
+        }
+        return embeddingRepository.search(query, filter, k, embeddingConfig.getEfSearch(),
+            embeddingConfig.getIterativeScan(), timeoutMs);
+    }
+
+    /**
+     * 内存索引中与某篇论文最相似的k篇论文（不含其自身）
+     * @return 按余弦距离升序的命中结果，内存索引未就绪或论文不在索引中时为空
+     */
+    public List<PaperVectorIndex.Hit> memoryIndexSimilar(String arxivId, int k) {
+        PaperFilter none = new PaperFilter();
+        if (!usesMemoryIndex(none)) {
+            return List.of();
+        }
+        return isQuantized()
+            ? quantizedVectorStore.similar(arxivId, none, k, embeddingConfig.getRescoreDepth())
+            : paperVectorIndex.similar(arxivId, none, k, embeddingConfig.getMemoryIndexEfSearch());
+    }
+
+    /**
+     * 内存索引检索，按索引的排序结果重排数据库返回的论文，索引与数据库短暂不一致时跳过已不存在的论文
+     */
+    private List<ArxivPaperKeysetRepository.ScoredPaper> memoryIndexSearch(float[] query, PaperFilter filter, int k) {
+        List<PaperVectorIndex.Hit> hits = isQuantized()
+            ? quantizedVectorStore.search(query, filter, k, embeddingConfig.getRescoreDepth())
+            : paperVectorIndex.search(query, filter, k, embeddingConfig.getMemoryIndexEfSearch());
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ArxivPaper> papersById = new HashMap<>();
+        for (ArxivPaper paper : arxivPaperRepository.findByArxivIds(hits.stream().map(PaperVectorIndex.Hit::getArxivId).toList())) {
+            papersById.put(paper.getArxivId(), paper);
+        }
+        List<ArxivPaperKeysetRepository.ScoredPaper> result = new ArrayList<>(hits.size());
+        for (PaperVectorIndex.Hit hit : hits) {
+            ArxivPaper paper = papersById.get(hit.getArxivId());
+            if (paper != null) {
+                result.add(new ArxivPaperKeysetRepository.ScoredPaper(paper, hit.getDistance()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 向量化一批论文，写入向量表，启用内存索引时同时写入内存索引
+     */
+    private void store(List<PendingPaper> batch) {
+        List<float[]> vectors = embed(batch);
+        embeddingRepository.upsert(batch, vectors, modelTag);
+        if (isMemoryIndexEnabled()) {
+            List<PaperVectorIndex.IndexedVector> indexed = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingPaper paper = batch.get(i);
+                indexed.add(new PaperVectorIndex.IndexedVector(paper.getArxivId(), paper.getPrimaryCategory(),
+                    paper.getPublishedDate(), vectors.get(i)));
+            }
+            addToMemoryIndex(indexed);
+        }
+    }
+
+    private List<float[]> embed(List<PendingPaper> batch) {
+        List<TextSegment> segments = new ArrayList<>(batch.size());
+        for (PendingPaper paper : batch) {
+            segments.add(TextSegment.from(embeddingText(paper.getTitle(), paper.getSummary())));
+        }
+        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+        if (embeddings.size() != batch.size()) {
+            throw new IllegalStateException("向量数量与论文数量不一致: " + embeddings.size() + " != " + batch.size());
+        }
+        List<float[]> vectors = new ArrayList<>(embeddings.size());
+        for (Embedding embedding : embeddings) {
+            float[] vector = embedding.vector();
+            checkDimension(vector);
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private void checkDimension(float[] vector) {
+        if (vector.length != embeddingConfig.getDimensions()) {
+            throw new IllegalStateException("向量维度与配置不一致: " + vector.length + " != " + embeddingConfig.getDimensions());
+        }
+    }
+
+    private String embeddingText(String title, String summary) {
+        String text = (title != null ? title : "") + "\n" + (summary != null ? summary : "");
+        return truncate(text);
+    }
+
+    private String truncate(String text) {
+        int maxChars = embeddingConfig.getMaxInputChars();
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+}
@@ -0,0 +1,254 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.config.ArxivNeighborConfig;
+import com.mootann.arxivdaily.config.ArxivSearchConfig;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository;
+import com.mootann.arxivdaily.repository.PaperNeighborRepository;
+import com.mootann.arxivdaily.repository.PaperNeighborRepository.PendingPaper;
+import com.mootann.arxivdaily.repository.PaperNeighborRepository.SimilarPaper;
+import com.mootann.arxivdaily.repository.PaperNeighborRepository.StoredNeighbors;
+import com.mootann.arxivdaily.search.NeighborList;
+import com.mootann.arxivdaily.search.PaperSearchIndex;
+import com.mootann.arxivdaily.search.PaperVectorIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 相似论文预计算服务
+ * 每次同步后在后台为新入库或内容变化的论文计算前N篇相似论文：有向量时按余弦相似度，
+ * 否则按文本相似度（BM25索引的TF-IDF加权词项查询，索引未启用时用数据库全文检索）；
+ * 新论文进入其相似论文各自的列表时只更新这些受影响的列表，详情页读取时只需按主键查找一行
+ */
+@Slf4j
+@Service
+public class PaperNeighborService {
+
+    @Autowired
+    private ArxivNeighborConfig neighborConfig;
+
+    @Autowired
+    private ArxivSearchConfig searchConfig;
+
+    @Autowired
+    private ArxivEmbeddingConfig embeddingConfig;
+
+    @Autowired
+    private PaperNeighborRepository neighborRepository;
+
+    @Autowired
+    private PaperEmbeddingRepository embeddingRepository;
+
+    @Autowired
+    private PaperEmbeddingService paperEmbeddingService;
+
+    @Autowired
+    private PaperSearchIndex paperSearchIndex;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "paper-neighbors");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(neighborConfig.getEnabled());
+    }
+
+    /**
+     * 异步计算待更新的相似列表，已有任务在执行时直接返回
+     */
+    public void requestRefresh() {
+        if (!isEnabled() || running.get()) {
+            return;
+        }
+        executor.execute(this::refresh);
+    }
+
+    /**
+     * 分批计算所有待更新论文的相似列表，新论文优先
+     * 启用向量化时先补齐新论文的向量；向量化正在由其他任务执行时，这些论文先按文本计算，有了向量后再重新计算
+     * @return 本次计算的论文数量
+     */
+    public int refresh() {
+        if (!isEnabled() || !running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int total = 0;
+        long startTime = System.currentTimeMillis();
+        try {
+            String model = null;
+            if (paperEmbeddingService.isEnabled()) {
+                paperEmbeddingService.embedQueued();
+                model = paperEmbeddingService.getModelTag();
+            }
+            long beforeId = Long.MAX_VALUE;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingPaper> batch = neighborRepository.findPending(model, beforeId, neighborConfig.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                refreshBatch(batch);
+                total += batch.size();
+                beforeId = batch.get(batch.size() - 1).getPaperId();
+            }
+            if (total > 0) {
+                log.info("相似论文计算完成: {} 篇，耗时 {} ms", total, System.currentTimeMillis() - startTime);
+            }
+        } catch (Exception e) {
+            log.error("相似论文计算失败: 已完成={}", total, e);
+        } finally {
+            running.set(false);
+        }
+        return total;
+    }
+
+    /**
+     * 读取预计算的相似论文
+     * @param arxivId 论文ID
+     * @param limit 最多返回的条数
+     * @return 按得分降序的相似论文卡片，未启用或尚未计算时为空
+     */
+    public List<SimilarPaper> findSimilar(String arxivId, int limit) {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        return neighborRepository.findSimilarCards(arxivId, limit, searchConfig.getCardAuthorLimit(),
+            searchConfig.getCardSummaryLength());
+    }
+
+    private void refreshBatch(List<PendingPaper> batch) {
+        int size = neighborConfig.getSize();
+        Map<Long, StoredNeighbors> rows = new LinkedHashMap<>();
+        for (PendingPaper paper : batch) {
+            NeighborList neighbors = paper.isHasEmbedding() ? embeddingNeighbors(paper, size) : NeighborList.empty();
+            String source = PaperNeighborRepository.SOURCE_EMBEDDING;
+            if (neighbors.size() == 0) {
+                neighbors = lexicalNeighbors(paper, size);
+                source = PaperNeighborRepository.SOURCE_LEXICAL;
+            }
+            rows.put(paper.getPaperId(), new StoredNeighbors(paper.getPaperId(), source, paper.getContentHash(), neighbors));
+        }
+
+        // 反向更新：余弦相似度是对称的，新论文按同一得分进入其相似论文的列表；文本得分按各自的第一名归一化，不可比较
+        Set<Long> targets = new HashSet<>();
+        for (StoredNeighbors row : rows.values()) {
+            if (PaperNeighborRepository.SOURCE_EMBEDDING.equals(row.getSource())) {
+                for (int i = 0; i < row.getNeighbors().size(); i++) {
+                    long neighborId = row.getNeighbors().id(i);
+                    if (!rows.containsKey(neighborId)) {
+                        targets.add(neighborId);
+                    }
+                }
+            }
+        }
+        Map<Long, StoredNeighbors> stored = neighborRepository.findByPaperIds(targets);
+        Set<Long> changed = new HashSet<>();
+        for (StoredNeighbors row : rows.values()) {
+            if (!PaperNeighborRepository.SOURCE_EMBEDDING.equals(row.getSource())) {
+                continue;
+            }
+            int paperId = Math.toIntExact(row.getPaperId());
+            NeighborList neighbors = row.getNeighbors();
+            for (int i = 0; i < neighbors.size(); i++) {
+                StoredNeighbors target = stored.get((long) neighbors.id(i));
+                if (target == null || !PaperNeighborRepository.SOURCE_EMBEDDING.equals(target.getSource())) {
+                    continue;
+                }
+                NeighborList merged = target.getNeighbors().merge(paperId, neighbors.score(i), size);
+                if (merged != null) {
+                    target.setNeighbors(merged);
+                    changed.add(target.getPaperId());
+                }
+            }
+        }
+
+        List<StoredNeighbors> updates = new ArrayList<>(rows.values());
+        for (Long paperId : changed) {
+            updates.add(stored.get(paperId));
+        }
+        neighborRepository.saveAll(updates);
+        log.debug("相似论文批次: 计算 {} 篇，反向更新 {} 篇", rows.size(), changed.size());
+    }
+
+    /**
+     * 按向量计算相似论文，内存索引就绪时走内存索引，否则走数据库
+     */
+    private NeighborList embeddingNeighbors(PendingPaper paper, int size) {
+        List<PaperVectorIndex.Hit> hits = paperEmbeddingService.memoryIndexSimilar(paper.getArxivId(), size);
+        if (hits.isEmpty()) {
+            return embeddingRepository.similar(paper.getPaperId(), size, embeddingConfig.getEfSearch());
+        }
+        Map<String, Integer> ids = neighborRepository.findIdsByArxivIds(hits.stream().map(PaperVectorIndex.Hit::getArxivId).toList());
+        List<Integer> neighborIds = new ArrayList<>(hits.size());
+        List<Float> scores = new ArrayList<>(hits.size());
+        for (PaperVectorIndex.Hit hit : hits) {
+            Integer id = ids.get(hit.getArxivId());
+            if (id != null) {
+                neighborIds.add(id);
+                scores.add(1 - hit.getDistance());
+            }
+        }
+        return toNeighborList(neighborIds, scores, 1);
+    }
+
+    /**
+     * 按文本计算相似论文，BM25索引就绪时走索引，否则走数据库全文检索；得分按第一名归一化
+     */
+    private NeighborList lexicalNeighbors(PendingPaper paper, int size) {
+        if (!Boolean.TRUE.equals(searchConfig.getBm25Enabled()) || !paperSearchIndex.isReady()) {
+            return neighborRepository.findTextSimilar(paper.getPaperId(), size);
+        }
+        List<PaperSearchIndex.Hit> hits = paperSearchIndex.moreLikeThis(paper.getArxivId(), paper.getTitle(),
+            paper.getSummary(), size, neighborConfig.getMaxTerms());
+        if (hits.isEmpty()) {
+            return NeighborList.empty();
+        }
+        Map<String, Integer> ids = neighborRepository.findIdsByArxivIds(hits.stream().map(PaperSearchIndex.Hit::getArxivId).toList());
+        List<Integer> neighborIds = new ArrayList<>(hits.size());
+        List<Float> scores = new ArrayList<>(hits.size());
+        for (PaperSearchIndex.Hit hit : hits) {
+            Integer id = ids.get(hit.getArxivId());
+            if (id != null) {
+                neighborIds.add(id);
+                scores.add(hit.getScore());
+            }
+        }
+        return toNeighborList(neighborIds, scores, hits.get(0).getScore());
+    }
+
+    private NeighborList toNeighborList(List<Integer> ids, List<Float> scores, float scale) {
+        int[] neighborIds = new int[ids.size()];
+        float[] normalized = new float[ids.size()];
+        for (int i = 0; i < neighborIds.length; i++) {
+            neighborIds[i] = ids.get(i);
+            normalized[i] = scale > 0 ? scores.get(i) / scale : scores.get(i);
+        }
+        return new NeighborList(neighborIds, normalized);
+    }
+}
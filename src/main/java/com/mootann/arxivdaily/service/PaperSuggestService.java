@@ -0,0 +1,269 @@
+package com.mootann.arxivdaily.service;
+
+import com.mootann.arxivdaily.client.RedisClient;
+import com.mootann.arxivdaily.config.ArxivSuggestConfig;
+import com.mootann.arxivdaily.constant.RedisKeyConstant;
+import com.mootann.arxivdaily.repository.PaperCategoryCountRepository;
+import com.mootann.arxivdaily.repository.PaperSuggestRepository;
+import com.mootann.arxivdaily.repository.dto.CategoryCountDTO;
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.SuggestTrie;
+import com.mootann.arxivdaily.search.SuggestTrie.Suggestion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 检索框输入提示
+ * 候选来自论文标题、作者姓名、分类和高频检索词，冻结为只读的 {@link SuggestTrie} 后替换引用，查询不加锁。
+ * 启动后全量构建；每次同步后只从数据库读取更新时间晚于上次构建的标题和作者，合并到内存中的候选集合后重建前缀树。
+ * 检索词先过滤掉不适合展示的字符串，再在内存中按不同客户端去重累计，重建时写入Redis并裁剪低频检索词，
+ * 以Redis中的累计次数选取高频检索词
+ */
+@Slf4j
+@Service
+public class PaperSuggestService {
+
+    // 增量读取时向前多取的时间，覆盖构建时尚未提交的写入事务
+    private static final long OVERLAP_MINUTES = 10;
+    // 作为提示的检索词的最少字符数、最多词数和单个词的最大长度
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MAX_QUERY_WORD_LENGTH = 30;
+    // 检索词中允许出现的标点（字母、数字和空格之外）
+    private static final String QUERY_PUNCTUATION = "-_.:,'\"+&/()";
+    // 每个检索词在一次重建周期内最多记录的客户端数
+    private static final int MAX_CLIENTS_PER_QUERY = 1024;
+
+    @Autowired
+    private ArxivSuggestConfig suggestConfig;
+
+    @Autowired
+    private PaperSuggestRepository suggestRepository;
+
+    @Autowired
+    private PaperCategoryCountRepository categoryCountRepository;
+
+    @Autowired
+    private RedisClient redisClient;
+
+    // 以下候选集合只在构建线程中访问
+    private final Map<String, Suggestion> titles = new HashMap<>();
+    private final Map<String, Suggestion> authors = new HashMap<>();
+    private final Map<String, Suggestion> categories = new HashMap<>();
+    private final Map<String, Suggestion> queries = new HashMap<>();
+    private LocalDateTime watermark;
+
+    // 检索词 -> 本周期内检索过的客户端标识的哈希，重建时按客户端数计入Redis
+    private final Map<String, Set<Integer>> pendingQueries = new ConcurrentHashMap<>();
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+    private volatile SuggestTrie trie = SuggestTrie.empty();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "paper-suggest");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        requestRefresh();
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(suggestConfig.getEnabled());
+    }
+
+    /**
+     * 异步增量更新并重建前缀树，已有任务在排队时直接返回
+     */
+    public void requestRefresh() {
+        if (!isEnabled() || !pending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(this::refresh);
+    }
+
+    /**
+     * 查找以prefix开头的提示
+     * @param prefix 用户输入
+     * @param limit 返回条数，不超过配置的topK
+     * @return 按权重降序的提示，未启用或尚未构建时为空
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        return trie.suggest(prefix, limit);
+    }
+
+    /**
+     * 记录一次检索，只在内存中计数，下次重建时写入Redis
+     * 同一客户端在一个重建周期内重复检索只计一次；待写入的检索词达到上限后不再记录新的检索词
+     * @param query 检索文本
+     * @param clientId 客户端标识（用户ID或来源地址）
+     */
+    public void recordQuery(String query, String clientId) {
+        if (!isEnabled()) {
+            return;
+        }
+        String normalized = SuggestTrie.normalize(query);
+        if (!isSuggestableQuery(normalized, suggestConfig.getMaxKeyLength())) {
+            return;
+        }
+        Set<Integer> clients = pendingQueries.get(normalized);
+        if (clients == null) {
+            if (pendingQueries.size() >= suggestConfig.getQueryPendingLimit()) {
+                return;
+            }
+            clients = pendingQueries.computeIfAbsent(normalized, key -> ConcurrentHashMap.newKeySet());
+        }
+        if (clients.size() < MAX_CLIENTS_PER_QUERY) {
+            clients.add(Objects.hashCode(clientId));
+        }
+    }
+
+    /**
+     * 判断规范化后的检索词是否可以作为提示：长度和词数适中，含字母，只由字母、数字、空格和常见标点组成，不含链接和邮箱
+     * @param normalized {@link SuggestTrie#normalize(String)} 的结果
+     * @param maxLength 最大字符数
+     */
+    public static boolean isSuggestableQuery(String normalized, int maxLength) {
+        if (normalized.length() < MIN_QUERY_LENGTH || normalized.length() > maxLength
+            || normalized.contains("://") || normalized.contains("www.")) {
+            return false;
+        }
+        boolean hasLetter = false;
+        int words = 1;
+        int wordLength = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == ' ') {
+                if (++words > MAX_QUERY_WORDS) {
+                    return false;
+                }
+                wordLength = 0;
+                continue;
+            }
+            if (++wordLength > MAX_QUERY_WORD_LENGTH) {
+                return false;
+            }
+            if (Character.isLetter(c)) {
+                hasLetter = true;
+            } else if (!Character.isDigit(c) && QUERY_PUNCTUATION.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return hasLetter;
+    }
+
+    private void refresh() {
+        pending.set(false);
+        long startTime = System.currentTimeMillis();
+        try {
+            LocalDateTime since = watermark != null ? watermark.minusMinutes(OVERLAP_MINUTES) : null;
+            LocalDateTime[] latest = {watermark};
+            int[] titleCount = {0};
+            suggestRepository.streamTitles(since, row -> {
+                titles.put(row.getArxivId(), new Suggestion(SuggestTrie.TYPE_TITLE, row.getTitle(), row.getArxivId(), 1));
+                if (latest[0] == null || row.getUpdatedTime().isAfter(latest[0])) {
+                    latest[0] = row.getUpdatedTime();
+                }
+                titleCount[0]++;
+            });
+            suggestRepository.streamAuthors(since, row -> authors.put(row.getNameKey(),
+                new Suggestion(SuggestTrie.TYPE_AUTHOR, row.getDisplayName(), null, row.getPaperCount())));
+            refreshCategories();
+            refreshQueries();
+            watermark = latest[0];
+
+            List<Suggestion> candidates = new ArrayList<>(titles.size() + authors.size() + categories.size() + queries.size());
+            candidates.addAll(titles.values());
+            candidates.addAll(authors.values());
+            candidates.addAll(categories.values());
+            candidates.addAll(queries.values());
+            SuggestTrie built = SuggestTrie.build(candidates, suggestConfig.getTopK(), suggestConfig.getMaxKeyLength());
+            trie = built;
+            log.info("输入提示前缀树已重建: 新读取标题 {} 条, 候选 {} 条, 节点 {} 个, 结构 {} MB, 耗时 {} ms",
+                titleCount[0], built.size(), built.nodeCount(), built.structureBytes() / 1024 / 1024,
+                System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("输入提示前缀树构建失败，继续使用上一次的结果", e);
+        }
+    }
+
+    /**
+     * 分类按交叉列表口径的论文总数加权
+     */
+    private void refreshCategories() {
+        categories.clear();
+        for (CategoryCountDTO count : categoryCountRepository.sumByCrossListedCategory(null, null, null)) {
+            if (count.getCategory() != null && !PaperFilter.UNCATEGORIZED.equals(count.getCategory())) {
+                categories.put(count.getCategory(),
+                    new Suggestion(SuggestTrie.TYPE_CATEGORY, count.getCategory(), null, count.getCount()));
+            }
+        }
+    }
+
+    /**
+     * 把内存中的检索次数（客户端数）写入Redis并只保留次数最高的检索词，再取累计次数最高的检索词；
+     * Redis不可用时保留上一次的检索词
+     */
+    private void refreshQueries() {
+        boolean flushed = false;
+        for (String query : new ArrayList<>(pendingQueries.keySet())) {
+            Set<Integer> clients = pendingQueries.remove(query);
+            if (clients != null && !clients.isEmpty()) {
+                redisClient.zIncrementScore(RedisKeyConstant.SEARCH_QUERY_COUNTS, query, clients.size());
+                flushed = true;
+            }
+        }
+        if (flushed) {
+            // 按次数升序排列，删除排在保留数量之外的低频检索词
+            redisClient.zRemoveRange(RedisKeyConstant.SEARCH_QUERY_COUNTS, 0, -suggestConfig.getQueryRetainLimit() - 1L);
+        }
+        Set<ZSetOperations.TypedTuple<Object>> top = redisClient.zReverseRangeWithScores(
+            RedisKeyConstant.SEARCH_QUERY_COUNTS, 0, suggestConfig.getQueryLimit() - 1);
+        if (top == null || top.isEmpty()) {
+            return;
+        }
+        queries.clear();
+        for (ZSetOperations.TypedTuple<Object> tuple : top) {
+            if (tuple.getValue() != null && tuple.getScore() != null && tuple.getScore() >= suggestConfig.getQueryMinCount()) {
+                String query = tuple.getValue().toString();
+                // 过滤规则调整前写入Redis的检索词
+                if (!isSuggestableQuery(query, suggestConfig.getMaxKeyLength())) {
+                    continue;
+                }
+                queries.put(query, new Suggestion(SuggestTrie.TYPE_QUERY, query, null, tuple.getScore().longValue()));
+            }
+        }
+    }
+}
@@ -1,41 +1,94 @@
 package com.mootann.arxivdaily.task;
 
 import com.mootann.arxivdaily.client.ArxivClient;
-import com.mootann.arxivdaily.client.RedisClient;
-import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.client.ArxivOaiClient;
+import com.mootann.arxivdaily.config.ArxivOaiConfig;
 import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
 import com.mootann.arxivdaily.service.ArxivService;
+import com.mootann.arxivdaily.service.PaperCacheInvalidator;
+import com.mootann.arxivdaily.service.PaperNeighborService;
+import com.mootann.arxivdaily.service.PaperSuggestService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 每日定时同步arXiv论文任务
- * 每天凌晨1点自动获取当天发布的所有arxiv论文
+ * 每天凌晨1点自动同步论文，每页入库后保存游标，支持断点续传和遗漏日期补偿
  */
 @Slf4j
 @Component
 public class ArxivSyncTask {
 
-    @Autowired
-    private RedisClient redisClient;
-
     @Autowired
     private ArxivClient arxivClient;
 
     @Autowired
     private ArxivService arxivService;
 
+    @Autowired
+    private SyncCheckpointStore syncCheckpointStore;
+
+    @Autowired
+    private ArxivOaiClient arxivOaiClient;
+
+    @Autowired
+    private ArxivOaiConfig arxivOaiConfig;
+
+    @Autowired
+    private PaperNeighborService paperNeighborService;
+
+    @Autowired
+    private PaperSuggestService paperSuggestService;
+
+    @Autowired
+    private PaperCacheInvalidator paperCacheInvalidator;
+
     // arXiv API单次请求最大返回结果数限制
     private static final int API_MAX_RESULTS_PER_REQUEST = 100;
-    // 请求间隔时间（毫秒），arXiv API建议至少3秒
-    private static final long REQUEST_INTERVAL_MS = 3000;
+    // 遗漏日期最多向前补偿的天数
+    private static final int MAX_CATCH_UP_DAYS = 7;
+    // 提交日期早于今天至少该天数后才视为公布完毕：arXiv在美东时间晚间公布前一批提交，周末和节假日顺延
+    private static final int ANNOUNCEMENT_SETTLE_DAYS = 3;
+    // 单页请求失败后的最大重试次数
+    private static final int MAX_PAGE_RETRIES = 3;
+    // 重试等待基准时间（毫秒），按重试次数线性递增
+    private static final long RETRY_BACKOFF_MS = 5000;
+
+    // 防止定时任务、启动补偿和手动触发并发执行
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 防止多个OAI-PMH历史收割并发执行
+    private final AtomicBoolean harvesting = new AtomicBoolean(false);
+
+    private ExecutorService harvestExecutor;
+
+    @PostConstruct
+    public void init() {
+        harvestExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-oai-harvest");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        harvestExecutor.shutdownNow();
+    }
 
     /**
      * 每日凌晨1点执行定时任务
@@ -43,115 +96,218 @@ public class ArxivSyncTask {
      */
     @Scheduled(cron = "0 0 1 * * ?")
     public void syncDailyArxivPapers() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("arXiv论文同步任务正在执行，本次触发跳过");
+            return;
+        }
+
         log.info("========== 开始执行每日arXiv论文同步任务 ==========");
-        
+        // 各页入库时推迟列表缓存的清除，同步结束后合并执行一次
+        paperCacheInvalidator.beginBatch();
         try {
-            // 获取当天日期
             LocalDate today = LocalDate.now();
-            String todayStr = today.format(DateTimeFormatter.ISO_LOCAL_DATE);
-            
-            log.info("准备获取 {} 发布的所有arxiv论文", todayStr);
-            
-            // 获取当天发布的所有论文
-            List<ArxivPaperDTO> allPapers = fetchAllPapersForDate(todayStr);
-            
-            if (allPapers.isEmpty()) {
-                log.warn("未获取到今天新发布论文");
+            Set<LocalDate> dates = resolveDatesToSync(today);
+            log.info("本次需要同步的日期: {}", dates);
+
+            int totalSaved = 0;
+            for (LocalDate date : dates) {
+                int saved = syncDate(date, today);
+                if (saved < 0) {
+                    log.warn("日期 {} 同步中断，游标已保存，下次执行时继续", date);
+                    // 保持日期顺序，前一天未完成时不再继续后续日期
+                    break;
+                }
+                totalSaved += saved;
+            }
+
+            if (totalSaved > 0) {
+                // 受影响的列表缓存已在写入时精确清除，这里刷新估算总数依赖的统计信息
+                log.info("本次同步共保存 {} 篇新论文", totalSaved);
+                arxivService.refreshCountEstimates();
+                paperNeighborService.requestRefresh();
+                paperSuggestService.requestRefresh();
             } else {
-                log.info("成功获取 {} 篇论文，准备保存到数据库", allPapers.size());
-                
-                // 保存到数据库
-                int savedCount = arxivService.savePapersToDatabase(allPapers);
-                
-                log.info("本次同步完成: 获取 {} 篇论文，保存 {} 篇新论文到数据库", 
-                    allPapers.size(), savedCount);
-
-                redisClient.deleteByPattern(RedisClient.PAPERS_PREFIX + "*");
-                log.info("已清除论文列表缓存");
+                log.info("本次同步没有新论文入库");
             }
-            
         } catch (Exception e) {
             log.error("每日arXiv论文同步任务执行失败", e);
+        } finally {
+            paperCacheInvalidator.endBatch();
+            running.set(false);
         }
-        
         log.info("========== 每日arXiv论文同步任务执行完成 ==========");
     }
 
     /**
-     * 获取指定日期发布的所有论文
-     * 通过多次分页请求获取所有论文
-     * 
-     * @param date 日期，格式：YYYY-MM-DD
-     * @return 该日期发布的所有论文列表
+     * 应用启动后在后台线程中恢复未完成的日期并补偿遗漏的日期
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        Thread thread = new Thread(this::syncDailyArxivPapers, "arxiv-sync-resume");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 计算需要同步的日期：未完成的日期 + 最后成功日期之后到今天的所有日期
+     * @param today 今天
+     * @return 升序排列的日期集合
      */
-    private List<ArxivPaperDTO> fetchAllPapersForDate(String date) {
-        List<ArxivPaperDTO> allPapers = new ArrayList<>();
-        int currentStart = 0;
-        boolean hasMoreResults = true;
-        int batchNumber = 1;
+    private Set<LocalDate> resolveDatesToSync(LocalDate today) {
+        LocalDate earliest = today.minusDays(MAX_CATCH_UP_DAYS);
+        Set<LocalDate> dates = new TreeSet<>();
 
-        log.info("开始获取 {} 的所有论文，不限制数量", date);
+        for (LocalDate pending : syncCheckpointStore.getPendingDates()) {
+            if (!pending.isBefore(earliest) && !pending.isAfter(today)) {
+                dates.add(pending);
+            }
+        }
 
-        while (hasMoreResults) {
-            try {
-                log.info("第 {} 批请求: 起始位置={}, 每批数量={}", 
-                    batchNumber, currentStart, API_MAX_RESULTS_PER_REQUEST);
-
-                // 调用ArxivClient获取指定日期的论文
-                ArxivSearchResponse response = arxivClient.searchByDateRange(
-                    date, 
-                    date, 
-                    API_MAX_RESULTS_PER_REQUEST, 
-                    (currentStart / API_MAX_RESULTS_PER_REQUEST) + 1
-                );
-
-                if (response == null || response.getPapers() == null || response.getPapers().isEmpty()) {
-                    log.info("第 {} 批请求返回空结果，停止获取", batchNumber);
-                    hasMoreResults = false;
-                    break;
-                }
+        LocalDate lastSuccess = syncCheckpointStore.getLastSuccessDate();
+        LocalDate from = lastSuccess != null ? lastSuccess.plusDays(1) : today;
+        if (from.isBefore(earliest)) {
+            log.warn("最后成功同步日期 {} 超出补偿范围，仅补偿最近 {} 天", lastSuccess, MAX_CATCH_UP_DAYS);
+            from = earliest;
+        }
+        for (LocalDate date = from; !date.isAfter(today); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
 
-                // 累加本批次获取的论文
-                int currentBatchSize = response.getPapers().size();
-                allPapers.addAll(response.getPapers());
-                log.info("第 {} 批请求成功: 本批获取 {} 篇，累计获取 {} 篇", 
-                    batchNumber, currentBatchSize, allPapers.size());
-
-                // 更新起始位置
-                currentStart += currentBatchSize;
-
-                // 判断是否还有更多结果
-                // 如果本批次返回的数量小于请求的数量，说明已经获取完所有结果
-                if (currentBatchSize < API_MAX_RESULTS_PER_REQUEST) {
-                    log.info("本批次返回数量 ({}) 小于请求数量 ({}), 已获取所有论文", 
-                        currentBatchSize, API_MAX_RESULTS_PER_REQUEST);
-                    hasMoreResults = false;
-                } else if (response.getTotalResults() > 0 && currentStart >= response.getTotalResults()) {
-                    log.info("已获取全部论文: 累计={}, 总数={}", currentStart, response.getTotalResults());
-                    hasMoreResults = false;
-                }
+    /**
+     * 判断提交日期的论文是否已全部公布，只有公布完毕的日期才能标记为完成
+     * @param date 提交日期
+     * @param today 今天
+     * @return 是否早于今天至少 {@value #ANNOUNCEMENT_SETTLE_DAYS} 天
+     */
+    public static boolean isSettled(LocalDate date, LocalDate today) {
+        return !date.isAfter(today.minusDays(ANNOUNCEMENT_SETTLE_DAYS));
+    }
+
+    /**
+     * 从游标位置开始同步指定日期的论文，每获取一页立即入库并保存游标
+     * 近几天提交的论文仍在陆续公布，这些日期同步结束后只保存游标，不标记为完成，下次执行时重新读取；
+     * 晚公布的论文按提交时间可能排在游标之前，因此上一轮已读到末尾的日期从头读取
+     *
+     * @param date 日期
+     * @param today 今天
+     * @return 新保存的论文数量，同步中断时返回-1
+     */
+    private int syncDate(LocalDate date, LocalDate today) {
+        if (syncCheckpointStore.isCompleted(date)) {
+            log.info("日期 {} 已完成同步，跳过", date);
+            return 0;
+        }
 
-                batchNumber++;
+        String dateStr = date.toString();
+        boolean settled = isSettled(date, today);
+        int currentStart = syncCheckpointStore.getCursor(date);
+        if (!settled && currentStart > 0 && currentStart >= syncCheckpointStore.getTotalResults(date)) {
+            currentStart = 0;
+        }
+        int savedCount = 0;
+        log.info("开始同步 {} 的论文，从偏移量 {} 继续", dateStr, currentStart);
 
-                // 遵守arXiv API的请求频率限制（每次请求间隔至少3秒）
-                if (hasMoreResults) {
-                    log.debug("等待 {} 毫秒以满足API请求频率限制", REQUEST_INTERVAL_MS);
-                    Thread.sleep(REQUEST_INTERVAL_MS);
-                }
+        while (true) {
+            ArxivSearchResponse response = fetchPageWithRetry(dateStr, currentStart);
+            if (response == null) {
+                return -1;
+            }
 
-            } catch (InterruptedException e) {
-                log.error("请求过程中被中断", e);
-                Thread.currentThread().interrupt();
-                hasMoreResults = false;
+            int batchSize = response.getPapers() != null ? response.getPapers().size() : 0;
+            if (batchSize > 0) {
+                savedCount += arxivService.savePapersToDatabase(response.getPapers());
+            }
+            currentStart += batchSize;
+            syncCheckpointStore.saveCursor(date, currentStart, response.getTotalResults());
+            log.info("{} 同步进度: 本页 {} 篇，游标 {}/{}", dateStr, batchSize, currentStart, response.getTotalResults());
+
+            if (batchSize < API_MAX_RESULTS_PER_REQUEST
+                    || (response.getTotalResults() > 0 && currentStart >= response.getTotalResults())) {
+                break;
+            }
+        }
+
+        if (settled) {
+            syncCheckpointStore.markCompleted(date);
+        }
+        log.info("完成同步 {} 的论文，本次新保存 {} 篇", dateStr, savedCount);
+        return savedCount;
+    }
+
+    /**
+     * 获取单页论文，失败时按递增间隔重试
+     * @param date 日期
+     * @param start 起始偏移量
+     * @return 搜索结果，重试耗尽后返回null
+     */
+    private ArxivSearchResponse fetchPageWithRetry(String date, int start) {
+        for (int attempt = 1; attempt <= MAX_PAGE_RETRIES; attempt++) {
+            try {
+                ArxivSearchResponse response = arxivClient.searchBySubmittedDay(date, start, API_MAX_RESULTS_PER_REQUEST);
+                if (response != null) {
+                    return response;
+                }
+                log.warn("{} 偏移量 {} 请求失败，第 {}/{} 次", date, start, attempt, MAX_PAGE_RETRIES);
             } catch (Exception e) {
-                log.error("第 {} 批请求失败", batchNumber, e);
-                // 遇到错误时，停止继续获取
-                hasMoreResults = false;
+                log.warn("{} 偏移量 {} 请求异常，第 {}/{} 次", date, start, attempt, MAX_PAGE_RETRIES, e);
+            }
+            if (attempt < MAX_PAGE_RETRIES) {
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在收割线程中异步执行OAI-PMH历史收割，每页收割结果走与每日同步相同的入库流程
+     * @param from 开始日期（包含）
+     * @param until 结束日期（包含）
+     * @throws IllegalStateException 已有收割任务在执行
+     */
+    public void startHarvest(LocalDate from, LocalDate until) {
+        if (!harvesting.compareAndSet(false, true)) {
+            throw new IllegalStateException("OAI-PMH历史收割任务正在执行");
+        }
+        try {
+            harvestExecutor.execute(() -> runHarvest(from, until));
+        } catch (RejectedExecutionException e) {
+            harvesting.set(false);
+            throw new IllegalStateException("收割线程已关闭", e);
+        }
+    }
+
+    /**
+     * 执行收割，调用方已将harvesting置为true，结束时复位
+     */
+    private void runHarvest(LocalDate from, LocalDate until) {
+        log.info("========== 开始OAI-PMH历史收割: {} 至 {} ==========", from, until);
+        AtomicInteger savedCount = new AtomicInteger();
+        paperCacheInvalidator.beginBatch();
+        try {
+            for (String set : arxivOaiConfig.getSets()) {
+                arxivOaiClient.harvest(set, from, until,
+                    batch -> savedCount.addAndGet(arxivService.savePapersToDatabase(batch)));
             }
+        } catch (Exception e) {
+            log.error("OAI-PMH历史收割失败，已保存 {} 篇", savedCount.get(), e);
+        } finally {
+            paperCacheInvalidator.endBatch();
+            harvesting.set(false);
         }
 
-        log.info("完成获取 {} 的所有论文，共 {} 篇", date, allPapers.size());
-        return allPapers;
+        log.info("========== OAI-PMH历史收割完成，新保存 {} 篇 ==========", savedCount.get());
+        if (savedCount.get() > 0) {
+            arxivService.refreshCountEstimates();
+            paperNeighborService.requestRefresh();
+            paperSuggestService.requestRefresh();
+        }
     }
 
     /**
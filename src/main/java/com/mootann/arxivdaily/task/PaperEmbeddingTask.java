@@ -0,0 +1,33 @@
+package com.mootann.arxivdaily.task;
+
+import com.mootann.arxivdaily.service.PaperEmbeddingService;
+import com.mootann.arxivdaily.service.PaperNeighborService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 论文向量补齐定时任务
+ * 入库时的异步向量化失败或被跳过时，由该任务定期扫描全表补齐；补齐后按向量重新计算这些论文的相似列表
+ */
+@Slf4j
+@Component
+public class PaperEmbeddingTask {
+
+    @Autowired
+    private PaperEmbeddingService embeddingService;
+
+    @Autowired
+    private PaperNeighborService paperNeighborService;
+
+    @Scheduled(fixedDelayString = "${arxiv.embedding.interval-ms:3600000}", initialDelay = 60000)
+    public void embedPending() {
+        if (!embeddingService.isEnabled()) {
+            return;
+        }
+        if (embeddingService.embedPending() > 0) {
+            paperNeighborService.requestRefresh();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mootann.arxivdaily.task;
+
+import com.mootann.arxivdaily.client.RedisClient;
+import com.mootann.arxivdaily.constant.RedisKeyConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每日同步断点存储
+ * 以(日期, 起始偏移量)为游标保存在Redis中，每同步完一页即更新一次
+ */
+@Slf4j
+@Component
+public class SyncCheckpointStore {
+
+    // 游标保留天数，超过后自动过期
+    private static final int CURSOR_TTL_DAYS = 30;
+
+    private static final String FIELD_START = "start";
+    private static final String FIELD_TOTAL = "totalResults";
+    private static final String FIELD_COMPLETED = "completed";
+    private static final String FIELD_UPDATED_TIME = "updatedTime";
+
+    @Autowired
+    private RedisClient redisClient;
+
+    /**
+     * 获取指定日期的同步游标
+     * @param date 日期
+     * @return 下一页的起始偏移量，没有游标时返回0
+     */
+    public int getCursor(LocalDate date) {
+        Integer start = redisClient.hGet(cursorKey(date), FIELD_START, Integer.class);
+        return start != null ? start : 0;
+    }
+
+    /**
+     * 获取指定日期上一次同步时API返回的总数
+     * @param date 日期
+     * @return 总数，没有游标时返回-1
+     */
+    public int getTotalResults(LocalDate date) {
+        Integer total = redisClient.hGet(cursorKey(date), FIELD_TOTAL, Integer.class);
+        return total != null ? total : -1;
+    }
+
+    /**
+     * 判断指定日期是否已完整同步
+     * @param date 日期
+     * @return 是否已完成
+     */
+    public boolean isCompleted(LocalDate date) {
+        return Boolean.TRUE.equals(redisClient.hGet(cursorKey(date), FIELD_COMPLETED, Boolean.class));
+    }
+
+    /**
+     * 保存一页同步完成后的游标，并将日期登记为未完成
+     * @param date 日期
+     * @param nextStart 下一页的起始偏移量
+     * @param totalResults API返回的总数
+     */
+    public void saveCursor(LocalDate date, int nextStart, int totalResults) {
+        String key = cursorKey(date);
+        redisClient.hSet(key, FIELD_START, nextStart);
+        redisClient.hSet(key, FIELD_TOTAL, totalResults);
+        redisClient.hSet(key, FIELD_COMPLETED, false);
+        redisClient.hSet(key, FIELD_UPDATED_TIME, LocalDateTime.now().toString());
+        redisClient.expire(key, CURSOR_TTL_DAYS, TimeUnit.DAYS);
+        redisClient.sAdd(RedisKeyConstant.SYNC_PENDING_DATES, date.toString());
+    }
+
+    /**
+     * 标记指定日期已完整同步，并推进最后成功日期
+     * @param date 日期
+     */
+    public void markCompleted(LocalDate date) {
+        String key = cursorKey(date);
+        redisClient.hSet(key, FIELD_COMPLETED, true);
+        redisClient.hSet(key, FIELD_UPDATED_TIME, LocalDateTime.now().toString());
+        redisClient.expire(key, CURSOR_TTL_DAYS, TimeUnit.DAYS);
+        redisClient.sRemove(RedisKeyConstant.SYNC_PENDING_DATES, date.toString());
+
+        LocalDate lastSuccess = getLastSuccessDate();
+        if (lastSuccess == null || date.isAfter(lastSuccess)) {
+            redisClient.set(RedisKeyConstant.SYNC_LAST_SUCCESS_DATE, date.toString());
+        }
+        log.info("日期 {} 已完整同步", date);
+    }
+
+    /**
+     * 获取最后一次完整同步成功的日期
+     * @return 日期，没有记录时返回null
+     */
+    public LocalDate getLastSuccessDate() {
+        String value = redisClient.get(RedisKeyConstant.SYNC_LAST_SUCCESS_DATE, String.class);
+        return parseDate(value);
+    }
+
+    /**
+     * 获取所有未完成同步的日期（升序）
+     * @return 日期集合
+     */
+    public Set<LocalDate> getPendingDates() {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (Object member : redisClient.sMembers(RedisKeyConstant.SYNC_PENDING_DATES)) {
+            LocalDate date = parseDate(member != null ? member.toString() : null);
+            if (date != null) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    private String cursorKey(LocalDate date) {
+        return RedisKeyConstant.SYNC_CURSOR_PREFIX + date;
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception e) {
+            log.warn("同步日期格式不正确: {}", value);
+            return null;
+        }
+    }
+}
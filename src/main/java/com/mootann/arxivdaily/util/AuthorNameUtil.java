@@ -0,0 +1,69 @@
+package com.mootann.arxivdaily.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 作者姓名规范化
+ * 同一作者在不同来源中可能写作 "José García"、"Jose Garcia" 或 "García, José"，
+ * 规范化后得到相同的key：去除变音符号、统一小写、"姓, 名" 调整为 "名 姓"、标点和连字符视为空格。
+ * 只消除书写差异，不合并缩写（"Y. LeCun" 与 "Yann LeCun" 仍是不同的key），避免把不同的人合并到一起
+ */
+public class AuthorNameUtil {
+
+    // NFKD分解后仍不能去掉附加符号的字母
+    private static final Map<Character, String> FOLDED_LETTERS = Map.of(
+        'ø', "o", 'ł', "l", 'đ', "d", 'ð', "d", 'þ', "th", 'æ', "ae", 'œ', "oe", 'ß', "ss", 'ı', "i");
+
+    // 逗号后为这些后缀时不是 "姓, 名" 格式，例如 "John Smith, Jr."
+    private static final Set<String> SUFFIXES = Set.of("jr", "sr", "ii", "iii", "iv");
+
+    /**
+     * 计算作者姓名的规范化key
+     * @param name 原始姓名
+     * @return 规范化key，姓名为空或只含标点时返回null
+     */
+    public static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String value = name.trim();
+        int comma = value.indexOf(',');
+        if (comma > 0 && comma == value.lastIndexOf(',')) {
+            String first = value.substring(comma + 1).trim();
+            if (!first.isEmpty() && !SUFFIXES.contains(first.replace(".", "").toLowerCase(Locale.ROOT))) {
+                value = first + " " + value.substring(0, comma);
+            }
+        }
+
+        value = Normalizer.normalize(value, Normalizer.Form.NFKD).replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = FOLDED_LETTERS.get(c);
+            if (replacement != null) {
+                folded.append(replacement);
+            } else {
+                folded.append(Character.isLetterOrDigit(c) ? c : ' ');
+            }
+        }
+        String key = folded.toString().trim().replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * 规范化key中的姓（最后一个词），用于按姓的前缀查找
+     */
+    public static String surname(String key) {
+        return key.substring(key.lastIndexOf(' ') + 1);
+    }
+
+    /**
+     * 用于展示的姓名：保留原始写法，只合并空白
+     */
+    public static String displayName(String name) {
+        return name.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,56 @@
+package com.mootann.arxivdaily.util;
+
+import com.mootann.arxivdaily.repository.model.ArxivPaper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+public class ContentHashUtil {
+
+    // 字段分隔符，避免相邻字段拼接后产生歧义
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    /**
+     * 计算论文可变字段的内容哈希
+     * 覆盖标题、摘要、作者、分类、DOI、版本号和更新日期，链接类字段由arxivId推导，不参与计算
+     */
+    public static String paperContentHash(ArxivPaper paper) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, paper.getTitle());
+        append(builder, paper.getSummary());
+        append(builder, paper.getAuthors());
+        append(builder, paper.getPrimaryCategory());
+        append(builder, paper.getCategories());
+        append(builder, paper.getDoi());
+        append(builder, paper.getVersion());
+        append(builder, paper.getUpdatedDate());
+        return md5Hex(builder.toString());
+    }
+
+    /**
+     * 计算文本的MD5十六进制字符串，与PostgreSQL的md5()结果一致
+     */
+    public static String md5Hex(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5算法不可用", e);
+        }
+    }
+
+    private static void append(StringBuilder builder, Object value) {
+        if (value instanceof List<?> list) {
+            builder.append(String.join(",", list.stream().map(String::valueOf).toList()));
+        } else if (value != null) {
+            builder.append(value);
+        }
+        builder.append(FIELD_SEPARATOR);
+    }
+}
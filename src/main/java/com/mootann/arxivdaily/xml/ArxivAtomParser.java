@@ -0,0 +1,342 @@
+package com.mootann.arxivdaily.xml;
+
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * arXiv Atom响应流式解析器
+ * 基于StAX逐条读取entry并直接生成ArxivPaperDTO，避免整页字符串和JAXB对象图
+ */
+@Slf4j
+@Component
+public class ArxivAtomParser {
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String ARXIV_NS = "http://arxiv.org/schemas/atom";
+    private static final String OPENSEARCH_NS = "http://a9.com/-/spec/opensearch/1.1/";
+    private static final String ARXIV_BASE_URL = "https://arxiv.org";
+    // arXiv API错误响应的entry id特征
+    private static final String API_ERROR_MARKER = "/api/errors";
+
+    // XMLInputFactory配置完成后线程安全，全局共享一个实例（同包的其他解析器复用）
+    static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // 关闭DTD和外部实体，防止XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * 解析整页响应
+     * @param inputStream 响应字节流（由调用方负责关闭）
+     * @return 搜索结果，arXiv返回错误响应时为空结果
+     * @throws XMLStreamException 响应不是合法的XML（如连接中断导致的截断）
+     */
+    public ArxivSearchResponse parse(InputStream inputStream) throws XMLStreamException {
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        ArxivSearchResponse response = parse(inputStream, papers::add);
+        response.setPapers(papers);
+        return response;
+    }
+
+    /**
+     * 流式解析响应，每解析完一条entry即回调一次
+     * @param inputStream 响应字节流（由调用方负责关闭）
+     * @param consumer 论文回调
+     * @return 仅包含分页元数据的搜索结果（papers为null），arXiv返回错误响应时为空结果
+     * @throws XMLStreamException 响应不是合法的XML，已回调的论文不会撤回
+     */
+    public ArxivSearchResponse parse(InputStream inputStream, Consumer<ArxivPaperDTO> consumer) throws XMLStreamException {
+        ArxivSearchResponse response = new ArxivSearchResponse();
+        response.setTotalResults(0);
+        response.setStartIndex(0);
+        response.setItemsPerPage(0);
+
+        XMLStreamReader reader = null;
+        int entryCount = 0;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String ns = reader.getNamespaceURI();
+                String name = reader.getLocalName();
+                if (OPENSEARCH_NS.equals(ns)) {
+                    Integer value = parseInteger(reader.getElementText());
+                    switch (name) {
+                        case "totalResults" -> response.setTotalResults(value != null ? value : 0);
+                        case "startIndex" -> response.setStartIndex(value != null ? value : 0);
+                        case "itemsPerPage" -> response.setItemsPerPage(value != null ? value : 0);
+                        default -> { }
+                    }
+                } else if (ATOM_NS.equals(ns) && "entry".equals(name)) {
+                    ArxivPaperDTO paper = readEntry(reader);
+                    if (paper.getArxivId() != null) {
+                        consumer.accept(paper);
+                        entryCount++;
+                    }
+                }
+            }
+        } catch (ArxivApiErrorException e) {
+            log.error("arXiv API返回错误响应: {}", e.getMessage());
+            response.setTotalResults(0);
+            response.setStartIndex(0);
+            response.setItemsPerPage(0);
+            return response;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    log.debug("关闭XMLStreamReader失败", e);
+                }
+            }
+        }
+
+        log.info("StAX解析完成 - totalResults={}, startIndex={}, itemsPerPage={}, papers={}",
+            response.getTotalResults(), response.getStartIndex(), response.getItemsPerPage(), entryCount);
+        return response;
+    }
+
+    /**
+     * 读取单个entry元素，读取结束时reader位于</entry>
+     */
+    private ArxivPaperDTO readEntry(XMLStreamReader reader) throws XMLStreamException {
+        ArxivPaperDTO paper = new ArxivPaperDTO();
+        List<String> authors = new ArrayList<>();
+        Set<String> categories = new LinkedHashSet<>();
+        String rawId = null;
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String ns = reader.getNamespaceURI();
+            String name = reader.getLocalName();
+            if (ATOM_NS.equals(ns)) {
+                switch (name) {
+                    case "id" -> rawId = reader.getElementText();
+                    case "title" -> paper.setTitle(normalizeWhitespace(reader.getElementText()));
+                    case "summary" -> paper.setSummary(normalizeWhitespace(reader.getElementText()));
+                    case "published" -> paper.setPublishedDate(parseDate(reader.getElementText()));
+                    case "updated" -> paper.setUpdatedDate(parseDate(reader.getElementText()));
+                    case "category" -> {
+                        String term = reader.getAttributeValue(null, "term");
+                        if (term != null) {
+                            categories.add(term);
+                        }
+                        depth++;
+                    }
+                    case "author" -> {
+                        String author = readAuthorName(reader);
+                        if (author != null) {
+                            authors.add(author);
+                        }
+                    }
+                    // 其他元素（如link）保留深度计数，由END_ELEMENT抵消
+                    default -> depth++;
+                }
+            } else if (ARXIV_NS.equals(ns)) {
+                switch (name) {
+                    case "primary_category" -> {
+                        paper.setPrimaryCategory(reader.getAttributeValue(null, "term"));
+                        depth++;
+                    }
+                    case "doi" -> paper.setDoi(normalizeWhitespace(reader.getElementText()));
+                    default -> depth++;
+                }
+            } else {
+                depth++;
+            }
+        }
+
+        if (rawId != null && rawId.contains(API_ERROR_MARKER)) {
+            throw new ArxivApiErrorException(paper.getSummary());
+        }
+
+        paper.setArxivId(extractArxivId(rawId));
+        paper.setVersion(extractVersion(rawId));
+        paper.setAuthors(authors);
+        paper.setCategories(new ArrayList<>(categories));
+        buildPaperUrls(paper);
+        return paper;
+    }
+
+    /**
+     * 读取author元素中的name，读取结束时reader位于</author>
+     */
+    private String readAuthorName(XMLStreamReader reader) throws XMLStreamException {
+        String authorName = null;
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                if ("name".equals(reader.getLocalName())) {
+                    authorName = normalizeWhitespace(reader.getElementText());
+                } else {
+                    depth++;
+                }
+            }
+        }
+        return authorName;
+    }
+
+    /**
+     * 构建论文相关的URLs
+     */
+    public static void buildPaperUrls(ArxivPaperDTO paper) {
+        if (paper.getArxivId() != null) {
+            paper.setPdfUrl(ARXIV_BASE_URL + "/pdf/" + paper.getArxivId() + ".pdf");
+            paper.setLatexUrl(ARXIV_BASE_URL + "/e-print/" + paper.getArxivId());
+            paper.setArxivUrl(ARXIV_BASE_URL + "/abs/" + paper.getArxivId());
+        }
+    }
+
+    /**
+     * 压缩连续空白为单个空格并去除首尾空白，单次遍历不使用正则
+     * @param text 原始文本
+     * @return 规范化后的文本
+     */
+    public static String normalizeWhitespace(String text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        StringBuilder builder = new StringBuilder(length);
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = builder.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    builder.append(' ');
+                    pendingSpace = false;
+                }
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 从entry id中提取arXiv ID，例如 http://arxiv.org/abs/2301.12345v2 -> 2301.12345
+     */
+    public static String extractArxivId(String id) {
+        if (id == null) {
+            return null;
+        }
+        int absIndex = id.indexOf("/abs/");
+        if (absIndex < 0) {
+            return null;
+        }
+        String idWithVersion = id.substring(absIndex + 5).trim();
+        int versionIndex = findVersionIndex(idWithVersion);
+        return versionIndex > 0 ? idWithVersion.substring(0, versionIndex) : idWithVersion;
+    }
+
+    /**
+     * 从entry id中提取版本号，默认1
+     */
+    public static Integer extractVersion(String id) {
+        if (id == null) {
+            return 1;
+        }
+        int absIndex = id.indexOf("/abs/");
+        if (absIndex < 0) {
+            return 1;
+        }
+        String idWithVersion = id.substring(absIndex + 5).trim();
+        int versionIndex = findVersionIndex(idWithVersion);
+        if (versionIndex < 0) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(idWithVersion.substring(versionIndex + 1));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * 查找末尾版本号前的'v'位置，旧式ID（如 cs/0112017v1）同样适用
+     */
+    private static int findVersionIndex(String idWithVersion) {
+        int index = idWithVersion.lastIndexOf('v');
+        if (index <= 0 || index == idWithVersion.length() - 1) {
+            return -1;
+        }
+        for (int i = index + 1; i < idWithVersion.length(); i++) {
+            if (!Character.isDigit(idWithVersion.charAt(i))) {
+                return -1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 解析ISO时间字符串中的日期部分，例如 2025-01-01T12:00:00Z
+     */
+    public static LocalDate parseDate(String dateStr) {
+        if (dateStr == null) {
+            return null;
+        }
+        String trimmed = dateStr.trim();
+        if (trimmed.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(trimmed.substring(0, 10));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Integer parseInteger(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * arXiv API错误响应（以entry形式返回错误信息）
+     */
+    private static class ArxivApiErrorException extends RuntimeException {
+        ArxivApiErrorException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mootann.arxivdaily.xml;
+
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * OAI-PMH ListRecords单页解析结果
+ */
+@Data
+public class OaiListRecordsResult {
+    private String resumptionToken;     // 续传令牌，为空表示已是最后一页
+    private Integer completeListSize;   // 结果集总数（服务端提供时）
+    private Integer cursor;             // 本页在结果集中的起始位置
+    private int recordCount;            // 本页有效记录数
+    private int deletedCount;           // 本页已删除记录数
+    private String errorCode;           // OAI-PMH错误码，例如：noRecordsMatch
+    private String errorMessage;        // OAI-PMH错误信息
+    private List<ArxivPaperDTO> papers; // 论文列表（流式解析时为null）
+}
@@ -0,0 +1,351 @@
+package com.mootann.arxivdaily.xml;
+
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * arXiv OAI-PMH ListRecords响应流式解析器
+ * 支持arXiv和arXivRaw两种元数据格式，逐条记录生成ArxivPaperDTO
+ */
+@Slf4j
+@Component
+public class OaiPmhParser {
+
+    private static final String OAI_NS = "http://www.openarchives.org/OAI/2.0/";
+    private static final String ARXIV_NS = "http://arxiv.org/OAI/arXiv/";
+    private static final String ARXIV_RAW_NS = "http://arxiv.org/OAI/arXivRaw/";
+
+    /**
+     * 解析整页响应
+     * @param inputStream 响应字节流（由调用方负责关闭）
+     * @return 解析结果，papers为本页所有有效记录
+     */
+    public OaiListRecordsResult parse(InputStream inputStream) throws XMLStreamException {
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        OaiListRecordsResult result = parse(inputStream, papers::add);
+        result.setPapers(papers);
+        return result;
+    }
+
+    /**
+     * 流式解析响应，每解析完一条有效记录即回调一次，已删除的记录只计数
+     * @param inputStream 响应字节流（由调用方负责关闭）
+     * @param consumer 论文回调
+     * @return 续传令牌等分页信息（papers为null）
+     */
+    public OaiListRecordsResult parse(InputStream inputStream, Consumer<ArxivPaperDTO> consumer) throws XMLStreamException {
+        OaiListRecordsResult result = new OaiListRecordsResult();
+        XMLStreamReader reader = ArxivAtomParser.XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !OAI_NS.equals(reader.getNamespaceURI())) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "record" -> {
+                        ArxivPaperDTO paper = readRecord(reader);
+                        if (paper == null) {
+                            result.setDeletedCount(result.getDeletedCount() + 1);
+                        } else if (paper.getArxivId() != null) {
+                            consumer.accept(paper);
+                            result.setRecordCount(result.getRecordCount() + 1);
+                        }
+                    }
+                    case "resumptionToken" -> {
+                        result.setCompleteListSize(parseInteger(reader.getAttributeValue(null, "completeListSize")));
+                        result.setCursor(parseInteger(reader.getAttributeValue(null, "cursor")));
+                        String token = reader.getElementText().trim();
+                        result.setResumptionToken(token.isEmpty() ? null : token);
+                    }
+                    case "error" -> {
+                        result.setErrorCode(reader.getAttributeValue(null, "code"));
+                        result.setErrorMessage(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                    }
+                    default -> { }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        log.info("OAI-PMH解析完成 - records={}, deleted={}, cursor={}, completeListSize={}, hasMore={}",
+            result.getRecordCount(), result.getDeletedCount(), result.getCursor(),
+            result.getCompleteListSize(), result.getResumptionToken() != null);
+        return result;
+    }
+
+    /**
+     * 读取单个record元素，读取结束时reader位于</record>
+     * @return 论文信息，已删除的记录返回null
+     */
+    private ArxivPaperDTO readRecord(XMLStreamReader reader) throws XMLStreamException {
+        boolean deleted = false;
+        ArxivPaperDTO paper = null;
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String ns = reader.getNamespaceURI();
+            String name = reader.getLocalName();
+            if (OAI_NS.equals(ns) && "header".equals(name)) {
+                deleted = "deleted".equals(reader.getAttributeValue(null, "status"));
+                depth++;
+            } else if (ARXIV_NS.equals(ns) && "arXiv".equals(name)) {
+                paper = readArxivMetadata(reader);
+            } else if (ARXIV_RAW_NS.equals(ns) && "arXivRaw".equals(name)) {
+                paper = readArxivRawMetadata(reader);
+            } else {
+                depth++;
+            }
+        }
+        return deleted ? null : paper;
+    }
+
+    /**
+     * 读取arXiv格式元数据，读取结束时reader位于</arXiv>
+     */
+    private ArxivPaperDTO readArxivMetadata(XMLStreamReader reader) throws XMLStreamException {
+        ArxivPaperDTO paper = new ArxivPaperDTO();
+        List<String> authors = new ArrayList<>();
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "id" -> paper.setArxivId(reader.getElementText().trim());
+                case "created" -> paper.setPublishedDate(ArxivAtomParser.parseDate(reader.getElementText()));
+                case "updated" -> paper.setUpdatedDate(ArxivAtomParser.parseDate(reader.getElementText()));
+                case "title" -> paper.setTitle(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "abstract" -> paper.setSummary(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "categories" -> applyCategories(paper, reader.getElementText());
+                case "doi" -> paper.setDoi(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "author" -> {
+                    String author = readAuthorName(reader);
+                    if (author != null) {
+                        authors.add(author);
+                    }
+                }
+                // authors等容器元素及其他元素保留深度计数，由END_ELEMENT抵消
+                default -> depth++;
+            }
+        }
+
+        // arXiv格式只有一个版本时不提供updated
+        if (paper.getUpdatedDate() == null) {
+            paper.setUpdatedDate(paper.getPublishedDate());
+        }
+        // arXiv格式不包含版本信息
+        paper.setVersion(1);
+        paper.setAuthors(authors);
+        ArxivAtomParser.buildPaperUrls(paper);
+        return paper;
+    }
+
+    /**
+     * 读取arXiv格式中的author元素，拼接为"名 姓"，读取结束时reader位于</author>
+     */
+    private String readAuthorName(XMLStreamReader reader) throws XMLStreamException {
+        String keyname = null;
+        String forenames = null;
+        String suffix = null;
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "keyname" -> keyname = ArxivAtomParser.normalizeWhitespace(reader.getElementText());
+                    case "forenames" -> forenames = ArxivAtomParser.normalizeWhitespace(reader.getElementText());
+                    case "suffix" -> suffix = ArxivAtomParser.normalizeWhitespace(reader.getElementText());
+                    default -> depth++;
+                }
+            }
+        }
+
+        if (keyname == null || keyname.isEmpty()) {
+            return null;
+        }
+        StringBuilder name = new StringBuilder();
+        if (forenames != null && !forenames.isEmpty()) {
+            name.append(forenames).append(' ');
+        }
+        name.append(keyname);
+        if (suffix != null && !suffix.isEmpty()) {
+            name.append(' ').append(suffix);
+        }
+        return name.toString();
+    }
+
+    /**
+     * 读取arXivRaw格式元数据，读取结束时reader位于</arXivRaw>
+     * 发布日期取v1的提交时间，更新日期和版本号取最新版本
+     */
+    private ArxivPaperDTO readArxivRawMetadata(XMLStreamReader reader) throws XMLStreamException {
+        ArxivPaperDTO paper = new ArxivPaperDTO();
+        int latestVersion = 0;
+        LocalDate latestDate = null;
+        LocalDate firstDate = null;
+        int firstVersion = Integer.MAX_VALUE;
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "id" -> paper.setArxivId(reader.getElementText().trim());
+                case "title" -> paper.setTitle(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "abstract" -> paper.setSummary(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "categories" -> applyCategories(paper, reader.getElementText());
+                case "doi" -> paper.setDoi(ArxivAtomParser.normalizeWhitespace(reader.getElementText()));
+                case "authors" -> paper.setAuthors(splitRawAuthors(reader.getElementText()));
+                case "version" -> {
+                    int version = parseVersionAttribute(reader.getAttributeValue(null, "version"));
+                    LocalDate date = readVersionDate(reader);
+                    if (version >= latestVersion) {
+                        latestVersion = version;
+                        latestDate = date;
+                    }
+                    if (version < firstVersion) {
+                        firstVersion = version;
+                        firstDate = date;
+                    }
+                }
+                default -> depth++;
+            }
+        }
+
+        paper.setVersion(latestVersion > 0 ? latestVersion : 1);
+        paper.setPublishedDate(firstDate);
+        paper.setUpdatedDate(latestDate != null ? latestDate : firstDate);
+        if (paper.getAuthors() == null) {
+            paper.setAuthors(new ArrayList<>());
+        }
+        ArxivAtomParser.buildPaperUrls(paper);
+        return paper;
+    }
+
+    /**
+     * 读取arXivRaw格式version元素中的提交时间，读取结束时reader位于</version>
+     */
+    private LocalDate readVersionDate(XMLStreamReader reader) throws XMLStreamException {
+        LocalDate date = null;
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                if ("date".equals(reader.getLocalName())) {
+                    date = parseRfc1123Date(reader.getElementText());
+                } else {
+                    depth++;
+                }
+            }
+        }
+        return date;
+    }
+
+    /**
+     * 以空白分隔的分类列表，第一个为主分类
+     */
+    private void applyCategories(ArxivPaperDTO paper, String text) {
+        Set<String> categories = new LinkedHashSet<>();
+        String normalized = ArxivAtomParser.normalizeWhitespace(text);
+        if (normalized != null && !normalized.isEmpty()) {
+            for (String category : normalized.split(" ")) {
+                categories.add(category);
+            }
+        }
+        paper.setCategories(new ArrayList<>(categories));
+        paper.setPrimaryCategory(categories.isEmpty() ? null : categories.iterator().next());
+    }
+
+    /**
+     * 拆分arXivRaw格式中的作者字符串，例如 "A. Author, B. Author and C. Author"
+     */
+    static List<String> splitRawAuthors(String text) {
+        List<String> authors = new ArrayList<>();
+        String normalized = ArxivAtomParser.normalizeWhitespace(text);
+        if (normalized == null || normalized.isEmpty()) {
+            return authors;
+        }
+        for (String part : normalized.split(",|\\sand\\s")) {
+            String author = part.trim();
+            if (!author.isEmpty()) {
+                authors.add(author);
+            }
+        }
+        return authors;
+    }
+
+    private static int parseVersionAttribute(String value) {
+        if (value == null) {
+            return 1;
+        }
+        String digits = value.startsWith("v") ? value.substring(1) : value;
+        Integer version = parseInteger(digits);
+        return version != null ? version : 1;
+    }
+
+    /**
+     * 解析arXivRaw的提交时间，例如 Mon, 2 Apr 2007 19:18:42 GMT
+     */
+    private static LocalDate parseRfc1123Date(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(text.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toLocalDate();
+        } catch (Exception e) {
+            log.debug("arXivRaw日期格式不正确: {}", text);
+            return null;
+        }
+    }
+
+    private static Integer parseInteger(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import com.mootann.arxivdaily.xml.ArxivAtomParser;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * arXiv Atom响应解析测试
+ * 使用录制的API响应（src/test/resources/atom）
+ */
+class ArxivAtomParserTest {
+
+    private final ArxivAtomParser parser = new ArxivAtomParser();
+
+    /**
+     * 分页元数据和entry的各字段按API格式解析，空白规范化，重复分类去重，旧式ID保留分类前缀
+     */
+    @Test
+    void testParseQueryPage() throws Exception {
+        ArxivSearchResponse response;
+        try (InputStream inputStream = fixture("query-page.xml")) {
+            response = parser.parse(inputStream);
+        }
+
+        assertThat(response.getTotalResults()).isEqualTo(1532);
+        assertThat(response.getStartIndex()).isEqualTo(0);
+        assertThat(response.getItemsPerPage()).isEqualTo(2);
+        assertThat(response.getPapers()).hasSize(2);
+
+        ArxivPaperDTO paper = response.getPapers().get(0);
+        assertThat(paper.getArxivId()).isEqualTo("2501.08123");
+        assertThat(paper.getVersion()).isEqualTo(2);
+        assertThat(paper.getTitle()).isEqualTo("Sparse Mixture-of-Experts for Efficient Long-Context Retrieval");
+        assertThat(paper.getSummary()).isEqualTo("We study sparse mixture-of-experts layers for long-context retrieval. "
+            + "Code is available at https://github.com/example/sparse-moe.");
+        assertThat(paper.getAuthors()).containsExactly("Alice Zhang", "Bob Müller");
+        assertThat(paper.getPublishedDate()).isEqualTo(LocalDate.of(2025, 1, 14));
+        assertThat(paper.getUpdatedDate()).isEqualTo(LocalDate.of(2025, 1, 15));
+        assertThat(paper.getPrimaryCategory()).isEqualTo("cs.LG");
+        assertThat(paper.getCategories()).containsExactly("cs.LG", "cs.IR");
+        assertThat(paper.getDoi()).isEqualTo("10.1000/example.2025.001");
+        assertThat(paper.getPdfUrl()).isEqualTo("https://arxiv.org/pdf/2501.08123.pdf");
+        assertThat(paper.getArxivUrl()).isEqualTo("https://arxiv.org/abs/2501.08123");
+
+        ArxivPaperDTO legacy = response.getPapers().get(1);
+        assertThat(legacy.getArxivId()).isEqualTo("cs/0112017");
+        assertThat(legacy.getVersion()).isEqualTo(1);
+        assertThat(legacy.getPrimaryCategory()).isEqualTo("cs.AI");
+        assertThat(legacy.getDoi()).isNull();
+    }
+
+    /**
+     * arXiv以entry形式返回的错误响应解析为空结果
+     */
+    @Test
+    void testApiErrorResponse() throws Exception {
+        ArxivSearchResponse response;
+        try (InputStream inputStream = fixture("api-error.xml")) {
+            response = parser.parse(inputStream);
+        }
+
+        assertThat(response.getTotalResults()).isZero();
+        assertThat(response.getPapers()).isEmpty();
+    }
+
+    /**
+     * 截断的响应抛出异常而不是返回部分结果，截断前已解析的entry仍会回调
+     */
+    @Test
+    void testTruncatedResponseThrows() throws Exception {
+        byte[] bytes;
+        try (InputStream inputStream = fixture("query-page.xml")) {
+            bytes = inputStream.readAllBytes();
+        }
+        String xml = new String(bytes, StandardCharsets.UTF_8);
+        byte[] truncated = Arrays.copyOf(bytes, xml.substring(0, xml.indexOf("A Legacy Identifier")).getBytes(
+            StandardCharsets.UTF_8).length);
+
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        assertThatThrownBy(() -> parser.parse(new ByteArrayInputStream(truncated), papers::add))
+            .isInstanceOf(XMLStreamException.class);
+        assertThat(papers).extracting(ArxivPaperDTO::getArxivId).containsExactly("2501.08123");
+    }
+
+    private static InputStream fixture(String name) throws IOException {
+        InputStream inputStream = ArxivAtomParserTest.class.getResourceAsStream("/atom/" + name);
+        if (inputStream == null) {
+            throw new IOException("测试数据不存在: " + name);
+        }
+        return inputStream;
+    }
+}
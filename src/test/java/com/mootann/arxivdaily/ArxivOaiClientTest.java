@@ -0,0 +1,197 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.client.ArxivOaiClient;
+import com.mootann.arxivdaily.client.ArxivRateLimiter;
+import com.mootann.arxivdaily.config.ArxivOaiConfig;
+import com.mootann.arxivdaily.config.ArxivRateLimitConfig;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.xml.OaiPmhParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OAI-PMH收割客户端测试
+ * 使用本地HTTP服务回放录制的OAI-PMH响应（src/test/resources/oai）
+ */
+@Slf4j
+class ArxivOaiClientTest {
+
+    private HttpServer server;
+    private ArxivOaiConfig oaiConfig;
+    private ArxivOaiClient oaiClient;
+
+    // 服务端收到的请求查询串（已解码）
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    // 在正常响应前返回503的次数
+    private final AtomicInteger unavailableResponses = new AtomicInteger();
+    // 首次请求返回的录制文件
+    private volatile String firstPageFixture = "list-records-arxiv-page1.xml";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oai", this::handle);
+        server.start();
+
+        oaiConfig = new ArxivOaiConfig();
+        oaiConfig.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/oai");
+        oaiConfig.setMaxRetries(3);
+        oaiConfig.setDefaultRetryAfterSeconds(0);
+
+        ArxivRateLimitConfig rateLimitConfig = new ArxivRateLimitConfig();
+        rateLimitConfig.setIntervalMs(1L);
+        ArxivRateLimiter rateLimiter = new ArxivRateLimiter(rateLimitConfig);
+
+        oaiClient = new ArxivOaiClient(WebClient.create(), oaiConfig, new OaiPmhParser(), rateLimiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        requests.add(query);
+
+        if (unavailableResponses.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            exchange.getResponseHeaders().add("Retry-After", "0");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+
+        String fixture = query.contains("resumptionToken=6961932|1001")
+            ? "list-records-arxiv-page2.xml"
+            : firstPageFixture;
+        byte[] body;
+        try (InputStream in = getClass().getResourceAsStream("/oai/" + fixture)) {
+            body = in.readAllBytes();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * 跟随续传令牌收割全部页，跳过已删除记录，并按页回调
+     */
+    @Test
+    void testHarvestFollowsResumptionToken() {
+        List<List<ArxivPaperDTO>> batches = new ArrayList<>();
+        int total = oaiClient.harvest("cs", LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 11), batches::add);
+
+        assertThat(total).isEqualTo(3);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).extracting(ArxivPaperDTO::getArxivId).containsExactly("2401.05001", "2401.05003");
+        assertThat(batches.get(1)).extracting(ArxivPaperDTO::getArxivId).containsExactly("cs/0112017");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0)).contains("verb=ListRecords", "metadataPrefix=arXiv", "set=cs",
+            "from=2024-01-10", "until=2024-01-11");
+        assertThat(requests.get(1)).isEqualTo("verb=ListRecords&resumptionToken=6961932|1001");
+
+        ArxivPaperDTO paper = batches.get(0).get(0);
+        assertThat(paper.getTitle()).isEqualTo("Efficient Retrieval for Large Language Models");
+        assertThat(paper.getSummary()).isEqualTo("We study retrieval. Code is available at https://github.com/example/retrieval.");
+        assertThat(paper.getAuthors()).containsExactly("Wei Zhang", "John A. Smith Jr");
+        assertThat(paper.getPrimaryCategory()).isEqualTo("cs.CL");
+        assertThat(paper.getCategories()).containsExactly("cs.CL", "cs.IR", "cs.LG");
+        assertThat(paper.getPublishedDate()).isEqualTo(LocalDate.of(2024, 1, 10));
+        assertThat(paper.getUpdatedDate()).isEqualTo(LocalDate.of(2024, 1, 11));
+        assertThat(paper.getDoi()).isEqualTo("10.1000/example.2024.001");
+        assertThat(paper.getPdfUrl()).isEqualTo("https://arxiv.org/pdf/2401.05001.pdf");
+        assertThat(paper.getArxivUrl()).isEqualTo("https://arxiv.org/abs/2401.05001");
+
+        ArxivPaperDTO singleVersion = batches.get(0).get(1);
+        assertThat(singleVersion.getAuthors()).containsExactly("Collaboration");
+        assertThat(singleVersion.getUpdatedDate()).isEqualTo(singleVersion.getPublishedDate());
+    }
+
+    /**
+     * arXivRaw格式：版本号取最新版本，发布日期取v1，作者字符串拆分为列表
+     */
+    @Test
+    void testHarvestArxivRawFormat() {
+        oaiConfig.setMetadataPrefix("arXivRaw");
+        firstPageFixture = "list-records-arxivraw.xml";
+
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        int total = oaiClient.harvest("eess", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), papers::addAll);
+
+        assertThat(total).isEqualTo(1);
+        assertThat(requests.get(0)).contains("metadataPrefix=arXivRaw", "set=eess");
+
+        ArxivPaperDTO paper = papers.get(0);
+        assertThat(paper.getArxivId()).isEqualTo("2312.00042");
+        assertThat(paper.getVersion()).isEqualTo(2);
+        assertThat(paper.getPublishedDate()).isEqualTo(LocalDate.of(2023, 12, 1));
+        assertThat(paper.getUpdatedDate()).isEqualTo(LocalDate.of(2024, 1, 4));
+        assertThat(paper.getAuthors()).containsExactly("Ana Silva", "Bo Chen", "Carla Rossi");
+        assertThat(paper.getPrimaryCategory()).isEqualTo("eess.AS");
+    }
+
+    /**
+     * 服务端返回503 + Retry-After时等待后重试同一请求
+     */
+    @Test
+    void testHarvestRetriesOnServiceUnavailable() {
+        unavailableResponses.set(2);
+
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        int total = oaiClient.harvest("cs", LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 11), papers::addAll);
+
+        assertThat(total).isEqualTo(3);
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(0)).isEqualTo(requests.get(2));
+    }
+
+    /**
+     * 重试次数耗尽后抛出异常
+     */
+    @Test
+    void testHarvestFailsAfterMaxRetries() {
+        unavailableResponses.set(10);
+
+        assertThatThrownBy(() -> oaiClient.harvest("cs", LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 11), batch -> { }))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(requests).hasSize(3);
+    }
+
+    /**
+     * noRecordsMatch视为空结果而不是错误
+     */
+    @Test
+    void testHarvestNoRecordsMatch() {
+        firstPageFixture = "no-records-match.xml";
+
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        int total = oaiClient.harvest("cs", LocalDate.of(2030, 1, 1), null, papers::addAll);
+
+        assertThat(total).isZero();
+        assertThat(papers).isEmpty();
+        assertThat(requests).hasSize(1);
+    }
+}
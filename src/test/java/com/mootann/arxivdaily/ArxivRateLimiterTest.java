@@ -0,0 +1,167 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.client.ArxivRateLimiter;
+import com.mootann.arxivdaily.client.ArxivRateLimiter.Priority;
+import com.mootann.arxivdaily.client.RedisClient;
+import com.mootann.arxivdaily.config.ArxivRateLimitConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * arXiv请求限流器测试
+ * 本地令牌桶按真实时间发放，间隔取较小值，断言只检查下限和宽松的上限
+ */
+class ArxivRateLimiterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<ArxivRateLimiter> limiters = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        limiters.forEach(ArxivRateLimiter::shutdown);
+    }
+
+    /**
+     * 桶内的突发令牌立即放行，用完后按间隔补充，空闲再久也不超过桶容量
+     */
+    @Test
+    void testBurstThenRefill() {
+        ArxivRateLimiter limiter = limiter("local", 200, 3, 100);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        }
+        assertThat(elapsedMs(start)).isLessThan(150);
+
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        assertThat(elapsedMs(start)).isGreaterThanOrEqualTo(180);
+
+        // 空闲超过3个间隔后桶满，只能再立即放行3个
+        sleep(700);
+        start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        }
+        assertThat(elapsedMs(start)).isLessThan(150);
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        assertThat(elapsedMs(start)).isGreaterThanOrEqualTo(180);
+    }
+
+    /**
+     * 令牌不足时等待者按优先级放行，同一优先级先来先到
+     */
+    @Test
+    void testPriorityThenFifoOrdering() throws InterruptedException {
+        ArxivRateLimiter limiter = limiter("local", 150, 1, 100);
+        // 用掉桶内唯一的令牌，之后的请求都要排队
+        limiter.acquire(Priority.INTERACTIVE).block(TIMEOUT);
+
+        List<String> granted = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(5);
+        String[] names = {"backfill-1", "sync-1", "interactive-1", "backfill-2", "interactive-2"};
+        Priority[] priorities = {Priority.BACKFILL, Priority.SYNC, Priority.INTERACTIVE, Priority.BACKFILL, Priority.INTERACTIVE};
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            limiter.acquire(priorities[i]).subscribe(null, e -> done.countDown(), () -> {
+                granted.add(name);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(granted).containsExactly("interactive-1", "interactive-2", "sync-1", "backfill-1", "backfill-2");
+        assertThat(limiter.getStats().getQueueDepth()).isZero();
+    }
+
+    /**
+     * 排队数量达到上限时新请求立即失败；取消的等待者移出队列，不占用令牌
+     */
+    @Test
+    void testQueueLimitAndCancel() {
+        ArxivRateLimiter limiter = limiter("local", 10_000, 1, 1);
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+
+        Disposable waiting = limiter.acquire(Priority.SYNC).subscribe();
+        assertThat(limiter.getStats().getQueueDepth()).isEqualTo(1);
+        assertThatThrownBy(() -> limiter.acquire(Priority.INTERACTIVE).block(TIMEOUT))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.getStats().getRejected()).isEqualTo(1);
+
+        waiting.dispose();
+        assertThat(limiter.getStats().getQueueDepth()).isZero();
+    }
+
+    /**
+     * Redis模式按Lua脚本返回的等待时间重新调度，参数为桶容量和发放间隔；脚本执行失败时退化为本地令牌桶
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRedisModeFollowsScriptWait() {
+        RedisClient redisClient = mock(RedisClient.class);
+        when(redisClient.execute(any(DefaultRedisScript.class), anyList(), any(), any()))
+            .thenReturn(0L, 200L, 0L, null);
+        ArxivRateLimiter limiter = limiter("redis", 10_000, 2, 100);
+        ReflectionTestUtils.setField(limiter, "redisClient", redisClient);
+
+        long start = System.nanoTime();
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        assertThat(elapsedMs(start)).isLessThan(150);
+
+        // 脚本返回200毫秒后才有令牌，重新执行后放行
+        start = System.nanoTime();
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        assertThat(elapsedMs(start)).isGreaterThanOrEqualTo(180);
+
+        // 脚本返回null时使用本地令牌桶，本地桶仍有令牌
+        start = System.nanoTime();
+        limiter.acquire(Priority.SYNC).block(TIMEOUT);
+        assertThat(elapsedMs(start)).isLessThan(150);
+
+        verify(redisClient, atLeast(4)).execute(any(DefaultRedisScript.class), eq(List.of("ratelimit:arxiv")), eq(2L), eq(10_000L));
+    }
+
+    private ArxivRateLimiter limiter(String mode, long intervalMs, int burst, int maxQueueSize) {
+        ArxivRateLimitConfig config = new ArxivRateLimitConfig();
+        config.setMode(mode);
+        config.setIntervalMs(intervalMs);
+        config.setBurst(burst);
+        config.setMaxQueueSize(maxQueueSize);
+        ArxivRateLimiter limiter = new ArxivRateLimiter(config);
+        limiters.add(limiter);
+        return limiter;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
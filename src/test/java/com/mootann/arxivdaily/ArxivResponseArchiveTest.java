@@ -0,0 +1,141 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.client.ArxivResponseArchive;
+import com.mootann.arxivdaily.config.ArxivArchiveConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * arXiv API响应归档测试
+ */
+class ArxivResponseArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ArxivArchiveConfig config;
+    private ArxivResponseArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        config = new ArxivArchiveConfig();
+        config.setEnabled(true);
+        config.setDirectory(tempDir.toString());
+        archive = new ArxivResponseArchive(config);
+        archive.init();
+    }
+
+    private void store(String key, byte[] body) throws IOException {
+        try (ArxivResponseArchive.Recording recording = archive.record(key, new ByteArrayInputStream(body))) {
+            recording.readNBytes(body.length / 2);
+            recording.commit();
+        }
+    }
+
+    private byte[] read(String key) throws IOException {
+        try (InputStream inputStream = archive.open(key)) {
+            return inputStream != null ? inputStream.readAllBytes() : null;
+        }
+    }
+
+    /**
+     * 规范化后相同的查询得到相同的key，分页参数不同则key不同
+     */
+    @Test
+    void testKeyNormalization() {
+        String key = ArxivResponseArchive.key("cat:cs.AI  and  ti:llm", 0, 100, "submittedDate", "ascending");
+        assertThat(ArxivResponseArchive.key(" cat:cs.AI AND ti:llm ", 0, 100, "submittedDate", "ascending")).isEqualTo(key);
+        assertThat(ArxivResponseArchive.key("cat:cs.AI AND ti:llm", 100, 100, "submittedDate", "ascending")).isNotEqualTo(key);
+        assertThat(ArxivResponseArchive.key("cat:cs.AI AND ti:llm", 0, 50, "submittedDate", "ascending")).isNotEqualTo(key);
+    }
+
+    /**
+     * 只读取一半也会在提交时写入完整响应，重启后可从磁盘重建索引
+     */
+    @Test
+    void testRecordCommitAndReload() throws IOException {
+        String key = ArxivResponseArchive.key("cat:cs.AI", 0, 100, null, null);
+        byte[] body = "<feed><entry>paper</entry></feed>".getBytes(StandardCharsets.UTF_8);
+        store(key, body);
+
+        assertThat(read(key)).isEqualTo(body);
+
+        ArxivResponseArchive reloaded = new ArxivResponseArchive(config);
+        reloaded.init();
+        assertThat(reloaded.size()).isEqualTo(1);
+        try (InputStream inputStream = reloaded.open(key)) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(body);
+        }
+    }
+
+    /**
+     * 未提交的记录不会写入归档
+     */
+    @Test
+    void testAbortDiscardsRecording() throws IOException {
+        String key = ArxivResponseArchive.key("cat:cs.CL", 0, 100, null, null);
+        try (ArxivResponseArchive.Recording recording = archive.record(key, new ByteArrayInputStream(new byte[]{1, 2, 3}))) {
+            recording.readAllBytes();
+        }
+
+        assertThat(read(key)).isNull();
+        assertThat(archive.size()).isZero();
+    }
+
+    /**
+     * read-through模式下过期的页视为未命中，回放模式忽略过期时间
+     */
+    @Test
+    void testTtlAndReplay() throws Exception {
+        config.setTtlHours(0);
+        String key = ArxivResponseArchive.key("cat:cs.LG", 0, 100, null, null);
+        store(key, "<feed/>".getBytes(StandardCharsets.UTF_8));
+        Thread.sleep(10);
+
+        assertThat(read(key)).isNull();
+
+        config.setMode(ArxivResponseArchive.MODE_REPLAY);
+        assertThat(read(key)).isNotNull();
+    }
+
+    /**
+     * 超出容量上限时淘汰最久未访问的页
+     */
+    @Test
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        config.setMaxSizeMb(1L);
+        Random random = new Random(42);
+        byte[] body = new byte[400 * 1024];
+
+        String first = ArxivResponseArchive.key("q", 0, 100, null, null);
+        String second = ArxivResponseArchive.key("q", 100, 100, null, null);
+        String third = ArxivResponseArchive.key("q", 200, 100, null, null);
+
+        random.nextBytes(body);
+        store(first, body);
+        Thread.sleep(5);
+        random.nextBytes(body);
+        store(second, body);
+        Thread.sleep(5);
+        // 访问第一页，使第二页成为最久未访问的页
+        assertThat(read(first)).isNotNull();
+        Thread.sleep(5);
+        random.nextBytes(body);
+        store(third, body);
+
+        assertThat(archive.totalBytes()).isLessThanOrEqualTo(1024 * 1024);
+        assertThat(read(second)).isNull();
+        assertThat(read(first)).isNotNull();
+        assertThat(read(third)).isNotNull();
+    }
+}
@@ -0,0 +1,120 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.client.ArxivClient;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import com.mootann.arxivdaily.service.ArxivService;
+import com.mootann.arxivdaily.service.PaperCacheInvalidator;
+import com.mootann.arxivdaily.service.PaperNeighborService;
+import com.mootann.arxivdaily.service.PaperSuggestService;
+import com.mootann.arxivdaily.task.ArxivSyncTask;
+import com.mootann.arxivdaily.task.SyncCheckpointStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 每日同步的完成判定：近几天提交的论文仍在陆续公布，这些日期保持未完成并在下次执行时重新读取
+ */
+class ArxivSyncTaskTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final ArxivClient arxivClient = mock(ArxivClient.class);
+    private final ArxivService arxivService = mock(ArxivService.class);
+    private final SyncCheckpointStore checkpointStore = mock(SyncCheckpointStore.class);
+    private ArxivSyncTask task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        task = new ArxivSyncTask();
+        ReflectionTestUtils.setField(task, "arxivClient", arxivClient);
+        ReflectionTestUtils.setField(task, "arxivService", arxivService);
+        ReflectionTestUtils.setField(task, "syncCheckpointStore", checkpointStore);
+        ReflectionTestUtils.setField(task, "paperNeighborService", mock(PaperNeighborService.class));
+        ReflectionTestUtils.setField(task, "paperSuggestService", mock(PaperSuggestService.class));
+        ReflectionTestUtils.setField(task, "paperCacheInvalidator", mock(PaperCacheInvalidator.class));
+
+        when(checkpointStore.getPendingDates()).thenReturn(Set.of());
+        when(checkpointStore.getTotalResults(any())).thenReturn(-1);
+        when(arxivService.savePapersToDatabase(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(arxivClient.searchBySubmittedDay(anyString(), anyInt(), anyInt())).thenReturn(page(2));
+    }
+
+    @Test
+    void testSettledRule() {
+        assertThat(ArxivSyncTask.isSettled(today, today)).isFalse();
+        assertThat(ArxivSyncTask.isSettled(today.minusDays(1), today)).isFalse();
+        assertThat(ArxivSyncTask.isSettled(today.minusDays(2), today)).isFalse();
+        assertThat(ArxivSyncTask.isSettled(today.minusDays(3), today)).isTrue();
+        assertThat(ArxivSyncTask.isSettled(today.minusDays(10), today)).isTrue();
+    }
+
+    /**
+     * 读到末尾后只有公布完毕的日期标记为完成，最近的日期只保存游标
+     */
+    @Test
+    void testRecentDatesStayPending() {
+        when(checkpointStore.getLastSuccessDate()).thenReturn(today.minusDays(5));
+
+        task.syncDailyArxivPapers();
+
+        verify(checkpointStore).markCompleted(today.minusDays(4));
+        verify(checkpointStore).markCompleted(today.minusDays(3));
+        for (int days = 0; days <= 2; days++) {
+            verify(checkpointStore, never()).markCompleted(today.minusDays(days));
+            verify(checkpointStore).saveCursor(today.minusDays(days), 2, 2);
+        }
+    }
+
+    /**
+     * 未公布完毕且上一轮已读到末尾的日期从头读取；已公布完毕的日期从游标继续
+     */
+    @Test
+    void testRereadUnsettledDateFromStart() throws Exception {
+        LocalDate recent = today.minusDays(1);
+        LocalDate settled = today.minusDays(4);
+        when(checkpointStore.getLastSuccessDate()).thenReturn(today.minusDays(2));
+        when(checkpointStore.getPendingDates()).thenReturn(Set.of(settled));
+        when(checkpointStore.getCursor(recent)).thenReturn(2);
+        when(checkpointStore.getTotalResults(recent)).thenReturn(2);
+        when(checkpointStore.getCursor(settled)).thenReturn(2);
+        when(checkpointStore.getTotalResults(settled)).thenReturn(2);
+
+        task.syncDailyArxivPapers();
+
+        verify(arxivClient).searchBySubmittedDay(eq(recent.toString()), eq(0), anyInt());
+        verify(arxivClient, never()).searchBySubmittedDay(eq(recent.toString()), eq(2), anyInt());
+        verify(arxivClient).searchBySubmittedDay(eq(settled.toString()), eq(2), anyInt());
+        verify(checkpointStore).markCompleted(settled);
+        verify(checkpointStore, never()).markCompleted(recent);
+    }
+
+    private static ArxivSearchResponse page(int size) {
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ArxivPaperDTO paper = new ArxivPaperDTO();
+            paper.setArxivId("2401.0000" + i);
+            papers.add(paper);
+        }
+        ArxivSearchResponse response = new ArxivSearchResponse();
+        response.setTotalResults(size);
+        response.setPapers(papers);
+        return response;
+    }
+}
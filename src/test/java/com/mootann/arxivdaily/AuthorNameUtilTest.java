@@ -0,0 +1,36 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.util.AuthorNameUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 作者姓名规范化测试
+ */
+class AuthorNameUtilTest {
+
+    /**
+     * 大小写、变音符号、"姓, 名" 顺序和标点不同的写法得到相同的key
+     */
+    @Test
+    void testEquivalentSpellings() {
+        String key = AuthorNameUtil.normalize("José García-López");
+        assertThat(key).isEqualTo("jose garcia lopez");
+        assertThat(AuthorNameUtil.normalize("  jose   GARCIA lopez ")).isEqualTo(key);
+        assertThat(AuthorNameUtil.normalize("García-López, José")).isEqualTo(key);
+        assertThat(AuthorNameUtil.normalize("Søren Łukasz")).isEqualTo("soren lukasz");
+        assertThat(AuthorNameUtil.surname(key)).isEqualTo("lopez");
+    }
+
+    /**
+     * 逗号后的后缀不按 "姓, 名" 处理，缩写不与全名合并，空白姓名返回null
+     */
+    @Test
+    void testSuffixAndInitials() {
+        assertThat(AuthorNameUtil.normalize("John A. Smith, Jr.")).isEqualTo("john a smith jr");
+        assertThat(AuthorNameUtil.normalize("Y. LeCun")).isNotEqualTo(AuthorNameUtil.normalize("Yann LeCun"));
+        assertThat(AuthorNameUtil.normalize(" ")).isNull();
+        assertThat(AuthorNameUtil.normalize("...")).isNull();
+    }
+}
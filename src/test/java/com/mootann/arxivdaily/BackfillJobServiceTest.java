@@ -0,0 +1,199 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.client.ArxivClient;
+import com.mootann.arxivdaily.client.ArxivRateLimiter.Priority;
+import com.mootann.arxivdaily.config.ArxivBackfillConfig;
+import com.mootann.arxivdaily.repository.dto.BackfillJobRequest;
+import com.mootann.arxivdaily.repository.dto.BackfillProgressDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivPaperDTO;
+import com.mootann.arxivdaily.repository.dto.arxiv.ArxivSearchResponse;
+import com.mootann.arxivdaily.service.ArxivService;
+import com.mootann.arxivdaily.service.BackfillJobService;
+import com.mootann.arxivdaily.service.PaperCacheInvalidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 回填任务的暂停、恢复、取消和重试
+ * arXiv客户端和入库服务为模拟对象，重试等待设为0
+ */
+class BackfillJobServiceTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final ArxivClient arxivClient = mock(ArxivClient.class);
+    private final ArxivService arxivService = mock(ArxivService.class);
+    private final PaperCacheInvalidator paperCacheInvalidator = mock(PaperCacheInvalidator.class);
+    private final ArxivBackfillConfig backfillConfig = new ArxivBackfillConfig();
+    private BackfillJobService service;
+
+    @BeforeEach
+    void setUp() {
+        backfillConfig.setWorkerThreads(2);
+        backfillConfig.setPageSize(2);
+        backfillConfig.setRetryBackoffMs(0L);
+        when(arxivService.savePapersToDatabase(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        service = new BackfillJobService();
+        ReflectionTestUtils.setField(service, "arxivClient", arxivClient);
+        ReflectionTestUtils.setField(service, "arxivService", arxivService);
+        ReflectionTestUtils.setField(service, "backfillConfig", backfillConfig);
+        ReflectionTestUtils.setField(service, "paperCacheInvalidator", paperCacheInvalidator);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * 暂停后分区在当前页完成时让出线程，恢复后从下一页的偏移量继续，已请求的页不重复请求
+     */
+    @Test
+    void testPauseThenResumeContinuesAtOffset() throws Exception {
+        CountDownLatch firstPageStarted = new CountDownLatch(1);
+        CountDownLatch paused = new CountDownLatch(1);
+        when(arxivClient.searchBySubmittedDay(anyString(), isNull(), anyInt(), anyInt(), eq(Priority.BACKFILL)))
+            .thenAnswer(invocation -> {
+                int start = invocation.getArgument(2);
+                if (start == 0) {
+                    firstPageStarted.countDown();
+                    paused.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                return page(start, 2, 6);
+            });
+
+        String jobId = service.start(request("2024-01-02", "2024-01-02")).getJobId();
+        assertThat(firstPageStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(service.pause(jobId).getStatus()).isEqualTo("PAUSED");
+        paused.countDown();
+
+        // 第一页入库后分区让出线程，不再请求后续页
+        waitFor(() -> service.getProgress(jobId).getPagesDone() == 1);
+        verify(paperCacheInvalidator, timeout(TIMEOUT_MS)).endBatch();
+        verify(arxivClient, times(1)).searchBySubmittedDay(anyString(), any(), anyInt(), anyInt(), any());
+        assertThat(service.getProgress(jobId).getStatus()).isEqualTo("PAUSED");
+
+        service.resume(jobId);
+        waitFor(() -> "COMPLETED".equals(service.getProgress(jobId).getStatus()));
+
+        InOrder order = inOrder(arxivClient);
+        for (int start : new int[]{0, 2, 4}) {
+            order.verify(arxivClient).searchBySubmittedDay("2024-01-02", null, start, 2, Priority.BACKFILL);
+        }
+        order.verifyNoMoreInteractions();
+        BackfillProgressDTO progress = service.getProgress(jobId);
+        assertThat(progress.getPagesDone()).isEqualTo(3);
+        assertThat(progress.getPapersFetched()).isEqualTo(6);
+        assertThat(progress.getCompletedPartitions()).isEqualTo(1);
+    }
+
+    /**
+     * 取消后正在请求的分区不再请求下一页，排队中的分区不发起请求，任务不能再恢复
+     */
+    @Test
+    void testCancelStopsAllPartitions() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(arxivClient.searchBySubmittedDay(anyString(), anyString(), anyInt(), anyInt(), eq(Priority.BACKFILL)))
+            .thenAnswer(invocation -> {
+                requests.incrementAndGet();
+                running.countDown();
+                cancelled.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                return page(invocation.getArgument(2), 2, 10);
+            });
+
+        BackfillJobRequest request = request("2024-01-01", "2024-01-03");
+        request.setCategories(List.of("cs.AI", "cs.LG"));
+        String jobId = service.start(request).getJobId();
+        assertThat(running.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(service.cancel(jobId).getStatus()).isEqualTo("CANCELLED");
+        cancelled.countDown();
+
+        // 6个分区都已出队（每个分区执行时开启和结束一次缓存批次）
+        verify(paperCacheInvalidator, timeout(TIMEOUT_MS).times(6)).endBatch();
+        assertThat(requests.get()).isEqualTo(2);
+        BackfillProgressDTO progress = service.getProgress(jobId);
+        assertThat(progress.getStatus()).isEqualTo("CANCELLED");
+        assertThat(progress.getCompletedPartitions()).isZero();
+        assertThat(progress.getFailedPartitions()).isZero();
+        assertThatThrownBy(() -> service.resume(jobId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * 单页请求失败后重试，成功后按原偏移量继续
+     */
+    @Test
+    void testRetryFailedPage() throws Exception {
+        backfillConfig.setMaxPageRetries(3);
+        when(arxivClient.searchBySubmittedDay(anyString(), isNull(), anyInt(), anyInt(), eq(Priority.BACKFILL)))
+            .thenThrow(new IllegalStateException("连接超时"))
+            .thenReturn(null)
+            .thenReturn(page(0, 1, 1));
+
+        String jobId = service.start(request("2024-01-02", "2024-01-02")).getJobId();
+        waitFor(() -> "COMPLETED".equals(service.getProgress(jobId).getStatus()));
+
+        verify(arxivClient, times(3)).searchBySubmittedDay("2024-01-02", null, 0, 2, Priority.BACKFILL);
+        BackfillProgressDTO progress = service.getProgress(jobId);
+        assertThat(progress.getCompletedPartitions()).isEqualTo(1);
+        assertThat(progress.getFailedPartitions()).isZero();
+        assertThat(progress.getPapersFetched()).isEqualTo(1);
+    }
+
+    private static BackfillJobRequest request(String startDate, String endDate) {
+        BackfillJobRequest request = new BackfillJobRequest();
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return request;
+    }
+
+    private static ArxivSearchResponse page(int start, int size, int total) {
+        List<ArxivPaperDTO> papers = new ArrayList<>();
+        for (int i = start; i < Math.min(start + size, total); i++) {
+            ArxivPaperDTO paper = new ArxivPaperDTO();
+            paper.setArxivId("2401." + String.format("%05d", i));
+            papers.add(paper);
+        }
+        ArxivSearchResponse response = new ArxivSearchResponse();
+        response.setTotalResults(total);
+        response.setStartIndex(start);
+        response.setPapers(papers);
+        return response;
+    }
+
+    private static void waitFor(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.get()) {
+            assertThat(System.currentTimeMillis()).as("等待条件超时").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
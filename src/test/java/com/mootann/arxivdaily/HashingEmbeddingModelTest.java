@@ -0,0 +1,50 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.search.HashingEmbeddingModel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 特征哈希向量模型测试
+ */
+class HashingEmbeddingModelTest {
+
+    private final HashingEmbeddingModel model = new HashingEmbeddingModel(256);
+
+    /**
+     * 相同文本得到相同的单位向量，维度与配置一致
+     */
+    @Test
+    void testDeterministicUnitVector() {
+        float[] first = vector("Attention is all you need");
+        float[] second = new HashingEmbeddingModel(256).embed("Attention is all you need").content().vector();
+        assertThat(first).hasSize(256).containsExactly(second);
+        assertThat(model.dimension()).isEqualTo(256);
+        assertThat(dot(first, first)).isCloseTo(1.0, within(1e-5));
+    }
+
+    /**
+     * 共享词汇越多的文本余弦相似度越高
+     */
+    @Test
+    void testSimilarTextsAreCloser() {
+        float[] query = vector("graph neural networks for molecules");
+        float[] similar = vector("Graph neural network models of molecular property prediction");
+        float[] unrelated = vector("Dark matter halos in cosmological simulations");
+        assertThat(dot(query, similar)).isGreaterThan(dot(query, unrelated));
+    }
+
+    private float[] vector(String text) {
+        return model.embed(text).content().vector();
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.search.NeighborList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 相似论文列表的float16编码和插入测试
+ */
+class NeighborListTest {
+
+    /**
+     * 0~1的得分往返误差不超过半个最小精度单位，特殊值原样保留
+     */
+    @Test
+    void testFloat16RoundTrip() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            float value = random.nextFloat();
+            float decoded = NeighborList.fromFloat16(NeighborList.toFloat16(value));
+            assertThat(decoded).isCloseTo(value, within(Math.max(Math.ulp(value) * 4100, 0x1p-24f)));
+        }
+        assertThat(NeighborList.fromFloat16(NeighborList.toFloat16(0f))).isEqualTo(0f);
+        assertThat(NeighborList.fromFloat16(NeighborList.toFloat16(1f))).isEqualTo(1f);
+        assertThat(NeighborList.fromFloat16(NeighborList.toFloat16(-0.5f))).isEqualTo(-0.5f);
+        assertThat(NeighborList.fromFloat16(NeighborList.toFloat16(1e6f))).isEqualTo(Float.POSITIVE_INFINITY);
+        assertThat(NeighborList.fromFloat16(NeighborList.toFloat16(1e-6f))).isCloseTo(1e-6f, within(0x1p-25f));
+    }
+
+    /**
+     * 编码后每篇2字节，解码得到相同的列表
+     */
+    @Test
+    void testEncodeDecode() {
+        NeighborList list = new NeighborList(new int[]{7, 3, 11}, new float[]{0.875f, 0.5f, 0.25f});
+        byte[] scores = list.encodeScores();
+        assertThat(scores).hasSize(6);
+        assertThat(NeighborList.decode(list.ids(), scores)).isEqualTo(list);
+    }
+
+    /**
+     * 按得分插入；已存在时只接受更高的得分；列表已满时淘汰最低分，得分不足时返回null
+     */
+    @Test
+    void testMerge() {
+        NeighborList list = new NeighborList(new int[]{1, 2, 3}, new float[]{0.9f, 0.7f, 0.5f});
+
+        NeighborList inserted = list.merge(4, 0.8f, 5);
+        assertThat(inserted.ids()).containsExactly(1, 4, 2, 3);
+        assertThat(list.merge(4, 0.1f, 5).ids()).containsExactly(1, 2, 3, 4);
+
+        assertThat(list.merge(3, 0.4f, 5)).isNull();
+        NeighborList raised = list.merge(3, 0.95f, 5);
+        assertThat(raised.ids()).containsExactly(3, 1, 2);
+        assertThat(raised.score(0)).isEqualTo(0.95f);
+
+        assertThat(list.merge(4, 0.5f, 3)).isNull();
+        NeighborList full = list.merge(4, 0.6f, 3);
+        assertThat(full.ids()).containsExactly(1, 2, 4);
+        assertThat(list.merge(4, 0.95f, 2).ids()).containsExactly(4, 1);
+        assertThat(list.merge(4, 1f, 0)).isNull();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.PaperCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 游标编解码测试
+ */
+class PaperCursorTest {
+
+    /**
+     * 编码后可无损还原，得分按浮点位精确保存
+     */
+    @Test
+    void testRoundTrip() {
+        PaperCursor cursor = new PaperCursor(0.1f / 3, LocalDate.of(2024, 5, 17), 123456L);
+        PaperCursor decoded = PaperCursor.decode(cursor.encode());
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(Float.floatToIntBits(decoded.getScore())).isEqualTo(Float.floatToIntBits(cursor.getScore()));
+
+        PaperCursor withoutScore = new PaperCursor(null, LocalDate.of(2024, 1, 1), 1L);
+        assertThat(PaperCursor.decode(withoutScore.encode())).isEqualTo(withoutScore);
+        assertThat(withoutScore.encode()).doesNotContain("|", "=", "+", "/");
+    }
+
+    /**
+     * 空游标表示第一页，格式错误的游标抛出IllegalArgumentException
+     */
+    @Test
+    void testDecodeInvalid() {
+        assertThat(PaperCursor.decode(null)).isNull();
+        assertThat(PaperCursor.decode(" ")).isNull();
+        assertThatThrownBy(() -> PaperCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PaperCursor.decode("djF8fGJhZHwx")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.config.ArxivEmbeddingConfig;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository;
+import com.mootann.arxivdaily.repository.PaperEmbeddingRepository.PendingPaper;
+import com.mootann.arxivdaily.service.PaperEmbeddingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 入库后登记的论文在全表补齐执行期间或批次失败后仍会被处理，不会滞留在队列中
+ * 向量模型使用本地哈希模型，向量表为模拟对象
+ */
+class PaperEmbeddingQueueTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final PaperEmbeddingRepository embeddingRepository = mock(PaperEmbeddingRepository.class);
+    private PaperEmbeddingService service;
+
+    @BeforeEach
+    void setUp() {
+        ArxivEmbeddingConfig config = new ArxivEmbeddingConfig();
+        config.setEnabled(true);
+        config.setProvider("hashing");
+        config.setDimensions(16);
+        config.setBatchSize(2);
+        service = new PaperEmbeddingService();
+        ReflectionTestUtils.setField(service, "embeddingConfig", config);
+        ReflectionTestUtils.setField(service, "embeddingRepository", embeddingRepository);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * 全表补齐执行期间登记的论文在补齐结束后处理
+     */
+    @Test
+    void testQueuedDuringFullScan() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(embeddingRepository.findPending(anyString(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return List.of();
+        });
+        when(embeddingRepository.findPendingByArxivIds(anyString(), anyCollection()))
+            .thenAnswer(invocation -> papers(invocation.getArgument(1)));
+
+        Thread fullScan = new Thread(service::embedPending);
+        fullScan.start();
+        assertThat(scanning.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        service.requestEmbedding(List.of("2401.00001"));
+        // 登记任务因全表补齐正在执行而跳过
+        verify(embeddingRepository, after(200).never()).findPendingByArxivIds(anyString(), anyCollection());
+
+        release.countDown();
+        fullScan.join(TIMEOUT_MS);
+        verify(embeddingRepository, timeout(TIMEOUT_MS)).findPendingByArxivIds(anyString(), anyCollection());
+        verify(embeddingRepository, timeout(TIMEOUT_MS)).upsert(anyList(), anyList(), anyString());
+    }
+
+    /**
+     * 某个批次失败后，队列中剩余的论文由重新提交的任务继续处理
+     */
+    @Test
+    void testRemainingAfterFailedBatch() {
+        when(embeddingRepository.findPendingByArxivIds(anyString(), anyCollection()))
+            .thenThrow(new IllegalStateException("数据库连接中断"))
+            .thenAnswer(invocation -> papers(invocation.getArgument(1)));
+
+        service.requestEmbedding(List.of("2401.00001", "2401.00002", "2401.00003", "2401.00004"));
+
+        verify(embeddingRepository, timeout(TIMEOUT_MS).times(2)).findPendingByArxivIds(anyString(), anyCollection());
+        verify(embeddingRepository, timeout(TIMEOUT_MS)).upsert(anyList(), anyList(), anyString());
+        // 失败的批次不再登记，由定时任务补齐
+        verify(embeddingRepository, after(200).times(2)).findPendingByArxivIds(anyString(), anyCollection());
+    }
+
+    private static List<PendingPaper> papers(Collection<String> arxivIds) {
+        return arxivIds.stream()
+            .map(id -> new PendingPaper((long) id.hashCode(), id, "title " + id, "summary", "cs.AI", LocalDate.of(2024, 1, 1), "hash"))
+            .toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 组合筛选条件的规范化缓存key测试
+ */
+class PaperFilterTest {
+
+    /**
+     * 分类顺序、空白和关键词大小写不同的等价条件生成相同的key
+     */
+    @Test
+    void testCanonicalCacheKey() {
+        PaperFilter a = PaperFilter.of(List.of("cs.CL", "cs.AI"), "2024-01-01", "2024-01-31", true, "Large  Language Model", null);
+        PaperFilter b = PaperFilter.of(List.of(" cs.AI", "cs.CL", ""), "2024-01-01", "2024-01-31", true, " large language model ", "");
+        assertThat(a.cacheKey()).isEqualTo(b.cacheKey());
+        assertThat(PaperFilter.of(null, null, null, null, null).cacheKey()).isEqualTo("filter:all");
+        assertThat(PaperFilter.of(null, null, null, null, null).isUnfiltered()).isTrue();
+    }
+
+    /**
+     * key中的取值经过编码，可以无损还原，且不含Redis key分隔符
+     */
+    @Test
+    void testCacheKeyRoundTrip() {
+        PaperFilter filter = PaperFilter.of(List.of("cs.AI", "UNCATEGORIZED"), "2024-01-01", null, false,
+            "\"diffusion model\" -survey: a;b", "Yann LeCun");
+        String key = filter.cacheKey();
+        assertThat(key.substring(PaperFilter.CACHE_KEY_PREFIX.length())).doesNotContain(":");
+
+        PaperFilter restored = PaperFilter.fromCacheKey(key);
+        assertThat(restored).isEqualTo(filter);
+        assertThat(restored.hasCategory("UNCATEGORIZED")).isTrue();
+        assertThat(restored.cacheKey()).isEqualTo(key);
+    }
+
+    /**
+     * 交叉列表选项只在有分类条件时进入key，并可以还原
+     */
+    @Test
+    void testCrossListedCacheKey() {
+        PaperFilter filter = PaperFilter.of("cs.CL", null, null, null, null).crossListed(true);
+        assertThat(filter.cacheKey()).isNotEqualTo(PaperFilter.of("cs.CL", null, null, null, null).cacheKey());
+        assertThat(PaperFilter.fromCacheKey(filter.cacheKey()).matchesCrossListed()).isTrue();
+
+        PaperFilter noCategory = PaperFilter.of((String) null, null, null, true, null).crossListed(true);
+        assertThat(noCategory.matchesCrossListed()).isFalse();
+        assertThat(noCategory.cacheKey()).isEqualTo(PaperFilter.of((String) null, null, null, true, null).cacheKey());
+    }
+
+    /**
+     * 无法识别的key抛出IllegalArgumentException
+     */
+    @Test
+    void testInvalidCacheKey() {
+        assertThatThrownBy(() -> PaperFilter.fromCacheKey("page:1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PaperFilter.fromCacheKey("filter:unknown=1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PaperFilter.fromCacheKey("filter:from=2024-13-01")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
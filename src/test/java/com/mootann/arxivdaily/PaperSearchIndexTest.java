@@ -0,0 +1,146 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperSearchIndex;
+import com.mootann.arxivdaily.search.PaperSearchIndex.Hit;
+import com.mootann.arxivdaily.search.PaperSearchIndex.IndexedPaper;
+import com.mootann.arxivdaily.search.PostingList;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 进程内BM25索引测试
+ */
+class PaperSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+
+    /**
+     * 压缩倒排链可以顺序遍历，也可以跨块跳转到目标文档
+     */
+    @Test
+    void testPostingListAdvance() {
+        PostingList postings = new PostingList();
+        for (int doc = 0; doc < 1000; doc += 3) {
+            postings.add(doc, doc % 7 + 1);
+        }
+        PostingList.Cursor cursor = postings.cursor();
+        assertThat(cursor.next()).isEqualTo(0);
+        assertThat(cursor.next()).isEqualTo(3);
+        assertThat(cursor.advance(500)).isEqualTo(501);
+        assertThat(cursor.freq()).isEqualTo(501 % 7 + 1);
+        assertThat(cursor.advance(998)).isEqualTo(999);
+        assertThat(cursor.next()).isEqualTo(PostingList.NO_MORE_DOCS);
+    }
+
+    /**
+     * 标题命中、命中词更多的论文排在前面
+     */
+    @Test
+    void testRanking() {
+        PaperSearchIndex index = new PaperSearchIndex();
+        index.index(List.of(
+            paper("1", "Diffusion models for image generation", "We study diffusion.", "cs.CV", false),
+            paper("2", "A survey of graph networks", "Graph neural networks and diffusion on graphs.", "cs.LG", false),
+            paper("3", "Language models", "Large language models for reasoning.", "cs.CL", false)));
+
+        List<Hit> hits = index.search(PaperFilter.of((String) null, null, null, null, "diffusion models"), 10);
+        assertThat(hits).extracting(Hit::getArxivId).containsExactly("1", "3", "2");
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "diffusion"), 1))
+            .extracting(Hit::getArxivId).containsExactly("1");
+    }
+
+    /**
+     * 分类、日期和GitHub筛选只返回满足条件的论文
+     */
+    @Test
+    void testFilters() {
+        PaperSearchIndex index = new PaperSearchIndex();
+        index.index(List.of(
+            paper("1", "Transformer pruning", "Pruning transformers.", "cs.LG", true),
+            paper("2", "Transformer quantization", "Quantized transformers.", "cs.CL", false)));
+
+        assertThat(index.search(PaperFilter.of("cs.CL", null, null, null, "transformer"), 10))
+            .extracting(Hit::getArxivId).containsExactly("2");
+        assertThat(index.search(PaperFilter.of((String) null, null, null, true, "transformer"), 10))
+            .extracting(Hit::getArxivId).containsExactly("1");
+        assertThat(index.search(PaperFilter.of((String) null, "2024-02-01", null, null, "transformer"), 10)).isEmpty();
+    }
+
+    /**
+     * 重复写入的论文替换旧文档，且保留已有的GitHub标记
+     */
+    @Test
+    void testReplaceDocument() {
+        PaperSearchIndex index = new PaperSearchIndex();
+        index.index(List.of(paper("1", "Sparse attention", "Sparse attention kernels.", "cs.LG", true)));
+        index.index(List.of(paper("1", "Linear attention", "Linear attention kernels.", "cs.LG", false)));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "sparse"), 10)).isEmpty();
+        assertThat(index.search(PaperFilter.of((String) null, null, null, true, "linear"), 10))
+            .extracting(Hit::getArxivId).containsExactly("1");
+    }
+
+    /**
+     * 全量构建期间增量写入的论文不会被快照中的旧内容覆盖，快照中的其他论文正常写入
+     */
+    @Test
+    void testSnapshotDoesNotOverwriteLiveUpdates() {
+        PaperSearchIndex index = new PaperSearchIndex();
+        index.beginLoad();
+        index.index(List.of(paper("1", "Linear attention", "Linear attention kernels.", "cs.LG", false)));
+        index.indexSnapshot(List.of(
+            paper("1", "Sparse attention", "Sparse attention kernels.", "cs.LG", false),
+            paper("2", "Sparse graphs", "Sparse graph partitioning.", "cs.DS", false)));
+        index.endLoad();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "linear"), 10))
+            .extracting(Hit::getArxivId).containsExactly("1");
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "sparse"), 10))
+            .extracting(Hit::getArxivId).containsExactly("2");
+    }
+
+    /**
+     * 已删除文档占比超过阈值时回收，回收后检索结果、筛选和GitHub标记不变
+     */
+    @Test
+    void testCompactsDeadDocuments() {
+        PaperSearchIndex index = new PaperSearchIndex();
+        index.setCompactDeadRatio(0.3f);
+        List<IndexedPaper> papers = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            papers.add(paper(String.valueOf(i), "Paper " + i + (i % 2 == 0 ? " graph" : " vision"),
+                "Abstract " + i, i % 2 == 0 ? "cs.DS" : "cs.CV", i % 10 == 0));
+        }
+        index.index(papers);
+        assertThat(index.docCount()).isEqualTo(2000);
+
+        // 更新一半的论文，已删除文档超过30%后触发回收
+        for (int i = 0; i < 1000; i++) {
+            index.index(List.of(paper(String.valueOf(i), "Paper " + i + " transformer", "Abstract " + i,
+                "cs.LG", false)));
+        }
+        assertThat(index.size()).isEqualTo(2000);
+        assertThat(index.docCount()).isLessThan(2000 + 1000);
+
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "transformer"), 2000)).hasSize(1000);
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "graph"), 2000))
+            .extracting(Hit::getArxivId).allMatch(id -> Integer.parseInt(id) >= 1000).hasSize(500);
+        assertThat(index.search(PaperFilter.of("cs.CV", null, null, null, "vision"), 2000)).hasSize(500);
+        // 旧文档的GitHub标记在替换时保留
+        assertThat(index.search(PaperFilter.of((String) null, null, null, true, "transformer"), 2000)).hasSize(100);
+        assertThat(index.search(PaperFilter.of((String) null, null, null, null, "paper 1999"), 1))
+            .extracting(Hit::getArxivId).containsExactly("1999");
+    }
+
+    private static IndexedPaper paper(String arxivId, String title, String summary, String category, boolean hasGithub) {
+        return new IndexedPaper(arxivId, title, summary, category, DAY, hasGithub);
+    }
+}
@@ -0,0 +1,124 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperVectorIndex;
+import com.mootann.arxivdaily.search.PaperVectorIndex.Hit;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 进程内HNSW向量索引测试，以精确检索为基准
+ */
+class PaperVectorIndexTest {
+
+    private static final int DIMENSIONS = 32;
+    private static final int PAPERS = 3000;
+    private static final String[] CATEGORIES = {"cs.AI", "cs.CL", "cs.CV", "cs.LG", "cs.IR"};
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final Random random = new Random(7);
+    private PaperVectorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PaperVectorIndex(DIMENSIONS, 16, 100, 42);
+        // 围绕若干中心生成聚簇向量，接近真实embedding的分布
+        float[][] centers = new float[20][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = gaussian(1.0f);
+        }
+        List<IndexedVector> papers = new ArrayList<>();
+        for (int i = 0; i < PAPERS; i++) {
+            float[] vector = gaussian(0.3f);
+            float[] center = centers[i % centers.length];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] += center[d];
+            }
+            papers.add(new IndexedVector(String.valueOf(i), CATEGORIES[i % CATEGORIES.length], START.plusDays(i % 365), vector));
+        }
+        index.index(papers);
+        index.markReady();
+    }
+
+    /**
+     * 无筛选条件时top-10召回率不低于0.95（efSearch=128）
+     */
+    @Test
+    void testRecallAgainstExactSearch() {
+        PaperFilter none = new PaperFilter();
+        int found = 0;
+        int total = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = gaussian(1.0f);
+            Set<String> expected = ids(index.exactSearch(query, none, 10));
+            found += intersection(expected, ids(index.search(query, none, 10, 128)));
+            total += expected.size();
+        }
+        assertThat((double) found / total).isGreaterThanOrEqualTo(0.95);
+    }
+
+    /**
+     * 分类和日期筛选：结果只包含通过筛选的论文，窄筛选（精确扫描）与精确检索完全一致
+     */
+    @Test
+    void testFilteredSearch() {
+        PaperFilter broad = PaperFilter.of("cs.CL", null, null, null, null);
+        PaperFilter narrow = PaperFilter.of("cs.CV", "2024-03-01", "2024-03-10", null, null);
+        for (int q = 0; q < 20; q++) {
+            float[] query = gaussian(1.0f);
+            for (Hit hit : index.search(query, broad, 10, 64)) {
+                assertThat(Integer.parseInt(hit.getArxivId()) % CATEGORIES.length).isEqualTo(1);
+            }
+            assertThat(ids(index.search(query, narrow, 5, 64))).isEqualTo(ids(index.exactSearch(query, narrow, 5)));
+        }
+        assertThat(index.search(gaussian(1.0f), PaperFilter.of("math.AG", null, null, null, null), 10, 64)).isEmpty();
+    }
+
+    /**
+     * 替换论文向量后旧节点不再出现，相似论文不包含自身
+     */
+    @Test
+    void testReplaceAndSimilar() {
+        float[] vector = gaussian(1.0f);
+        index.index(List.of(new IndexedVector("42", "cs.CL", START, vector)));
+
+        List<Hit> hits = index.search(vector, new PaperFilter(), 10, 64);
+        assertThat(hits.get(0).getArxivId()).isEqualTo("42");
+        assertThat(hits.get(0).getDistance()).isLessThan(1e-4f);
+        assertThat(hits).extracting(Hit::getArxivId).doesNotHaveDuplicates();
+        assertThat(index.size()).isEqualTo(PAPERS);
+
+        assertThat(index.similar("7", new PaperFilter(), 10, 64)).extracting(Hit::getArxivId)
+            .hasSize(10).doesNotContain("7");
+    }
+
+    private float[] gaussian(float scale) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private static Set<String> ids(List<Hit> hits) {
+        Set<String> ids = new HashSet<>();
+        hits.forEach(hit -> ids.add(hit.getArxivId()));
+        return ids;
+    }
+
+    private static int intersection(Set<String> a, Set<String> b) {
+        Set<String> common = new HashSet<>(a);
+        common.retainAll(b);
+        return common.size();
+    }
+}
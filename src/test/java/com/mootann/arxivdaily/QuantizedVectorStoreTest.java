@@ -0,0 +1,171 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperVectorIndex;
+import com.mootann.arxivdaily.search.PaperVectorIndex.Hit;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import com.mootann.arxivdaily.search.QuantizedVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * int8 / binary 量化向量存储测试，以全精度精确检索为基准
+ */
+class QuantizedVectorStoreTest {
+
+    private static final int DIMENSIONS = 128;
+    private static final int PAPERS = 3000;
+    private static final String[] CATEGORIES = {"cs.AI", "cs.CL", "cs.CV", "cs.LG", "cs.IR"};
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(7);
+    private final List<IndexedVector> papers = new ArrayList<>();
+    private PaperVectorIndex exact;
+    private QuantizedVectorStore int8;
+    private QuantizedVectorStore binary;
+
+    @BeforeEach
+    void setUp() {
+        float[][] centers = new float[20][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = gaussian(1.0f);
+        }
+        for (int i = 0; i < PAPERS; i++) {
+            float[] vector = gaussian(0.3f);
+            float[] center = centers[i % centers.length];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] += center[d];
+            }
+            papers.add(new IndexedVector(String.valueOf(i), CATEGORIES[i % CATEGORIES.length], START.plusDays(i % 365), vector));
+        }
+        exact = new PaperVectorIndex(DIMENSIONS, 16, 100, 42);
+        exact.index(papers);
+        int8 = new QuantizedVectorStore(DIMENSIONS, QuantizedVectorStore.MODE_INT8, tempDir.resolve("int8.f32"));
+        int8.index(papers);
+        int8.markReady();
+        binary = new QuantizedVectorStore(DIMENSIONS, QuantizedVectorStore.MODE_BINARY, tempDir.resolve("binary.f32"));
+        binary.index(papers);
+        binary.markReady();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        int8.close();
+        binary.close();
+    }
+
+    /**
+     * 重排后top-10召回率：int8不低于0.98；binary随重排深度提高，深度300时不低于0.95；内存占用分别约为float32的1/4和1/32
+     */
+    @Test
+    void testRecallAndMemory() {
+        assertThat(recall(int8, 100)).isGreaterThanOrEqualTo(0.98);
+        // 聚簇内向量的符号位高度相同，只按汉明距离排序时召回率明显更低
+        assertThat(recall(binary, 0)).isLessThan(recall(binary, 100));
+        assertThat(recall(binary, 100)).isGreaterThanOrEqualTo(0.85);
+        assertThat(recall(binary, 300)).isGreaterThanOrEqualTo(0.95);
+
+        long float32Bytes = (long) PAPERS * DIMENSIONS * Float.BYTES;
+        assertThat(int8.memoryBytes()).isEqualTo((long) PAPERS * (DIMENSIONS + Float.BYTES)).isLessThan(float32Bytes / 3);
+        assertThat(binary.memoryBytes()).isEqualTo(float32Bytes / 32);
+    }
+
+    /**
+     * 重排后的距离与全精度距离一致，筛选条件生效
+     */
+    @Test
+    void testRescoredDistanceAndFilter() {
+        float[] query = papers.get(5).getVector();
+        List<Hit> hits = int8.search(query, new PaperFilter(), 5, 50);
+        assertThat(hits.get(0).getArxivId()).isEqualTo("5");
+        assertThat(hits.get(0).getDistance()).isLessThan(1e-4f);
+
+        PaperFilter filter = PaperFilter.of("cs.CV", "2024-03-01", "2024-06-30", null, null);
+        for (QuantizedVectorStore store : List.of(int8, binary)) {
+            List<Hit> filtered = store.search(gaussian(1.0f), filter, 10, 100);
+            assertThat(filtered).isNotEmpty();
+            for (Hit hit : filtered) {
+                int id = Integer.parseInt(hit.getArxivId());
+                assertThat(id % CATEGORIES.length).isEqualTo(2);
+                assertThat(START.plusDays(id % 365)).isBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 6, 30));
+            }
+        }
+    }
+
+    /**
+     * 替换论文向量后旧编码不再出现，相似论文不包含自身
+     */
+    @Test
+    void testReplaceAndSimilar() {
+        float[] vector = gaussian(1.0f);
+        binary.index(List.of(new IndexedVector("42", "cs.CL", START, vector)));
+
+        List<Hit> hits = binary.search(vector, new PaperFilter(), 10, 100);
+        assertThat(hits.get(0).getArxivId()).isEqualTo("42");
+        assertThat(hits).extracting(Hit::getArxivId).doesNotHaveDuplicates();
+        assertThat(binary.size()).isEqualTo(PAPERS);
+
+        assertThat(binary.similar("7", new PaperFilter(), 10, 100)).extracting(Hit::getArxivId)
+            .hasSize(10).doesNotContain("7");
+    }
+
+    /**
+     * 容量按编码数组的最大长度计算，1024维int8超过200万篇，不会在此之前因下标溢出写坏编码
+     */
+    @Test
+    void testCapacity() {
+        QuantizedVectorStore large = new QuantizedVectorStore(1024, QuantizedVectorStore.MODE_INT8, tempDir.resolve("large.f32"));
+        assertThat(large.capacity()).isEqualTo((Integer.MAX_VALUE - 8) / 1024).isGreaterThan(2_000_000);
+        QuantizedVectorStore largeBinary = new QuantizedVectorStore(1024, QuantizedVectorStore.MODE_BINARY, tempDir.resolve("large.f32"));
+        assertThat(largeBinary.capacity()).isEqualTo((Integer.MAX_VALUE - 8) / 16);
+    }
+
+    private double recall(QuantizedVectorStore store, int rescoreDepth) {
+        PaperFilter none = new PaperFilter();
+        Random queries = new Random(11);
+        int found = 0;
+        int total = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = papers.get(queries.nextInt(PAPERS)).getVector().clone();
+            for (int d = 0; d < DIMENSIONS; d++) {
+                query[d] += (float) queries.nextGaussian() * 0.3f;
+            }
+            Set<String> expected = ids(exact.exactSearch(query, none, 10));
+            Set<String> actual = ids(store.search(query, none, 10, rescoreDepth));
+            actual.retainAll(expected);
+            found += actual.size();
+            total += expected.size();
+        }
+        return (double) found / total;
+    }
+
+    private float[] gaussian(float scale) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private static Set<String> ids(List<Hit> hits) {
+        Set<String> ids = new HashSet<>();
+        hits.forEach(hit -> ids.add(hit.getArxivId()));
+        return ids;
+    }
+}
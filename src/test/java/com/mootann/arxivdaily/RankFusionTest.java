@@ -0,0 +1,62 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.search.RankFusion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 多路检索结果融合测试
+ */
+class RankFusionTest {
+
+    private static final double[] EQUAL_WEIGHTS = {1.0, 1.0};
+
+    /**
+     * 两路都靠前的结果排在只出现在一路中的第一名之前，排名记录在各路的位置
+     */
+    @Test
+    void testReciprocalRank() {
+        List<RankFusion.Fused> fused = RankFusion.reciprocalRank(
+            List.of(List.of("a", "b", "c"), List.of("d", "b", "e")), EQUAL_WEIGHTS, RankFusion.DEFAULT_RRF_K);
+
+        assertThat(fused).extracting(RankFusion.Fused::getId).containsExactly("b", "a", "d", "c", "e");
+        assertThat(fused.get(0).getScore()).isCloseTo(2.0 / 62, within(1e-9));
+        assertThat(fused.get(0).getRanks()).containsExactly(2, 2);
+        assertThat(fused.get(2).getRanks()).containsExactly(null, 1);
+    }
+
+    /**
+     * 某一路为空（超时或失败）时结果等于另一路的原有顺序
+     */
+    @Test
+    void testEmptyStage() {
+        List<RankFusion.Fused> fused = RankFusion.reciprocalRank(
+            List.of(List.of(), List.of("x", "y", "z")), EQUAL_WEIGHTS, RankFusion.DEFAULT_RRF_K);
+        assertThat(fused).extracting(RankFusion.Fused::getId).containsExactly("x", "y", "z");
+
+        List<RankFusion.Fused> weighted = RankFusion.weightedScore(List.of(
+            List.of(new RankFusion.Scored("x", 3.0), new RankFusion.Scored("y", 2.0)), List.of()), EQUAL_WEIGHTS);
+        assertThat(weighted).extracting(RankFusion.Fused::getId).containsExactly("x", "y");
+    }
+
+    /**
+     * 加权融合按各路归一化后的得分求和，权重改变排序
+     */
+    @Test
+    void testWeightedScore() {
+        List<List<RankFusion.Scored>> scores = List.of(
+            List.of(new RankFusion.Scored("a", 12.0), new RankFusion.Scored("b", 11.0), new RankFusion.Scored("c", 2.0)),
+            List.of(new RankFusion.Scored("c", 0.9), new RankFusion.Scored("b", 0.5), new RankFusion.Scored("a", 0.1)));
+
+        List<RankFusion.Fused> equal = RankFusion.weightedScore(scores, EQUAL_WEIGHTS);
+        assertThat(equal).extracting(RankFusion.Fused::getId).containsExactly("b", "a", "c");
+        assertThat(equal.get(0).getScore()).isCloseTo(0.9 + 0.5, within(1e-9));
+
+        List<RankFusion.Fused> vectorHeavy = RankFusion.weightedScore(scores, new double[]{1.0, 3.0});
+        assertThat(vectorHeavy.get(0).getId()).isEqualTo("c");
+    }
+}
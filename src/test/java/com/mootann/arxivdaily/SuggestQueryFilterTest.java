@@ -0,0 +1,47 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.search.SuggestTrie;
+import com.mootann.arxivdaily.service.PaperSuggestService;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 检索词作为输入提示前的过滤规则测试
+ */
+class SuggestQueryFilterTest {
+
+    private static final int MAX_LENGTH = 120;
+
+    /**
+     * 常见的论文检索词可以作为提示
+     */
+    @Test
+    void testAcceptsOrdinaryQueries() {
+        assertThat(accepts("Graph Neural Networks")).isTrue();
+        assertThat(accepts("retrieval-augmented generation")).isTrue();
+        assertThat(accepts("\"large language model\" -survey")).isTrue();
+        assertThat(accepts("2401.12345 llama")).isTrue();
+        assertThat(accepts("Schrödinger bridge")).isTrue();
+    }
+
+    /**
+     * 过短、过长、无字母、含链接邮箱或异常字符的字符串被过滤
+     */
+    @Test
+    void testRejectsUnsuitableQueries() {
+        assertThat(accepts("a")).isFalse();
+        assertThat(accepts("2401.12345")).isFalse();
+        assertThat(accepts("see https://example.com/paper")).isFalse();
+        assertThat(accepts("www.example.com")).isFalse();
+        assertThat(accepts("mail me at someone@example.com")).isFalse();
+        assertThat(accepts("<script>alert(1)</script>")).isFalse();
+        assertThat(accepts("one two three four five six seven eight nine")).isFalse();
+        assertThat(accepts("a".repeat(31) + " model")).isFalse();
+        assertThat(accepts("model ".repeat(30))).isFalse();
+    }
+
+    private static boolean accepts(String query) {
+        return PaperSuggestService.isSuggestableQuery(SuggestTrie.normalize(query), MAX_LENGTH);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mootann.arxivdaily;
+
+import com.mootann.arxivdaily.search.SuggestTrie;
+import com.mootann.arxivdaily.search.SuggestTrie.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 输入提示基数树测试，以暴力前缀扫描为基准
+ */
+class SuggestTrieTest {
+
+    private static final int TOP_K = 10;
+
+    /**
+     * 随机前缀的结果与暴力扫描一致，覆盖预计算前k个候选的节点和直接扫描区间的节点
+     */
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(5);
+        String[] words = {"graph", "graphs", "grammar", "neural", "network", "networks", "learning", "large", "language",
+            "model", "models", "diffusion", "transformer", "attention", "vision"};
+        List<Suggestion> candidates = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(4);
+            for (int w = 0; w < length; w++) {
+                text.append(w > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+            }
+            candidates.add(new Suggestion(SuggestTrie.TYPE_TITLE, text.toString(), String.valueOf(i), random.nextInt(50)));
+        }
+        SuggestTrie trie = SuggestTrie.build(candidates, TOP_K, 200);
+        assertThat(trie.size()).isEqualTo(candidates.size());
+
+        List<String> prefixes = new ArrayList<>(List.of("g", "gr", "gra", "graph", "graph ", "graphs n", "l", "la",
+            "neural network", "vision transformer attention", "x", "graphz"));
+        for (int i = 0; i < 200; i++) {
+            String text = candidates.get(random.nextInt(candidates.size())).getText();
+            prefixes.add(text.substring(0, 1 + random.nextInt(text.length())));
+        }
+        for (String prefix : prefixes) {
+            assertThat(trie.suggest(prefix, TOP_K)).as(prefix).isEqualTo(bruteForce(candidates, prefix, TOP_K));
+        }
+    }
+
+    /**
+     * 匹配时忽略大小写、重音符号和多余空白；返回条数不超过topK
+     */
+    @Test
+    void testNormalizeAndLimit() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+            new Suggestion(SuggestTrie.TYPE_AUTHOR, "Jürgen Schmidhuber", null, 120),
+            new Suggestion(SuggestTrie.TYPE_AUTHOR, "Juergen Gall", null, 40),
+            new Suggestion(SuggestTrie.TYPE_CATEGORY, "cs.CL", null, 9000),
+            new Suggestion(SuggestTrie.TYPE_QUERY, "contrastive  learning", null, 12),
+            new Suggestion(SuggestTrie.TYPE_TITLE, "   ", "2401.00001", 1)), 2, 200);
+
+        assertThat(trie.size()).isEqualTo(4);
+        assertThat(trie.suggest("JURG", 10)).extracting(Suggestion::getText).containsExactly("Jürgen Schmidhuber");
+        assertThat(trie.suggest("ju", 10)).extracting(Suggestion::getText).containsExactly("Jürgen Schmidhuber", "Juergen Gall");
+        assertThat(trie.suggest("c", 10)).extracting(Suggestion::getText).containsExactly("cs.CL", "contrastive  learning");
+        assertThat(trie.suggest("contrastive   l", 10)).hasSize(1);
+        assertThat(trie.suggest("", 10)).isEmpty();
+        assertThat(SuggestTrie.empty().suggest("a", 10)).isEmpty();
+    }
+
+    private static List<Suggestion> bruteForce(List<Suggestion> candidates, String prefix, int limit) {
+        String normalized = SuggestTrie.normalize(prefix);
+        return candidates.stream()
+            .filter(s -> SuggestTrie.normalize(s.getText()).startsWith(normalized))
+            .sorted(Comparator.comparingLong((Suggestion s) -> -s.getWeight())
+                .thenComparingInt(s -> SuggestTrie.normalize(s.getText()).length())
+                .thenComparing(s -> SuggestTrie.normalize(s.getText())))
+            .limit(limit)
+            .toList();
+    }
+}
@@ -8,6 +8,7 @@ import dev.langchain4j.model.output.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
@@ -30,6 +31,7 @@ class ZhipuAiTest {
     private ChatLanguageModel chatLanguageModel;
 
     @Autowired
+    @Qualifier("zhipuAiEmbeddingModel")
     private EmbeddingModel embeddingModel;
 
     @Autowired
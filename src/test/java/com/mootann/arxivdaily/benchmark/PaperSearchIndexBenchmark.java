@@ -0,0 +1,103 @@
+package com.mootann.arxivdaily.benchmark;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperSearchIndex;
+import com.mootann.arxivdaily.search.PaperSearchIndex.Hit;
+import com.mootann.arxivdaily.search.PaperSearchIndex.IndexedPaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BM25索引检索的微基准测试
+ * 合成语料的词汇与 src/test/resources/benchmark/bm25-vs-fts-benchmark.sql 一致，便于与数据库全文检索对比
+ * 运行：mvn test-compile 后以测试classpath执行本类的main方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PaperSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"transformer", "attention", "diffusion", "retrieval", "augmented", "generation",
+        "reinforcement", "learning", "graph", "neural", "network", "language", "model", "vision", "contrastive",
+        "representation", "quantization", "sparse", "efficient", "benchmark", "reasoning", "multimodal", "federated",
+        "optimization", "robust"};
+    private static final String[] CATEGORIES = {"cs.AI", "cs.CL", "cs.CV", "cs.LG", "cs.IR"};
+
+    @Param({"1000000"})
+    private int documents;
+
+    private PaperSearchIndex index;
+    private PaperFilter singleTerm;
+    private PaperFilter multiTerm;
+    private PaperFilter filtered;
+
+    @Setup
+    public void setup() {
+        index = new PaperSearchIndex();
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<IndexedPaper> batch = new ArrayList<>();
+        for (int i = 1; i <= documents; i++) {
+            batch.add(new IndexedPaper(String.valueOf(i), text(random, 6 + i % 5), text(random, 120 + i % 60),
+                CATEGORIES[i % CATEGORIES.length], start.plusDays(i % 3650), i % 4 == 0));
+            if (batch.size() == 10000) {
+                index.index(batch);
+                batch.clear();
+            }
+        }
+        index.index(batch);
+        index.markReady();
+
+        singleTerm = PaperFilter.of((String) null, null, null, null, "quantization");
+        multiTerm = PaperFilter.of((String) null, null, null, null, "contrastive representation learning");
+        filtered = PaperFilter.of("cs.CL", "2020-01-01", "2020-12-31", true, "contrastive representation learning");
+    }
+
+    @Benchmark
+    public List<Hit> singleTerm() {
+        return index.search(singleTerm, 20);
+    }
+
+    @Benchmark
+    public List<Hit> multiTerm() {
+        return index.search(multiTerm, 20);
+    }
+
+    @Benchmark
+    public List<Hit> multiTermFiltered() {
+        return index.search(filtered, 20);
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PaperSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.mootann.arxivdaily.benchmark;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperVectorIndex;
+import com.mootann.arxivdaily.search.PaperVectorIndex.Hit;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存HNSW向量索引与精确检索（暴力扫描）的延迟和召回率对比
+ * 合成向量围绕若干聚簇中心分布；召回率（top-10，相对精确检索）在准备阶段计算并打印，延迟由JMH测量
+ * 运行：mvn test-compile 后以测试classpath执行本类的main方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g", "-XX:MaxDirectMemorySize=4g"})
+public class PaperVectorIndexBenchmark {
+
+    private static final String[] CATEGORIES = {"cs.AI", "cs.CL", "cs.CV", "cs.LG", "cs.IR"};
+    private static final int CLUSTERS = 200;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    @Param({"100000"})
+    private int documents;
+
+    @Param({"256"})
+    private int dimensions;
+
+    @Param({"16"})
+    private int m;
+
+    @Param({"100"})
+    private int efConstruction;
+
+    @Param({"100"})
+    private int efSearch;
+
+    private PaperVectorIndex index;
+    private float[][] queries;
+    private PaperFilter unfiltered;
+    private PaperFilter filtered;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        float[][] centers = new float[CLUSTERS][];
+        for (int i = 0; i < CLUSTERS; i++) {
+            centers[i] = gaussian(random, 1.0f, null);
+        }
+        long buildStart = System.currentTimeMillis();
+        index = new PaperVectorIndex(dimensions, m, efConstruction, 42);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<IndexedVector> batch = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            batch.add(new IndexedVector(String.valueOf(i), CATEGORIES[i % CATEGORIES.length], start.plusDays(i % 3650),
+                gaussian(random, 0.5f, centers[random.nextInt(CLUSTERS)])));
+            if (batch.size() == 10000) {
+                index.index(batch);
+                batch.clear();
+            }
+        }
+        index.index(batch);
+        index.markReady();
+        long buildMs = System.currentTimeMillis() - buildStart;
+
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = gaussian(random, 0.5f, centers[random.nextInt(CLUSTERS)]);
+        }
+        unfiltered = new PaperFilter();
+        filtered = PaperFilter.of("cs.CL", "2016-01-01", "2019-12-31", null, null);
+
+        System.out.printf("%n构建 %d 篇耗时 %d ms; recall@%d: 无筛选 %.4f, 分类+日期筛选 %.4f (efSearch=%d)%n",
+            documents, buildMs, K, recall(unfiltered), recall(filtered), efSearch);
+    }
+
+    @Benchmark
+    public List<Hit> hnsw() {
+        return index.search(nextQuery(), unfiltered, K, efSearch);
+    }
+
+    @Benchmark
+    public List<Hit> bruteForce() {
+        return index.exactSearch(nextQuery(), unfiltered, K);
+    }
+
+    @Benchmark
+    public List<Hit> hnswFiltered() {
+        return index.search(nextQuery(), filtered, K, efSearch);
+    }
+
+    @Benchmark
+    public List<Hit> bruteForceFiltered() {
+        return index.exactSearch(nextQuery(), filtered, K);
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private double recall(PaperFilter filter) {
+        int found = 0;
+        int total = 0;
+        for (float[] query : queries) {
+            Set<String> expected = new HashSet<>();
+            index.exactSearch(query, filter, K).forEach(hit -> expected.add(hit.getArxivId()));
+            total += expected.size();
+            for (Hit hit : index.search(query, filter, K, efSearch)) {
+                if (expected.contains(hit.getArxivId())) {
+                    found++;
+                }
+            }
+        }
+        return total == 0 ? 1.0 : (double) found / total;
+    }
+
+    private float[] gaussian(Random random, float scale, float[] center) {
+        float[] vector = new float[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            vector[d] = (float) random.nextGaussian() * scale + (center != null ? center[d] : 0);
+        }
+        return vector;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PaperVectorIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
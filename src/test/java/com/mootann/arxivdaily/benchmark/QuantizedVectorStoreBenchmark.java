@@ -0,0 +1,190 @@
+package com.mootann.arxivdaily.benchmark;
+
+import com.mootann.arxivdaily.repository.dto.PaperFilter;
+import com.mootann.arxivdaily.search.PaperVectorIndex.Hit;
+import com.mootann.arxivdaily.search.PaperVectorIndex.IndexedVector;
+import com.mootann.arxivdaily.search.QuantizedVectorStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * int8 / binary 量化向量存储的检索延迟、内存占用和召回率
+ * 合成向量围绕若干聚簇中心分布；内存占用（编码 vs float32）和召回率（top-10，相对全精度精确检索）在准备阶段计算并打印，
+ * 延迟由JMH测量。rescoreDepth为0时只按编码排序，不读取全精度文件
+ * 运行：mvn test-compile 后以测试classpath执行本类的main方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class QuantizedVectorStoreBenchmark {
+
+    private static final String[] CATEGORIES = {"cs.AI", "cs.CL", "cs.CV", "cs.LG", "cs.IR"};
+    private static final int CLUSTERS = 200;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    @Param({"100000"})
+    private int documents;
+
+    @Param({"256"})
+    private int dimensions;
+
+    @Param({"int8", "binary"})
+    private String mode;
+
+    @Param({"0", "100", "1000"})
+    private int rescoreDepth;
+
+    private QuantizedVectorStore store;
+    private Path vectorFile;
+    private float[][] vectors;
+    private float[][] queries;
+    private PaperFilter unfiltered;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        float[][] centers = new float[CLUSTERS][];
+        for (int i = 0; i < CLUSTERS; i++) {
+            centers[i] = gaussian(random, 1.0f, null);
+        }
+        vectorFile = Files.createTempFile("paper-vectors", ".f32");
+        store = new QuantizedVectorStore(dimensions, mode, vectorFile);
+        vectors = new float[documents][];
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<IndexedVector> batch = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            vectors[i] = normalize(gaussian(random, 0.5f, centers[random.nextInt(CLUSTERS)]));
+            batch.add(new IndexedVector(String.valueOf(i), CATEGORIES[i % CATEGORIES.length], start.plusDays(i % 3650), vectors[i]));
+            if (batch.size() == 10000) {
+                store.index(batch);
+                batch.clear();
+            }
+        }
+        store.index(batch);
+        store.markReady();
+
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = normalize(gaussian(random, 0.5f, centers[random.nextInt(CLUSTERS)]));
+        }
+        unfiltered = new PaperFilter();
+
+        long float32Bytes = (long) documents * dimensions * Float.BYTES;
+        System.out.printf("%n模式 %s, 重排深度 %d: 编码内存 %.1f MB (float32 %.1f MB, %.1f%%); recall@%d %.4f%n",
+            mode, rescoreDepth, store.memoryBytes() / 1048576.0, float32Bytes / 1048576.0,
+            100.0 * store.memoryBytes() / float32Bytes, K, recall());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(vectorFile);
+    }
+
+    @Benchmark
+    public List<Hit> search() {
+        return store.search(nextQuery(), unfiltered, K, rescoreDepth);
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private double recall() {
+        int found = 0;
+        for (float[] query : queries) {
+            Set<String> expected = exactTopK(query);
+            for (Hit hit : store.search(query, unfiltered, K, rescoreDepth)) {
+                if (expected.contains(hit.getArxivId())) {
+                    found++;
+                }
+            }
+        }
+        return (double) found / (QUERIES * K);
+    }
+
+    /**
+     * 全精度暴力扫描的top-k
+     */
+    private Set<String> exactTopK(float[] query) {
+        int[] best = new int[K];
+        float[] bestScores = new float[K];
+        Arrays.fill(bestScores, Float.NEGATIVE_INFINITY);
+        for (int i = 0; i < vectors.length; i++) {
+            float score = 0;
+            for (int d = 0; d < dimensions; d++) {
+                score += vectors[i][d] * query[d];
+            }
+            if (score > bestScores[K - 1]) {
+                int pos = K - 1;
+                while (pos > 0 && bestScores[pos - 1] < score) {
+                    bestScores[pos] = bestScores[pos - 1];
+                    best[pos] = best[pos - 1];
+                    pos--;
+                }
+                bestScores[pos] = score;
+                best[pos] = i;
+            }
+        }
+        Set<String> ids = new HashSet<>();
+        for (int id : best) {
+            ids.add(String.valueOf(id));
+        }
+        return ids;
+    }
+
+    private float[] gaussian(Random random, float scale, float[] center) {
+        float[] vector = new float[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            vector[d] = (float) random.nextGaussian() * scale + (center != null ? center[d] : 0);
+        }
+        return vector;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QuantizedVectorStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}
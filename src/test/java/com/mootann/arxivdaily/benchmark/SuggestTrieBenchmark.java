@@ -0,0 +1,107 @@
+package com.mootann.arxivdaily.benchmark;
+
+import com.mootann.arxivdaily.search.SuggestTrie;
+import com.mootann.arxivdaily.search.SuggestTrie.Suggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 输入提示前缀树的查询延迟
+ * 合成标题由少量词汇随机组合，大量标题共享前缀；作者姓名由音节随机拼接，权重服从长尾分布。
+ * 构建耗时、节点数和结构内存在准备阶段打印，延迟由JMH测量：短前缀命中预计算的前k个候选，长前缀落在直接扫描的小区间
+ * 运行：mvn test-compile 后以测试classpath执行本类的main方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SuggestTrieBenchmark {
+
+    private static final String[] WORDS = {"transformer", "attention", "diffusion", "retrieval", "augmented", "generation",
+        "reinforcement", "learning", "graph", "neural", "network", "language", "model", "vision", "contrastive",
+        "representation", "quantization", "sparse", "efficient", "benchmark", "reasoning", "multimodal", "federated",
+        "optimization", "robust"};
+    private static final String[] SYLLABLES = {"an", "be", "chen", "da", "el", "fu", "gar", "hu", "ian", "jo", "ka", "li",
+        "ma", "no", "ou", "pe", "qi", "ro", "sa", "ta", "ul", "vi", "wa", "xu", "ya", "zh"};
+
+    @Param({"1000000"})
+    private int titles;
+
+    @Param({"300000"})
+    private int authors;
+
+    private SuggestTrie trie;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<Suggestion> candidates = new ArrayList<>(titles + authors);
+        for (int i = 0; i < titles; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < 6 + i % 5; w++) {
+                title.append(w > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            candidates.add(new Suggestion(SuggestTrie.TYPE_TITLE, title.toString(), String.valueOf(i), 1));
+        }
+        for (int i = 0; i < authors; i++) {
+            String name = name(random) + " " + name(random);
+            candidates.add(new Suggestion(SuggestTrie.TYPE_AUTHOR, name, null, (long) (1 / (random.nextDouble() + 1e-3))));
+        }
+        long startTime = System.currentTimeMillis();
+        trie = SuggestTrie.build(candidates, 10, 120);
+        System.out.printf("%n候选 %d 条, 节点 %d 个, 结构 %.1f MB, 构建 %d ms%n", trie.size(), trie.nodeCount(),
+            trie.structureBytes() / 1048576.0, System.currentTimeMillis() - startTime);
+    }
+
+    @Benchmark
+    public List<Suggestion> shortPrefix() {
+        return trie.suggest("c", 10);
+    }
+
+    @Benchmark
+    public List<Suggestion> wordPrefix() {
+        return trie.suggest("graph neural net", 10);
+    }
+
+    @Benchmark
+    public List<Suggestion> longPrefix() {
+        return trie.suggest("graph neural network language model vision", 10);
+    }
+
+    @Benchmark
+    public List<Suggestion> miss() {
+        return trie.suggest("graph neural networx", 10);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int s = 0; s < 2 + random.nextInt(2); s++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SuggestTrieBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+-- 关键词检索基准测试：数据库全文检索，与进程内BM25索引（PaperSearchIndexBenchmark）对比
+-- 用法：psql -d arxiv_bench -f bm25-vs-fts-benchmark.sql
+-- 在独立的表 bench_papers 中生成100万行合成数据，词汇与JMH基准一致，不影响业务表
+
+\timing on
+
+DROP TABLE IF EXISTS bench_papers;
+CREATE TABLE bench_papers (
+    id               bigserial PRIMARY KEY,
+    title            text NOT NULL,
+    summary          text NOT NULL,
+    primary_category varchar(50) NOT NULL,
+    published_date   date NOT NULL,
+    github_url       text,
+    -- 与应用中的search_vector列一致：标题权重A、摘要权重B
+    search_vector    tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', title), 'A') ||
+        setweight(to_tsvector('english', summary), 'B')
+    ) STORED
+);
+
+INSERT INTO bench_papers (title, summary, primary_category, published_date, github_url)
+SELECT array_to_string(ARRAY(
+           SELECT (ARRAY['transformer', 'attention', 'diffusion', 'retrieval', 'augmented', 'generation',
+                         'reinforcement', 'learning', 'graph', 'neural', 'network', 'language', 'model',
+                         'vision', 'contrastive', 'representation', 'quantization', 'sparse', 'efficient',
+                         'benchmark', 'reasoning', 'multimodal', 'federated', 'optimization', 'robust'])
+                  [1 + floor(random() * 25)::int]
+           FROM generate_series(1, 6 + (g % 5))
+       ), ' '),
+       array_to_string(ARRAY(
+           SELECT (ARRAY['transformer', 'attention', 'diffusion', 'retrieval', 'augmented', 'generation',
+                         'reinforcement', 'learning', 'graph', 'neural', 'network', 'language', 'model',
+                         'vision', 'contrastive', 'representation', 'quantization', 'sparse', 'efficient',
+                         'benchmark', 'reasoning', 'multimodal', 'federated', 'optimization', 'robust'])
+                  [1 + floor(random() * 25)::int]
+           FROM generate_series(1, 120 + (g % 60))
+       ), ' '),
+       (ARRAY['cs.AI', 'cs.CL', 'cs.CV', 'cs.LG', 'cs.IR'])[1 + g % 5],
+       DATE '2015-01-01' + (g % 3650),
+       CASE WHEN g % 4 = 0 THEN 'https://github.com/example/repo' END
+FROM generate_series(1, 1000000) AS g;
+
+CREATE INDEX idx_bench_papers_search_vector ON bench_papers USING GIN (search_vector);
+ANALYZE bench_papers;
+
+-- 1. 单词检索：按相关度取前20条，需要对全部命中行计算ts_rank_cd
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, ts_rank_cd(search_vector, websearch_to_tsquery('english', 'quantization')) AS score
+FROM bench_papers
+WHERE search_vector @@ websearch_to_tsquery('english', 'quantization')
+ORDER BY score DESC, id DESC LIMIT 20;
+
+-- 2. 多词检索：websearch语法为AND，BM25为OR并按得分剪枝
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, ts_rank_cd(search_vector, websearch_to_tsquery('english', 'contrastive representation learning')) AS score
+FROM bench_papers
+WHERE search_vector @@ websearch_to_tsquery('english', 'contrastive representation learning')
+ORDER BY score DESC, id DESC LIMIT 20;
+
+-- 3. 带分类、日期和GitHub筛选的多词检索
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, ts_rank_cd(search_vector, websearch_to_tsquery('english', 'contrastive representation learning')) AS score
+FROM bench_papers
+WHERE search_vector @@ websearch_to_tsquery('english', 'contrastive representation learning')
+  AND primary_category = 'cs.CL'
+  AND published_date BETWEEN DATE '2020-01-01' AND DATE '2020-12-31'
+  AND github_url IS NOT NULL
+ORDER BY score DESC, id DESC LIMIT 20;
+
+DROP TABLE bench_papers;